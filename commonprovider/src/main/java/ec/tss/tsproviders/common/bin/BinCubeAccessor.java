@@ -0,0 +1,119 @@
+/*
+* Copyright 2013 National Bank of Belgium
+*
+* Licensed under the EUPL, Version 1.1 or – as soon they will be approved 
+* by the European Commission - subsequent versions of the EUPL (the "Licence");
+* You may not use this work except in compliance with the Licence.
+* You may obtain a copy of the Licence at:
+*
+* http://ec.europa.eu/idabc/eupl
+*
+* Unless required by applicable law or agreed to in writing, software 
+* distributed under the Licence is distributed on an "AS IS" basis,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the Licence for the specific language governing permissions and 
+* limitations under the Licence.
+*/
+package ec.tss.tsproviders.common.bin;
+
+import ec.tss.tsproviders.cube.CubeAccessor;
+import ec.tss.tsproviders.cube.CubeId;
+import ec.tss.tsproviders.cursor.TsCursor;
+import ec.tss.tsproviders.utils.IteratorWithIO;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+final class BinCubeAccessor implements CubeAccessor {
+
+    private final BinFile file;
+    private final CubeId root;
+
+    BinCubeAccessor(BinFile file) {
+        this.file = file;
+        this.root = CubeId.root(file.getDimensions());
+    }
+
+    @Override
+    public IOException testConnection() {
+        return null;
+    }
+
+    @Override
+    public CubeId getRoot() {
+        return root;
+    }
+
+    @Override
+    public TsCursor<CubeId> getAllSeries(CubeId id) throws IOException {
+        return getAllSeriesWithData(id);
+    }
+
+    @Override
+    public TsCursor<CubeId> getAllSeriesWithData(CubeId id) throws IOException {
+        return cursor(indexes(id).iterator());
+    }
+
+    @Override
+    public TsCursor<CubeId> getSeriesWithData(CubeId id) throws IOException {
+        int index = id.isSeries() ? file.indexOf(id.getDimensionValueStream().collect(Collectors.toList())) : -1;
+        return cursor(index != -1 ? Collections.singleton(index).iterator() : Collections.<Integer>emptyIterator());
+    }
+
+    @Override
+    public TsCursor<CubeId> getSelectionWithData(List<CubeId> ids) throws IOException {
+        return cursor(ids.stream()
+                .filter(CubeId::isSeries)
+                .mapToInt(o -> file.indexOf(o.getDimensionValueStream().collect(Collectors.toList())))
+                .filter(i -> i != -1)
+                .iterator());
+    }
+
+    @Override
+    public IteratorWithIO<CubeId> getChildren(CubeId id) throws IOException {
+        if (id.isSeries()) {
+            return IteratorWithIO.empty();
+        }
+        int level = id.getLevel();
+        Set<String> values = new LinkedHashSet<>();
+        indexes(id).forEach(i -> values.add(file.getKeyValue(i, level)));
+        return IteratorWithIO.from(values.stream().map(id::child).iterator());
+    }
+
+    @Override
+    public String getDisplayName() throws IOException {
+        return file.getFile().getPath();
+    }
+
+    @Override
+    public String getDisplayName(CubeId id) throws IOException {
+        if (id.isSeries()) {
+            int index = file.indexOf(id.getDimensionValueStream().collect(Collectors.toList()));
+            if (index != -1) {
+                return file.getLabel(index);
+            }
+        }
+        return id.getDimensionValueStream().collect(Collectors.joining(", "));
+    }
+
+    @Override
+    public String getDisplayNodeName(CubeId id) throws IOException {
+        return id.isRoot() ? getDisplayName() : id.getDimensionValue(id.getLevel() - 1);
+    }
+
+    private IntStream indexes(CubeId id) {
+        String[] values = id.getDimensionValueStream().toArray(String[]::new);
+        return IntStream.range(0, file.size()).filter(i -> file.startsWith(i, values, values.length));
+    }
+
+    private TsCursor<CubeId> cursor(Iterator<Integer> indexes) {
+        return TsCursor.from(indexes, file::getData, file::getMetaData, file::getLabel)
+                .withMetaData(file.getMetaData())
+                .transform(i -> root.child(file.getKey(i).toArray(new String[0])));
+    }
+}
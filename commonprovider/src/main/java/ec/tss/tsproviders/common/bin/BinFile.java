@@ -0,0 +1,328 @@
+/*
+* Copyright 2013 National Bank of Belgium
+*
+* Licensed under the EUPL, Version 1.1 or – as soon they will be approved 
+* by the European Commission - subsequent versions of the EUPL (the "Licence");
+* You may not use this work except in compliance with the Licence.
+* You may obtain a copy of the Licence at:
+*
+* http://ec.europa.eu/idabc/eupl
+*
+* Unless required by applicable law or agreed to in writing, software 
+* distributed under the Licence is distributed on an "AS IS" basis,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the Licence for the specific language governing permissions and 
+* limitations under the Licence.
+*/
+package ec.tss.tsproviders.common.bin;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import ec.tss.tsproviders.cube.CubeAccessor;
+import ec.tss.tsproviders.utils.OptionalTsData;
+import ec.tstoolkit.timeseries.simplets.TsData;
+import ec.tstoolkit.timeseries.simplets.TsFrequency;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.checkerframework.checker.index.qual.NonNegative;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * A binary columnar file of time series. Only the index (keys, labels,
+ * domains and offsets) is read when the file is opened; the observations are
+ * memory-mapped and a series is read with a single bulk copy from the mapping.
+ *
+ * <p>
+ * Layout (big-endian):
+ * <pre>
+ * header: magic, version, index offset, series count
+ * data:   the observations of the series, as contiguous blocks of doubles
+ * index:  dimensions, metadata, then for each series its key, label,
+ *         metadata and domain (frequency, start, length, offset) or the
+ *         cause of its absence
+ * </pre>
+ *
+ * This class is thread-safe.
+ *
+ * @see BinWriter
+ */
+public final class BinFile {
+
+    static final int MAGIC = 0x4A445442; // "JDTB"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 24;
+    static final int NO_DATA = -1;
+
+    private static final long MAX_SEGMENT = Integer.MAX_VALUE;
+
+    /**
+     * Opens a binary file. The channel is closed before returning, the
+     * mapping remaining valid until the returned object is garbage-collected.
+     *
+     * @param file
+     * @return
+     * @throws IOException if the file is not a valid binary file
+     */
+    @NonNull
+    public static BinFile open(@NonNull File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+            }
+            header.flip();
+            if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC) {
+                throw new IOException("Not a binary series file: '" + file + "'");
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported version " + version + " in '" + file + "'");
+            }
+            long indexOffset = header.getLong();
+            int count = header.getInt();
+
+            channel.position(indexOffset);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+            BinFile result = new BinFile(file, readStrings(in), readMetaData(in), count);
+            for (int i = 0; i < count; i++) {
+                result.readEntry(in, i);
+            }
+            result.map(channel);
+            return result;
+        }
+    }
+
+    private final File file;
+    private final ImmutableList<String> dimensions;
+    private final Map<String, String> metaData;
+    // columns of the index
+    private final String[][] keys;
+    private final String[] labels;
+    private final Map<String, String>[] metaDatas;
+    private final int[] freqs, years, positions, lengths;
+    private final long[] offsets;
+    private final String[] causes;
+    // data
+    private final int[] segmentByIndex;
+    private MappedByteBuffer[] segments;
+    private long[] segmentOffsets;
+    private volatile Map<List<String>, Integer> lookup;
+
+    @SuppressWarnings("unchecked")
+    private BinFile(File file, List<String> dimensions, Map<String, String> metaData, int count) {
+        this.file = file;
+        this.dimensions = ImmutableList.copyOf(dimensions);
+        this.metaData = metaData;
+        this.keys = new String[count][];
+        this.labels = new String[count];
+        this.metaDatas = new Map[count];
+        this.freqs = new int[count];
+        this.years = new int[count];
+        this.positions = new int[count];
+        this.lengths = new int[count];
+        this.offsets = new long[count];
+        this.causes = new String[count];
+        this.segmentByIndex = new int[count];
+    }
+
+    @NonNull
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Gets the ids of the dimensions that identify the series.
+     *
+     * @return
+     */
+    @NonNull
+    public List<String> getDimensions() {
+        return dimensions;
+    }
+
+    @NonNull
+    public Map<String, String> getMetaData() {
+        return metaData;
+    }
+
+    @NonNegative
+    public int size() {
+        return labels.length;
+    }
+
+    /**
+     * Gets the key of a series: its values on each dimension.
+     *
+     * @param index
+     * @return
+     */
+    @NonNull
+    public List<String> getKey(@NonNegative int index) {
+        return Arrays.asList(keys[index].clone());
+    }
+
+    @NonNull
+    public String getLabel(@NonNegative int index) {
+        return labels[index];
+    }
+
+    @NonNull
+    public Map<String, String> getMetaData(@NonNegative int index) {
+        return metaDatas[index];
+    }
+
+    /**
+     * Reads the observations of a series.
+     *
+     * @param index
+     * @return
+     */
+    @NonNull
+    public OptionalTsData getData(@NonNegative int index) {
+        if (freqs[index] == NO_DATA) {
+            return OptionalTsData.absent(causes[index]);
+        }
+        double[] values = new double[lengths[index]];
+        if (values.length > 0) {
+            int segment = segmentByIndex[index];
+            ByteBuffer buffer = segments[segment].duplicate();
+            buffer.position((int) (offsets[index] - segmentOffsets[segment]));
+            buffer.asDoubleBuffer().get(values);
+        }
+        return OptionalTsData.present(new TsData(TsFrequency.valueOf(freqs[index]), years[index], positions[index], values, false));
+    }
+
+    /**
+     * Finds a series by its key.
+     *
+     * @param key
+     * @return the index of the series or -1 if not found
+     */
+    public int indexOf(@NonNull List<String> key) {
+        Map<List<String>, Integer> tmp = lookup;
+        if (tmp == null) {
+            tmp = new HashMap<>(keys.length * 4 / 3 + 1);
+            for (int i = keys.length - 1; i >= 0; i--) {
+                tmp.put(Arrays.asList(keys[i]), i);
+            }
+            lookup = tmp;
+        }
+        Integer result = tmp.get(key);
+        return result != null ? result : -1;
+    }
+
+    /**
+     * Checks if the key of a series starts with the specified values.
+     *
+     * @param index
+     * @param values
+     * @param length the number of values to compare
+     * @return
+     */
+    boolean startsWith(int index, String[] values, int length) {
+        String[] key = keys[index];
+        for (int i = 0; i < length; i++) {
+            if (!key[i].equals(values[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    String getKeyValue(int index, int dimension) {
+        return keys[index][dimension];
+    }
+
+    /**
+     * Creates a view of this file as a cube whose dimensions are those of the
+     * file.
+     *
+     * @return
+     */
+    @NonNull
+    public CubeAccessor toCubeAccessor() {
+        return new BinCubeAccessor(this);
+    }
+
+    //<editor-fold defaultstate="collapsed" desc="Implementation details">
+    private void readEntry(DataInputStream in, int i) throws IOException {
+        String[] key = new String[dimensions.size()];
+        for (int j = 0; j < key.length; j++) {
+            key[j] = in.readUTF();
+        }
+        keys[i] = key;
+        labels[i] = in.readUTF();
+        metaDatas[i] = readMetaData(in);
+        freqs[i] = in.readInt();
+        if (freqs[i] == NO_DATA) {
+            causes[i] = in.readUTF();
+        } else {
+            years[i] = in.readInt();
+            positions[i] = in.readInt();
+            lengths[i] = in.readInt();
+            offsets[i] = in.readLong();
+        }
+    }
+
+    private void map(FileChannel channel) throws IOException {
+        // a series never spans two segments
+        List<MappedByteBuffer> buffers = new ArrayList<>();
+        List<Long> starts = new ArrayList<>();
+        long start = -1, end = -1;
+        for (int i = 0; i < offsets.length; i++) {
+            if (freqs[i] == NO_DATA || lengths[i] == 0) {
+                continue;
+            }
+            long last = offsets[i] + 8L * lengths[i];
+            if (start < 0) {
+                start = offsets[i];
+            } else if (offsets[i] < start || last - start > MAX_SEGMENT) {
+                buffers.add(channel.map(FileChannel.MapMode.READ_ONLY, start, end - start));
+                starts.add(start);
+                start = offsets[i];
+                end = -1;
+            }
+            end = Math.max(end, last);
+            segmentByIndex[i] = buffers.size();
+        }
+        if (start >= 0) {
+            buffers.add(channel.map(FileChannel.MapMode.READ_ONLY, start, end - start));
+            starts.add(start);
+        }
+        segments = buffers.toArray(new MappedByteBuffer[buffers.size()]);
+        segmentOffsets = starts.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static List<String> readStrings(DataInputStream in) throws IOException {
+        int n = in.readInt();
+        List<String> result = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            result.add(in.readUTF());
+        }
+        return result;
+    }
+
+    private static Map<String, String> readMetaData(DataInputStream in) throws IOException {
+        int n = in.readInt();
+        if (n == 0) {
+            return ImmutableMap.of();
+        }
+        ImmutableMap.Builder<String, String> result = ImmutableMap.builder();
+        for (int i = 0; i < n; i++) {
+            result.put(in.readUTF(), in.readUTF());
+        }
+        return result.build();
+    }
+    //</editor-fold>
+}
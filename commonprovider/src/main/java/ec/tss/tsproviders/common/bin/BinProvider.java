@@ -0,0 +1,191 @@
+/*
+* Copyright 2013 National Bank of Belgium
+*
+* Licensed under the EUPL, Version 1.1 or – as soon they will be approved 
+* by the European Commission - subsequent versions of the EUPL (the "Licence");
+* You may not use this work except in compliance with the Licence.
+* You may obtain a copy of the Licence at:
+*
+* http://ec.europa.eu/idabc/eupl
+*
+* Unless required by applicable law or agreed to in writing, software 
+* distributed under the Licence is distributed on an "AS IS" basis,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the Licence for the specific language governing permissions and 
+* limitations under the Licence.
+*/
+package ec.tss.tsproviders.common.bin;
+
+import com.google.common.io.Files;
+import ec.tss.ITsProvider;
+import ec.tss.TsAsyncMode;
+import ec.tss.TsCollectionInformation;
+import ec.tss.TsInformation;
+import ec.tss.TsInformationType;
+import ec.tss.tsproviders.DataSet;
+import ec.tss.tsproviders.DataSource;
+import ec.tss.tsproviders.cube.CubeAccessor;
+import ec.tss.tsproviders.cube.CubeId;
+import ec.tss.tsproviders.cube.CubeSupport;
+import ec.tss.tsproviders.cursor.TsCursor;
+import ec.tss.tsproviders.utils.AbstractFileLoader;
+import ec.tss.tsproviders.utils.IParam;
+import ec.tss.tsproviders.utils.OptionalTsData;
+import ec.tstoolkit.MetaData;
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import nbbrd.service.ServiceProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Provider of binary columnar files of time series (see {@link BinFile}).
+ * Opening a file only reads its index; the series are read on demand from a
+ * memory mapping.
+ */
+@ServiceProvider(ITsProvider.class)
+public class BinProvider extends AbstractFileLoader<BinFile, BinBean> {
+
+    public static final String SOURCE = "TsBin";
+    public static final String VERSION = "20190601";
+    public static final String EXT = "tsbin";
+    private static final Logger LOGGER = LoggerFactory.getLogger(BinProvider.class);
+
+    private final CubeSupport cubeSupport;
+
+    public BinProvider() {
+        super(LOGGER, SOURCE, TsAsyncMode.Once);
+        this.cubeSupport = CubeSupport.of(new BinCubeResource());
+    }
+
+    @Override
+    protected BinFile loadFromBean(BinBean bean) throws Exception {
+        return BinFile.open(getRealFile(bean.getFile()));
+    }
+
+    @Override
+    public String getDisplayName() {
+        return "Binary series files";
+    }
+
+    @Override
+    public String getDisplayName(DataSet dataSet) {
+        support.check(dataSet);
+        return cubeSupport.getDisplayName(dataSet);
+    }
+
+    @Override
+    public String getDisplayNodeName(DataSet dataSet) {
+        support.check(dataSet);
+        return cubeSupport.getDisplayNodeName(dataSet);
+    }
+
+    @Override
+    public List<DataSet> children(DataSource dataSource) throws IOException {
+        support.check(dataSource);
+        return cubeSupport.children(dataSource);
+    }
+
+    @Override
+    public List<DataSet> children(DataSet parent) throws IOException {
+        support.check(parent, DataSet.Kind.COLLECTION);
+        return cubeSupport.children(parent);
+    }
+
+    @Override
+    protected void fillCollection(TsCollectionInformation info, DataSource dataSource) throws IOException {
+        try (TsCursor<DataSet> cursor = cubeSupport.getData(dataSource, info.type)) {
+            fill(info, cursor);
+        }
+    }
+
+    @Override
+    protected void fillCollection(TsCollectionInformation info, DataSet dataSet) throws IOException {
+        try (TsCursor<DataSet> cursor = cubeSupport.getData(dataSet, info.type)) {
+            info.name = getDisplayName(dataSet);
+            fill(info, cursor);
+        }
+    }
+
+    @Override
+    protected void fillSeries(TsInformation info, DataSet dataSet) throws IOException {
+        try (TsCursor<DataSet> cursor = cubeSupport.getData(dataSet, info.type)) {
+            if (!cursor.nextSeries()) {
+                throw new IOException("Missing time series");
+            }
+            info.name = cursor.getSeriesLabel();
+            fill(info, cursor);
+        }
+    }
+
+    private void fill(TsCollectionInformation info, TsCursor<DataSet> cursor) throws IOException {
+        if (info.type.encompass(TsInformationType.MetaData)) {
+            info.metaData = toMetaData(cursor.getMetaData());
+        }
+        while (cursor.nextSeries()) {
+            TsInformation item = new TsInformation(cursor.getSeriesLabel(), toMoniker(cursor.getSeriesId()), info.type);
+            fill(item, cursor);
+            info.items.add(item);
+        }
+    }
+
+    private void fill(TsInformation info, TsCursor<DataSet> cursor) throws IOException {
+        if (info.type.encompass(TsInformationType.MetaData)) {
+            info.metaData = toMetaData(cursor.getSeriesMetaData());
+        }
+        if (info.type.encompass(TsInformationType.Data)) {
+            OptionalTsData data = cursor.getSeriesData();
+            info.data = data.orNull();
+            info.invalidDataCause = data.isPresent() ? null : data.getCause();
+        }
+    }
+
+    private static MetaData toMetaData(Map<String, String> meta) {
+        return !meta.isEmpty() ? new MetaData(meta) : null;
+    }
+
+    @Override
+    public BinBean newBean() {
+        return new BinBean();
+    }
+
+    @Override
+    public DataSource encodeBean(Object bean) throws IllegalArgumentException {
+        try {
+            return ((BinBean) bean).toDataSource(SOURCE, VERSION);
+        } catch (ClassCastException ex) {
+            throw new IllegalArgumentException(ex);
+        }
+    }
+
+    @Override
+    public BinBean decodeBean(DataSource dataSource) {
+        return new BinBean(support.check(dataSource));
+    }
+
+    @Override
+    public boolean accept(File pathname) {
+        return EXT.equals(Files.getFileExtension(pathname.getName()).toLowerCase(Locale.ENGLISH));
+    }
+
+    @Override
+    public String getFileDescription() {
+        return "Binary series file (.tsbin)";
+    }
+
+    private final class BinCubeResource implements CubeSupport.Resource {
+
+        @Override
+        public CubeAccessor getAccessor(DataSource dataSource) throws IOException {
+            return support.getValue(cache, dataSource).toCubeAccessor();
+        }
+
+        @Override
+        public IParam<DataSet, CubeId> getIdParam(DataSource dataSource) throws IOException {
+            return CubeSupport.idByName(getAccessor(dataSource).getRoot());
+        }
+    }
+}
@@ -0,0 +1,277 @@
+/*
+* Copyright 2013 National Bank of Belgium
+*
+* Licensed under the EUPL, Version 1.1 or – as soon they will be approved 
+* by the European Commission - subsequent versions of the EUPL (the "Licence");
+* You may not use this work except in compliance with the Licence.
+* You may obtain a copy of the Licence at:
+*
+* http://ec.europa.eu/idabc/eupl
+*
+* Unless required by applicable law or agreed to in writing, software 
+* distributed under the Licence is distributed on an "AS IS" basis,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the Licence for the specific language governing permissions and 
+* limitations under the Licence.
+*/
+package ec.tss.tsproviders.common.bin;
+
+import com.google.common.base.Strings;
+import ec.tss.TsCollectionInformation;
+import ec.tss.TsInformation;
+import ec.tss.TsInformationType;
+import ec.tss.TsMoniker;
+import ec.tss.tsproviders.DataSet;
+import ec.tss.tsproviders.DataSource;
+import ec.tss.tsproviders.IDataSourceProvider;
+import ec.tss.tsproviders.utils.MultiLineNameUtil;
+import ec.tss.tsproviders.utils.OptionalTsData;
+import ec.tstoolkit.timeseries.simplets.TsData;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Writes a binary columnar file of time series. The observations are
+ * streamed to the file while the (small) index is kept in memory and written
+ * when the writer is closed. The file is created atomically: it doesn't exist
+ * until the writer is closed.
+ *
+ * @see BinFile
+ */
+public final class BinWriter implements Closeable {
+
+    /**
+     * Creates a new file
+     *
+     * @param file
+     * @param dimensions the ids of the dimensions that identify the series
+     * @param metaData metadata of the file
+     * @return
+     * @throws IOException
+     */
+    @NonNull
+    public static BinWriter create(@NonNull File file, @NonNull List<String> dimensions, @NonNull Map<String, String> metaData) throws IOException {
+        if (dimensions.isEmpty()) {
+            throw new IllegalArgumentException("At least one dimension is required");
+        }
+        File tmp = File.createTempFile("jdemetra", ".tmp", file.getAbsoluteFile().getParentFile());
+        return new BinWriter(file, tmp, dimensions, metaData);
+    }
+
+    private final File file;
+    private final File tmp;
+    private final int dimensionCount;
+    private final DataOutputStream data;
+    private final ByteArrayOutputStream indexBytes;
+    private final DataOutputStream index;
+    private long offset;
+    private int count;
+    private boolean closed;
+
+    private BinWriter(File file, File tmp, List<String> dimensions, Map<String, String> metaData) throws IOException {
+        this.file = file;
+        this.tmp = tmp;
+        this.dimensionCount = dimensions.size();
+        this.data = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp.toPath())));
+        this.indexBytes = new ByteArrayOutputStream();
+        this.index = new DataOutputStream(indexBytes);
+        data.write(new byte[BinFile.HEADER_SIZE]);
+        this.offset = BinFile.HEADER_SIZE;
+        this.count = 0;
+        this.closed = false;
+        index.writeInt(dimensionCount);
+        for (String o : dimensions) {
+            index.writeUTF(o);
+        }
+        writeMetaData(index, metaData);
+    }
+
+    /**
+     * Appends a series
+     *
+     * @param key the values of the series on each dimension
+     * @param label
+     * @param metaData
+     * @param value
+     * @return this writer
+     * @throws IOException
+     */
+    @NonNull
+    public BinWriter add(@NonNull List<String> key, @NonNull String label, @NonNull Map<String, String> metaData, @NonNull OptionalTsData value) throws IOException {
+        if (closed) {
+            throw new IOException("Closed writer");
+        }
+        if (key.size() != dimensionCount) {
+            throw new IllegalArgumentException("Invalid key " + key);
+        }
+        for (String o : key) {
+            if (Strings.isNullOrEmpty(o)) {
+                throw new IllegalArgumentException("Invalid key " + key);
+            }
+        }
+        for (String o : key) {
+            index.writeUTF(o);
+        }
+        index.writeUTF(label);
+        writeMetaData(index, metaData);
+        if (value.isPresent()) {
+            TsData s = value.get();
+            int n = s.getLength();
+            index.writeInt(s.getFrequency().intValue());
+            index.writeInt(s.getStart().getYear());
+            index.writeInt(s.getStart().getPosition());
+            index.writeInt(n);
+            index.writeLong(offset);
+            for (int i = 0; i < n; i++) {
+                data.writeDouble(s.get(i));
+            }
+            offset += 8L * n;
+        } else {
+            index.writeInt(BinFile.NO_DATA);
+            index.writeUTF(value.getCause());
+        }
+        count++;
+        return this;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            try {
+                index.flush();
+                indexBytes.writeTo(data);
+            } finally {
+                data.close();
+            }
+            try (RandomAccessFile header = new RandomAccessFile(tmp, "rw")) {
+                header.writeInt(BinFile.MAGIC);
+                header.writeInt(BinFile.VERSION);
+                header.writeLong(offset);
+                header.writeInt(count);
+            }
+            Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            tmp.delete();
+        }
+    }
+
+    private static void writeMetaData(DataOutputStream out, Map<String, String> metaData) throws IOException {
+        List<Map.Entry<String, String>> entries = new ArrayList<>(metaData.size());
+        for (Map.Entry<String, String> o : metaData.entrySet()) {
+            if (o.getKey() != null && o.getValue() != null) {
+                entries.add(o);
+            }
+        }
+        out.writeInt(entries.size());
+        for (Map.Entry<String, String> o : entries) {
+            out.writeUTF(o.getKey());
+            out.writeUTF(o.getValue());
+        }
+    }
+
+    //<editor-fold defaultstate="collapsed" desc="Converters">
+    /**
+     * Writes a collection of series; the series are identified by their
+     * names.
+     *
+     * @param file
+     * @param col
+     * @throws IOException
+     */
+    public static void write(@NonNull File file, @NonNull TsCollectionInformation col) throws IOException {
+        try (BinWriter writer = create(file, Collections.singletonList("series"), toMap(col.metaData))) {
+            for (TsInformation o : col.items) {
+                writer.add(Collections.singletonList(o.name), o.name, toMap(o.metaData), toData(o));
+            }
+        }
+    }
+
+    /**
+     * Converts a data source of any provider (txt, xml, spreadsheet, sdmx...).
+     * The hierarchy of the data source gives the dimensions of the file; if
+     * the series are not all at the same depth, they are identified by their
+     * full names.
+     *
+     * @param provider
+     * @param dataSource
+     * @param file
+     * @throws IOException
+     */
+    public static void convert(@NonNull IDataSourceProvider provider, @NonNull DataSource dataSource, @NonNull File file) throws IOException {
+        List<DataSet> series = new ArrayList<>();
+        List<List<String>> paths = new ArrayList<>();
+        walk(provider, provider.children(dataSource), Collections.emptyList(), series, paths);
+
+        int depth = paths.isEmpty() ? 1 : paths.get(0).size();
+        boolean uniform = paths.stream().allMatch(o -> o.size() == depth);
+        List<String> dimensions = new ArrayList<>();
+        if (uniform) {
+            for (int i = 0; i < depth; i++) {
+                dimensions.add("level" + i);
+            }
+        } else {
+            dimensions.add("series");
+        }
+
+        TsCollectionInformation col = new TsCollectionInformation(provider.toMoniker(dataSource), TsInformationType.All);
+        provider.get(col);
+        Map<TsMoniker, TsInformation> items = new HashMap<>();
+        col.items.forEach(o -> items.put(o.moniker, o));
+
+        try (BinWriter writer = create(file, dimensions, toMap(col.metaData))) {
+            for (int i = 0; i < series.size(); i++) {
+                TsMoniker moniker = provider.toMoniker(series.get(i));
+                TsInformation info = items.get(moniker);
+                if (info == null) {
+                    info = new TsInformation(provider.getDisplayName(series.get(i)), moniker, TsInformationType.All);
+                    provider.get(info);
+                }
+                List<String> path = paths.get(i);
+                List<String> key = uniform ? path : Collections.singletonList(String.join(MultiLineNameUtil.SEPARATOR, path));
+                writer.add(key, provider.getDisplayName(series.get(i)), toMap(info.metaData), toData(info));
+            }
+        }
+    }
+
+    private static void walk(IDataSourceProvider provider, List<DataSet> children, List<String> path, List<DataSet> series, List<List<String>> paths) throws IOException {
+        for (DataSet o : children) {
+            List<String> child = new ArrayList<>(path);
+            child.add(provider.getDisplayNodeName(o));
+            if (o.getKind() == DataSet.Kind.SERIES) {
+                series.add(o);
+                paths.add(child);
+            } else {
+                walk(provider, provider.children(o), child, series, paths);
+            }
+        }
+    }
+
+    private static OptionalTsData toData(TsInformation info) {
+        return info.data != null
+                ? OptionalTsData.present(info.data)
+                : OptionalTsData.absent(info.invalidDataCause != null ? info.invalidDataCause : "Missing data");
+    }
+
+    private static Map<String, String> toMap(@Nullable Map<String, String> metaData) {
+        return metaData != null ? metaData : Collections.emptyMap();
+    }
+    //</editor-fold>
+}
@@ -32,7 +32,13 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
 import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
@@ -47,7 +53,24 @@ final class TxtLoader {
         // static class
     }
 
+    // large files are memory-mapped instead of being copied through a buffer
+    static final long MAPPING_THRESHOLD = 1 << 20;
+
     public static TxtSource load(File realFile, TxtBean bean) throws IOException {
+        long size = realFile.length();
+        if (size >= MAPPING_THRESHOLD && size <= Integer.MAX_VALUE) {
+            MappedByteBuffer buffer;
+            try (FileChannel channel = FileChannel.open(realFile.toPath(), StandardOpenOption.READ)) {
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+            // same decoding as Files.newBufferedReader: malformed input is reported
+            CharsetDecoder decoder = bean.charset.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPORT)
+                    .onUnmappableCharacter(CodingErrorAction.REPORT);
+            try (Reader reader = new InputStreamReader(new ByteBufferInputStream(buffer), decoder)) {
+                return load(reader, bean);
+            }
+        }
         try (Reader reader = Files.newBufferedReader(realFile.toPath(), bean.charset)) {
             return load(reader, bean);
         }
@@ -172,13 +195,92 @@ final class TxtLoader {
         };
     }
 
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int n = Math.min(len, buffer.remaining());
+            buffer.get(b, off, n);
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+
+    /**
+     * Fast path of the first fallback format ("yyyy-MM-dd"); same results as
+     * the SimpleDateFormat without its cost. Other inputs are left to the
+     * next parsers.
+     */
+    private static final class IsoDateParser extends Parsers.Parser<Date> {
+
+        private final GregorianCalendar cal = new GregorianCalendar(TimeZone.getDefault(), Locale.ROOT);
+
+        IsoDateParser() {
+            cal.setLenient(false);
+        }
+
+        @Override
+        public Date parse(CharSequence input) throws NullPointerException {
+            if (input.length() != 10 || input.charAt(4) != '-' || input.charAt(7) != '-') {
+                return null;
+            }
+            int year = digits(input, 0, 4);
+            int month = digits(input, 5, 7);
+            int day = digits(input, 8, 10);
+            if (year < 0 || month < 0 || day < 0) {
+                return null;
+            }
+            cal.clear();
+            cal.set(year, month - 1, day);
+            try {
+                return cal.getTime();
+            } catch (IllegalArgumentException ex) {
+                return null;
+            }
+        }
+
+        private static int digits(CharSequence input, int start, int end) {
+            int result = 0;
+            for (int i = start; i < end; i++) {
+                char c = input.charAt(i);
+                if (c < '0' || c > '9') {
+                    return -1;
+                }
+                result = result * 10 + (c - '0');
+            }
+            return result;
+        }
+    }
+
     // needed by the use of SimpleDateFormat in the subparsers
     private static final ThreadLocal<IParser<Date>> FALLBACK_PARSER = new ThreadLocal<IParser<Date>>() {
         @Override
         protected IParser<Date> initialValue() {
-            ImmutableList<IParser<Date>> list = Stream.of(FALLBACK_FORMATS)
-                    .map(o -> DataFormat.of(Locale.ROOT, o, null).dateParser())
-                    .collect(ImmutableList.toImmutableList());
+            ImmutableList<IParser<Date>> list = ImmutableList.<IParser<Date>>builder()
+                    .add(new IsoDateParser())
+                    .addAll(Stream.of(FALLBACK_FORMATS).map(o -> DataFormat.of(Locale.ROOT, o, null).dateParser()).iterator())
+                    .build();
             return Parsers.firstNotNull(list);
         }
     };
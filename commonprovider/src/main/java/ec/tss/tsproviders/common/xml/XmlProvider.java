@@ -35,6 +35,8 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
 import nbbrd.io.xml.bind.Jaxb;
 import nbbrd.service.ServiceProvider;
 import org.slf4j.Logger;
@@ -83,8 +85,27 @@ public class XmlProvider extends AbstractFileLoader<wsTsWorkspace, XmlBean> {
     @Override
     protected wsTsWorkspace loadFromBean(XmlBean bean) throws IOException {
         File file = getRealFile(bean.getFile());
-        String content = Files.toString(file, bean.getCharset()).replace("eu/tstoolkit:", "ec/tstoolkit.");
-        return Jaxb.Parser.of(wsTsWorkspace.class).parseChars(content);
+        String content = Files.toString(file, bean.getCharset());
+        if (content.contains(LEGACY_NAMESPACE)) {
+            content = content.replace(LEGACY_NAMESPACE, "ec/tstoolkit.");
+        }
+        return Xml.PARSER.parseChars(content);
+    }
+
+    private static final String LEGACY_NAMESPACE = "eu/tstoolkit:";
+
+    // the context is expensive to create and can be shared between threads
+    private static final class Xml {
+
+        static final Jaxb.Parser<wsTsWorkspace> PARSER;
+
+        static {
+            try {
+                PARSER = Jaxb.Parser.of(JAXBContext.newInstance(wsTsWorkspace.class));
+            } catch (JAXBException ex) {
+                throw new RuntimeException(ex);
+            }
+        }
     }
 
     @Override
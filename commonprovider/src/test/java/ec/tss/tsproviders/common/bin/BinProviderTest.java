@@ -0,0 +1,159 @@
+/*
+ * Copyright 2017 National Bank of Belgium
+ * 
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved 
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * 
+ * http://ec.europa.eu/idabc/eupl
+ * 
+ * Unless required by applicable law or agreed to in writing, software 
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and 
+ * limitations under the Licence.
+ */
+package ec.tss.tsproviders.common.bin;
+
+import com.google.common.collect.ImmutableMap;
+import ec.tss.TsCollectionInformation;
+import ec.tss.TsInformation;
+import ec.tss.TsInformationType;
+import ec.tss.tsproviders.DataSet;
+import ec.tss.tsproviders.DataSource;
+import ec.tss.tsproviders.IFileLoaderAssert;
+import ec.tss.tsproviders.cube.CubeId;
+import ec.tss.tsproviders.cursor.TsCursor;
+import ec.tss.tsproviders.common.xml.XmlBean;
+import ec.tss.tsproviders.common.xml.XmlProvider;
+import ec.tss.tsproviders.utils.OptionalTsData;
+import ec.tstoolkit.timeseries.simplets.TsData;
+import ec.tstoolkit.timeseries.simplets.TsFrequency;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class BinProviderTest {
+
+    @ClassRule
+    public static TemporaryFolder temp = new TemporaryFolder();
+
+    static File SAMPLE;
+
+    @BeforeClass
+    public static void convertSample() throws IOException {
+        SAMPLE = new File(temp.getRoot(), "Insee.tsbin");
+        try (XmlProvider p = new XmlProvider()) {
+            XmlBean bean = p.newBean();
+            bean.setFile(IFileLoaderAssert.urlAsFile(BinProviderTest.class.getResource("/Insee.xml")));
+            DataSource dataSource = p.encodeBean(bean);
+            p.open(dataSource);
+            BinWriter.convert(p, dataSource, SAMPLE);
+        }
+    }
+
+    @Test
+    public void testCompliance() {
+        IFileLoaderAssert.assertCompliance(BinProvider::new, BinProviderTest::getSampleBean);
+    }
+
+    @Test
+    public void testSample() throws IOException {
+        try (BinProvider p = new BinProvider()) {
+            BinBean bean = getSampleBean(p);
+            DataSource dataSource = p.encodeBean(bean);
+            assertThat(p.open(dataSource)).isTrue();
+
+            assertThat(p.getDisplayName(dataSource)).isEqualTo(bean.getFile().getPath());
+            assertThat(p.children(dataSource)).hasSize(2);
+
+            DataSet node = p.children(dataSource).get(0);
+            assertThat(node.getKind()).isEqualTo(DataSet.Kind.COLLECTION);
+            assertThat(p.getDisplayNodeName(node)).isEqualTo("S1");
+            assertThat(p.children(node)).hasSize(2);
+
+            assertThat(new TsCollectionInformation(p.toMoniker(node), TsInformationType.All))
+                    .satisfies(o -> {
+                        assertThat(p.get(o)).isTrue();
+                        assertThat(o.items).hasSize(2);
+                    });
+
+            DataSet leaf = p.children(node).get(1);
+            assertThat(p.getDisplayName(leaf)).isEqualTo("S1 - 000854655");
+            assertThat(p.getDisplayNodeName(leaf)).isEqualTo("000854655");
+
+            assertThat(new TsInformation("", p.toMoniker(leaf), TsInformationType.All))
+                    .satisfies(o -> {
+                        assertThat(p.get(o)).isTrue();
+                        assertThat(o.name).isEqualTo("S1 - 000854655");
+                        assertThat(o.data).isEqualTo(getXmlData(1));
+                        assertThat(o.invalidDataCause).isNull();
+                    });
+
+            assertThat(p.close(dataSource)).isTrue();
+        }
+    }
+
+    @Test
+    public void testWriteAndOpen() throws IOException {
+        File file = temp.newFile("test.tsbin");
+        TsData s1 = new TsData(TsFrequency.Quarterly, 2000, 1, new double[]{1, 2, Double.NaN, 4}, false);
+        TsData s2 = new TsData(TsFrequency.Monthly, 2010, 11, new double[0], false);
+        try (BinWriter writer = BinWriter.create(file, Arrays.asList("country", "sector"), ImmutableMap.of("source", "test"))) {
+            writer.add(Arrays.asList("BE", "A"), "Belgium, A", ImmutableMap.of("unit", "EUR"), OptionalTsData.present(s1))
+                    .add(Arrays.asList("BE", "B"), "Belgium, B", Collections.emptyMap(), OptionalTsData.absent("No data"))
+                    .add(Arrays.asList("FR", "A"), "France, A", Collections.emptyMap(), OptionalTsData.present(s2));
+        }
+
+        BinFile bin = BinFile.open(file);
+        assertThat(bin.getDimensions()).containsExactly("country", "sector");
+        assertThat(bin.getMetaData()).containsEntry("source", "test");
+        assertThat(bin.size()).isEqualTo(3);
+        assertThat(bin.getKey(2)).containsExactly("FR", "A");
+        assertThat(bin.getLabel(0)).isEqualTo("Belgium, A");
+        assertThat(bin.getMetaData(0)).containsEntry("unit", "EUR");
+        assertThat(bin.getData(0)).isEqualTo(OptionalTsData.present(s1));
+        assertThat(bin.getData(1)).isEqualTo(OptionalTsData.absent("No data"));
+        assertThat(bin.getData(2)).isEqualTo(OptionalTsData.present(s2));
+        assertThat(bin.indexOf(Arrays.asList("BE", "B"))).isEqualTo(1);
+        assertThat(bin.indexOf(Arrays.asList("FR", "B"))).isEqualTo(-1);
+
+        BinCubeAccessor accessor = new BinCubeAccessor(bin);
+        CubeId root = accessor.getRoot();
+        try (TsCursor<CubeId> cursor = accessor.getSelectionWithData(Arrays.asList(root.child("FR", "A"), root.child("FR", "B"), root.child("BE"), root.child("BE", "A")))) {
+            assertThat(cursor.nextSeries()).isTrue();
+            assertThat(cursor.getSeriesId()).isEqualTo(root.child("FR", "A"));
+            assertThat(cursor.getSeriesData()).isEqualTo(OptionalTsData.present(s2));
+            assertThat(cursor.nextSeries()).isTrue();
+            assertThat(cursor.getSeriesId()).isEqualTo(root.child("BE", "A"));
+            assertThat(cursor.getSeriesLabel()).isEqualTo("Belgium, A");
+            assertThat(cursor.nextSeries()).isFalse();
+        }
+    }
+
+    private static TsData getXmlData(int index) throws IOException {
+        try (XmlProvider p = new XmlProvider()) {
+            XmlBean bean = p.newBean();
+            bean.setFile(IFileLoaderAssert.urlAsFile(BinProviderTest.class.getResource("/Insee.xml")));
+            DataSource dataSource = p.encodeBean(bean);
+            p.open(dataSource);
+            DataSet leaf = p.children(p.children(dataSource).get(0)).get(index);
+            TsInformation info = new TsInformation("", p.toMoniker(leaf), TsInformationType.All);
+            p.get(info);
+            return info.data;
+        }
+    }
+
+    private static BinBean getSampleBean(BinProvider p) {
+        BinBean bean = p.newBean();
+        bean.setFile(SAMPLE);
+        return bean;
+    }
+}
@@ -21,12 +21,19 @@ import ec.tstoolkit.timeseries.TsAggregationType;
 import ec.tstoolkit.timeseries.simplets.TsData;
 import ec.tstoolkit.timeseries.simplets.TsFrequency;
 import ec.tstoolkit.timeseries.simplets.TsPeriod;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.MalformedInputException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
 import java.util.Locale;
 import static org.junit.Assert.*;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 /**
  *
@@ -34,6 +41,9 @@ import org.junit.Test;
  */
 public class TxtLoaderTest {
 
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
     //<editor-fold defaultstate="collapsed" desc="Shortcuts">
     static TxtSource loadResource(String name, TxtBean bean) throws IOException {
         try (InputStream stream = TxtLoaderTest.class.getResourceAsStream(name)) {
@@ -109,6 +119,71 @@ public class TxtLoaderTest {
         assertEquals(new TsPeriod(TsFrequency.Monthly, 1996, 9), data1.getLastPeriod());
     }
 
+    static String generateContent(int rows, int columns) {
+        StringBuilder content = new StringBuilder("date");
+        for (int j = 0; j < columns; j++) {
+            content.append('\t').append("S").append(j);
+        }
+        for (int i = 0; i < rows; i++) {
+            content.append(String.format(Locale.ROOT, "%n%04d-%02d-01", 1950 + i / 12, 1 + i % 12));
+            for (int j = 0; j < columns; j++) {
+                content.append('\t').append(i * 1000 + j).append(".25");
+            }
+        }
+        return content.toString();
+    }
+
+    @Test
+    public void testLargeFile() throws IOException {
+        int columns = 200;
+        File file = temp.newFile("large.txt");
+        Files.write(file.toPath(), generateContent(600, columns).getBytes(StandardCharsets.UTF_8));
+        assertTrue(file.length() >= TxtLoader.MAPPING_THRESHOLD);
+
+        TxtBean bean = new TxtBean();
+        bean.setCharset(StandardCharsets.UTF_8);
+        bean.setDelimiter(TxtBean.Delimiter.TAB);
+
+        TxtSource source = TxtLoader.load(file, bean);
+
+        assertEquals(columns, source.items.size());
+        assertEquals(601, source.readLines);
+        assertEquals(0, source.invalidLines);
+
+        TxtSeries series7 = source.items.get(7);
+        assertEquals("S7", series7.name);
+
+        TsData data7 = series7.data.get();
+        assertEquals(600, data7.getLength());
+        assertEquals(new TsPeriod(TsFrequency.Monthly, 1950, 0), data7.getStart());
+        assertEquals(7.25, data7.get(0), 0);
+        assertEquals(599007.25, data7.get(599), 0);
+    }
+
+    @Test
+    public void testMalformedInput() throws IOException {
+        TxtBean bean = new TxtBean();
+        bean.setCharset(StandardCharsets.UTF_8);
+        bean.setDelimiter(TxtBean.Delimiter.TAB);
+
+        // the buffered (small) and the mapped (large) files must fail in the same way
+        for (int rows : new int[]{10, 600}) {
+            byte[] valid = generateContent(rows, 200).getBytes(StandardCharsets.UTF_8);
+            byte[] invalid = Arrays.copyOf(valid, valid.length + 2);
+            invalid[valid.length] = (byte) 0xC3;
+            invalid[valid.length + 1] = (byte) 0x28;
+            File file = temp.newFile("malformed" + rows + ".txt");
+            Files.write(file.toPath(), invalid);
+            assertEquals(rows == 600, file.length() >= TxtLoader.MAPPING_THRESHOLD);
+            try {
+                TxtLoader.load(file, bean);
+                fail();
+            } catch (CharacterCodingException ex) {
+                assertTrue(ex instanceof MalformedInputException);
+            }
+        }
+    }
+
     @Test
     public void testAggregation() throws IOException {
         TxtBean bean = new TxtBean();
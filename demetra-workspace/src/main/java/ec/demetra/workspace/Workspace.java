@@ -18,7 +18,12 @@ package ec.demetra.workspace;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 /**
@@ -86,6 +91,56 @@ public interface Workspace extends Closeable {
      */
     void store(@NonNull WorkspaceItem item, @NonNull Object value) throws IOException;
 
+    /**
+     * Loads the data of several workspace items. Implementations may load
+     * independent items concurrently.
+     *
+     * @param items a non-null collection of items
+     * @return a non-null map of data, in the order of the items
+     * @throws IOException if the operation failed
+     * @since 2.2.4
+     */
+    @NonNull
+    default Map<WorkspaceItem, Object> loadAll(@NonNull Collection<WorkspaceItem> items) throws IOException {
+        Map<WorkspaceItem, Object> result = new LinkedHashMap<>();
+        for (WorkspaceItem o : items) {
+            result.put(o, load(o));
+        }
+        return result;
+    }
+
+    /**
+     * Stores the metadata and data of several workspace items. Implementations
+     * may store independent items concurrently.
+     *
+     * @param values a non-null map of data by item
+     * @throws IOException if the operation failed
+     * @since 2.2.4
+     */
+    default void storeAll(@NonNull Map<WorkspaceItem, Object> values) throws IOException {
+        for (Map.Entry<WorkspaceItem, Object> o : values.entrySet()) {
+            store(o.getKey(), o.getValue());
+        }
+    }
+
+    /**
+     * Stores the metadata of several workspace items and the data of the
+     * modified ones. The modifications are tracked by the owner of the values
+     * (typically through the dirty flags of its documents): the data of an
+     * item that is not modified and that already exists in the workspace is
+     * not written again, so that it doesn't need to be serialized. The
+     * default implementation stores all the items.
+     *
+     * @param values a non-null map of data by item
+     * @param modified a non-null predicate that identifies the items whose
+     * data have been modified since they were loaded or stored
+     * @throws IOException if the operation failed
+     * @since 2.2.4
+     */
+    default void storeAll(@NonNull Map<WorkspaceItem, Object> values, @NonNull Predicate<? super WorkspaceItem> modified) throws IOException {
+        storeAll(values);
+    }
+
     /**
      * Removes a workspace item if it exists, do nothing otherwise.
      *
@@ -103,10 +158,12 @@ public interface Workspace extends Closeable {
     default void copyTo(@NonNull Workspace target) throws IOException {
         target.setName(getName());
         Collection<WorkspaceFamily> families = target.getSupportedFamilies();
+        List<WorkspaceItem> items = new ArrayList<>();
         for (WorkspaceItem o : getItems()) {
             if (families.contains(o.getFamily())) {
-                target.store(o, load(o));
+                items.add(o);
             }
         }
+        target.storeAll(loadAll(items));
     }
 }
@@ -19,13 +19,13 @@ package ec.demetra.workspace.file.util;
 import ec.tss.xml.information.XmlInformationSet;
 import ec.tstoolkit.information.InformationSet;
 import ec.tstoolkit.information.InformationSetSerializable;
+import internal.io.JaxbUtil;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Objects;
 import java.util.function.Supplier;
 import nbbrd.io.xml.Xml;
-import nbbrd.io.xml.bind.Jaxb;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 /**
@@ -99,8 +99,8 @@ public final class InformationSetSupport implements FileSupport {
     private static final Xml.Formatter<XmlInformationSet> FORMATTER;
 
     static {
-        PARSER = Jaxb.Parser.of(XmlInformationSet.class);
-        FORMATTER = Jaxb.Formatter.of(XmlInformationSet.class).withFormatted(true);
+        PARSER = JaxbUtil.parserOf(XmlInformationSet.class);
+        FORMATTER = JaxbUtil.formatterOf(XmlInformationSet.class);
     }
 
     private static XmlInformationSet unmarshalItem(Path file) throws IOException {
@@ -17,6 +17,7 @@
 package ec.demetra.workspace.file.util;
 
 import ec.tss.xml.IXmlConverter;
+import internal.io.JaxbUtil;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -24,7 +25,6 @@ import java.util.function.Supplier;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import lombok.AccessLevel;
 import nbbrd.io.xml.Xml;
-import nbbrd.io.xml.bind.Jaxb;
 
 /**
  *
@@ -37,8 +37,8 @@ public final class XmlConverterSupport implements FileSupport {
     @NonNull
     public static <VALUE, XML extends IXmlConverter<VALUE>> FileSupport of(@NonNull Supplier<XML> factory, @NonNull String repository) {
         ValueAdapter<VALUE, XML> adapter = new ValueAdapter<>(factory);
-        Xml.Parser<VALUE> parser = Jaxb.Parser.of(adapter.getXmlType()).andThen(adapter::toValue);
-        Xml.Formatter<VALUE> formatter = Jaxb.Formatter.of(adapter.getXmlType()).withFormatted(true).compose(adapter::fromValue);
+        Xml.Parser<VALUE> parser = JaxbUtil.parserOf(adapter.getXmlType()).andThen(adapter::toValue);
+        Xml.Formatter<VALUE> formatter = JaxbUtil.formatterOf(adapter.getXmlType()).compose(adapter::fromValue);
         return new XmlConverterSupport(repository, parser, formatter);
     }
 
@@ -16,8 +16,17 @@
  */
 package internal.io;
 
+import java.io.IOException;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.Consumer;
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.Unmarshaller;
+import nbbrd.io.xml.Xml;
+import nbbrd.io.xml.bind.Jaxb;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
@@ -44,4 +53,74 @@ public class JaxbUtil {
             }
         }
     }
+
+    private final ConcurrentMap<Class<?>, JAXBContext> CONTEXTS = new ConcurrentHashMap<>();
+
+    /**
+     * Gets a shared context for a class. Contexts are thread-safe and
+     * expensive to create.
+     *
+     * @param type
+     * @return
+     */
+    @NonNull
+    public JAXBContext getContext(@NonNull Class<?> type) {
+        return CONTEXTS.computeIfAbsent(type, o -> {
+            try {
+                return JAXBContext.newInstance(o);
+            } catch (JAXBException ex) {
+                throw new IllegalArgumentException(ex);
+            }
+        });
+    }
+
+    /**
+     * Creates a parser that uses a shared context and reuses one unmarshaller
+     * per thread.
+     *
+     * @param <T>
+     * @param type
+     * @return
+     */
+    public <T> Xml.@NonNull Parser<T> parserOf(@NonNull Class<T> type) {
+        JAXBContext context = getContext(type);
+        ThreadLocal<Unmarshaller> pool = new ThreadLocal<>();
+        return Jaxb.Parser.<T>of(context).withFactory(() -> {
+            Unmarshaller result = pool.get();
+            if (result == null) {
+                try {
+                    result = context.createUnmarshaller();
+                } catch (JAXBException ex) {
+                    throw new IOException(ex);
+                }
+                pool.set(result);
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Creates a formatted formatter that uses a shared context and reuses one
+     * marshaller per thread.
+     *
+     * @param <T>
+     * @param type
+     * @return
+     */
+    public <T> Xml.@NonNull Formatter<T> formatterOf(@NonNull Class<T> type) {
+        JAXBContext context = getContext(type);
+        ThreadLocal<Marshaller> pool = new ThreadLocal<>();
+        return Jaxb.Formatter.<T>of(context).withFormatted(true).withFactory(() -> {
+            Marshaller result = pool.get();
+            if (result == null) {
+                try {
+                    result = context.createMarshaller();
+                } catch (JAXBException ex) {
+                    throw new IOException(ex);
+                }
+                pool.set(result);
+            }
+            return result;
+        });
+    }
 }
@@ -21,9 +21,14 @@ import ec.demetra.workspace.WorkspaceItem;
 import ec.demetra.workspace.file.FileWorkspace;
 import ec.tstoolkit.utilities.Paths;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import ec.demetra.workspace.file.FileFormat;
@@ -33,6 +38,7 @@ import java.nio.file.NoSuchFileException;
 import java.util.ArrayList;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.IntStream;
 import nbbrd.io.Resource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -158,6 +164,65 @@ public final class FileWorkspaceImpl implements FileWorkspace {
         indexer.storeIndex(indexer.loadIndex().withItem(key, toValue(item)));
     }
 
+    @Override
+    public Map<WorkspaceItem, Object> loadAll(Collection<WorkspaceItem> items) throws IOException {
+        List<WorkspaceItem> list = new ArrayList<>(items);
+        Object[] values = new Object[list.size()];
+        try {
+            IntStream.range(0, values.length).parallel().forEach(i -> {
+                try {
+                    values[i] = load(list.get(i));
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+        Map<WorkspaceItem, Object> result = new LinkedHashMap<>();
+        for (int i = 0; i < values.length; i++) {
+            result.put(list.get(i), values[i]);
+        }
+        return result;
+    }
+
+    @Override
+    public void storeAll(Map<WorkspaceItem, Object> values) throws IOException {
+        storeAll(values, o -> true);
+    }
+
+    @Override
+    public void storeAll(Map<WorkspaceItem, Object> values, Predicate<? super WorkspaceItem> modified) throws IOException {
+        Objects.requireNonNull(modified, "modified");
+
+        Map<Index.Key, Index.Value> current = indexer.loadIndex().getItems();
+        Map<Index.Key, Index.Value> entries = new LinkedHashMap<>();
+        List<Map.Entry<WorkspaceItem, Object>> list = new ArrayList<>();
+        for (Map.Entry<WorkspaceItem, Object> o : values.entrySet()) {
+            Objects.requireNonNull(o.getValue(), "value");
+            Index.Key key = toKey(o.getKey());
+            indexer.checkId(key);
+            entries.put(key, toValue(o.getKey()));
+            if (!current.containsKey(key) || modified.test(o.getKey())) {
+                list.add(o);
+            }
+        }
+
+        try {
+            list.parallelStream().forEach(o -> {
+                Index.Key key = toKey(o.getKey());
+                try {
+                    handlers.storeValue(key.getFamily(), rootFolder, key.getId(), o.getValue());
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+        indexer.storeIndex(indexer.loadIndex().withItems(entries));
+    }
+
     @Override
     public void delete(WorkspaceItem item) throws IOException {
         Index.Key key = toKey(item);
@@ -26,7 +26,6 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Map;
 import nbbrd.io.xml.Xml;
-import nbbrd.io.xml.bind.Jaxb;
 
 /**
  *
@@ -117,8 +116,8 @@ final class GenericIndexer implements Indexer {
     private static final Xml.Formatter<XmlGenericWorkspace> FORMATTER;
 
     static {
-        PARSER = Jaxb.Parser.of(XmlGenericWorkspace.class);
-        FORMATTER = Jaxb.Formatter.of(XmlGenericWorkspace.class).withFormatted(true);
+        PARSER = JaxbUtil.parserOf(XmlGenericWorkspace.class);
+        FORMATTER = JaxbUtil.formatterOf(XmlGenericWorkspace.class);
     }
 
     private static XmlGenericWorkspace unmarshalIndex(Path file) throws IOException {
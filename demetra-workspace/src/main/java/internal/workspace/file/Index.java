@@ -41,6 +41,11 @@ class Index {
         return toBuilder().item(key, value).build();
     }
 
+    @NonNull
+    public Index withItems(@NonNull Map<? extends Key, ? extends Value> items) {
+        return toBuilder().items(items).build();
+    }
+
     @NonNull
     public Index withoutItem(@NonNull Key key) {
         Index.Builder result = Index.builder().name(getName());
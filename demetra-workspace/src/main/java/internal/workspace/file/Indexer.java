@@ -57,8 +57,10 @@ interface Indexer extends Closeable {
 
             @Override
             public void storeIndex(Index index) throws IOException {
-                latest = index;
-                storeRequired = true;
+                if (!index.equals(latest)) {
+                    latest = index;
+                    storeRequired = true;
+                }
             }
 
             @Override
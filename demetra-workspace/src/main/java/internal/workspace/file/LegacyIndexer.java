@@ -35,7 +35,6 @@ import java.util.Map.Entry;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import nbbrd.io.xml.Xml;
-import nbbrd.io.xml.bind.Jaxb;
 
 /**
  *
@@ -161,8 +160,8 @@ final class LegacyIndexer implements Indexer {
     private static final Xml.Formatter<XmlLegacyWorkspace> FORMATTER;
 
     static {
-        PARSER = Jaxb.Parser.of(XmlLegacyWorkspace.class);
-        FORMATTER = Jaxb.Formatter.of(XmlLegacyWorkspace.class).withFormatted(true);
+        PARSER = JaxbUtil.parserOf(XmlLegacyWorkspace.class);
+        FORMATTER = JaxbUtil.formatterOf(XmlLegacyWorkspace.class);
     }
 
     private static XmlLegacyWorkspace unmarshalIndex(Path file) throws IOException {
@@ -63,7 +63,10 @@ import java.nio.file.FileSystem;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import org.junit.Test;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -183,6 +186,72 @@ public class FileWorkspaceImplTest {
         }
     }
 
+    @Test
+    public void testLoadAll() throws IOException {
+        try (FileWorkspace ws = openGenericUsingServiceLoader(GENERIC_INDEX)) {
+            Map<WorkspaceItem, Object> values = ws.loadAll(ws.getItems());
+            assertThat(values.keySet()).containsExactlyElementsOf(ws.getItems());
+            for (WorkspaceItem item : ws.getItems()) {
+                assertThat(values.get(item)).isExactlyInstanceOf(ws.load(item).getClass());
+            }
+        }
+    }
+
+    @Test
+    public void testStoreAll() throws IOException {
+        Path copyOfGeneric = newGenericSample();
+
+        WorkspaceItem spec = GENERIC_SA_SPEC_X13.toBuilder().id("X13Spec-2").build();
+        WorkspaceItem var = GENERIC_UTIL_VAR.toBuilder().id("Vars-2").build();
+
+        Map<WorkspaceItem, Object> values = new LinkedHashMap<>();
+        try (FileWorkspace ws = openGenericUsingServiceLoader(GENERIC_INDEX)) {
+            values.put(spec, ws.load(GENERIC_SA_SPEC_X13));
+            values.put(var, ws.load(GENERIC_UTIL_VAR));
+        }
+        try (FileWorkspace ws = openGenericUsingServiceLoader(copyOfGeneric)) {
+            ws.storeAll(values);
+            assertThat(ws.getItems()).contains(spec, var);
+        }
+        try (FileWorkspace ws = openGenericUsingServiceLoader(copyOfGeneric)) {
+            assertThat(ws.getItems()).contains(spec, var);
+            assertThat(ws.load(spec)).isInstanceOf(X13Specification.class);
+            assertThat(ws.load(var)).isInstanceOf(TsVariables.class);
+        }
+    }
+
+    @Test
+    public void testStoreUnchanged() throws IOException {
+        Path copyOfGeneric = newGenericSample();
+        FileTime old = FileTime.fromMillis(0);
+
+        WorkspaceItem relabeled = GENERIC_UTIL_VAR.toBuilder().label("other").build();
+        WorkspaceItem added = GENERIC_UTIL_VAR.toBuilder().id("Vars-2").build();
+
+        Map<WorkspaceItem, Object> values = new LinkedHashMap<>();
+        try (FileWorkspace ws = openGenericUsingServiceLoader(GENERIC_INDEX)) {
+            Object value = ws.load(GENERIC_UTIL_VAR);
+            values.put(relabeled, value);
+            values.put(added, value);
+        }
+        try (FileWorkspace ws = openGenericUsingServiceLoader(copyOfGeneric)) {
+            ws.store(GENERIC_UTIL_VAR, values.get(relabeled));
+            Files.setLastModifiedTime(ws.getFile(GENERIC_UTIL_VAR), old);
+            ws.storeAll(values, o -> false);
+            // unchanged data are not written but new items are
+            assertThat(Files.getLastModifiedTime(ws.getFile(GENERIC_UTIL_VAR))).isEqualTo(old);
+            assertThat(ws.getFile(added)).exists();
+            assertThat(ws.getItems()).contains(relabeled, added);
+
+            ws.storeAll(values, relabeled::equals);
+            assertThat(Files.getLastModifiedTime(ws.getFile(GENERIC_UTIL_VAR))).isNotEqualTo(old);
+        }
+        try (FileWorkspace ws = openGenericUsingServiceLoader(copyOfGeneric)) {
+            assertThat(ws.getItems()).contains(relabeled, added);
+            assertThat(ws.load(added)).isInstanceOf(TsVariables.class);
+        }
+    }
+
     @Test
     public void testDeleteItem() throws IOException {
         Path copyOfGeneric = newGenericSample();
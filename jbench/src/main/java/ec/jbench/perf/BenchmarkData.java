@@ -0,0 +1,112 @@
+/*
+ * Copyright 2013 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.jbench.perf;
+
+import ec.tstoolkit.arima.ArimaModelBuilder;
+import ec.tstoolkit.random.XorshiftRNG;
+import ec.tstoolkit.sarima.SarimaModel;
+import ec.tstoolkit.sarima.SarimaModelBuilder;
+import ec.tstoolkit.sarima.SarimaSpecification;
+import ec.tstoolkit.timeseries.simplets.TsData;
+import ec.tstoolkit.timeseries.simplets.TsFrequency;
+
+/**
+ * Reproducible series sets used by the benchmarks. The series are generated
+ * from airline models (in logs), with a fixed seed, so that two runs of the
+ * benchmarks always work on the same data.
+ */
+public final class BenchmarkData {
+
+    public static final int SEED = 12345;
+
+    private BenchmarkData() {
+        // static class
+    }
+
+    /**
+     * Creates the usual airline model (0 1 1)(0 1 1)
+     *
+     * @param freq The annual frequency
+     * @param th The regular MA parameter
+     * @param bth The seasonal MA parameter
+     * @return
+     */
+    public static SarimaModel airline(int freq, double th, double bth) {
+        return new SarimaModelBuilder().createAirlineModel(freq, th, bth);
+    }
+
+    /**
+     * Creates an airline model, or a (0 1 1) model for yearly series
+     *
+     * @param freq The annual frequency
+     * @param th The regular MA parameter
+     * @param bth The seasonal MA parameter (unused for yearly series)
+     * @return
+     */
+    private static SarimaModel airlineOrArima011(int freq, double th, double bth) {
+        if (freq > 1) {
+            return airline(freq, th, bth);
+        }
+        SarimaSpecification spec = new SarimaSpecification(1);
+        spec.setD(1);
+        spec.setQ(1);
+        SarimaModel model = new SarimaModel(spec);
+        model.setTheta(1, th);
+        return model;
+    }
+
+    /**
+     * Generates a set of positive series (exp of an airline process; exp of a
+     * (0 1 1) process for yearly series)
+     *
+     * @param freq The frequency of the series
+     * @param nseries The number of series
+     * @param nyears The length of the series, in years
+     * @return
+     */
+    public static TsData[] airlines(TsFrequency freq, int nseries, int nyears) {
+        ArimaModelBuilder gen = new ArimaModelBuilder();
+        gen.setRandomNumberGenerator(new XorshiftRNG(SEED));
+        int ifreq = freq.intValue();
+        int n = nyears * ifreq;
+        TsData[] all = new TsData[nseries];
+        for (int i = 0; i < nseries; ++i) {
+            // the parameters are spread between -.8 and -.2
+            double th = -.2 - .6 * ((i * 7) % 11) / 10.0;
+            double bth = -.2 - .6 * ((i * 3) % 7) / 6.0;
+            double[] vals = gen.generate(airlineOrArima011(ifreq, th, bth), n);
+            for (int j = 0; j < n; ++j) {
+                vals[j] = Math.exp(5 + .01 * vals[j]);
+            }
+            all[i] = new TsData(freq, 2000 - nyears, 0, vals, false);
+        }
+        return all;
+    }
+
+    /**
+     * Generates a stationary series, following the given model
+     *
+     * @param arma The stationary model
+     * @param n The length of the series
+     * @return
+     */
+    public static double[] stationary(SarimaModel arma, int n) {
+        ArimaModelBuilder gen = new ArimaModelBuilder();
+        gen.setRandomNumberGenerator(new XorshiftRNG(SEED));
+        return gen.generateStationary(arma, n);
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2013 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.jbench.perf;
+
+import java.io.IOException;
+import org.openjdk.jmh.runner.RunnerException;
+
+/**
+ * Entry point of the performance benchmarks. The arguments are the usual JMH
+ * command line options (for instance "LikelihoodBenchmark -prof gc -rf json").
+ * Without argument, all the benchmarks of this package are run.
+ */
+public final class Benchmarks {
+
+    private Benchmarks() {
+        // static class
+    }
+
+    public static void main(String[] args) throws IOException, RunnerException {
+        if (args.length == 0) {
+            args = new String[]{Benchmarks.class.getPackage().getName() + ".*"};
+        }
+        org.openjdk.jmh.Main.main(args);
+    }
+}
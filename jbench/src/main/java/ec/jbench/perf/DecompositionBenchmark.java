@@ -0,0 +1,99 @@
+/*
+ * Copyright 2013 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.jbench.perf;
+
+import ec.satoolkit.DecompositionMode;
+import ec.satoolkit.x11.X11Kernel;
+import ec.satoolkit.x11.X11Specification;
+import ec.satoolkit.x11.X11Toolkit;
+import ec.tstoolkit.arima.ArimaModel;
+import ec.tstoolkit.sarima.SarimaModel;
+import ec.tstoolkit.timeseries.simplets.TsData;
+import ec.tstoolkit.timeseries.simplets.TsFrequency;
+import ec.tstoolkit.ucarima.ModelDecomposer;
+import ec.tstoolkit.ucarima.SeasonalSelector;
+import ec.tstoolkit.ucarima.TrendCycleSelector;
+import ec.tstoolkit.ucarima.UcarimaModel;
+import ec.tstoolkit.ucarima.estimation.BurmanEstimates;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Decomposition kernels, without pre-processing: X11 tables and Burman
+ * (Wiener-Kolmogorov) estimates of the components of an airline model.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DecompositionBenchmark {
+
+    @Param({"10", "20", "40"})
+    public int nyears;
+
+    TsData s, ls;
+    X11Toolkit toolkit;
+    UcarimaModel ucm;
+
+    @Setup
+    public void setup() {
+        s = BenchmarkData.airlines(TsFrequency.Monthly, 1, nyears)[0];
+        ls = s.log();
+
+        X11Specification spec = new X11Specification();
+        spec.setMode(DecompositionMode.Multiplicative);
+        spec.setForecastHorizon(0);
+        toolkit = X11Toolkit.create(spec);
+
+        SarimaModel airline = BenchmarkData.airline(12, -.6, -.8);
+        ModelDecomposer decomposer = new ModelDecomposer();
+        decomposer.add(new TrendCycleSelector(.5));
+        decomposer.add(new SeasonalSelector(12, 3));
+        ucm = decomposer.decompose(ArimaModel.create(airline));
+        ucm.setVarianceMax(-1, true);
+    }
+
+    @Benchmark
+    public void x11(Blackhole bh) {
+        X11Kernel kernel = new X11Kernel();
+        kernel.setToolkit(toolkit);
+        bh.consume(kernel.process(s));
+    }
+
+    @Benchmark
+    public void burman(Blackhole bh) {
+        BurmanEstimates burman = new BurmanEstimates();
+        burman.setUcarimaModel(ucm);
+        burman.setData(ls.internalStorage());
+        for (int i = 0; i < ucm.getComponentsCount(); ++i) {
+            bh.consume(burman.estimates(i, true));
+        }
+    }
+}
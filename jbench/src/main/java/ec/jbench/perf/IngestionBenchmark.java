@@ -0,0 +1,288 @@
+/*
+ * Copyright 2013 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.jbench.perf;
+
+import ec.tss.TsAsyncMode;
+import ec.tss.TsCollectionInformation;
+import ec.tss.TsInformation;
+import ec.tss.TsInformationType;
+import ec.tss.tsproviders.DataSource;
+import ec.tss.tsproviders.IDataSourceLoader;
+import ec.tss.tsproviders.common.txt.TxtBean;
+import ec.tss.tsproviders.common.txt.TxtProvider;
+import ec.tss.tsproviders.common.xml.XmlBean;
+import ec.tss.tsproviders.common.xml.XmlProvider;
+import ec.tss.tsproviders.db.DbAccessor;
+import ec.tss.tsproviders.jdbc.ConnectionSupplier;
+import ec.tss.tsproviders.jdbc.JdbcAccessor;
+import ec.tss.tsproviders.jdbc.JdbcBean;
+import ec.tss.tsproviders.jdbc.JdbcProvider;
+import ec.tss.tsproviders.sdmx.SdmxBean;
+import ec.tss.tsproviders.sdmx.SdmxProvider;
+import ec.tss.tsproviders.spreadsheet.SpreadSheetBean;
+import ec.tss.tsproviders.spreadsheet.SpreadSheetProvider;
+import ec.tss.tsproviders.utils.DataFormat;
+import ec.tstoolkit.timeseries.simplets.TsData;
+import ec.tstoolkit.timeseries.simplets.TsFrequency;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Ingestion throughput of the providers: a whole data source is loaded
+ * (from the bytes of the file or from the database to the TsData), the cache
+ * of the provider being cleared before each load. The input is generated
+ * from airline series (see ProviderFixtures); its size is given by the
+ * number of series, their length (in years) and their frequency.
+ * <br>
+ * Besides the loads by second, the series and the observations ("rows") by
+ * second are reported. The allocations are given by the "gc" profiler and
+ * the peak heap by PeakHeapProfiler:
+ * <pre>
+ * IngestionBenchmark -p nseries=1000 -prof gc -prof ec.jbench.perf.PeakHeapProfiler
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class IngestionBenchmark {
+
+    @Param({"TXT", "XML", "SPREADSHEET", "SDMX", "JDBC"})
+    public String provider;
+
+    @Param({"100", "1000"})
+    public int nseries;
+
+    @Param({"20"})
+    public int nyears;
+
+    @Param({"Monthly"})
+    public String frequency;
+
+    File folder;
+    Connection connection;
+    IDataSourceLoader loader;
+    DataSource source;
+
+    /**
+     * Series and observations loaded during an iteration, reported as rates
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Counters {
+
+        public long series;
+        public long rows;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            series = 0;
+            rows = 0;
+        }
+    }
+
+    @Setup
+    public void setup() throws IOException, SQLException {
+        TsData[] series = BenchmarkData.airlines(TsFrequency.valueOf(frequency), nseries, nyears);
+        folder = Files.createTempDirectory("jbench").toFile();
+        switch (provider) {
+            case "TXT":
+                setupTxt(series);
+                break;
+            case "XML":
+                setupXml(series);
+                break;
+            case "SPREADSHEET":
+                setupSpreadSheet(series);
+                break;
+            case "SDMX":
+                setupSdmx(series);
+                break;
+            case "JDBC":
+                setupJdbc(series);
+                break;
+            default:
+                throw new IllegalArgumentException(provider);
+        }
+        // checks the fixture once, so that a parsing failure isn't measured
+        TsCollectionInformation info = load(new Counters());
+        if (info.items.size() != nseries || info.items.stream().anyMatch(o -> o.data == null)) {
+            throw new IllegalStateException("Invalid fixture for " + provider + ": " + info.invalidDataCause);
+        }
+    }
+
+    @TearDown
+    public void teardown() throws SQLException {
+        loader.close();
+        if (connection != null) {
+            try (Statement stmt = connection.createStatement()) {
+                stmt.execute("SHUTDOWN");
+            }
+            connection.close();
+        }
+        File[] files = folder.listFiles();
+        if (files != null) {
+            for (File o : files) {
+                o.delete();
+            }
+        }
+        folder.delete();
+    }
+
+    @Setup(Level.Invocation)
+    public void clearCache() {
+        loader.clearCache();
+    }
+
+    @Benchmark
+    public TsCollectionInformation load(Counters counters) {
+        TsCollectionInformation result = new TsCollectionInformation(loader.toMoniker(source), TsInformationType.All);
+        loader.get(result);
+        for (TsInformation o : result.items) {
+            counters.series++;
+            if (o.data != null) {
+                counters.rows += o.data.getLength();
+            }
+        }
+        return result;
+    }
+
+    private void setupTxt(TsData[] series) throws IOException {
+        File file = new File(folder, "data.txt");
+        try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            ProviderFixtures.writeTxt(writer, series);
+        }
+        TxtProvider txt = new TxtProvider();
+        TxtBean bean = txt.newBean();
+        bean.setFile(file);
+        bean.setCharset(StandardCharsets.UTF_8);
+        bean.setDataFormat(DataFormat.of(Locale.ROOT, ProviderFixtures.DATE_PATTERN, null));
+        bean.setDelimiter(TxtBean.Delimiter.TAB);
+        bean.setHeaders(true);
+        loader = txt;
+        source = txt.encodeBean(bean);
+    }
+
+    private void setupXml(TsData[] series) throws IOException {
+        File file = new File(folder, "data.xml");
+        try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            ProviderFixtures.writeXml(writer, series);
+        }
+        XmlProvider xml = new XmlProvider();
+        XmlBean bean = xml.newBean();
+        bean.setFile(file);
+        bean.setCharset(StandardCharsets.UTF_8);
+        loader = xml;
+        source = xml.encodeBean(bean);
+    }
+
+    private void setupSpreadSheet(TsData[] series) throws IOException {
+        File file = new File(folder, "data.xlsx");
+        ProviderFixtures.writeSpreadSheet(file, series);
+        SpreadSheetProvider spreadSheet = new SpreadSheetProvider();
+        SpreadSheetBean bean = spreadSheet.newBean();
+        bean.setFile(file);
+        loader = spreadSheet;
+        source = spreadSheet.encodeBean(bean);
+    }
+
+    private void setupSdmx(TsData[] series) throws IOException {
+        File file = new File(folder, "data.xml");
+        try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            ProviderFixtures.writeCompactSdmx(writer, series);
+        }
+        SdmxProvider sdmx = new SdmxProvider();
+        SdmxBean bean = sdmx.newBean();
+        bean.setFile(file);
+        loader = sdmx;
+        source = sdmx.encodeBean(bean);
+    }
+
+    private void setupJdbc(TsData[] series) throws SQLException {
+        String url = "jdbc:hsqldb:mem:jbench";
+        connection = DriverManager.getConnection(url, "sa", "");
+        ProviderFixtures.writeTable(connection, "SERIES", series);
+        EmbeddedProvider jdbc = new EmbeddedProvider(o -> DriverManager.getConnection(url, "sa", ""));
+        JdbcBean bean = jdbc.newBean();
+        bean.setDbName("jbench");
+        bean.setTableName("SERIES");
+        bean.setDimColumns(ProviderFixtures.ID_COLUMN);
+        bean.setPeriodColumn(ProviderFixtures.PERIOD_COLUMN);
+        bean.setValueColumn(ProviderFixtures.VALUE_COLUMN);
+        loader = jdbc;
+        source = jdbc.encodeBean(bean);
+    }
+
+    /**
+     * Jdbc provider on the embedded database
+     */
+    private static final class EmbeddedProvider extends JdbcProvider<JdbcBean> {
+
+        private final ConnectionSupplier supplier;
+
+        EmbeddedProvider(ConnectionSupplier supplier) {
+            super("JBENCH", "1", LoggerFactory.getLogger(EmbeddedProvider.class), TsAsyncMode.None);
+            this.supplier = supplier;
+        }
+
+        @Override
+        public String getDisplayName() {
+            return "Embedded database";
+        }
+
+        @Override
+        protected DbAccessor<JdbcBean> loadFromBean(JdbcBean bean) throws Exception {
+            return new JdbcAccessor(logger, bean, supplier).memoize();
+        }
+
+        @Override
+        public JdbcBean newBean() {
+            return new JdbcBean();
+        }
+
+        @Override
+        public JdbcBean decodeBean(DataSource dataSource) {
+            return new JdbcBean(dataSource);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2013 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.jbench.perf;
+
+import ec.tstoolkit.arima.estimation.ArmaKF;
+import ec.tstoolkit.arima.estimation.FastArimaML;
+import ec.tstoolkit.arima.estimation.KalmanFilter;
+import ec.tstoolkit.data.DataBlock;
+import ec.tstoolkit.eco.Likelihood;
+import ec.tstoolkit.sarima.SarimaModel;
+import ec.tstoolkit.sarima.SarmaSpecification;
+import ec.tstoolkit.ssf.Filter;
+import ec.tstoolkit.ssf.PredictionErrorDecomposition;
+import ec.tstoolkit.ssf.SsfAlgorithm;
+import ec.tstoolkit.ssf.SsfData;
+import ec.tstoolkit.ssf.SsfModel;
+import ec.tstoolkit.ssf.arima.SsfArima;
+import ec.tstoolkit.timeseries.simplets.TsFrequency;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Evaluation of the likelihood of (seasonal) arima models, which is the
+ * innermost loop of the estimation routines.
+ * <br>
+ * The ordinary Kalman filter (ssfFilter, ssfAlgorithm) reuses its buffers
+ * between the evaluations: with "-prof gc", the allocations by evaluation
+ * (gc.alloc.rate.norm) of ssfFilter don't depend on the length of the series,
+ * and the ones of ssfAlgorithm only grow with the residuals it returns.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LikelihoodBenchmark {
+
+    @Param({"120", "360", "1200"})
+    public int length;
+
+    SarimaModel arma, airline;
+    DataBlock y, ly;
+    SsfModel<SsfArima> ssfModel;
+    Filter<SsfArima> ssfFilter;
+    PredictionErrorDecomposition pe;
+    SsfAlgorithm<SsfArima> ssfAlgorithm;
+
+    @Setup
+    public void setup() {
+        SarmaSpecification spec = new SarmaSpecification(12);
+        spec.setP(1);
+        spec.setQ(1);
+        spec.setBQ(1);
+        arma = new SarimaModel(spec);
+        arma.setPhi(1, -.3);
+        arma.setTheta(1, -.6);
+        arma.setBTheta(1, -.8);
+        y = new DataBlock(BenchmarkData.stationary(arma, length));
+
+        airline = BenchmarkData.airline(12, -.6, -.8);
+        ly = new DataBlock(BenchmarkData.airlines(TsFrequency.Monthly, 1, length / 12)[0].log().internalStorage());
+
+        SsfArima ssf = new SsfArima(airline);
+        ssfModel = new SsfModel<>(ssf, new SsfData(ly, null), null, null);
+        ssfFilter = new Filter<>();
+        ssfFilter.setSsf(ssf);
+        pe = new PredictionErrorDecomposition(false);
+        ssfAlgorithm = new SsfAlgorithm<>();
+    }
+
+    @Benchmark
+    public double armaKF() {
+        ArmaKF kf = new ArmaKF(arma);
+        Likelihood ll = new Likelihood();
+        kf.process(y, ll);
+        return ll.getLogLikelihood();
+    }
+
+    @Benchmark
+    public double kalmanFilter() {
+        KalmanFilter kf = new KalmanFilter(true);
+        int n = kf.initialize(arma, y.getLength());
+        DataBlock e = new DataBlock(n);
+        kf.filter(y, e);
+        return kf.getLogDeterminant() + e.ssq();
+    }
+
+    @Benchmark
+    public double ssfFilter() {
+        pe.close();
+        ssfFilter.process(ssfModel.getData(), pe);
+        return pe.getSsqErr() + pe.getLogDeterminant();
+    }
+
+    @Benchmark
+    public double ssfAlgorithm() {
+        return ssfAlgorithm.evaluate(ssfModel).getLikelihood().getLogLikelihood();
+    }
+
+    @Benchmark
+    public double fastArimaML() {
+        FastArimaML ml = new FastArimaML();
+        ml.setModel(airline);
+        ml.process(ly);
+        return ml.getObjective();
+    }
+}
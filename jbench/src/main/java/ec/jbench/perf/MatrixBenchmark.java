@@ -0,0 +1,149 @@
+/*
+ * Copyright 2013 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.jbench.perf;
+
+import ec.tstoolkit.arima.estimation.RegArimaModel;
+import ec.tstoolkit.data.DataBlock;
+import ec.tstoolkit.maths.matrices.Householder;
+import ec.tstoolkit.maths.matrices.Matrix;
+import ec.tstoolkit.maths.matrices.SymmetricMatrix;
+import ec.tstoolkit.sarima.SarimaModel;
+import ec.tstoolkit.timeseries.simplets.TsFrequency;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Dense matrix kernels, on the shapes met in the estimation routines:
+ * <ul>
+ * <li>the (differenced) design matrix of a RegArima model, with trading days
+ * and outliers (cross-products, products and QR decomposition)</li>
+ * <li>the update of the covariance of the states of a state space model
+ * (T*P*T')</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MatrixBenchmark {
+
+    /**
+     * Design matrix of a monthly RegArima model
+     */
+    @State(Scope.Thread)
+    public static class Design {
+
+        @Param({"120", "360"})
+        public int length;
+
+        @Param({"8", "40", "80"})
+        public int nx;
+
+        Matrix x, w;
+
+        @Setup
+        public void setup() {
+            SarimaModel airline = BenchmarkData.airline(12, -.6, -.8);
+            DataBlock y = new DataBlock(BenchmarkData.airlines(TsFrequency.Monthly, 1, length / 12)[0].log().internalStorage());
+            RegArimaModel<SarimaModel> model = new RegArimaModel<>(airline, y);
+            for (int i = 0; i < nx; ++i) {
+                model.addX(regressor(i, length, nx));
+            }
+            x = model.getDModel().variables();
+            w = new Matrix(nx, nx);
+            w.randomize(BenchmarkData.SEED);
+        }
+    }
+
+    /**
+     * Covariance of the states of a state space model of the given dimension
+     */
+    @State(Scope.Thread)
+    public static class Covariance {
+
+        @Param({"14", "26", "40"})
+        public int dim;
+
+        Matrix t, p;
+
+        @Setup
+        public void setup() {
+            t = new Matrix(dim, dim);
+            t.randomize(BenchmarkData.SEED);
+            t.mul(1.0 / dim);
+            Matrix l = new Matrix(dim, dim);
+            l.randomize(BenchmarkData.SEED + 1);
+            p = SymmetricMatrix.XXt(l);
+        }
+    }
+
+    /**
+     * The first regressors are contrasts of period 7 (6 columns, as the
+     * trading days), the other ones are additive outliers and level shifts
+     * spread over the series
+     */
+    static DataBlock regressor(int i, int length, int nx) {
+        DataBlock x = new DataBlock(length);
+        if (i < 6) {
+            for (int j = 0; j < length; ++j) {
+                int d = j % 7;
+                x.set(j, d == i ? 1 : d == 6 ? -1 : 0);
+            }
+        } else {
+            int pos = (int) ((long) (i - 5) * length / (nx - 4));
+            if (i % 2 == 0) {
+                x.set(pos, 1);
+            } else {
+                x.range(pos, length).set(1);
+            }
+        }
+        return x;
+    }
+
+    @Benchmark
+    public Matrix xtx(Design design) {
+        return SymmetricMatrix.XtX(design.x);
+    }
+
+    @Benchmark
+    public Matrix times(Design design) {
+        return design.x.times(design.w);
+    }
+
+    @Benchmark
+    public int householder(Design design) {
+        Householder qr = new Householder(true);
+        qr.decompose(design.x);
+        return qr.getRank();
+    }
+
+    @Benchmark
+    public Matrix covarianceUpdate(Covariance covariance) {
+        return SymmetricMatrix.quadraticFormT(covariance.p, covariance.t);
+    }
+}
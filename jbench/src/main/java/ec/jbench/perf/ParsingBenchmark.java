@@ -0,0 +1,140 @@
+/*
+ * Copyright 2013 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.jbench.perf;
+
+import ec.tss.tsproviders.DataSource;
+import ec.tss.tsproviders.common.txt.TxtBean;
+import ec.tss.tsproviders.common.txt.TxtProvider;
+import ec.tss.tsproviders.utils.DataFormat;
+import ec.tss.tsproviders.utils.ObsGathering;
+import ec.tss.tsproviders.utils.OptionalTsData;
+import ec.tss.tsproviders.utils.Parsers;
+import ec.tstoolkit.timeseries.simplets.TsData;
+import ec.tstoolkit.timeseries.simplets.TsFrequency;
+import ec.tstoolkit.timeseries.simplets.TsPeriod;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Parsing paths of the providers: the text provider (file to time series)
+ * and the parsing/gathering of the observations, which is shared by most
+ * providers.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParsingBenchmark {
+
+    @Param({"100"})
+    public int nseries;
+
+    @Param({"20"})
+    public int nyears;
+
+    File file;
+    TxtProvider provider;
+    DataSource source;
+    String[] dates;
+    String[][] values;
+    DataFormat format;
+
+    @Setup
+    public void setup() throws IOException {
+        TsData[] series = BenchmarkData.airlines(TsFrequency.Monthly, nseries, nyears);
+        int n = series[0].getLength();
+        format = DataFormat.of(Locale.ROOT, ProviderFixtures.DATE_PATTERN, null);
+        SimpleDateFormat fmt = new SimpleDateFormat(ProviderFixtures.DATE_PATTERN, Locale.ROOT);
+        dates = new String[n];
+        values = new String[nseries][n];
+        TsPeriod start = series[0].getStart();
+        for (int i = 0; i < n; ++i) {
+            dates[i] = fmt.format(start.plus(i).firstday().getTime());
+            for (int j = 0; j < nseries; ++j) {
+                values[j][i] = Double.toString(series[j].get(i));
+            }
+        }
+
+        file = File.createTempFile("jbench", ".txt");
+        try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            ProviderFixtures.writeTxt(writer, series);
+        }
+
+        provider = new TxtProvider();
+        TxtBean bean = provider.newBean();
+        bean.setFile(file);
+        bean.setCharset(StandardCharsets.UTF_8);
+        bean.setDataFormat(format);
+        bean.setDelimiter(TxtBean.Delimiter.TAB);
+        bean.setHeaders(true);
+        source = provider.encodeBean(bean);
+    }
+
+    @TearDown
+    public void teardown() {
+        provider.close();
+        file.delete();
+    }
+
+    @Setup(Level.Invocation)
+    public void clearCache() {
+        provider.clearCache();
+    }
+
+    @Benchmark
+    public void txtProvider(Blackhole bh) throws IOException {
+        bh.consume(provider.getSource(source));
+    }
+
+    @Benchmark
+    public void gathering(Blackhole bh) {
+        Parsers.Parser<Date> dateParser = format.dateParser();
+        Parsers.Parser<Number> numberParser = format.numberParser();
+        GregorianCalendar cal = new GregorianCalendar();
+        for (String[] cur : values) {
+            OptionalTsData.Builder2<Date> builder = OptionalTsData.builderByDate(cal, ObsGathering.DEFAULT);
+            for (int i = 0; i < dates.length; ++i) {
+                builder.add(dateParser.parse(dates[i]), numberParser.parse(cur[i]));
+            }
+            bh.consume(builder.build());
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2013 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.jbench.perf;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.Collection;
+import java.util.Collections;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.profile.InternalProfiler;
+import org.openjdk.jmh.results.AggregationPolicy;
+import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.ScalarResult;
+
+/**
+ * Peak heap usage of the iterations, as given by the memory pools of the
+ * benchmarked VM ("-prof ec.jbench.perf.PeakHeapProfiler"). The peaks of the
+ * pools are reset before each iteration; their sum is an upper bound of the
+ * actual peak of the heap, which depends on the collector and on the
+ * maximum heap size.
+ */
+public final class PeakHeapProfiler implements InternalProfiler {
+
+    @Override
+    public String getDescription() {
+        return "Peak heap usage (sum of the peaks of the heap memory pools)";
+    }
+
+    @Override
+    public void beforeIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams) {
+        for (MemoryPoolMXBean o : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (o.getType() == MemoryType.HEAP) {
+                o.resetPeakUsage();
+            }
+        }
+    }
+
+    @Override
+    public Collection<? extends Result> afterIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams, IterationResult result) {
+        long peak = 0;
+        for (MemoryPoolMXBean o : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (o.getType() == MemoryType.HEAP) {
+                peak += o.getPeakUsage().getUsed();
+            }
+        }
+        return Collections.singletonList(new ScalarResult("heap.peak", peak / (1024.0 * 1024.0), "MB", AggregationPolicy.MAX));
+    }
+}
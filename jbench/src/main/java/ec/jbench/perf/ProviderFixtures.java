@@ -0,0 +1,248 @@
+/*
+ * Copyright 2013 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.jbench.perf;
+
+import ec.tstoolkit.timeseries.simplets.TsData;
+import ec.tstoolkit.timeseries.simplets.TsFrequency;
+import ec.tstoolkit.timeseries.simplets.TsPeriod;
+import ec.util.spreadsheet.Book;
+import ec.util.spreadsheet.BookFactoryLoader;
+import ec.util.spreadsheet.helpers.ArraySheet;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.text.SimpleDateFormat;
+import java.util.Locale;
+
+/**
+ * Generation of the input of the providers (text, xml, spreadsheet and
+ * SDMX-ML files, database table) from a set of series. The series are named
+ * "s0", "s1"... The tabular formats (text, spreadsheet) require series with
+ * the same domain, as the ones of {@link BenchmarkData#airlines}.
+ */
+public final class ProviderFixtures {
+
+    /**
+     * The pattern of the dates in the text files
+     */
+    public static final String DATE_PATTERN = "yyyy-MM-dd";
+
+    /**
+     * The columns of the database table
+     */
+    public static final String ID_COLUMN = "ID", PERIOD_COLUMN = "REF_DATE", VALUE_COLUMN = "OBS_VALUE";
+
+    private ProviderFixtures() {
+        // static class
+    }
+
+    public static String name(int i) {
+        return "s" + i;
+    }
+
+    /**
+     * Writes a tab-delimited text file, with the dates in the first column
+     * and the names of the series in the first row
+     *
+     * @param writer
+     * @param series
+     * @throws IOException
+     */
+    public static void writeTxt(Writer writer, TsData[] series) throws IOException {
+        SimpleDateFormat fmt = new SimpleDateFormat(DATE_PATTERN, Locale.ROOT);
+        writer.write("date");
+        for (int j = 0; j < series.length; ++j) {
+            writer.append('\t').append(name(j));
+        }
+        writer.write('\n');
+        TsPeriod start = series[0].getStart();
+        for (int i = 0; i < series[0].getLength(); ++i) {
+            writer.write(fmt.format(start.plus(i).firstday().getTime()));
+            for (TsData s : series) {
+                writer.append('\t').append(Double.toString(s.get(i)));
+            }
+            writer.write('\n');
+        }
+    }
+
+    /**
+     * Writes a workspace of the xml provider (one collection)
+     *
+     * @param writer
+     * @param series
+     * @throws IOException
+     */
+    public static void writeXml(Writer writer, TsData[] series) throws IOException {
+        writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+        writer.write("<tsworkspace xmlns=\"ec/tstoolkit.core\">\n<timeseries>\n");
+        writer.write("<tscollection name=\"jbench\">\n<data>\n");
+        for (int i = 0; i < series.length; ++i) {
+            TsData s = series[i];
+            TsPeriod start = s.getStart();
+            writer.write("<ts name=\"" + name(i) + "\"><tsdata freq=\"" + s.getFrequency().intValue()
+                    + "\" ystart=\"" + start.getYear() + "\" pstart=\"" + (start.getPosition() + 1) + "\"><data>");
+            for (int j = 0; j < s.getLength(); ++j) {
+                if (j > 0) {
+                    writer.write(' ');
+                }
+                writer.write(Double.toString(s.get(j)));
+            }
+            writer.write("</data></tsdata></ts>\n");
+        }
+        writer.write("</data>\n</tscollection>\n</timeseries>\n</tsworkspace>\n");
+    }
+
+    /**
+     * Writes a spreadsheet (one sheet), with the dates in the first column
+     * and the names of the series in the first row. The format is given by
+     * the extension of the file.
+     *
+     * @param file
+     * @param series
+     * @throws IOException
+     */
+    public static void writeSpreadSheet(File file, TsData[] series) throws IOException {
+        Book.Factory factory = BookFactoryLoader.get().stream()
+                .filter(o -> o.canStore() && o.accept(file))
+                .findFirst()
+                .orElseThrow(() -> new IOException("No spreadsheet writer for '" + file + "'"));
+        int n = series[0].getLength();
+        Object[][] table = new Object[n + 1][series.length + 1];
+        for (int j = 0; j < series.length; ++j) {
+            table[0][j + 1] = name(j);
+        }
+        TsPeriod start = series[0].getStart();
+        for (int i = 0; i < n; ++i) {
+            table[i + 1][0] = start.plus(i).firstday().getTime();
+            for (int j = 0; j < series.length; ++j) {
+                table[i + 1][j + 1] = series[j].get(i);
+            }
+        }
+        factory.store(file, ArraySheet.copyOf("jbench", table).toBook());
+    }
+
+    /**
+     * Writes a SDMX-ML (2.0) generic data message
+     *
+     * @param writer
+     * @param series
+     * @throws IOException
+     */
+    public static void writeGenericSdmx(Writer writer, TsData[] series) throws IOException {
+        writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+        writer.write("<GenericData xmlns=\"http://www.SDMX.org/resources/SDMXML/schemas/v2_0/message\""
+                + " xmlns:generic=\"http://www.SDMX.org/resources/SDMXML/schemas/v2_0/generic\">\n");
+        writer.write("<Header><ID>jbench</ID></Header>\n<DataSet>\n");
+        writer.write("<generic:KeyFamilyRef>JBENCH</generic:KeyFamilyRef>\n");
+        for (int i = 0; i < series.length; ++i) {
+            TsData s = series[i];
+            writer.write("<generic:Series><generic:SeriesKey>");
+            writer.write("<generic:Value concept=\"FREQ\" value=\"" + sdmxFrequency(s.getFrequency()) + "\"/>");
+            writer.write("<generic:Value concept=\"ID\" value=\"" + name(i) + "\"/>");
+            writer.write("</generic:SeriesKey>\n");
+            TsPeriod start = s.getStart();
+            for (int j = 0; j < s.getLength(); ++j) {
+                writer.write("<generic:Obs><generic:Time>" + sdmxPeriod(start.plus(j)) + "</generic:Time>");
+                writer.write("<generic:ObsValue value=\"" + s.get(j) + "\"/></generic:Obs>\n");
+            }
+            writer.write("</generic:Series>\n");
+        }
+        writer.write("</DataSet>\n</GenericData>\n");
+    }
+
+    /**
+     * Writes a SDMX-ML (2.0) compact data message
+     *
+     * @param writer
+     * @param series
+     * @throws IOException
+     */
+    public static void writeCompactSdmx(Writer writer, TsData[] series) throws IOException {
+        writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+        writer.write("<CompactData xmlns=\"http://www.SDMX.org/resources/SDMXML/schemas/v2_0/message\""
+                + " xmlns:bisc=\"urn:jbench:compact\">\n");
+        writer.write("<Header><ID>jbench</ID></Header>\n<bisc:DataSet>\n");
+        for (int i = 0; i < series.length; ++i) {
+            TsData s = series[i];
+            writer.write("<bisc:Series FREQ=\"" + sdmxFrequency(s.getFrequency()) + "\" ID=\"" + name(i) + "\">\n");
+            TsPeriod start = s.getStart();
+            for (int j = 0; j < s.getLength(); ++j) {
+                writer.write("<bisc:Obs TIME_PERIOD=\"" + sdmxPeriod(start.plus(j)) + "\" OBS_VALUE=\"" + s.get(j) + "\"/>\n");
+            }
+            writer.write("</bisc:Series>\n");
+        }
+        writer.write("</bisc:DataSet>\n</CompactData>\n");
+    }
+
+    /**
+     * Creates and fills a table (one row by observation) identified by
+     * ID_COLUMN and PERIOD_COLUMN
+     *
+     * @param connection
+     * @param table
+     * @param series
+     * @throws SQLException
+     */
+    public static void writeTable(Connection connection, String table, TsData[] series) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("CREATE TABLE " + table + " (" + ID_COLUMN + " VARCHAR(16), " + PERIOD_COLUMN + " DATE, "
+                    + VALUE_COLUMN + " DOUBLE, PRIMARY KEY (" + ID_COLUMN + ", " + PERIOD_COLUMN + "))");
+        }
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO " + table + " VALUES (?, ?, ?)")) {
+            for (int i = 0; i < series.length; ++i) {
+                TsData s = series[i];
+                TsPeriod start = s.getStart();
+                for (int j = 0; j < s.getLength(); ++j) {
+                    insert.setString(1, name(i));
+                    insert.setDate(2, new java.sql.Date(start.plus(j).firstday().getTime().getTime()));
+                    insert.setDouble(3, s.get(j));
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+        }
+    }
+
+    private static String sdmxFrequency(TsFrequency freq) {
+        switch (freq) {
+            case Yearly:
+                return "A";
+            case HalfYearly:
+                return "S";
+            case QuadriMonthly:
+                return "T";
+            case Quarterly:
+                return "Q";
+            case Monthly:
+                return "M";
+            default:
+                throw new IllegalArgumentException("Unsupported frequency " + freq);
+        }
+    }
+
+    private static String sdmxPeriod(TsPeriod p) {
+        if (p.getFrequency() == TsFrequency.Yearly) {
+            return Integer.toString(p.getYear());
+        }
+        int month = p.getPosition() * 12 / p.getFrequency().intValue() + 1;
+        return p.getYear() + (month < 10 ? "-0" : "-") + month;
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2013 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.jbench.perf;
+
+import ec.tss.TsCollection;
+import ec.tss.TsFactory;
+import ec.tss.sa.SaManager;
+import ec.tss.sa.processors.TramoSeatsProcessor;
+import ec.tss.sa.revisions.RevisionAnalysisProcessor;
+import ec.tss.sa.revisions.RevisionAnalysisSpec;
+import ec.tstoolkit.algorithm.CompositeResults;
+import ec.tstoolkit.timeseries.simplets.TsData;
+import ec.tstoolkit.timeseries.simplets.TsFrequency;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Revision analysis (default TramoSeats specification, successive vintages
+ * over the last years) of a collection of monthly series, in the standard and
+ * in the incremental modes. One operation corresponds to the analysis of the
+ * whole collection.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class RevisionAnalysisBenchmark {
+
+    @Param({"false", "true"})
+    public boolean incremental;
+
+    @Param({"20"})
+    public int nyears;
+
+    @Param({"50"})
+    public int nseries;
+
+    TsCollection collection;
+    RevisionAnalysisSpec spec;
+
+    @Setup
+    public void setup() {
+        if (SaManager.instance.getProcessor(TramoSeatsProcessor.DESCRIPTOR) == null) {
+            SaManager.instance.add(new TramoSeatsProcessor());
+        }
+        collection = TsFactory.instance.createTsCollection();
+        TsData[] series = BenchmarkData.airlines(TsFrequency.Monthly, nseries, nyears);
+        for (int i = 0; i < series.length; ++i) {
+            collection.quietAdd(TsFactory.instance.createTs("s" + i, null, series[i]));
+        }
+        spec = new RevisionAnalysisSpec();
+        spec.setIncremental(incremental);
+    }
+
+    @Benchmark
+    public CompositeResults revisionAnalysis() {
+        return RevisionAnalysisProcessor.instance.generateProcessing(spec, null).process(collection);
+    }
+}
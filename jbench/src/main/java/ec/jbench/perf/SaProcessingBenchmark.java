@@ -0,0 +1,85 @@
+/*
+ * Copyright 2013 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.jbench.perf;
+
+import ec.satoolkit.algorithm.implementation.TramoSeatsProcessingFactory;
+import ec.satoolkit.algorithm.implementation.X13ProcessingFactory;
+import ec.satoolkit.tramoseats.TramoSeatsSpecification;
+import ec.satoolkit.x13.X13Specification;
+import ec.tstoolkit.timeseries.simplets.TsData;
+import ec.tstoolkit.timeseries.simplets.TsFrequency;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Complete seasonal adjustment (pre-processing, decomposition, diagnostics)
+ * of a set of monthly series. One operation corresponds to the processing of
+ * the whole set.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class SaProcessingBenchmark {
+
+    @Param({"RSA4", "RSA5"})
+    public String spec;
+
+    @Param({"20"})
+    public int nyears;
+
+    @Param({"20"})
+    public int nseries;
+
+    TsData[] series;
+    TramoSeatsSpecification tsspec;
+    X13Specification x13spec;
+
+    @Setup
+    public void setup() {
+        series = BenchmarkData.airlines(TsFrequency.Monthly, nseries, nyears);
+        tsspec = TramoSeatsSpecification.fromString(spec);
+        x13spec = X13Specification.fromString(spec);
+    }
+
+    @Benchmark
+    public void tramoSeats(Blackhole bh) {
+        for (TsData s : series) {
+            bh.consume(TramoSeatsProcessingFactory.process(s, tsspec));
+        }
+    }
+
+    @Benchmark
+    public void x13(Blackhole bh) {
+        for (TsData s : series) {
+            bh.consume(X13ProcessingFactory.process(s, x13spec));
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2013 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.jbench.perf;
+
+import ec.tss.tsproviders.sdmx.engine.CunningPlanFactory;
+import ec.tss.tsproviders.sdmx.engine.XMLStreamSdmxCursor;
+import ec.tstoolkit.timeseries.simplets.TsData;
+import ec.tstoolkit.timeseries.simplets.TsFrequency;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+import javax.xml.parsers.DocumentBuilderFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.w3c.dom.Document;
+
+/**
+ * Reading of SDMX-ML messages: DOM strategies versus streaming (StAX)
+ * parser. The memory footprint is given by the "gc" profiler
+ * (gc.alloc.rate.norm); the peak heap of the DOM path grows with the size of
+ * the file, while the cursor only keeps the current series.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class SdmxBenchmark {
+
+    @Param({"GENERIC", "COMPACT"})
+    public String format;
+
+    @Param({"1000"})
+    public int nseries;
+
+    @Param({"20"})
+    public int nyears;
+
+    File file;
+    CunningPlanFactory factory;
+
+    @Setup
+    public void setup() throws IOException {
+        TsData[] series = BenchmarkData.airlines(TsFrequency.Monthly, nseries, nyears);
+        file = File.createTempFile("jbench", ".xml");
+        try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            if ("GENERIC".equals(format)) {
+                ProviderFixtures.writeGenericSdmx(writer, series);
+            } else {
+                ProviderFixtures.writeCompactSdmx(writer, series);
+            }
+        }
+        factory = new CunningPlanFactory();
+    }
+
+    @TearDown
+    public void teardown() {
+        file.delete();
+    }
+
+    @Benchmark
+    public void dom(Blackhole bh) throws Exception {
+        DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
+        dbf.setNamespaceAware(true);
+        Document doc = dbf.newDocumentBuilder().parse(file);
+        doc.getDocumentElement().normalize();
+        bh.consume(factory.find(doc).create(doc));
+    }
+
+    @Benchmark
+    public void stax(Blackhole bh) throws Exception {
+        bh.consume(factory.create(file));
+    }
+
+    @Benchmark
+    public void staxCursor(Blackhole bh) throws IOException {
+        try (XMLStreamSdmxCursor cursor = XMLStreamSdmxCursor.of(file)) {
+            while (cursor.nextSeries()) {
+                bh.consume(cursor.getSeriesData());
+            }
+        }
+    }
+}
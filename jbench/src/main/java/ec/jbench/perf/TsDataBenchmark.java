@@ -0,0 +1,83 @@
+/*
+ * Copyright 2013 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.jbench.perf;
+
+import ec.tstoolkit.timeseries.TsAggregationType;
+import ec.tstoolkit.timeseries.simplets.TsData;
+import ec.tstoolkit.timeseries.simplets.TsFrequency;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Elementary operations on time series (aggregation, arithmetic), applied on
+ * a set of monthly series.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TsDataBenchmark {
+
+    @Param({"100"})
+    public int nseries;
+
+    @Param({"20"})
+    public int nyears;
+
+    TsData[] series;
+
+    @Setup
+    public void setup() {
+        series = BenchmarkData.airlines(TsFrequency.Monthly, nseries, nyears);
+    }
+
+    @Benchmark
+    public void quarterlySum(Blackhole bh) {
+        for (TsData s : series) {
+            bh.consume(s.changeFrequency(TsFrequency.Quarterly, TsAggregationType.Sum, true));
+        }
+    }
+
+    @Benchmark
+    public void yearlyAverage(Blackhole bh) {
+        for (TsData s : series) {
+            bh.consume(s.changeFrequency(TsFrequency.Yearly, TsAggregationType.Average, true));
+        }
+    }
+
+    @Benchmark
+    public TsData total() {
+        TsData t = series[0];
+        for (int i = 1; i < series.length; ++i) {
+            t = TsData.add(t, series[i]);
+        }
+        return t;
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2013 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.jbench.perf;
+
+import ec.tss.Ts;
+import ec.tss.TsFactory;
+import ec.tss.TsMoniker;
+import ec.tss.TsStatus;
+import ec.tstoolkit.timeseries.simplets.TsData;
+import ec.tstoolkit.timeseries.simplets.TsFrequency;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Contention on the registry of the time series (TsFactory) and on the
+ * accessors of the series. The scaling is obtained by changing the number of
+ * threads, for instance:
+ * <pre>
+ * java -cp ... ec.jbench.perf.Benchmarks TsFactoryBenchmark -t 1 -t 8 -t 32
+ * </pre> (or -t max).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(32)
+@Fork(1)
+public class TsFactoryBenchmark {
+
+    @Param({"10000"})
+    public int nseries;
+
+    TsMoniker[] monikers;
+    String[] names;
+    // strong references, to keep the series alive
+    Ts[] series;
+
+    @Setup
+    public void setup() {
+        TsData[] data = BenchmarkData.airlines(TsFrequency.Monthly, 10, 10);
+        monikers = new TsMoniker[nseries];
+        names = new String[nseries];
+        series = new Ts[nseries];
+        for (int i = 0; i < nseries; ++i) {
+            monikers[i] = TsMoniker.createProvidedMoniker("jbench", "s" + i);
+            names[i] = "s" + i;
+            series[i] = TsFactory.instance.createTs(names[i], monikers[i], null, data[i % data.length]);
+        }
+    }
+
+    private int next() {
+        return ThreadLocalRandom.current().nextInt(nseries);
+    }
+
+    @Benchmark
+    public Ts lookup() {
+        return TsFactory.instance.getTs(monikers[next()]);
+    }
+
+    @Benchmark
+    public Ts getOrCreate() {
+        int i = next();
+        return TsFactory.instance.createTs(names[i], monikers[i], null, null);
+    }
+
+    @Benchmark
+    public Ts create() {
+        return TsFactory.instance.createTs("tmp");
+    }
+
+    @Benchmark
+    public TsData read() {
+        Ts s = series[next()];
+        return s.hasData() == TsStatus.Valid ? s.getTsData() : null;
+    }
+}
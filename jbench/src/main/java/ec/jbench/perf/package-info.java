@@ -0,0 +1,40 @@
+/*
+ * Copyright 2013 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+
+/**
+ * JMH benchmarks of the main processing paths (seasonal adjustment,
+ * likelihood evaluation, decomposition kernels, dense matrix products, time
+ * series operations and providers).
+ * <br>
+ * They are launched by means of {@link ec.jbench.perf.Benchmarks}, for
+ * instance:
+ * <pre>
+ * mvn -pl jbench -am package dependency:copy-dependencies -DskipTests
+ * java -cp "jbench/target/*:jbench/target/dependency/*" ec.jbench.perf.Benchmarks -prof gc
+ * </pre>
+ * The "gc" profiler reports the allocation rates beside the throughput.
+ * <br>
+ * The ingestion benchmarks of the providers (IngestionBenchmark) also report
+ * the series and the observations loaded by second; their peak heap is given
+ * by "-prof ec.jbench.perf.PeakHeapProfiler". They run offline (generated
+ * files, embedded database), and can be launched by the "perf" profile:
+ * <pre>
+ * mvn -pl jbench -am verify -Pperf -DskipTests
+ * </pre>
+ * The arguments of the profile are given by the property jbench.args.
+ */
+package ec.jbench.perf;
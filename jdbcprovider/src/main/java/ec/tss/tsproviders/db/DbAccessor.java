@@ -84,6 +84,33 @@ public abstract class DbAccessor<BEAN extends DbBean> {
     @NonNull
     abstract protected List<DbSeries> getAllSeriesWithData(@NonNull DbSetId ref) throws Exception;
 
+    /**
+     * Same as getAllSeriesWithData but the series are delivered one at a time
+     * by a cursor, which must be closed after use.
+     *
+     * @param dimValues
+     * @return
+     * @throws Exception
+     */
+    @NonNull
+    public final DbSeriesCursor getAllSeriesWithDataCursor(String... dimValues) throws Exception {
+        return getAllSeriesWithDataCursor(check(getRoot().child(dimValues), DbSetId.COLLECTION_CONSTRAINT));
+    }
+
+    /**
+     * Creates a cursor on all series with their data. The default
+     * implementation reads the complete list of series; it should be
+     * overridden by the accessors that are able to stream their results.
+     *
+     * @param ref a non-null object that identifies a collection.
+     * @return
+     * @throws Exception
+     */
+    @NonNull
+    protected DbSeriesCursor getAllSeriesWithDataCursor(@NonNull DbSetId ref) throws Exception {
+        return DbSeriesCursor.of(getAllSeriesWithData(ref));
+    }
+
     @NonNull
     public final DbSeries getSeriesWithData(String... dimValues) throws Exception {
         return getSeriesWithData(check(getRoot().child(dimValues), DbSetId.SERIES_CONSTRAINT));
@@ -92,6 +119,45 @@ public abstract class DbAccessor<BEAN extends DbBean> {
     @NonNull
     abstract protected DbSeries getSeriesWithData(@NonNull DbSetId ref) throws Exception;
 
+    /**
+     * Retrieves a selection of series of a collection with their data. The
+     * series that cannot be found are skipped.
+     *
+     * @param children the values of the last dimension of the series
+     * @param dimValues the values of the other dimensions
+     * @return
+     * @throws Exception
+     * @since 2.2.4
+     */
+    @NonNull
+    public final List<DbSeries> getSelectionWithData(@NonNull List<String> children, String... dimValues) throws Exception {
+        DbSetId parent = check(getRoot().child(dimValues), DbSetId.COLLECTION_CONSTRAINT);
+        Preconditions.checkArgument(parent.getDepth() == 1, "Not a parent of series");
+        return getSelectionWithData(parent, children);
+    }
+
+    /**
+     * Retrieves a selection of series of a collection with their data. The
+     * default implementation retrieves the series one by one; it should be
+     * overridden by the accessors that are able to query several series at
+     * once.
+     *
+     * @param parent a non-null object that identifies the parent collection
+     * of the series.
+     * @param children the values of the last dimension of the series
+     * @return
+     * @throws Exception
+     * @since 2.2.4
+     */
+    @NonNull
+    protected List<DbSeries> getSelectionWithData(@NonNull DbSetId parent, @NonNull List<String> children) throws Exception {
+        List<DbSeries> result = new ArrayList<>(children.size());
+        for (String o : children) {
+            result.add(getSeriesWithData(parent.child(o)));
+        }
+        return result;
+    }
+
     @NonNull
     public final List<String> getChildren(String... dimValues) throws Exception {
         return getChildren(check(getRoot().child(dimValues), DbSetId.COLLECTION_CONSTRAINT));
@@ -223,11 +289,21 @@ public abstract class DbAccessor<BEAN extends DbBean> {
             return getDelegate().getAllSeriesWithData(ref);
         }
 
+        @Override
+        protected DbSeriesCursor getAllSeriesWithDataCursor(DbSetId ref) throws Exception {
+            return getDelegate().getAllSeriesWithDataCursor(ref);
+        }
+
         @Override
         protected DbSeries getSeriesWithData(DbSetId ref) throws Exception {
             return getDelegate().getSeriesWithData(ref);
         }
 
+        @Override
+        protected List<DbSeries> getSelectionWithData(DbSetId parent, List<String> children) throws Exception {
+            return getDelegate().getSelectionWithData(parent, children);
+        }
+
         @Override
         protected List<String> getChildren(DbSetId ref) throws Exception {
             return getDelegate().getChildren(ref);
@@ -303,6 +379,24 @@ public abstract class DbAccessor<BEAN extends DbBean> {
             return getDelegate().getAllSeriesWithData(ref);
         }
 
+        /**
+         * Uses the cached series if the collection is at (or below) the level
+         * of the cache; they are loaded and cached as with
+         * getAllSeriesWithData. Otherwise, the series are streamed by the
+         * delegate (they wouldn't be cached anyway).
+         *
+         * @param ref
+         * @return
+         * @throws Exception
+         */
+        @Override
+        protected DbSeriesCursor getAllSeriesWithDataCursor(DbSetId ref) throws Exception {
+            if (isCacheEnabled() /* CONSTRAINT -> */ && !ref.isSeries() && ref.getLevel() >= cacheLevel) {
+                return DbSeriesCursor.of(getAllSeriesWithData(ref));
+            }
+            return getDelegate().getAllSeriesWithDataCursor(ref);
+        }
+
         @Override
         protected DbSeries getSeriesWithData(DbSetId ref) throws Exception {
             if (isCacheEnabled() /* CONSTRAINT -> */ && ref.isSeries()) {
@@ -313,5 +407,26 @@ public abstract class DbAccessor<BEAN extends DbBean> {
             }
             return getDelegate().getSeriesWithData(ref);
         }
+
+        /**
+         * Uses the cached series if the cache is enabled. Otherwise, the
+         * series are queried at once by the delegate.
+         *
+         * @param parent
+         * @param children
+         * @return
+         * @throws Exception
+         */
+        @Override
+        protected List<DbSeries> getSelectionWithData(DbSetId parent, List<String> children) throws Exception {
+            if (isCacheEnabled()) {
+                List<DbSeries> result = new ArrayList<>(children.size());
+                for (String o : children) {
+                    result.add(getSeriesWithData(parent.child(o)));
+                }
+                return result;
+            }
+            return getDelegate().getSelectionWithData(parent, children);
+        }
     }
 }
@@ -29,9 +29,13 @@ import ec.tss.tsproviders.utils.OptionalTsData;
 import ec.tstoolkit.timeseries.simplets.TsFrequency;
 import ec.tstoolkit.utilities.Arrays2;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.slf4j.Logger;
 
@@ -131,7 +135,7 @@ public abstract class DbProvider<BEAN extends DbBean> extends AbstractDataSource
         try {
             if (info.type.intValue() >= TsInformationType.Data.intValue()) {
                 info.type = TsInformationType.All;
-                info.items.addAll(getAllWithData(dataSource, acc.getAllSeriesWithData()));
+                info.items.addAll(getAllWithData(dataSource, acc.getAllSeriesWithDataCursor()));
             } else {
                 info.items.addAll(getAll(dataSource, acc.getAllSeries(), info.type));
             }
@@ -147,7 +151,7 @@ public abstract class DbProvider<BEAN extends DbBean> extends AbstractDataSource
         try {
             if (info.type.intValue() >= TsInformationType.Data.intValue()) {
                 info.type = TsInformationType.All;
-                info.items.addAll(getAllWithData(dataSet.getDataSource(), acc.getAllSeriesWithData(dims.dimValues)));
+                info.items.addAll(getAllWithData(dataSet.getDataSource(), acc.getAllSeriesWithDataCursor(dims.dimValues)));
             } else {
                 info.items.addAll(getAll(dataSet.getDataSource(), acc.getAllSeries(dims.dimValues), info.type));
             }
@@ -171,6 +175,49 @@ public abstract class DbProvider<BEAN extends DbBean> extends AbstractDataSource
         }
     }
 
+    /**
+     * Retrieves the data of the requested series with a single query by parent
+     * collection (see {@link DbAccessor#getSelectionWithData(List, String...)}).
+     *
+     * @param requests
+     * @param dataSource
+     * @return
+     * @throws IOException
+     */
+    @Override
+    protected Collection<TsInformation> fillSeries(Map<DataSet, TsInformation> requests, DataSource dataSource) throws IOException {
+        List<TsInformation> result = new ArrayList<>();
+        Map<List<String>, Map<String, DataSet>> byParent = new LinkedHashMap<>();
+        requests.forEach((dataSet, info) -> {
+            Dims dims = DIM_MAP.get(dataSet);
+            int n = dims.dimValues.length;
+            if (info.type.intValue() >= TsInformationType.Data.intValue() && n > 0 && n == dims.dimColumns.length) {
+                byParent.computeIfAbsent(Arrays.asList(dims.dimValues).subList(0, n - 1), o -> new LinkedHashMap<>()).put(dims.dimValues[n - 1], dataSet);
+            } else {
+                result.add(info);
+            }
+        });
+        DbAccessor<BEAN> acc = getAccessor(dataSource);
+        for (Map.Entry<List<String>, Map<String, DataSet>> o : byParent.entrySet()) {
+            Map<String, DataSet> pending = o.getValue();
+            try {
+                for (DbSeries series : acc.getSelectionWithData(new ArrayList<>(pending.keySet()), o.getKey().toArray(new String[0]))) {
+                    DataSet dataSet = pending.remove(series.getId().getValue(series.getId().getLevel() - 1));
+                    if (dataSet != null) {
+                        TsInformation info = requests.get(dataSet);
+                        info.name = getDisplayName(dataSet);
+                        info.type = TsInformationType.All;
+                        support.fillSeries(info, series.getData(), true);
+                    }
+                }
+            } catch (Exception ex) {
+                throw new IOException("Cannot retrieve DataSet data", ex);
+            }
+            pending.values().forEach(dataSet -> result.add(requests.get(dataSet)));
+        }
+        return result;
+    }
+
     @NonNull
     private List<TsInformation> getAll(@NonNull DataSource dataSource, @NonNull List<DbSetId> list, @NonNull TsInformationType type) {
         if (list.isEmpty()) {
@@ -189,21 +236,20 @@ public abstract class DbProvider<BEAN extends DbBean> extends AbstractDataSource
     }
 
     @NonNull
-    private List<TsInformation> getAllWithData(@NonNull DataSource dataSource, @NonNull List<DbSeries> list) {
-        if (list.isEmpty()) {
-            return Collections.emptyList();
-        }
-        TsInformation[] result = new TsInformation[list.size()];
+    private List<TsInformation> getAllWithData(@NonNull DataSource dataSource, @NonNull DbSeriesCursor cursor) throws IOException {
+        List<TsInformation> result = new ArrayList<>();
         DataSet.Builder builder = DataSet.builder(dataSource, DataSet.Kind.SERIES);
-        for (int j = 0; j < result.length; j++) {
-            DbSeries o = list.get(j);
-            for (int i = 0; i < o.getId().getLevel(); i++) {
-                builder.put(o.getId().getColumn(i), o.getId().getValue(i));
+        try (DbSeriesCursor c = cursor) {
+            while (c.nextSeries()) {
+                DbSetId id = c.getSeriesId();
+                for (int i = 0; i < id.getLevel(); i++) {
+                    builder.put(id.getColumn(i), id.getValue(i));
+                }
+                result.add(support.fillSeries(newTsInformation(builder.build(), TsInformationType.All), c.getSeriesData(), true));
+                builder.clear();
             }
-            result[j] = support.fillSeries(newTsInformation(builder.build(), TsInformationType.All), o.getData(), true);
-            builder.clear();
         }
-        return Arrays.asList(result);
+        return result;
     }
 
     @NonNull
@@ -0,0 +1,134 @@
+/*
+* Copyright 2013 National Bank of Belgium
+*
+* Licensed under the EUPL, Version 1.1 or – as soon they will be approved
+* by the European Commission - subsequent versions of the EUPL (the "Licence");
+* You may not use this work except in compliance with the Licence.
+* You may obtain a copy of the Licence at:
+*
+* http://ec.europa.eu/idabc/eupl
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the Licence is distributed on an "AS IS" basis,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the Licence for the specific language governing permissions and
+* limitations under the Licence.
+ */
+package ec.tss.tsproviders.db;
+
+import ec.tss.tsproviders.cursor.TsCursor;
+import ec.tss.tsproviders.utils.OptionalTsData;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A cursor over series that are read one at a time (from a result set...).
+ */
+public abstract class DbSeriesCursor implements TsCursor<DbSetId> {
+
+    private DbSeries current;
+    private boolean closed;
+
+    /**
+     * Reads the next series
+     *
+     * @return The next series or null if there are no more series
+     * @throws IOException
+     */
+    @Nullable
+    abstract protected DbSeries read() throws IOException;
+
+    /**
+     * Releases the underlying resources
+     *
+     * @throws IOException
+     */
+    abstract protected void release() throws IOException;
+
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public Map<String, String> getMetaData() {
+        checkClosedState();
+        return Collections.emptyMap();
+    }
+
+    @Override
+    public boolean nextSeries() throws IOException {
+        checkClosedState();
+        current = read();
+        return current != null;
+    }
+
+    @Override
+    public DbSetId getSeriesId() {
+        return getSeries().getId();
+    }
+
+    @Override
+    public String getSeriesLabel() {
+        return getSeries().getId().toString();
+    }
+
+    @Override
+    public Map<String, String> getSeriesMetaData() {
+        getSeries();
+        return Collections.emptyMap();
+    }
+
+    @Override
+    public OptionalTsData getSeriesData() {
+        return getSeries().getData();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            current = null;
+            release();
+        }
+    }
+
+    private DbSeries getSeries() throws IllegalStateException {
+        checkClosedState();
+        if (current == null) {
+            throw new IllegalStateException("This cursor has no more series or has not been started");
+        }
+        return current;
+    }
+
+    private void checkClosedState() throws IllegalStateException {
+        if (closed) {
+            throw new IllegalStateException("This cursor is closed");
+        }
+    }
+
+    /**
+     * Creates a cursor over series that are already in memory
+     *
+     * @param series
+     * @return
+     */
+    @NonNull
+    public static DbSeriesCursor of(@NonNull Iterable<DbSeries> series) {
+        Iterator<DbSeries> iter = series.iterator();
+        return new DbSeriesCursor() {
+            @Override
+            protected DbSeries read() {
+                return iter.hasNext() ? iter.next() : null;
+            }
+
+            @Override
+            protected void release() {
+            }
+        };
+    }
+}
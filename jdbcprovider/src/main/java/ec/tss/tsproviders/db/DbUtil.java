@@ -75,10 +75,49 @@ public final class DbUtil {
     @NonNull
     public static <T extends Exception> List<DbSeries> getAllSeriesWithData(@NonNull AllSeriesWithDataCursor<T> cursor, @NonNull DbSetId ref, @NonNull TsFrequency frequency, @NonNull TsAggregationType aggregationType) throws T {
         ImmutableList.Builder<DbSeries> result = ImmutableList.builder();
-        ObsGathering gathering = ObsGathering.includingMissingValues(frequency, aggregationType);
-        OptionalTsData.Builder2<Date> data = OptionalTsData.builderByDate(new GregorianCalendar(), gathering, ObsCharacteristics.ORDERED);
-        boolean t0 = cursor.next();
-        while (t0) {
+        AllSeriesWithDataReader<T> reader = new AllSeriesWithDataReader<>(cursor, ref, frequency, aggregationType);
+        DbSeries series;
+        while ((series = reader.next()) != null) {
+            result.add(series);
+        }
+        return result.build();
+    }
+
+    /**
+     * Lazy version of getAllSeriesWithData: the series are built one at a
+     * time, while the cursor is read.
+     *
+     * @param <T>
+     */
+    public static final class AllSeriesWithDataReader<T extends Exception> {
+
+        private final AllSeriesWithDataCursor<T> cursor;
+        private final DbSetId ref;
+        private final OptionalTsData.Builder2<Date> data;
+        private boolean started, t0;
+
+        public AllSeriesWithDataReader(@NonNull AllSeriesWithDataCursor<T> cursor, @NonNull DbSetId ref, @NonNull TsFrequency frequency, @NonNull TsAggregationType aggregationType) {
+            this.cursor = cursor;
+            this.ref = ref;
+            ObsGathering gathering = ObsGathering.includingMissingValues(frequency, aggregationType);
+            this.data = OptionalTsData.builderByDate(new GregorianCalendar(), gathering, ObsCharacteristics.ORDERED);
+        }
+
+        /**
+         * Reads the next series
+         *
+         * @return The next series or null if the cursor is exhausted
+         * @throws T
+         */
+        @Nullable
+        public DbSeries next() throws T {
+            if (!started) {
+                t0 = cursor.next();
+                started = true;
+            }
+            if (!t0) {
+                return null;
+            }
             String[] dimValues = cursor.dimValues;
             boolean t1 = true;
             while (t1) {
@@ -93,10 +132,10 @@ public final class DbUtil {
                 }
                 data.add(period, value);
             }
-            result.add(new DbSeries(ref.child(dimValues), data.build()));
+            DbSeries result = new DbSeries(ref.child(dimValues), data.build());
             data.clear();
+            return result;
         }
-        return result.build();
     }
 
     public static abstract class SeriesWithDataCursor<T extends Exception> implements Cursor<T> {
@@ -18,13 +18,22 @@ package ec.tss.tsproviders.jdbc;
 
 import ec.tss.tsproviders.db.DbAccessor;
 import ec.tss.tsproviders.db.DbSeries;
+import ec.tss.tsproviders.db.DbSeriesCursor;
 import ec.tss.tsproviders.db.DbSetId;
 import ec.tss.tsproviders.db.DbUtil;
 import ec.tstoolkit.utilities.GuavaCaches;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.sql.*;
 import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import nbbrd.sql.jdbc.SqlIdentifierQuoter;
 import nbbrd.sql.jdbc.SqlTable;
 import org.checkerframework.checker.nullness.qual.NonNull;
@@ -39,6 +48,15 @@ import org.slf4j.Logger;
  */
 public class JdbcAccessor<BEAN extends JdbcBean> extends DbAccessor.Commander<BEAN> {
 
+    // number of pages by connection in the parallel loading
+    private static final int PAGES_BY_CONNECTION = 4;
+    // number of series that can be read in advance by page
+    private static final int PAGE_BUFFER = 64;
+    // delay between two checks of the cancellation of a blocked page (ms)
+    private static final long PAGE_POLLING = 100;
+    // maximum number of values in an IN clause
+    private static final int IN_CLAUSE_SIZE = 500;
+
     protected final Logger logger;
     protected final ConnectionSupplier supplier;
 
@@ -162,44 +180,120 @@ public class JdbcAccessor<BEAN extends JdbcBean> extends DbAccessor.Commander<BE
         return new JdbcQuery<List<DbSeries>>(ref) {
             @Override
             protected String getQueryString(DatabaseMetaData metaData) throws SQLException {
-                JdbcBean dbBean = getDbBean();
-                return SelectBuilder.from(dbBean.getTableName())
-                        .select(ref.selectColumns()).select(dbBean.getPeriodColumn(), dbBean.getValueColumn())
-                        .filter(ref.filterColumns())
-                        .orderBy(ref.selectColumns()).orderBy(dbBean.getPeriodColumn(), dbBean.getVersionColumn())
-                        .withQuoter(SqlIdentifierQuoter.of(metaData))
-                        .build();
+                return getAllSeriesWithDataQueryString(metaData, ref, null);
             }
 
             @Override
             protected List<DbSeries> process(final ResultSet rs) throws SQLException {
-                // Beware that some jdbc drivers require to get the columns values 
-                // in the order of the query and only once.
-                // So, call the following methods once per row and in this order.
-                ResultSetMetaData metaData = rs.getMetaData();
-                final ResultSetFunc<String[]> toDimValues = getDimValuesFunc(metaData, 1, ref.getDepth());
-                final ResultSetFunc<java.util.Date> toPeriod = getPeriodFunc(metaData, ref.getDepth() + 1);
-                final ResultSetFunc<Number> toValue = getValueFunc(metaData, ref.getDepth() + 2);
+                JdbcBean dbBean = getDbBean();
+                return DbUtil.getAllSeriesWithData(getAllSeriesWithDataCursor(rs, ref), ref, dbBean.getFrequency(), dbBean.getAggregationType());
+            }
+        };
+    }
 
-                DbUtil.AllSeriesWithDataCursor<SQLException> cursor = new DbUtil.AllSeriesWithDataCursor<SQLException>() {
-                    @Override
-                    public boolean next() throws SQLException {
-                        boolean result = rs.next();
-                        if (result) {
-                            dimValues = toDimValues.apply(rs);
-                            period = toPeriod.apply(rs);
-                            value = period != null ? toValue.apply(rs) : null;
-                        }
-                        return result;
-                    }
-                };
+    /**
+     * Streams the series of a collection. The rows are fetched by chunks (see
+     * JdbcBean#getFetchSize()) and the series are built one at a time, so that
+     * the whole collection is never loaded in memory.
+     * <p>
+     * If the parallelism of the bean is greater than 1, the distinct values of
+     * the first free dimension are split into contiguous ranges that are
+     * queried concurrently (one connection by running query). The series are
+     * still delivered in the order of the dimensions.
+     * <p>
+     * Contrary to the other queries, the cursor doesn't lock the bean: it uses
+     * its own connections until it is closed.
+     *
+     * @param ref
+     * @return
+     * @throws Exception
+     */
+    @Override
+    protected DbSeriesCursor getAllSeriesWithDataCursor(DbSetId ref) throws Exception {
+        int parallelism = dbBean.getParallelism();
+        if (parallelism > 1) {
+            List<String[]> ranges = getRanges(getChildren(ref), parallelism * PAGES_BY_CONNECTION);
+            if (ranges.size() > 1) {
+                return new ParallelCursor(ref, ranges, parallelism);
+            }
+        }
+        PageReader page = new PageReader(ref, null);
+        return new DbSeriesCursor() {
+            @Override
+            protected DbSeries read() throws IOException {
+                try {
+                    return page.next();
+                } catch (SQLException ex) {
+                    throw new IOException(ex);
+                }
+            }
 
-                JdbcBean dbBean = getDbBean();
-                return DbUtil.getAllSeriesWithData(cursor, ref, dbBean.getFrequency(), dbBean.getAggregationType());
+            @Override
+            protected void release() throws IOException {
+                page.close();
             }
         };
     }
 
+    @NonNull
+    private String getAllSeriesWithDataQueryString(@NonNull DatabaseMetaData metaData, @NonNull DbSetId ref, @Nullable String rangeColumn) throws SQLException {
+        JdbcBean dbBean = getDbBean();
+        SelectBuilder result = SelectBuilder.from(dbBean.getTableName())
+                .select(ref.selectColumns()).select(dbBean.getPeriodColumn(), dbBean.getValueColumn())
+                .filter(ref.filterColumns());
+        if (rangeColumn != null) {
+            result.range(rangeColumn);
+        }
+        return result
+                .orderBy(ref.selectColumns()).orderBy(dbBean.getPeriodColumn(), dbBean.getVersionColumn())
+                .withQuoter(SqlIdentifierQuoter.of(metaData))
+                .build();
+    }
+
+    private DbUtil.AllSeriesWithDataCursor<SQLException> getAllSeriesWithDataCursor(@NonNull ResultSet rs, @NonNull DbSetId ref) throws SQLException {
+        // Beware that some jdbc drivers require to get the columns values 
+        // in the order of the query and only once.
+        // So, call the following methods once per row and in this order.
+        ResultSetMetaData metaData = rs.getMetaData();
+        final ResultSetFunc<String[]> toDimValues = getDimValuesFunc(metaData, 1, ref.getDepth());
+        final ResultSetFunc<java.util.Date> toPeriod = getPeriodFunc(metaData, ref.getDepth() + 1);
+        final ResultSetFunc<Number> toValue = getValueFunc(metaData, ref.getDepth() + 2);
+
+        return new DbUtil.AllSeriesWithDataCursor<SQLException>() {
+            @Override
+            public boolean next() throws SQLException {
+                boolean result = rs.next();
+                if (result) {
+                    dimValues = toDimValues.apply(rs);
+                    period = toPeriod.apply(rs);
+                    value = period != null ? toValue.apply(rs) : null;
+                }
+                return result;
+            }
+        };
+    }
+
+    /**
+     * Splits an ordered list of values into contiguous ranges.
+     *
+     * @param values
+     * @param count the maximum number of ranges
+     * @return the bounds (inclusive) of the ranges or an empty list if the
+     * values cannot be used as bounds
+     */
+    private static List<String[]> getRanges(List<String> values, int count) {
+        if (values.contains(null)) {
+            return Collections.emptyList();
+        }
+        int n = Math.min(values.size(), count);
+        List<String[]> result = new ArrayList<>(n);
+        for (int i = 0; i < n; ++i) {
+            int lo = i * values.size() / n, hi = (i + 1) * values.size() / n;
+            result.add(new String[]{values.get(lo), values.get(hi - 1)});
+        }
+        return result;
+    }
+
     @Override
     protected Callable<DbSeries> getSeriesWithDataQuery(DbSetId ref) {
         return new JdbcQuery<DbSeries>(ref) {
@@ -241,6 +335,55 @@ public class JdbcAccessor<BEAN extends JdbcBean> extends DbAccessor.Commander<BE
         };
     }
 
+    /**
+     * Retrieves the selected series with IN queries on the last dimension, by
+     * chunks of a few hundred values.
+     *
+     * @param parent
+     * @param children
+     * @return
+     * @throws Exception
+     */
+    @Override
+    protected List<DbSeries> getSelectionWithData(DbSetId parent, List<String> children) throws Exception {
+        List<DbSeries> result = new ArrayList<>(children.size());
+        for (int i = 0; i < children.size(); i += IN_CLAUSE_SIZE) {
+            result.addAll(getSelectionWithDataQuery(parent, children.subList(i, Math.min(children.size(), i + IN_CLAUSE_SIZE))).call());
+        }
+        return result;
+    }
+
+    @NonNull
+    private Callable<List<DbSeries>> getSelectionWithDataQuery(@NonNull DbSetId parent, @NonNull List<String> children) {
+        return new JdbcQuery<List<DbSeries>>(parent) {
+            @Override
+            protected String getQueryString(DatabaseMetaData metaData) throws SQLException {
+                JdbcBean dbBean = getDbBean();
+                return SelectBuilder.from(dbBean.getTableName())
+                        .select(ref.selectColumns()).select(dbBean.getPeriodColumn(), dbBean.getValueColumn())
+                        .filter(ref.filterColumns())
+                        .in(ref.getColumn(ref.getLevel()), children.size())
+                        .orderBy(ref.selectColumns()).orderBy(dbBean.getPeriodColumn(), dbBean.getVersionColumn())
+                        .withQuoter(SqlIdentifierQuoter.of(metaData))
+                        .build();
+            }
+
+            @Override
+            protected void setParameters(PreparedStatement statement) throws SQLException {
+                super.setParameters(statement);
+                for (int i = 0; i < children.size(); i++) {
+                    statement.setString(ref.getLevel() + i + 1, children.get(i));
+                }
+            }
+
+            @Override
+            protected List<DbSeries> process(final ResultSet rs) throws SQLException {
+                JdbcBean dbBean = getDbBean();
+                return DbUtil.getAllSeriesWithData(getAllSeriesWithDataCursor(rs, ref), ref, dbBean.getFrequency(), dbBean.getAggregationType());
+            }
+        };
+    }
+
     @Override
     protected Callable<List<String>> getChildrenQuery(DbSetId ref) {
         return new JdbcQuery<List<String>>(ref) {
@@ -337,6 +480,9 @@ public class JdbcAccessor<BEAN extends JdbcBean> extends DbAccessor.Commander<BE
                     String queryString = getQueryString(conn.getMetaData());
                     logger.debug(queryString);
                     try (PreparedStatement cmd = conn.prepareStatement(queryString)) {
+                        if (dbBean.getFetchSize() > 0) {
+                            cmd.setFetchSize(dbBean.getFetchSize());
+                        }
                         setParameters(cmd);
                         try (ResultSet rs = cmd.executeQuery()) {
                             return process(rs);
@@ -346,4 +492,193 @@ public class JdbcAccessor<BEAN extends JdbcBean> extends DbAccessor.Commander<BE
             }
         }
     }
+
+    /**
+     * A query on (a range of) the series of a collection whose rows are read
+     * on demand.
+     */
+    private final class PageReader implements Closeable {
+
+        private final Connection conn;
+        private PreparedStatement cmd;
+        private ResultSet rs;
+        private DbUtil.AllSeriesWithDataReader<SQLException> reader;
+
+        PageReader(@NonNull DbSetId ref, @Nullable String[] range) throws SQLException {
+            JdbcBean dbBean = getDbBean();
+            conn = supplier.getConnection(dbBean);
+            try {
+                String queryString = getAllSeriesWithDataQueryString(conn.getMetaData(), ref, range != null ? ref.getColumn(ref.getLevel()) : null);
+                logger.debug(queryString);
+                cmd = conn.prepareStatement(queryString);
+                if (dbBean.getFetchSize() > 0) {
+                    cmd.setFetchSize(dbBean.getFetchSize());
+                }
+                int n = ref.getLevel();
+                for (int i = 0; i < n; i++) {
+                    cmd.setString(i + 1, ref.getValue(i));
+                }
+                if (range != null) {
+                    cmd.setString(n + 1, range[0]);
+                    cmd.setString(n + 2, range[1]);
+                }
+                rs = cmd.executeQuery();
+                reader = new DbUtil.AllSeriesWithDataReader<>(getAllSeriesWithDataCursor(rs, ref), ref, dbBean.getFrequency(), dbBean.getAggregationType());
+            } catch (SQLException ex) {
+                try {
+                    close();
+                } catch (IOException other) {
+                    ex.addSuppressed(other);
+                }
+                throw ex;
+            }
+        }
+
+        @Nullable
+        DbSeries next() throws SQLException {
+            return reader.next();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try (Connection c = conn; Statement s = cmd; ResultSet r = rs) {
+                // closes the resources in reverse order
+            } catch (SQLException ex) {
+                throw new IOException(ex);
+            }
+        }
+    }
+
+    /**
+     * A page of the parallel loading. The series are put in a bounded queue,
+     * which is followed by an end marker (the page itself) or by the error
+     * that stopped the reading.
+     * <p>
+     * The page doesn't rely on the interruption of its thread (which can be
+     * swallowed by the driver): a full queue is polled until the page is
+     * cancelled, so that the reader is always closed.
+     */
+    private final class Page implements Runnable {
+
+        private final DbSetId ref;
+        private final String[] range;
+        private final BlockingQueue<Object> queue;
+        private volatile boolean cancelled;
+
+        Page(DbSetId ref, String[] range) {
+            this.ref = ref;
+            this.range = range;
+            this.queue = new ArrayBlockingQueue<>(PAGE_BUFFER);
+        }
+
+        @Override
+        public void run() {
+            if (cancelled) {
+                return;
+            }
+            try {
+                try (PageReader reader = new PageReader(ref, range)) {
+                    DbSeries series;
+                    while ((series = reader.next()) != null) {
+                        if (!put(series)) {
+                            return;
+                        }
+                    }
+                }
+                put(this);
+            } catch (SQLException | IOException | RuntimeException ex) {
+                try {
+                    put(ex);
+                } catch (InterruptedException other) {
+                    Thread.currentThread().interrupt();
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        /**
+         * Puts an item in the queue, unless the page is cancelled
+         *
+         * @param item
+         * @return false if the page has been cancelled
+         * @throws InterruptedException
+         */
+        private boolean put(Object item) throws InterruptedException {
+            while (!cancelled) {
+                if (queue.offer(item, PAGE_POLLING, TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Nullable
+        DbSeries take() throws IOException {
+            Object result;
+            try {
+                result = queue.take();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            }
+            if (result == this) {
+                return null;
+            }
+            if (result instanceof Exception) {
+                throw new IOException((Exception) result);
+            }
+            return (DbSeries) result;
+        }
+
+        void cancel() {
+            cancelled = true;
+            queue.clear();
+        }
+    }
+
+    /**
+     * A cursor that reads the pages of a collection concurrently. All the
+     * pages are submitted in their order, so that the page that is consumed
+     * is always running or done.
+     */
+    private final class ParallelCursor extends DbSeriesCursor {
+
+        private final ExecutorService executor;
+        private final List<Page> pages;
+        private int cur;
+
+        ParallelCursor(DbSetId ref, List<String[]> ranges, int parallelism) {
+            this.executor = Executors.newFixedThreadPool(Math.min(parallelism, ranges.size()), r -> {
+                Thread result = new Thread(r, "JdbcAccessor-" + getDbBean().getTableName());
+                result.setDaemon(true);
+                return result;
+            });
+            this.pages = new ArrayList<>(ranges.size());
+            for (String[] range : ranges) {
+                Page page = new Page(ref, range);
+                pages.add(page);
+                executor.execute(page);
+            }
+            executor.shutdown();
+        }
+
+        @Override
+        protected DbSeries read() throws IOException {
+            while (cur < pages.size()) {
+                DbSeries result = pages.get(cur).take();
+                if (result != null) {
+                    return result;
+                }
+                cur++;
+            }
+            return null;
+        }
+
+        @Override
+        protected void release() {
+            pages.forEach(Page::cancel);
+            executor.shutdownNow();
+        }
+    }
 }
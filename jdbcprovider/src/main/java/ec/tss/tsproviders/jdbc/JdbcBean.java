@@ -18,6 +18,8 @@ package ec.tss.tsproviders.jdbc;
 
 import ec.tss.tsproviders.DataSource;
 import ec.tss.tsproviders.db.DbBean;
+import ec.tss.tsproviders.utils.IParam;
+import static ec.tss.tsproviders.utils.Params.onInteger;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 /**
@@ -26,11 +28,60 @@ import org.checkerframework.checker.nullness.qual.NonNull;
  */
 public class JdbcBean extends DbBean.BulkBean {
 
+    public static final IParam<DataSource, Integer> X_FETCH_SIZE = onInteger(0, "fetchSize");
+    public static final IParam<DataSource, Integer> X_PARALLELISM = onInteger(1, "parallelism");
+    //
+    protected int fetchSize;
+    protected int parallelism;
+
     public JdbcBean() {
         super();
+        this.fetchSize = X_FETCH_SIZE.defaultValue();
+        this.parallelism = X_PARALLELISM.defaultValue();
     }
 
     public JdbcBean(@NonNull DataSource id) {
         super(id);
+        this.fetchSize = X_FETCH_SIZE.get(id);
+        this.parallelism = X_PARALLELISM.get(id);
+    }
+
+    //<editor-fold defaultstate="collapsed" desc="Getters/Setters">
+    /**
+     * Number of rows fetched by each round trip to the database (hint given
+     * to the driver). 0 for the default of the driver.
+     *
+     * @return
+     */
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    public void setFetchSize(int fetchSize) {
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Maximum number of connections used to stream all the series of a
+     * collection (see JdbcAccessor.getAllSeriesWithDataCursor). 1 for a
+     * single query.
+     *
+     * @return
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism >= 1 ? parallelism : 1;
+    }
+    //</editor-fold>
+
+    @Override
+    public DataSource toDataSource(String providerName, String version) {
+        DataSource.Builder builder = super.toDataSource(providerName, version).toBuilder();
+        X_FETCH_SIZE.set(builder, fetchSize);
+        X_PARALLELISM.set(builder, parallelism);
+        return builder.build();
     }
 }
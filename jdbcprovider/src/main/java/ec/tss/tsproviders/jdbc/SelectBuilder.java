@@ -20,6 +20,7 @@ import com.google.common.base.Joiner;
 import com.google.common.base.Strings;
 import ec.tstoolkit.design.IBuilder;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.function.Function;
@@ -41,6 +42,9 @@ final class SelectBuilder implements IBuilder<String> {
     private final String table;
     private final List<String> select;
     private final List<String> filter;
+    private final List<String> range;
+    private final List<String> in;
+    private final List<Integer> inSize;
     private final List<String> order;
     private boolean distinct;
     private SqlIdentifierQuoter identifierQuoter;
@@ -49,6 +53,9 @@ final class SelectBuilder implements IBuilder<String> {
         this.table = table;
         this.select = new ArrayList<>();
         this.filter = new ArrayList<>();
+        this.range = new ArrayList<>();
+        this.in = new ArrayList<>();
+        this.inSize = new ArrayList<>();
         this.order = new ArrayList<>();
         this.distinct = false;
         this.identifierQuoter = null;
@@ -80,6 +87,33 @@ final class SelectBuilder implements IBuilder<String> {
         return addIfNotNullOrEmpty(this.filter, filter);
     }
 
+    /**
+     * Adds a filter on a range of values (bounds included). The parameters
+     * of the range follow those of the equality filters.
+     *
+     * @param range
+     * @return
+     */
+    @NonNull
+    SelectBuilder range(@NonNull String... range) {
+        return addIfNotNullOrEmpty(this.range, range);
+    }
+
+    /**
+     * Adds a filter on a list of values. The parameters of the list follow
+     * those of the equality filters and of the ranges.
+     *
+     * @param column
+     * @param size the number of values
+     * @return
+     */
+    @NonNull
+    SelectBuilder in(@NonNull String column, int size) {
+        in.add(column);
+        inSize.add(size);
+        return this;
+    }
+
     @NonNull
     SelectBuilder orderBy(@NonNull String... order) {
         return addIfNotNullOrEmpty(this.order, order);
@@ -106,12 +140,29 @@ final class SelectBuilder implements IBuilder<String> {
         // FROM
         result.append(" FROM ").append(toQuotedIdentifier.apply(table));
         // WHERE
-        if (!filter.isEmpty()) {
+        if (!filter.isEmpty() || !range.isEmpty() || !in.isEmpty()) {
             result.append(" WHERE ");
-            Iterator<String> iter = filter.stream().map(toQuotedIdentifier).iterator();
-            result.append(iter.next()).append("=?");
-            while (iter.hasNext()) {
-                result.append(" AND ").append(iter.next()).append("=?");
+            boolean first = true;
+            for (Iterator<String> iter = filter.stream().map(toQuotedIdentifier).iterator(); iter.hasNext(); first = false) {
+                if (!first) {
+                    result.append(" AND ");
+                }
+                result.append(iter.next()).append("=?");
+            }
+            for (Iterator<String> iter = range.stream().map(toQuotedIdentifier).iterator(); iter.hasNext(); first = false) {
+                if (!first) {
+                    result.append(" AND ");
+                }
+                String column = iter.next();
+                result.append(column).append(">=? AND ").append(column).append("<=?");
+            }
+            for (int i = 0; i < in.size(); i++, first = false) {
+                if (!first) {
+                    result.append(" AND ");
+                }
+                result.append(toQuotedIdentifier.apply(in.get(i))).append(" IN (");
+                COMMA_JOINER.appendTo(result, Collections.nCopies(inSize.get(i), "?"));
+                result.append(")");
             }
         }
         // ORDER BY
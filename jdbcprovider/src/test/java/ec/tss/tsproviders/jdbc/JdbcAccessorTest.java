@@ -18,9 +18,16 @@ package ec.tss.tsproviders.jdbc;
 
 import ec.tss.tsproviders.db.DbAccessor;
 import ec.tss.tsproviders.db.DbSeries;
+import ec.tss.tsproviders.db.DbSeriesCursor;
 import ec.tss.tsproviders.db.DbSetId;
 import static ec.tss.tsproviders.jdbc.JdbcSamples.mydbConnectionSupplier;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import static org.junit.Assert.*;
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -127,6 +134,69 @@ public class JdbcAccessorTest {
         A2.getAllSeriesWithData("Industry", "Belgium");
     }
 
+    @Test
+    public void testGetAllSeriesWithDataCursor() throws Exception {
+        for (int parallelism = 1; parallelism <= 3; ++parallelism) {
+            JdbcBean bean = mydbTwoDimsBean();
+            bean.setFetchSize(1);
+            bean.setParallelism(parallelism);
+            JdbcAccessor accessor = new JdbcAccessor(NOP_LOGGER, bean, mydbConnectionSupplier());
+            assertEquals(A2.getAllSeriesWithData(), toList(accessor.getAllSeriesWithDataCursor()));
+            assertEquals(A2.getAllSeriesWithData("Industry"), toList(accessor.getAllSeriesWithDataCursor("Industry")));
+            assertEquals(A2.getAllSeriesWithData(), toList(accessor.memoize().getAllSeriesWithDataCursor()));
+
+            try (DbSeriesCursor cursor = accessor.getAllSeriesWithDataCursor()) {
+                assertTrue(cursor.nextSeries());
+                assertEquals(A2.getRoot().child("Industry", "Belgium"), cursor.getSeriesId());
+                assertArrayEquals(D2[0], cursor.getSeriesData().get().internalStorage(), 0);
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetAllSeriesWithDataCursor_Val2Dim2() throws Exception {
+        A2.getAllSeriesWithDataCursor("Industry", "Belgium");
+    }
+
+    @Test
+    public void testGetAllSeriesWithDataCursor_Close() throws Exception {
+        AtomicInteger opened = new AtomicInteger();
+        ConnectionSupplier supplier = o -> {
+            Connection conn = mydbConnectionSupplier().getConnection(o);
+            opened.incrementAndGet();
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                if (method.getName().equals("close")) {
+                    opened.decrementAndGet();
+                }
+                return method.invoke(conn, args);
+            });
+        };
+        JdbcBean bean = mydbTwoDimsBean();
+        bean.setFetchSize(1);
+        bean.setParallelism(2);
+        JdbcAccessor accessor = new JdbcAccessor(NOP_LOGGER, bean, supplier);
+        for (int i = 0; i < 10; ++i) {
+            try (DbSeriesCursor cursor = accessor.getAllSeriesWithDataCursor()) {
+                assertTrue(cursor.nextSeries());
+            }
+        }
+        // the pages are released asynchronously
+        for (int i = 0; i < 100 && opened.get() > 0; ++i) {
+            Thread.sleep(50);
+        }
+        assertEquals(0, opened.get());
+    }
+
+    private static List<DbSeries> toList(DbSeriesCursor cursor) throws Exception {
+        List<DbSeries> result = new ArrayList<>();
+        try (DbSeriesCursor c = cursor) {
+            while (c.nextSeries()) {
+                result.add(new DbSeries(c.getSeriesId(), c.getSeriesData()));
+            }
+        }
+        return result;
+    }
+
     @Test
     public void testSeriesWithData_Val0Dim0() throws Exception {
         DbSeries data = A0.getSeriesWithData();
@@ -151,6 +221,23 @@ public class JdbcAccessorTest {
         assertArrayEquals(D2[0], data.getData().get().internalStorage(), 0);
     }
 
+    @Test
+    public void testSelectionWithData() throws Exception {
+        List<DbSeries> data = A2.getSelectionWithData(Arrays.asList("Europe", "Missing", "Belgium"), "Industry");
+        assertEquals(2, data.size());
+        assertEquals(A2.getRoot().child("Industry", "Belgium"), data.get(0).getId());
+        assertArrayEquals(D2[0], data.get(0).getData().get().internalStorage(), 0);
+        assertEquals(A2.getRoot().child("Industry", "Europe"), data.get(1).getId());
+        assertArrayEquals(D2[1], data.get(1).getData().get().internalStorage(), 0);
+
+        assertTrue(A2.getSelectionWithData(Collections.emptyList(), "Other").isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSelectionWithData_Val0Dim2() throws Exception {
+        A2.getSelectionWithData(Arrays.asList("Industry"));
+    }
+
     @Test
     public void testCache() throws Exception {
         JdbcBean b2c1 = mydbTwoDimsBean();
@@ -27,6 +27,7 @@ import ec.tstoolkit.timeseries.TsPeriodSelector;
 import ec.tstoolkit.timeseries.simplets.TsData;
 import java.text.ParseException;
 import java.util.Date;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
@@ -239,11 +240,11 @@ public abstract class Ts implements IDocumented, ITsIdentified {
         private final FactoryCallback factory;
         private final TsMoniker m_moniker;
 
-        // unsafe
-        private MetaData m_metadata;
-        private TsData m_data;
-        private volatile TsInformationType m_info = TsInformationType.None;
-        private String m_invalidDataMessage;
+        // unsafe (immutable snapshot, replaced atomically)
+        private volatile State m_state;
+
+        private static final AtomicReferenceFieldUpdater<Master, State> STATE
+                = AtomicReferenceFieldUpdater.newUpdater(Master.class, State.class, "m_state");
 
         @Deprecated
         @Internal
@@ -268,7 +269,7 @@ public abstract class Ts implements IDocumented, ITsIdentified {
             super(name);
             this.factory = factory;
             m_moniker = TsMoniker.createAnonymousMoniker();
-            m_info = TsInformationType.UserDefined;
+            m_state = State.USERDEFINED;
         }
 
         @Internal
@@ -276,9 +277,7 @@ public abstract class Ts implements IDocumented, ITsIdentified {
             super(name);
             this.factory = factory;
             m_moniker = moniker;
-            if (moniker.getId() == null) {
-                m_info = TsInformationType.UserDefined;
-            }
+            m_state = moniker.getId() == null ? State.USERDEFINED : State.NONE;
         }
 
         @Internal
@@ -286,11 +285,8 @@ public abstract class Ts implements IDocumented, ITsIdentified {
             super(name);
             this.factory = factory;
             m_moniker = moniker;
-            m_metadata = md;
-            m_data = d;
-            if (md != null || d != null) {
-                m_info = TsInformationType.UserDefined;
-            }
+            m_state = new State(md != null || d != null ? TsInformationType.UserDefined : TsInformationType.None,
+                    md, d, null);
         }
 
         @Override
@@ -320,13 +316,10 @@ public abstract class Ts implements IDocumented, ITsIdentified {
                 return this;
             }
 
-            TsData copyOfData;
-            MetaData copyOfMeta;
-            synchronized (m_moniker) {
-                load(TsInformationType.All);
-                copyOfData = m_data != null ? m_data.clone() : null;
-                copyOfMeta = m_metadata != null ? m_metadata.clone() : new MetaData();
-            }
+            load(TsInformationType.All);
+            State state = m_state;
+            TsData copyOfData = state.data != null ? state.data.clone() : null;
+            MetaData copyOfMeta = state.metadata != null ? state.metadata.clone() : new MetaData();
 
             putFreezeMeta(copyOfMeta, m_moniker);
 
@@ -339,9 +332,7 @@ public abstract class Ts implements IDocumented, ITsIdentified {
          */
         @Override
         public TsInformationType getInformationType() {
-            synchronized (m_moniker) {
-                return m_info;
-            }
+            return m_state.info;
         }
 
         /**
@@ -350,9 +341,7 @@ public abstract class Ts implements IDocumented, ITsIdentified {
          */
         @Override
         public MetaData getMetaData() {
-            synchronized (m_moniker) {
-                return m_metadata;
-            }
+            return m_state.metadata;
         }
 
         /**
@@ -361,9 +350,7 @@ public abstract class Ts implements IDocumented, ITsIdentified {
          */
         @Override
         public TsData getTsData() {
-            synchronized (m_moniker) {
-                return m_data;
-            }
+            return m_state.data;
         }
 
         /**
@@ -372,14 +359,13 @@ public abstract class Ts implements IDocumented, ITsIdentified {
          */
         @Override
         public TsStatus hasData() {
-            synchronized (m_moniker) {
-                if (m_info == TsInformationType.All
-                        || m_info == TsInformationType.Data
-                        || m_info == TsInformationType.UserDefined) {
-                    return m_data == null ? TsStatus.Invalid : TsStatus.Valid;
-                } else {
-                    return TsStatus.Undefined;
-                }
+            State state = m_state;
+            if (state.info == TsInformationType.All
+                    || state.info == TsInformationType.Data
+                    || state.info == TsInformationType.UserDefined) {
+                return state.data == null ? TsStatus.Invalid : TsStatus.Valid;
+            } else {
+                return TsStatus.Undefined;
             }
         }
 
@@ -389,14 +375,13 @@ public abstract class Ts implements IDocumented, ITsIdentified {
          */
         @Override
         public TsStatus hasMetaData() {
-            synchronized (m_moniker) {
-                if (m_info == TsInformationType.All
-                        || m_info == TsInformationType.MetaData
-                        || m_info == TsInformationType.UserDefined) {
-                    return m_metadata == null ? TsStatus.Invalid : TsStatus.Valid;
-                } else {
-                    return TsStatus.Undefined;
-                }
+            State state = m_state;
+            if (state.info == TsInformationType.All
+                    || state.info == TsInformationType.MetaData
+                    || state.info == TsInformationType.UserDefined) {
+                return state.metadata == null ? TsStatus.Invalid : TsStatus.Valid;
+            } else {
+                return TsStatus.Undefined;
             }
         }
 
@@ -410,9 +395,7 @@ public abstract class Ts implements IDocumented, ITsIdentified {
             if (m_moniker.getSource() != null) {
                 return false;
             }
-            synchronized (m_moniker) {
-                return containsFreezeMeta(m_metadata);
-            }
+            return containsFreezeMeta(m_state.metadata);
         }
 
         /**
@@ -423,7 +406,7 @@ public abstract class Ts implements IDocumented, ITsIdentified {
         @Override
         public boolean load(TsInformationType type) {
             // check if the information is available...
-            if (m_info.encompass(type)) {
+            if (m_state.info.encompass(type)) {
                 return true;
             }
             return factory.load(this, type);
@@ -437,7 +420,7 @@ public abstract class Ts implements IDocumented, ITsIdentified {
         @Override
         public boolean query(TsInformationType type) {
             // check if the information is available...
-            if (m_info.encompass(type)) {
+            if (m_state.info.encompass(type)) {
                 return true;
             }
             return factory.query(this, type);
@@ -460,12 +443,13 @@ public abstract class Ts implements IDocumented, ITsIdentified {
          */
         @Override
         public boolean set(MetaData md) {
-            synchronized (m_moniker) {
-                if (m_info != TsInformationType.UserDefined) {
+            State state;
+            do {
+                state = m_state;
+                if (state.info != TsInformationType.UserDefined) {
                     return false;
                 }
-                m_metadata = md;
-            }
+            } while (!STATE.compareAndSet(this, state, new State(state.info, md, state.data, state.invalidDataMessage)));
 
             factory.notify(this, TsInformationType.MetaData, this);
             return true;
@@ -478,12 +462,13 @@ public abstract class Ts implements IDocumented, ITsIdentified {
          */
         @Override
         public boolean set(TsData data) {
-            synchronized (m_moniker) {
-                if (m_info != TsInformationType.UserDefined) {
+            State state;
+            do {
+                state = m_state;
+                if (state.info != TsInformationType.UserDefined) {
                     return false;
                 }
-                m_data = data;
-            }
+            } while (!STATE.compareAndSet(this, state, new State(state.info, state.metadata, data, state.invalidDataMessage)));
 
             factory.notify(this, TsInformationType.Data, this);
             return true;
@@ -497,13 +482,13 @@ public abstract class Ts implements IDocumented, ITsIdentified {
          */
         @Override
         public boolean set(TsData data, MetaData md) {
-            synchronized (m_moniker) {
-                if (m_info != TsInformationType.UserDefined) {
+            State state;
+            do {
+                state = m_state;
+                if (state.info != TsInformationType.UserDefined) {
                     return false;
                 }
-                m_data = data;
-                m_metadata = md;
-            }
+            } while (!STATE.compareAndSet(this, state, new State(state.info, md, data, state.invalidDataMessage)));
 
             factory.notify(this, TsInformationType.All, this);
             return true;
@@ -529,35 +514,27 @@ public abstract class Ts implements IDocumented, ITsIdentified {
             // 1. no meta: origin == null
             // 2. dynamic meta: origin != null && source == dynamic
             // 3. normal meta: origin != null && source != dynamic
-            TsMoniker origin;
-            TsData copyOfData = null;
-            synchronized (m_moniker) {
-                origin = getFreezeMeta(m_metadata);
-                if (origin != null && TsMoniker.Type.DYNAMIC.equals(origin.getType())) {
-                    copyOfData = m_data == null ? null : m_data.clone();
-                }
-            }
-
+            State state = m_state;
+            TsMoniker origin = getFreezeMeta(state.metadata);
             if (origin == null) {
                 return this;
             }
             if (TsMoniker.Type.DYNAMIC.equals(origin.getType())) {
+                TsData copyOfData = state.data == null ? null : state.data.clone();
                 return factory.createTs(getRawName(), null, copyOfData);
             }
             return factory.createTs(getRawName(), origin, TsInformationType.None);
         }
 
         void update(TsInformation info) {
-            synchronized (m_moniker) {
-                if (info.hasData()) {
-                    m_data = info.data;
-                }
-                if (info.hasMetaData()) {
-                    m_metadata = info.metaData;
-                }
-                m_info = m_info.union(info.type);
-                m_invalidDataMessage = info.invalidDataCause;
-            }
+            State state, nstate;
+            do {
+                state = m_state;
+                nstate = new State(state.info.union(info.type),
+                        info.hasMetaData() ? info.metaData : state.metadata,
+                        info.hasData() ? info.data : state.data,
+                        info.invalidDataCause);
+            } while (!STATE.compareAndSet(this, state, nstate));
         }
 
         @Override
@@ -567,16 +544,15 @@ public abstract class Ts implements IDocumented, ITsIdentified {
 
         @Override
         public void setInvalidDataCause(String message) {
-            synchronized (m_moniker) {
-                this.m_invalidDataMessage = message;
-            }
+            State state;
+            do {
+                state = m_state;
+            } while (!STATE.compareAndSet(this, state, new State(state.info, state.metadata, state.data, message)));
         }
 
         @Override
         public String getInvalidDataCause() {
-            synchronized (m_moniker) {
-                return m_invalidDataMessage;
-            }
+            return m_state.invalidDataMessage;
         }
 
         @Override
@@ -584,19 +560,40 @@ public abstract class Ts implements IDocumented, ITsIdentified {
             TsInformation result = new TsInformation(getRawName(), m_moniker, type);
             load(type);
 
-            synchronized (m_moniker) {
-                if (result.hasData()) {
-                    result.data = m_data;
-                }
-                if (result.hasMetaData()) {
-                    result.metaData = m_metadata;
-                }
-                result.invalidDataCause = m_invalidDataMessage;
+            State state = m_state;
+            if (result.hasData()) {
+                result.data = state.data;
             }
+            if (result.hasMetaData()) {
+                result.metaData = state.metadata;
+            }
+            result.invalidDataCause = state.invalidDataMessage;
 
             return result;
         }
 
+        /**
+         * Content of a series. The fields of a series are always read or
+         * modified together, so that the accessors don't need any lock
+         */
+        private static final class State {
+
+            static final State NONE = new State(TsInformationType.None, null, null, null),
+                    USERDEFINED = new State(TsInformationType.UserDefined, null, null, null);
+
+            final TsInformationType info;
+            final MetaData metadata;
+            final TsData data;
+            final String invalidDataMessage;
+
+            State(TsInformationType info, MetaData metadata, TsData data, String invalidDataMessage) {
+                this.info = info;
+                this.metadata = metadata;
+                this.data = data;
+                this.invalidDataMessage = invalidDataMessage;
+            }
+        }
+
         private static void putFreezeMeta(@NonNull MetaData md, @NonNull TsMoniker origin) {
             if (origin.getSource() != null) {
                 md.put(MetaData.SOURCE, origin.getSource());
@@ -0,0 +1,429 @@
+/*
+* Copyright 2013 National Bank of Belgium
+*
+* Licensed under the EUPL, Version 1.1 or – as soon they will be approved
+* by the European Commission - subsequent versions of the EUPL (the "Licence");
+* You may not use this work except in compliance with the Licence.
+* You may obtain a copy of the Licence at:
+*
+* http://ec.europa.eu/idabc/eupl
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the Licence is distributed on an "AS IS" basis,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the Licence for the specific language governing permissions and
+* limitations under the Licence.
+ */
+package ec.tss;
+
+import com.google.common.collect.ImmutableMap;
+import ec.tstoolkit.MetaData;
+import ec.tstoolkit.design.Development;
+import ec.tstoolkit.design.IBuilder;
+import ec.tstoolkit.design.Immutable;
+import ec.tstoolkit.timeseries.simplets.TsData;
+import ec.tstoolkit.timeseries.simplets.TsDataBlock;
+import ec.tstoolkit.timeseries.simplets.TsDataColumns;
+import ec.tstoolkit.timeseries.simplets.TsDomain;
+import ec.tstoolkit.timeseries.simplets.TsFrequency;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.DoubleUnaryOperator;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Read-only collection of time series designed for large cross-sections.
+ * Unlike TsCollection, the series are not Ts objects: the observations are
+ * stored in a TsDataColumns (one contiguous block by frequency) and the
+ * identical metadata are shared.
+ *
+ * @since 2.2.4
+ */
+@Development(status = Development.Status.Alpha)
+@Immutable
+public final class TsColumnarCollection {
+
+    /**
+     * Creates a new builder
+     *
+     * @return
+     */
+    @NonNull
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Creates a columnar copy of a collection
+     *
+     * @param info
+     * @return
+     */
+    @NonNull
+    public static TsColumnarCollection of(@NonNull TsCollectionInformation info) {
+        Builder result = builder()
+                .name(info.name)
+                .moniker(info.moniker)
+                .metaData(info.metaData)
+                .invalidDataCause(info.invalidDataCause);
+        info.items.forEach(result::add);
+        return result.build();
+    }
+
+    /**
+     * Creates a columnar copy of a collection. The collection is not loaded.
+     *
+     * @param col
+     * @return
+     */
+    @NonNull
+    public static TsColumnarCollection of(@NonNull TsCollection col) {
+        Builder result = builder()
+                .name(col.getName())
+                .moniker(col.getMoniker())
+                .metaData(col.getMetaData())
+                .invalidDataCause(col.getInvalidDataCause());
+        for (Ts o : col) {
+            result.add(o.getRawName(), o.getMoniker(), o.getMetaData(), o.getTsData(), o.getInvalidDataCause());
+        }
+        return result.build();
+    }
+
+    public static final class Builder implements IBuilder<TsColumnarCollection> {
+
+        private final Map<String, String> strings = new HashMap<>();
+        private final Map<Map<String, String>, Map<String, String>> metaDatas = new HashMap<>();
+        private final TsDataColumns.Builder data = TsDataColumns.builder();
+        private final List<String> names = new ArrayList<>();
+        private final List<TsMoniker> monikers = new ArrayList<>();
+        private final List<Map<String, String>> itemMetaDatas = new ArrayList<>();
+        private final List<String> causes = new ArrayList<>();
+        private String name;
+        private TsMoniker moniker;
+        private Map<String, String> metaData;
+        private String invalidDataCause;
+
+        private Builder() {
+        }
+
+        @NonNull
+        public Builder name(@Nullable String name) {
+            this.name = name;
+            return this;
+        }
+
+        @NonNull
+        public Builder moniker(@Nullable TsMoniker moniker) {
+            this.moniker = moniker;
+            return this;
+        }
+
+        @NonNull
+        public Builder metaData(@Nullable Map<String, String> metaData) {
+            this.metaData = intern(metaData);
+            return this;
+        }
+
+        @NonNull
+        public Builder invalidDataCause(@Nullable String cause) {
+            this.invalidDataCause = cause;
+            return this;
+        }
+
+        /**
+         * Adds a series
+         *
+         * @param name
+         * @param moniker
+         * @param metaData
+         * @param data the observations or null if the data are missing
+         * @param invalidDataCause
+         * @return this builder
+         */
+        @NonNull
+        public Builder add(@Nullable String name, @NonNull TsMoniker moniker, @Nullable Map<String, String> metaData, @Nullable TsData data, @Nullable String invalidDataCause) {
+            names.add(name);
+            monikers.add(moniker);
+            itemMetaDatas.add(intern(metaData));
+            causes.add(data == null ? invalidDataCause : null);
+            this.data.add(data);
+            return this;
+        }
+
+        @NonNull
+        public Builder add(@NonNull TsInformation info) {
+            return add(info.name, info.moniker, info.metaData, info.data, info.invalidDataCause);
+        }
+
+        @Override
+        public TsColumnarCollection build() {
+            return new TsColumnarCollection(
+                    name, moniker != null ? moniker : TsMoniker.createAnonymousMoniker(), metaData, invalidDataCause,
+                    names.toArray(new String[names.size()]),
+                    monikers.toArray(new TsMoniker[monikers.size()]),
+                    itemMetaDatas.toArray(new Map[itemMetaDatas.size()]),
+                    causes.toArray(new String[causes.size()]),
+                    data.build());
+        }
+
+        private Map<String, String> intern(Map<String, String> md) {
+            if (md == null) {
+                return null;
+            }
+            // MetaData doesn't follow the Map contract for equals
+            ImmutableMap.Builder<String, String> tmp = ImmutableMap.builder();
+            md.forEach((k, v) -> {
+                if (k != null && v != null) {
+                    tmp.put(intern(k), intern(v));
+                }
+            });
+            Map<String, String> key = tmp.build();
+            Map<String, String> result = metaDatas.putIfAbsent(key, key);
+            return result != null ? result : key;
+        }
+
+        private String intern(String s) {
+            String result = strings.putIfAbsent(s, s);
+            return result != null ? result : s;
+        }
+    }
+
+    private final String name;
+    private final TsMoniker moniker;
+    private final Map<String, String> metaData;
+    private final String invalidDataCause;
+    private final String[] names;
+    private final TsMoniker[] monikers;
+    private final Map<String, String>[] metaDatas;
+    private final String[] causes;
+    private final TsDataColumns data;
+
+    private TsColumnarCollection(String name, TsMoniker moniker, Map<String, String> metaData, String invalidDataCause,
+            String[] names, TsMoniker[] monikers, Map<String, String>[] metaDatas, String[] causes, TsDataColumns data) {
+        this.name = name;
+        this.moniker = moniker;
+        this.metaData = metaData;
+        this.invalidDataCause = invalidDataCause;
+        this.names = names;
+        this.monikers = monikers;
+        this.metaDatas = metaDatas;
+        this.causes = causes;
+        this.data = data;
+    }
+
+    @Nullable
+    public String getName() {
+        return name;
+    }
+
+    @NonNull
+    public TsMoniker getMoniker() {
+        return moniker;
+    }
+
+    @Nullable
+    public Map<String, String> getMetaData() {
+        return metaData;
+    }
+
+    @Nullable
+    public String getInvalidDataCause() {
+        return invalidDataCause;
+    }
+
+    public int getCount() {
+        return names.length;
+    }
+
+    public boolean isEmpty() {
+        return names.length == 0;
+    }
+
+    @Nullable
+    public String getName(int idx) {
+        return names[idx];
+    }
+
+    @NonNull
+    public TsMoniker getMoniker(int idx) {
+        return monikers[idx];
+    }
+
+    /**
+     * Gets the metadata of a series. Identical metadata are shared by the
+     * series and can't be modified.
+     *
+     * @param idx
+     * @return
+     */
+    @Nullable
+    public Map<String, String> getMetaData(int idx) {
+        return metaDatas[idx];
+    }
+
+    @Nullable
+    public String getInvalidDataCause(int idx) {
+        return causes[idx];
+    }
+
+    /**
+     * Gets a copy of the observations of a series
+     *
+     * @param idx
+     * @return a new series or null if the data are missing
+     */
+    @Nullable
+    public TsData getData(int idx) {
+        return data.get(idx);
+    }
+
+    /**
+     * Gets a view on the observations of a series. The data are not copied
+     * and should not be modified.
+     *
+     * @param idx
+     * @return the view or null if the data are missing
+     */
+    @Nullable
+    public TsDataBlock getBlock(int idx) {
+        return data.getBlock(idx);
+    }
+
+    @Nullable
+    public TsDomain getDomain(int idx) {
+        return data.getDomain(idx);
+    }
+
+    @NonNull
+    public List<TsData> getAllData() {
+        List<TsData> result = new ArrayList<>();
+        for (int i = 0; i < names.length; ++i) {
+            if (!data.isMissing(i)) {
+                result.add(data.get(i));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the underlying columns, for bulk operations.
+     *
+     * @return
+     */
+    @NonNull
+    public TsDataColumns getColumns() {
+        return data;
+    }
+
+    @NonNull
+    public List<TsFrequency> getFrequencies() {
+        return data.getFrequencies();
+    }
+
+    /**
+     * Searches a series by its name
+     *
+     * @param name
+     * @return the position of the first series with that name or -1
+     */
+    public int indexOf(@NonNull String name) {
+        for (int i = 0; i < names.length; ++i) {
+            if (name.equals(names[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Searches a series by its moniker
+     *
+     * @param moniker
+     * @return the position of the series or -1
+     */
+    public int indexOf(@NonNull TsMoniker moniker) {
+        for (int i = 0; i < monikers.length; ++i) {
+            if (moniker.equals(monikers[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Selects a range of series. The observations are shared.
+     *
+     * @param from the first series (included)
+     * @param to the last series (excluded)
+     * @return
+     */
+    @NonNull
+    public TsColumnarCollection subCollection(int from, int to) {
+        return new TsColumnarCollection(name, TsMoniker.createAnonymousMoniker(), metaData, invalidDataCause,
+                Arrays.copyOfRange(names, from, to),
+                Arrays.copyOfRange(monikers, from, to),
+                Arrays.copyOfRange(metaDatas, from, to),
+                Arrays.copyOfRange(causes, from, to),
+                data.subset(from, to));
+    }
+
+    /**
+     * Applies a function on all the observations
+     *
+     * @param fn
+     * @return a new (anonymous) collection
+     * @see TsDataColumns#transform(DoubleUnaryOperator)
+     */
+    @NonNull
+    public TsColumnarCollection transform(@NonNull DoubleUnaryOperator fn) {
+        return new TsColumnarCollection(name, TsMoniker.createAnonymousMoniker(), metaData, invalidDataCause,
+                names, monikers, metaDatas, causes, data.transform(fn));
+    }
+
+    /**
+     * Computes the sum of the series of a given frequency
+     *
+     * @param freq
+     * @param missingsEqualsToZero
+     * @return
+     * @see TsDataColumns#sum(TsFrequency, boolean)
+     */
+    @Nullable
+    public TsData sum(@NonNull TsFrequency freq, boolean missingsEqualsToZero) {
+        return data.sum(freq, missingsEqualsToZero);
+    }
+
+    /**
+     * Converts this collection to a TsCollectionInformation.
+     *
+     * @param type
+     * @return a non-null TsCollectionInformation
+     */
+    @NonNull
+    public TsCollectionInformation toInfo(@NonNull TsInformationType type) {
+        TsCollectionInformation result = new TsCollectionInformation(moniker, type);
+        result.name = name;
+        result.metaData = toMetaData(metaData);
+        result.invalidDataCause = invalidDataCause;
+        for (int i = 0; i < names.length; ++i) {
+            TsInformation item = new TsInformation(names[i], monikers[i], type);
+            if (item.hasData()) {
+                item.data = data.get(i);
+                item.invalidDataCause = causes[i];
+            }
+            if (item.hasMetaData()) {
+                item.metaData = toMetaData(metaDatas[i]);
+            }
+            result.items.add(item);
+        }
+        return result;
+    }
+
+    private static MetaData toMetaData(Map<String, String> md) {
+        return md != null ? new MetaData(md) : null;
+    }
+}
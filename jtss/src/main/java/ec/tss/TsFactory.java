@@ -28,11 +28,15 @@ import ec.tstoolkit.design.Internal;
 import ec.tstoolkit.design.NewObject;
 import ec.tstoolkit.design.Singleton;
 import ec.tstoolkit.timeseries.simplets.TsData;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
 import java.util.*;
-import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.locks.LockSupport;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.stream.Collector;
 import java.util.stream.Stream;
 import org.checkerframework.checker.nullness.qual.NonNull;
@@ -145,10 +149,11 @@ public class TsFactory {
         instance = cur;
     }
 
-    private final HashMap<String, ITsProvider> m_providers = new HashMap<>();
-    private final HashMap<TsMoniker, WeakReference<TsCollection>> m_collections = new HashMap<>();
-    private final HashMap<TsMoniker, WeakReference<Ts.Master>> m_ts = new HashMap<>();
-    private boolean m_close;
+    private final ConcurrentMap<String, ITsProvider> m_providers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Object> m_providerLocks = new ConcurrentHashMap<>();
+    private final Registry<TsCollection> m_collections = new Registry<>();
+    private final Registry<Ts.Master> m_ts = new Registry<>();
+    private volatile boolean m_close;
     private final long m_threadID;
     private boolean m_useSynchronousNotifications = true;
     NotificationsQueue notifications = new NotificationsQueue();
@@ -167,10 +172,9 @@ public class TsFactory {
      * @return
      */
     public final boolean add(ITsProvider provider) {
-        if (m_providers.containsKey(provider.getSource())) {
+        if (m_providers.putIfAbsent(provider.getSource(), provider) != null) {
             return false;
         }
-        m_providers.put(provider.getSource(), provider);
         if (provider instanceof HasDataSourceList) {
             ((HasDataSourceList) provider).addDataSourceListener(reloadListener);
         }
@@ -204,32 +208,11 @@ public class TsFactory {
     }
 
     private void cleanTS() {
-        synchronized (m_ts) {
-            HashMap<TsMoniker, WeakReference<Ts.Master>> tmp = new HashMap<>();
-            int n = 0;
-            for (Entry<TsMoniker, WeakReference<Ts.Master>> r : m_ts.entrySet()) {
-                if (r.getValue().get() != null) {
-                    tmp.put(r.getKey(), r.getValue());
-                } else {
-                    ++n;
-                }
-            }
-            m_ts.clear();
-            m_ts.putAll(tmp);
-        }
+        m_ts.clean();
     }
 
     private void cleanTSCollection() {
-        synchronized (m_collections) {
-            HashMap<TsMoniker, WeakReference<TsCollection>> tmp = new HashMap<>();
-            m_collections.forEach((k, v) -> {
-                if (v.get() != null) {
-                    tmp.put(k, v);
-                }
-            });
-            m_collections.clear();
-            m_collections.putAll(tmp);
-        }
+        m_collections.clean();
     }
 
     /**
@@ -269,27 +252,18 @@ public class TsFactory {
     @NonNull
     @NewObject
     public Ts createTs(@Nullable String name) {
-        synchronized (m_ts) {
-            Ts.Master ts = new Ts.Master(tsCallback, name);
-            m_ts.put(ts.getMoniker(), new WeakReference<>(ts));
-            return ts;
-        }
+        Ts.Master ts = new Ts.Master(tsCallback, name);
+        m_ts.put(ts.getMoniker(), ts);
+        return ts;
     }
 
     Ts createTs(TsInformation info) {
-        synchronized (m_ts) {
-            Ts.Master ts = null;
-            WeakReference<Ts.Master> wref = m_ts.get(info.moniker);
-            if (wref != null) {
-                ts = wref.get();
-            }
-            if (ts == null) {
-                ts = new Ts.Master(tsCallback, info.name, info.moniker);
-            }
-            ts.update(info);
-            m_ts.put(ts.getMoniker(), new WeakReference<>(ts));
-            return ts;
+        Ts.Master ts = m_ts.get(info.moniker);
+        if (ts == null) {
+            ts = m_ts.putIfAbsent(info.moniker, new Ts.Master(tsCallback, info.name, info.moniker));
         }
+        ts.update(info);
+        return ts;
     }
 
     /**
@@ -318,29 +292,18 @@ public class TsFactory {
      */
     @NonNull
     public Ts createTs(@Nullable String name, @Nullable TsMoniker moniker, @Nullable MetaData md, @Nullable TsData d) {
-        synchronized (m_ts) {
-            WeakReference<Ts.Master> wref = null;
-            if (moniker != null) {
-                wref = m_ts.get(moniker);
-            }
-            if (wref != null) {
-                Ts.Master ts = wref.get();
-                if (ts != null) {
-                    return ts.rename(name);
-                } else {
-                    ts = new Ts.Master(tsCallback, name, moniker, md, d);
-                    m_ts.put(moniker, new WeakReference<>(ts));
-                    return ts;
-                }
-            } else {
-                if (moniker == null) {
-                    moniker = new TsMoniker();
-                }
-                Ts.Master ts = new Ts.Master(tsCallback, name, moniker, md, d);
-                m_ts.put(ts.getMoniker(), new WeakReference<>(ts));
-                return ts;
-            }
+        if (moniker == null) {
+            Ts.Master ts = new Ts.Master(tsCallback, name, new TsMoniker(), md, d);
+            m_ts.put(ts.getMoniker(), ts);
+            return ts;
+        }
+        Ts.Master ts = m_ts.get(moniker);
+        if (ts != null) {
+            return ts.rename(name);
         }
+        Ts.Master nts = new Ts.Master(tsCallback, name, moniker, md, d);
+        ts = m_ts.putIfAbsent(moniker, nts);
+        return ts == nts ? ts : ts.rename(name);
     }
 
     /**
@@ -354,23 +317,39 @@ public class TsFactory {
      */
     @NonNull
     public Ts createTs(@Nullable String name, @NonNull TsMoniker moniker, @NonNull TsInformationType type) {
-        synchronized (m_ts) {
-            Ts.Master result = (Ts.Master) getTs(moniker);
-            if (result == null) {
-                if (type != TsInformationType.None) {
-                    TsInformation info = new TsInformation(name, moniker, type);
-                    fill(info);
-                    result = new Ts.Master(tsCallback, name != null ? name : info.name, moniker);
-                    result.update(info);
-                } else {
-                    result = new Ts.Master(tsCallback, name, moniker);
-                }
-                m_ts.put(moniker, new WeakReference<>(result));
-            } else {
-                result.load(type);
-            }
+        Ts.Master result = m_ts.get(moniker);
+        if (result != null) {
+            result.load(type);
             return result;
         }
+        // the information is retrieved outside the registry (under the lock of
+        // the provider); if another thread has created the same series in the
+        // meantime, its object is used
+        Ts.Master nresult;
+        if (type != TsInformationType.None) {
+            TsInformation info = new TsInformation(name, moniker, type);
+            fillExclusive(info);
+            nresult = new Ts.Master(tsCallback, name != null ? name : info.name, moniker);
+            nresult.update(info);
+        } else {
+            nresult = new Ts.Master(tsCallback, name, moniker);
+        }
+        result = m_ts.putIfAbsent(moniker, nresult);
+        if (result != nresult) {
+            result.load(type);
+        }
+        return result;
+    }
+
+    /**
+     * Retrieves the information of a new series. The creations that call the
+     * same provider are serialized (one lock by provider); the other
+     * providers are not blocked.
+     */
+    private boolean fillExclusive(TsInformation info) {
+        synchronized (getProviderLock(info.moniker)) {
+            return fill(info);
+        }
     }
 
     private boolean fill(TsInformation info) {
@@ -408,12 +387,9 @@ public class TsFactory {
     @NonNull
     @NewObject
     public TsCollection createTsCollection(@Nullable String name) {
-        synchronized (m_collections) {
-            TsCollection coll = new TsCollection(tsCollectionCallback, name);
-            m_collections.put(coll.getMoniker(),
-                    new WeakReference<>(coll));
-            return coll;
-        }
+        TsCollection coll = new TsCollection(tsCollectionCallback, name);
+        m_collections.put(coll.getMoniker(), coll);
+        return coll;
     }
 
     /**
@@ -429,29 +405,16 @@ public class TsFactory {
     @NonNull
     public TsCollection createTsCollection(@Nullable String name, @Nullable TsMoniker moniker, @Nullable MetaData md,
             @Nullable Iterable<Ts> ts) {
-        synchronized (m_collections) {
-            if (moniker == null) {
-                TsCollection c = new TsCollection(tsCollectionCallback, name, new TsMoniker(), md, ts);
-                m_collections.put(c.getMoniker(), new WeakReference<>(c));
-                return c;
-            } else {
-                WeakReference<TsCollection> wref = m_collections.get(moniker);
-                if (wref != null) {
-                    TsCollection c = wref.get();
-                    if (c != null) {
-                        return c;
-                    } else {
-                        c = new TsCollection(tsCollectionCallback, name, moniker, md, ts);
-                        m_collections.put(c.getMoniker(), new WeakReference<>(c));
-                        return c;
-                    }
-                } else {
-                    TsCollection c = new TsCollection(tsCollectionCallback, name, moniker, md, ts);
-                    m_collections.put(c.getMoniker(), new WeakReference<>(c));
-                    return c;
-                }
-            }
+        if (moniker == null) {
+            TsCollection c = new TsCollection(tsCollectionCallback, name, new TsMoniker(), md, ts);
+            m_collections.put(c.getMoniker(), c);
+            return c;
+        }
+        TsCollection c = m_collections.get(moniker);
+        if (c != null) {
+            return c;
         }
+        return m_collections.putIfAbsent(moniker, new TsCollection(tsCollectionCallback, name, moniker, md, ts));
     }
 
     /**
@@ -467,26 +430,38 @@ public class TsFactory {
     public TsCollection createTsCollection(@Nullable String name, @NonNull TsMoniker moniker,
             @NonNull TsInformationType type) {
         // Search collection
-        synchronized (m_collections) {
-            TsCollection result = getTsCollection(moniker);
-            if (result == null) {
-                result = new TsCollection(tsCollectionCallback, name, moniker);
-                if (type != TsInformationType.None) {
-                    TsCollectionInformation info = new TsCollectionInformation(moniker, type);
-                    fill(info);
-                    // set data
-                    List<Ts> updated = result.update(info);
-                    for (Ts s : updated) {
-                        notify(s, type, result);
-                    }
-                }
-                // add collection
-                m_collections.put(moniker, new WeakReference<>(result));
-            } else {
-                result.load(type);
-            }
+        TsCollection result = m_collections.get(moniker);
+        if (result != null) {
+            result.load(type);
             return result;
         }
+        TsCollection nresult = new TsCollection(tsCollectionCallback, name, moniker);
+        if (type != TsInformationType.None) {
+            TsCollectionInformation info = new TsCollectionInformation(moniker, type);
+            fillExclusive(info);
+            // set data
+            List<Ts> updated = nresult.update(info);
+            for (Ts s : updated) {
+                notify(s, type, nresult);
+            }
+        }
+        // add collection (or use the one created in the meantime by another thread)
+        result = m_collections.putIfAbsent(moniker, nresult);
+        if (result != nresult) {
+            result.load(type);
+        }
+        return result;
+    }
+
+    private boolean fillExclusive(TsCollectionInformation info) {
+        synchronized (getProviderLock(info.moniker)) {
+            return fill(info);
+        }
+    }
+
+    private Object getProviderLock(TsMoniker moniker) {
+        String source = moniker.getSource();
+        return source == null ? m_providerLocks : m_providerLocks.computeIfAbsent(source, o -> new Object());
     }
 
     private boolean fill(TsCollectionInformation info) {
@@ -554,19 +529,7 @@ public class TsFactory {
      */
     @Nullable
     public Ts getTs(@Nullable TsMoniker moniker) {
-        synchronized (m_ts) {
-            WeakReference<Ts.Master> wref = m_ts.get(moniker);
-            if (wref != null) {
-                Ts ts = wref.get();
-                if (ts == null) {
-                    m_ts.remove(moniker);
-                }
-                // cleanTS();
-                return ts;
-            } else {
-                return null;
-            }
-        }
+        return m_ts.get(moniker);
     }
 
     /**
@@ -578,19 +541,7 @@ public class TsFactory {
      */
     @Nullable
     public TsCollection getTsCollection(@Nullable TsMoniker moniker) {
-        synchronized (m_collections) {
-            WeakReference<TsCollection> wref = m_collections.get(moniker);
-            if (wref != null) {
-                TsCollection collection = wref.get();
-                if (collection == null) {
-                    m_collections.remove(moniker);
-                }
-                // cleanTSCollection();
-                return collection;
-            } else {
-                return null;
-            }
-        }
+        return m_collections.get(moniker);
     }
 
     /**
@@ -611,13 +562,7 @@ public class TsFactory {
         if (m_close) {
             return false;
         }
-        synchronized (m_ts) {
-            WeakReference<Ts.Master> wref = m_ts.get(moniker);
-            if (wref == null) {
-                return false;
-            }
-            return wref.get() != null;
-        }
+        return m_ts.get(moniker) != null;
     }
 
     /**
@@ -630,13 +575,7 @@ public class TsFactory {
         if (m_close) {
             return false;
         }
-        synchronized (m_collections) {
-            WeakReference<TsCollection> wref = m_collections.get(moniker);
-            if (wref == null) {
-                return false;
-            }
-            return wref.get() != null;
-        }
+        return m_collections.get(moniker) != null;
     }
 
     /**
@@ -777,11 +716,9 @@ public class TsFactory {
         if (provider == null) {
             return false;
         }
-        synchronized (m_ts) {
-            return provider.getAsyncMode() == TsAsyncMode.None
-                    ? doLoad(s.getMaster(), type)
-                    : provider.queryTs(s.getMoniker(), type);
-        }
+        return provider.getAsyncMode() == TsAsyncMode.None
+                ? doLoad(s.getMaster(), type)
+                : provider.queryTs(s.getMoniker(), type);
     }
 
     /**
@@ -807,11 +744,9 @@ public class TsFactory {
             }
             return true;
         }
-        synchronized (m_collections) {
-            return provider.getAsyncMode() == TsAsyncMode.None
-                    ? doLoad(c, type)
-                    : provider.queryTsCollection(c.getMoniker(), type);
-        }
+        return provider.getAsyncMode() == TsAsyncMode.None
+                ? doLoad(c, type)
+                : provider.queryTsCollection(c.getMoniker(), type);
     }
 
     /**
@@ -842,13 +777,12 @@ public class TsFactory {
      * @param name
      */
     public void remove(String name) {
-        if (m_providers.containsKey(name)) {
-            ITsProvider provider = m_providers.get(name);
+        ITsProvider provider = m_providers.remove(name);
+        if (provider != null) {
             if (provider instanceof HasDataSourceList) {
                 ((HasDataSourceList) provider).removeDataSourceListener(reloadListener);
             }
             provider.dispose();
-            m_providers.remove(name);
         }
     }
 
@@ -877,16 +811,14 @@ public class TsFactory {
      * @param info
      */
     public void update(@NonNull TsCollectionInformation info) {
-        synchronized (m_collections) {
-            TsCollection c = getTsCollection(info.moniker);
-            if (c != null) {
-                List<Ts> updated = c.update(info);
-                notify(c, info.type, null);
-                updated.forEach(s -> notify(s, info.type, c));
-            } else {
-                // the collection has been destroyed, but the series could be alive...
-                info.items.forEach(sinfo -> update(sinfo));
-            }
+        TsCollection c = getTsCollection(info.moniker);
+        if (c != null) {
+            List<Ts> updated = c.update(info);
+            notify(c, info.type, null);
+            updated.forEach(s -> notify(s, info.type, c));
+        } else {
+            // the collection has been destroyed, but the series could be alive...
+            info.items.forEach(sinfo -> update(sinfo));
         }
     }
 
@@ -896,15 +828,13 @@ public class TsFactory {
      * @param info
      */
     public void update(@NonNull TsInformation info) {
-        synchronized (m_ts) {
-            Ts.Master s = (Ts.Master) getTs(info.moniker);
-            if (s == null) // the series has been destroyed
-            {
-                return;
-            }
-            s.update(info);
-            notify(s, info.type, null);
+        Ts.Master s = m_ts.get(info.moniker);
+        if (s == null) // the series has been destroyed
+        {
+            return;
         }
+        s.update(info);
+        notify(s, info.type, null);
     }
 
     /**
@@ -944,23 +874,13 @@ public class TsFactory {
         }
 
         private TsCollection[] lookupTsCollection(IDataSourceProvider p, DataSource dataSource) {
-            synchronized (m_collections) {
-                return m_collections.entrySet().stream()
-                        .filter(o -> isRelatedTo(p, dataSource, o.getKey()))
-                        .map(o -> o.getValue().get())
-                        .filter(Objects::nonNull)
-                        .toArray(TsCollection[]::new);
-            }
+            return m_collections.find(o -> isRelatedTo(p, dataSource, o))
+                    .toArray(new TsCollection[0]);
         }
 
         private Ts.Master[] lookupTs(IDataSourceProvider p, DataSource dataSource) {
-            synchronized (m_collections) {
-                return m_ts.entrySet().stream()
-                        .filter(o -> isRelatedTo(p, dataSource, o.getKey()))
-                        .map(o -> o.getValue().get())
-                        .filter(Objects::nonNull)
-                        .toArray(Ts.Master[]::new);
-            }
+            return m_ts.find(o -> isRelatedTo(p, dataSource, o))
+                    .toArray(new Ts.Master[0]);
         }
 
         private boolean isRelatedTo(IDataSourceProvider p, DataSource dataSource, TsMoniker moniker) {
@@ -1059,4 +979,97 @@ public class TsFactory {
     TsCollection.FactoryCallback getTsCollectionCallback() {
         return tsCollectionCallback;
     }
+
+    /**
+     * Concurrent map of weakly referenced objects, identified by their
+     * monikers. Lookups don't take any lock and updates only lock the
+     * concerned bin of the map. The entries of the collected objects are
+     * removed by means of a reference queue (on updates and by the cleaner).
+     */
+    private static final class Registry<T> {
+
+        // the previous implementation accepted a null moniker
+        private static final Object NULL_KEY = new Object();
+
+        private final ConcurrentHashMap<Object, Ref<T>> map = new ConcurrentHashMap<>();
+        private final ReferenceQueue<T> queue = new ReferenceQueue<>();
+
+        private static Object key(TsMoniker moniker) {
+            return moniker == null ? NULL_KEY : moniker;
+        }
+
+        T get(TsMoniker moniker) {
+            Ref<T> ref = map.get(key(moniker));
+            return ref == null ? null : ref.get();
+        }
+
+        void put(TsMoniker moniker, T value) {
+            expunge();
+            Object key = key(moniker);
+            map.put(key, new Ref<>(key, value, queue));
+        }
+
+        /**
+         * Registers an object, unless a living object is already registered
+         * with the same moniker.
+         *
+         * @param moniker
+         * @param value
+         * @return The registered object (the existing one or the given one)
+         */
+        T putIfAbsent(TsMoniker moniker, T value) {
+            expunge();
+            Object key = key(moniker);
+            Ref<T> nref = new Ref<>(key, value, queue);
+            while (true) {
+                Ref<T> cur = map.putIfAbsent(key, nref);
+                if (cur == null) {
+                    return value;
+                }
+                T o = cur.get();
+                if (o != null) {
+                    return o;
+                }
+                if (map.replace(key, cur, nref)) {
+                    return value;
+                }
+            }
+        }
+
+        List<T> find(Predicate<TsMoniker> filter) {
+            List<T> result = new ArrayList<>();
+            map.forEach((k, ref) -> {
+                if (k != NULL_KEY && filter.test((TsMoniker) k)) {
+                    T o = ref.get();
+                    if (o != null) {
+                        result.add(o);
+                    }
+                }
+            });
+            return result;
+        }
+
+        void clean() {
+            expunge();
+            map.values().removeIf(ref -> ref.get() == null);
+        }
+
+        private void expunge() {
+            Reference<? extends T> ref;
+            while ((ref = queue.poll()) != null) {
+                Ref<?> r = (Ref<?>) ref;
+                map.remove(r.key, r);
+            }
+        }
+
+        private static final class Ref<T> extends WeakReference<T> {
+
+            final Object key;
+
+            Ref(Object key, T referent, ReferenceQueue<? super T> queue) {
+                super(referent, queue);
+                this.key = key;
+            }
+        }
+    }
 }
@@ -31,9 +31,18 @@ import ec.tstoolkit.maths.Complex;
 import ec.tstoolkit.sarima.SarimaModel;
 import ec.tstoolkit.timeseries.simplets.TsPeriod;
 import ec.tstoolkit.utilities.NamedObject;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.Writer;
 import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
 import java.text.DecimalFormat;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -390,6 +399,217 @@ public class CsvInformationFormatter {
         format(writer, items, names.size(), rowheaders);
     }
 
+    /**
+     * Creates a matrix that is filled incrementally. The result is the same
+     * as the one of formatResults, but the records are not kept: their cells
+     * are formatted as soon as they are added and put in a temporary file.
+     * Only the structure of the columns is kept in memory.
+     *
+     * @param names The requested items
+     * @param shortname
+     * @return A new matrix, which should be closed
+     * @throws IOException
+     */
+    public ResultsMatrix createResultsMatrix(List<String> names, boolean shortname) throws IOException {
+        return new ResultsMatrix(names, shortname);
+    }
+
+    /**
+     * Matrix of results filled record by record. The records can be added by
+     * several threads.
+     */
+    public final class ResultsMatrix implements Closeable {
+
+        private final String[] names;
+        private final boolean shortname;
+        private final List<LinkedHashMap<String, Integer>> wnames = new ArrayList<>();
+        private final File file;
+        private DataOutputStream out;
+        private int nrows;
+
+        private ResultsMatrix(List<String> names, boolean shortname) throws IOException {
+            this.names = names.toArray(new String[names.size()]);
+            this.shortname = shortname;
+            for (int i = 0; i < this.names.length; ++i) {
+                wnames.add(new LinkedHashMap<>());
+            }
+            file = File.createTempFile("jdemetra", ".spool");
+            file.deleteOnExit();
+            out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+        }
+
+        /**
+         * Adds a new line to the matrix
+         *
+         * @param rowheader The header of the line
+         * @param record The results. May be null
+         * @throws IOException
+         */
+        public void add(String rowheader, IProcResults record) throws IOException {
+            // the search of the information doesn't need any lock
+            MatrixItem[] m = new MatrixItem[names.length];
+            for (int i = 0; i < m.length; ++i) {
+                m[i] = new MatrixItem();
+                m[i].fill(names[i], record, shortname);
+            }
+            // the formatters are not thread-safe
+            synchronized (this) {
+                if (out == null) {
+                    throw new IOException("Closed matrix");
+                }
+                writeString(out, rowheader);
+                for (int cur = 0; cur < m.length; ++cur) {
+                    MatrixItem item = m[cur];
+                    LinkedHashMap<String, Integer> map = wnames.get(cur);
+                    int n = item.items == null ? 0 : item.items.length;
+                    out.writeInt(n);
+                    for (int j = 0; j < n; ++j) {
+                        Integer l = map.get(item.items[j]);
+                        if (l == null || l < item.length) {
+                            map.put(item.items[j], item.length);
+                        }
+                        writeString(out, item.items[j]);
+                        Object obj = item.results[j];
+                        out.writeBoolean(obj != null);
+                        if (obj != null) {
+                            // the representation of the object (0) and its detailed items
+                            int nfmt = Math.max(1, item.length) + 1;
+                            out.writeInt(nfmt);
+                            for (int k = 0; k < nfmt; ++k) {
+                                writeString(out, format(obj, k));
+                            }
+                        }
+                    }
+                }
+                ++nrows;
+            }
+        }
+
+        /**
+         * Number of lines
+         *
+         * @return
+         */
+        public synchronized int getRowsCount() {
+            return nrows;
+        }
+
+        /**
+         * Writes the matrix. The writer is not closed
+         *
+         * @param writer
+         * @throws IOException
+         */
+        public synchronized void write(Writer writer) throws IOException {
+            if (out == null) {
+                throw new IOException("Closed matrix");
+            }
+            out.flush();
+            writer.write(comma);
+            writeColumnsHeaders(writer, wnames, names.length);
+            List<Map<String, String[]>> row = new ArrayList<>(names.length);
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+                for (int r = 0; r < nrows; ++r) {
+                    String rh = readString(in);
+                    if (rh != null) {
+                        writeHeader(writer, rh);
+                    }
+                    writer.write(comma);
+                    row.clear();
+                    for (int cur = 0; cur < names.length; ++cur) {
+                        Map<String, String[]> cells = new HashMap<>();
+                        int n = in.readInt();
+                        for (int j = 0; j < n; ++j) {
+                            String item = readString(in);
+                            String[] vals = null;
+                            if (in.readBoolean()) {
+                                vals = new String[in.readInt()];
+                                for (int k = 0; k < vals.length; ++k) {
+                                    vals[k] = readString(in);
+                                }
+                            }
+                            // same rule as MatrixItem.search: the first item is used
+                            if (!cells.containsKey(item)) {
+                                cells.put(item, vals);
+                            }
+                        }
+                        row.add(cells);
+                    }
+                    writeLine(writer, row);
+                }
+            }
+        }
+
+        private void writeLine(Writer writer, List<Map<String, String[]>> row) throws IOException {
+            for (int k = 0; k < row.size();) {
+                Map<String, String[]> cells = row.get(k);
+                LinkedHashMap<String, Integer> map = wnames.get(k);
+                int nmax = map.size();
+                int i = 0;
+                for (Entry<String, Integer> ccur : map.entrySet()) {
+                    int n = ccur.getValue();
+                    String[] vals = cells.get(ccur.getKey());
+                    if (vals != null) {
+                        if (n == 1) {
+                            CsvInformationFormatter.this.write(writer, vals[0]);
+                        } else {
+                            for (int j = 1; j <= n; ++j) {
+                                CsvInformationFormatter.this.write(writer, j < vals.length ? vals[j] : "");
+                                if (j < n) {
+                                    writer.write(comma);
+                                }
+                            }
+                        }
+                    } else {
+                        for (int j = 1; j < n; ++j) {
+                            writer.write(comma);
+                        }
+                    }
+                    if (++i < nmax) {
+                        writer.write(comma);
+                    }
+                }
+                if (++k < row.size()) {
+                    writer.write(comma);
+                } else {
+                    writer.write(NEWLINE);
+                }
+            }
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            if (out != null) {
+                try {
+                    out.close();
+                } finally {
+                    out = null;
+                    file.delete();
+                }
+            }
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        if (s == null) {
+            out.writeInt(-1);
+        } else {
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int n = in.readInt();
+        if (n < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[n];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
     private String format(Object obj, int item) {
 
         try {
@@ -386,7 +386,16 @@ public class SaItem {
             return null;
         }
 
-        CompositeResults rslts = SaManager.instance.process(getEstimationSpecification(), ts_.getTsData());
+        CompositeResults rslts;
+        try {
+            rslts = SaManager.instance.process(getEstimationSpecification(), ts_.getTsData());
+        } catch (RuntimeException err) {
+            // the item should not stay pending
+            synchronized (id_) {
+                status_ = Status.Invalid;
+            }
+            throw err;
+        }
         synchronized (id_) {
             rslts_ = rslts;
             update();
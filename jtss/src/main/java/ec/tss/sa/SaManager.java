@@ -40,9 +40,31 @@ public final class SaManager extends AlgorithmManager<ISaSpecification, TsData,
 
     public static final SaManager instance = new SaManager();
 
+    private volatile SaProcessingCache cache;
+
     private SaManager() {
     }
 
+    /**
+     * Gets the cache of the results of the processing
+     *
+     * @return The cache. Null if the results are not cached (default)
+     */
+    public SaProcessingCache getCache() {
+        return cache;
+    }
+
+    /**
+     * Sets the cache of the results of the processing. When a cache is
+     * installed, the processing of a series that has already been processed
+     * with the same specification returns the cached results.
+     *
+     * @param cache The new cache. Null to disable caching
+     */
+    public void setCache(SaProcessingCache cache) {
+        this.cache = cache;
+    }
+
     public <S extends ISaSpecification> void add(ISaProcessingFactory<S> fac) {
         super.addProcessor(fac);
     }
@@ -61,6 +83,20 @@ public final class SaManager extends AlgorithmManager<ISaSpecification, TsData,
         return super.process(spec, s);
     }
 
+    @Override
+    public <T extends ISaSpecification> CompositeResults process(T spec, TsData s, ProcessingContext context) {
+        SaProcessingCache curcache = cache;
+        if (curcache == null || spec == null || s == null) {
+            return super.process(spec, s, context);
+        }
+        CompositeResults rslts = curcache.get(spec, s, context);
+        if (rslts == null) {
+            rslts = super.process(spec, s, context);
+            curcache.put(spec, s, context, rslts);
+        }
+        return rslts;
+    }
+
     @Override
     public ISaProcessingFactory getProcessor(AlgorithmDescriptor desc) {
         return (ISaProcessingFactory) super.getProcessor(desc);
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2013 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.tss.sa;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import ec.satoolkit.ISaSpecification;
+import ec.tstoolkit.algorithm.CompositeResults;
+import ec.tstoolkit.algorithm.ProcessingContext;
+import ec.tstoolkit.timeseries.simplets.TsData;
+import java.util.Arrays;
+
+/**
+ * Cache of the results of the seasonal adjustment processing. The results
+ * are identified by the specification (compared by means of its equals
+ * method), the series (domain and values) and the processing context.
+ *
+ * The size of the cache is limited by the total number of observations of the
+ * series that are cached. The results are furthermore softly referenced, so
+ * that they can be reclaimed by the garbage collector when the memory is
+ * low.
+ *
+ * The processing context is identified by its reference. The cache should be
+ * invalidated when the content of a context is modified (calendars,
+ * user-defined variables...).
+ *
+ * The cached results are shared by all the callers; they shouldn't be
+ * modified.
+ */
+public final class SaProcessingCache {
+
+    /**
+     * Default maximum number of observations (corresponds for instance to
+     * 5000 monthly series of 20 years)
+     */
+    public static final long DEF_MAXWEIGHT = 1200000;
+
+    private final Cache<Key, CompositeResults> cache;
+
+    public SaProcessingCache() {
+        this(DEF_MAXWEIGHT);
+    }
+
+    /**
+     * Creates a new cache
+     *
+     * @param maxWeight The maximum number of observations of the cached
+     * series
+     */
+    public SaProcessingCache(long maxWeight) {
+        cache = CacheBuilder.newBuilder()
+                .maximumWeight(maxWeight)
+                .weigher((Key key, CompositeResults rslts) -> key.weight())
+                .softValues()
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Gets the results corresponding to the given input, if they are
+     * available
+     *
+     * @param spec The specification
+     * @param s The series
+     * @param context The context. Null for the active context
+     * @return The cached results or null
+     */
+    public CompositeResults get(ISaSpecification spec, TsData s, ProcessingContext context) {
+        return cache.getIfPresent(new Key(spec, s, context, false));
+    }
+
+    /**
+     * Stores the results of a processing. Null results (failed processing)
+     * are not cached.
+     *
+     * @param spec The specification
+     * @param s The series
+     * @param context The context. Null for the active context
+     * @param rslts The results
+     */
+    public void put(ISaSpecification spec, TsData s, ProcessingContext context, CompositeResults rslts) {
+        if (rslts != null) {
+            cache.put(new Key(spec, s, context, true), rslts);
+        }
+    }
+
+    /**
+     * Removes all the cached results
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public long size() {
+        return cache.size();
+    }
+
+    public long getHitCount() {
+        return cache.stats().hitCount();
+    }
+
+    public long getMissCount() {
+        return cache.stats().missCount();
+    }
+
+    public long getEvictionCount() {
+        return cache.stats().evictionCount();
+    }
+
+    /**
+     * Detailed statistics of the cache
+     *
+     * @return
+     */
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    private static final class Key {
+
+        private final ISaSpecification spec;
+        private final TsData s;
+        private final ProcessingContext context;
+        private final int hash;
+
+        /**
+         *
+         * @param spec
+         * @param s
+         * @param context
+         * @param copy True if the key will be stored. In that case, the
+         * specification and the series are copied, to avoid side-effects
+         */
+        Key(ISaSpecification spec, TsData s, ProcessingContext context, boolean copy) {
+            this.spec = copy ? spec.clone() : spec;
+            this.s = copy ? s.clone() : s;
+            this.context = context != null ? context : ProcessingContext.getActiveContext();
+            // TsData.hashCode only uses the start of the series
+            int h = spec.hashCode();
+            h = 31 * h + s.getStart().hashCode();
+            h = 31 * h + Arrays.hashCode(s.internalStorage());
+            hash = 31 * h + System.identityHashCode(this.context);
+        }
+
+        int weight() {
+            return Math.max(1, s.getLength());
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return hash == other.hash && context == other.context
+                    && s.equals(other.s) && spec.equals(other.spec);
+        }
+    }
+}
@@ -18,17 +18,47 @@
 
 package ec.tss.sa;
 
+import ec.satoolkit.ISaSpecification;
+import ec.tss.sa.documents.SaDocument;
+import ec.tstoolkit.algorithm.IOutput;
+import ec.tstoolkit.algorithm.ProcessingExecutor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.swing.event.EventListenerList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
+ * Batch processing of the items of a SaProcessing. The items are processed
+ * concurrently (by means of the shared ProcessingExecutor), by blocks of
+ * limited size. Each processed item is immediately sent to the outputs, if
+ * any, and its results can be released, so that the memory used by the batch
+ * doesn't depend on the number of items. A failure on an item doesn't stop the
+ * processing of the other items.
+ *
+ * The progress is reported to the SaEventListener(s): Processed is fired (from
+ * the worker threads) for each item and Completed at the end of the batch.
  *
  * @author Kristof Bayens
  */
 public class SaProcessingMonitor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SaProcessingMonitor.class);
+
     private SaProcessing processing_;
     private SaItem[] items_;
-    private boolean closing_, stop_;
-    private Thread hRun_;
+    private volatile boolean closing_, stop_;
+    private volatile Thread hRun_;
+    private final List<IOutput<SaDocument<ISaSpecification>>> outputs_ = new ArrayList<>();
+    private Object context_;
+    private ProcessingExecutor executor_;
+    private int blockSize_;
+    private boolean compress_;
+    private EstimationPolicyType policy_ = EstimationPolicyType.None;
+    private boolean nospan_;
+    private final AtomicInteger processed_ = new AtomicInteger(), failed_ = new AtomicInteger();
 
     protected EventListenerList list = new EventListenerList();
 
@@ -53,22 +83,247 @@ public class SaProcessingMonitor {
         processing_ = value;
     }
 
+    /**
+     * Adds an output that will receive the document of each processed item.
+     * The calls to the output are serialized by the monitor.
+     *
+     * @param output
+     */
+    public void addOutput(IOutput<SaDocument<ISaSpecification>> output) {
+        outputs_.add(output);
+    }
+
+    public void clearOutputs() {
+        outputs_.clear();
+    }
+
+    /**
+     * Context passed to the start/end methods of the outputs
+     * (ec.tstoolkit.utilities.Id for ISaOutputFactory outputs)
+     *
+     * @param context
+     */
+    public void setOutputContext(Object context) {
+        context_ = context;
+    }
+
+    /**
+     * Executor used for the batch. Null (default) for the shared executor.
+     *
+     * @param executor
+     */
+    public void setExecutor(ProcessingExecutor executor) {
+        executor_ = executor;
+    }
+
+    /**
+     * Number of items submitted together. The results of a block are kept in
+     * memory until all its items are processed. 0 (default) for 4 items by
+     * worker thread.
+     *
+     * @param size
+     */
+    public void setBlockSize(int size) {
+        blockSize_ = size;
+    }
+
+    /**
+     * Releases the results of the items once they have been sent to the
+     * outputs. They will be re-computed on demand.
+     *
+     * @param compress
+     */
+    public void setCompress(boolean compress) {
+        compress_ = compress;
+    }
+
+    /**
+     * Refreshing policy applied on the processing before the estimation of its
+     * items. None (default) for processing the current items.
+     *
+     * @param policy
+     * @param nospan
+     */
+    public void setRefreshPolicy(EstimationPolicyType policy, boolean nospan) {
+        policy_ = policy == null ? EstimationPolicyType.None : policy;
+        nospan_ = nospan;
+    }
+
     public boolean isRunning() {
         return hRun_ != null;
     }
 
-    public void start() {
+    public int getItemsCount() {
+        SaItem[] items = items_;
+        return items == null ? 0 : items.length;
+    }
 
+    public int getProcessedCount() {
+        return processed_.get();
     }
 
-    public void stop() {
+    public int getFailedCount() {
+        return failed_.get();
+    }
+
+    /**
+     * Starts the processing in a background thread
+     */
+    public synchronized void start() {
+        if (hRun_ != null || processing_ == null) {
+            return;
+        }
+        Thread t = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    SaProcessingMonitor.this.run();
+                } finally {
+                    hRun_ = null;
+                }
+            }
+        }, "SaProcessingMonitor");
+        t.setDaemon(true);
+        hRun_ = t;
+        t.start();
+    }
 
+    /**
+     * Requests the end of the processing. The items that are being processed
+     * are completed; the other ones are skipped.
+     */
+    public void stop() {
+        stop_ = true;
     }
 
     public void close() {
         closing_ = true;
-        if (hRun_ != null && hRun_.isAlive()) {
-            hRun_.interrupt();
+        stop_ = true;
+        Thread t = hRun_;
+        if (t != null && t.isAlive()) {
+            t.interrupt();
+        }
+    }
+
+    /**
+     * Processes the items of the current SaProcessing in the calling thread.
+     *
+     * @return True if all the items have been handled (false if the processing
+     * has been stopped)
+     */
+    public boolean run() {
+        SaProcessing processing = processing_;
+        if (processing == null) {
+            return false;
+        }
+        stop_ = false;
+        processed_.set(0);
+        failed_.set(0);
+        if (policy_ != EstimationPolicyType.None) {
+            processing.refresh(policy_, nospan_);
+        }
+        SaItem[] items = processing.toArray();
+        items_ = items;
+        ProcessingExecutor executor = executor_ != null ? executor_ : ProcessingExecutor.getDefault();
+        int bsize = blockSize_ > 0 ? blockSize_ : 4 * executor.getParallelism();
+        List<IOutput<SaDocument<ISaSpecification>>> outputs = startOutputs();
+        try {
+            for (int i = 0; i < items.length && !stop_; i += bsize) {
+                int jmax = Math.min(items.length, i + bsize);
+                List<Callable<Void>> tasks = new ArrayList<>(jmax - i);
+                for (int j = i; j < jmax; ++j) {
+                    tasks.add(createTask(items[j], outputs));
+                }
+                executor.invokeAll(tasks);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            stop_ = true;
+        } finally {
+            endOutputs(outputs);
+        }
+        boolean completed = !stop_;
+        if (completed && !closing_) {
+            fireCompleted(new SaProcessingEvent(processing));
+        }
+        return completed;
+    }
+
+    private Callable<Void> createTask(final SaItem item, final List<IOutput<SaDocument<ISaSpecification>>> outputs) {
+        return new Callable<Void>() {
+            @Override
+            public Void call() {
+                if (stop_) {
+                    return null;
+                }
+                try {
+                    item.process();
+                    if (!outputs.isEmpty() && item.getStatus() == SaItem.Status.Valid) {
+                        SaDocument<ISaSpecification> doc = item.toDocument();
+                        if (doc != null) {
+                            for (IOutput<SaDocument<ISaSpecification>> output : outputs) {
+                                if (output.isThreadSafe()) {
+                                    output.process(doc);
+                                } else {
+                                    synchronized (output) {
+                                        output.process(doc);
+                                    }
+                                }
+                            }
+                        }
+                    }
+                    if (item.getStatus().isError()) {
+                        failed_.incrementAndGet();
+                    }
+                } catch (Exception err) {
+                    LOGGER.warn("Processing of " + item.getName() + " failed", err);
+                    failed_.incrementAndGet();
+                } finally {
+                    if (compress_) {
+                        item.compress();
+                    }
+                    processed_.incrementAndGet();
+                }
+                fireProcessed(new SaItemEvent(item));
+                return null;
+            }
+        };
+    }
+
+    private List<IOutput<SaDocument<ISaSpecification>>> startOutputs() {
+        List<IOutput<SaDocument<ISaSpecification>>> started = new ArrayList<>();
+        for (IOutput<SaDocument<ISaSpecification>> output : outputs_) {
+            if (output.isAvailable()) {
+                try {
+                    output.start(context_);
+                    started.add(output);
+                } catch (Exception err) {
+                    LOGGER.error("Output " + output.getName() + " can't be started", err);
+                }
+            }
+        }
+        return started;
+    }
+
+    private void endOutputs(List<IOutput<SaDocument<ISaSpecification>>> outputs) {
+        for (IOutput<SaDocument<ISaSpecification>> output : outputs) {
+            try {
+                output.end(context_);
+            } catch (Exception err) {
+                LOGGER.error("Output " + output.getName() + " can't be completed", err);
+            }
+        }
+    }
+
+    private void fireProcessed(SaItemEvent evt) {
+        for (SaEventListener listener : list.getListeners(SaEventListener.class)) {
+            listener.Processed(evt);
+        }
+    }
+
+    private void fireCompleted(SaProcessingEvent evt) {
+        for (SaEventListener listener : list.getListeners(SaEventListener.class)) {
+            listener.Completed(evt);
         }
     }
 }
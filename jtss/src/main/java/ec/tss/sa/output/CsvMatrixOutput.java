@@ -20,24 +20,24 @@ import ec.satoolkit.ISaSpecification;
 import ec.tss.formatters.CsvInformationFormatter;
 import ec.tss.sa.documents.SaDocument;
 import ec.tstoolkit.algorithm.IOutput;
-import ec.tstoolkit.algorithm.IProcResults;
-import ec.tstoolkit.utilities.NamedObject;
 import ec.tstoolkit.utilities.Paths;
-import java.io.File;
 import java.io.FileOutputStream;
 import java.io.OutputStreamWriter;
+import java.io.File;
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
-import java.util.List;
 
 /**
+ * Writes a matrix of results (one line by document) in a csv file. The lines
+ * are formatted as soon as the documents are processed and kept in a
+ * temporary file until the end of the processing (the columns are only known
+ * at that time).
  *
  * @author Kristof Bayens
  */
 public class CsvMatrixOutput implements IOutput<SaDocument<ISaSpecification>> {
 
     CsvMatrixOutputConfiguration config_;
-    List<NamedObject<IProcResults>> infos_;
+    private CsvInformationFormatter.ResultsMatrix matrix_;
     private File folder_;
     private boolean fullName;
 
@@ -57,25 +57,33 @@ public class CsvMatrixOutput implements IOutput<SaDocument<ISaSpecification>> {
     }
 
     @Override
-    public void start(Object context) {
-        infos_ = new ArrayList<>();
-        folder_ = BasicConfiguration.folderFromContext(config_.getFolder(), context);
+    public boolean isThreadSafe() {
+        return true;
     }
 
     @Override
-    public void end(Object context) throws Exception {
+    public void start(Object context) throws Exception {
         CsvInformationFormatter fmt = new CsvInformationFormatter();
         fmt.setFullName(fullName);
-        String file = Paths.concatenate(folder_.getAbsolutePath(), config_.getFileName());
-        file = Paths.changeExtension(file, "csv");
-        FileOutputStream matrix = new FileOutputStream(file);
-        OutputStreamWriter writer = new OutputStreamWriter(matrix, StandardCharsets.ISO_8859_1);
-        fmt.formatResults(writer, infos_, config_.getItems(), true);
-        infos_ = null;
+        matrix_ = fmt.createResultsMatrix(config_.getItems(), true);
+        folder_ = BasicConfiguration.folderFromContext(config_.getFolder(), context);
+    }
+
+    @Override
+    public void end(Object context) throws Exception {
+        try (CsvInformationFormatter.ResultsMatrix matrix = matrix_) {
+            String file = Paths.concatenate(folder_.getAbsolutePath(), config_.getFileName());
+            file = Paths.changeExtension(file, "csv");
+            try (OutputStreamWriter writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.ISO_8859_1)) {
+                matrix.write(writer);
+            }
+        } finally {
+            matrix_ = null;
+        }
     }
 
     @Override
-    public void process(SaDocument<ISaSpecification> document) {
-        infos_.add(new NamedObject<>(document.getInput().getRawName(), document.getResults()));
+    public void process(SaDocument<ISaSpecification> document) throws Exception {
+        matrix_.add(document.getInput().getRawName(), document.getResults());
     }
 }
@@ -25,13 +25,28 @@ import ec.tstoolkit.utilities.Jdk6;
 import ec.tstoolkit.utilities.Paths;
 import java.io.File;
 import java.io.FileOutputStream;
+import java.io.IOException;
 import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
+ * Writes the series of the documents in csv files (one file by item).
+ *
+ * The documents are not kept: in the List layout, the lines are written as
+ * soon as the documents are processed; in the table layouts, the requested
+ * series are put in a temporary spool and the tables are generated (one at
+ * a time) at the end of the processing.
+ *
+ * As with the whole collection, every file contains all the documents, in
+ * the same order: the documents without the item (or whose item is only
+ * found later, through wild cards) get an empty series.
  *
  * @author Kristof Bayens
  */
@@ -39,33 +54,71 @@ public class CsvOutput implements IOutput<SaDocument<ISaSpecification>> {
 
     public static final Logger LOGGER = LoggerFactory.getLogger(CsvOutputFactory.class);
     CsvOutputConfiguration config_;
-    DefaultCollectionSummary summary_;
     private File folder_;
+    private String[] items_;
+    private final Map<String, ItemWriter> writers_ = new LinkedHashMap<>();
+    private final List<String> names_ = new ArrayList<>();
 
     public CsvOutput(CsvOutputConfiguration config) {
         config_ = (CsvOutputConfiguration) config.clone();
     }
 
     @Override
-    public void process(SaDocument<ISaSpecification> document) {
-        summary_.add(Jdk6.Collections.toArray(config_.getSeries(), String.class), document);
+    public void process(SaDocument<ISaSpecification> document) throws Exception {
+        String rawName = document.getInput().getRawName();
+        SeriesSummary summary = new SeriesSummary(items_, rawName, document);
+        Map<String, TsData> all = summary.getAllSeries();
+        // the series are dispatched under the same lock, so that the
+        // documents are in the same order in all the files
+        synchronized (writers_) {
+            String name = rawName;
+            if (name == null) {
+                name = "series" + Integer.toString(names_.size() + 1);
+            }
+            for (String item : all.keySet()) {
+                if (!writers_.containsKey(item)) {
+                    writers_.put(item, createWriter(item));
+                }
+            }
+            names_.add(name);
+            for (Map.Entry<String, ItemWriter> cur : writers_.entrySet()) {
+                cur.getValue().add(name, all.get(cur.getKey()));
+            }
+        }
     }
 
     @Override
     public void start(Object context) {
-        summary_ = new DefaultCollectionSummary();
+        writers_.clear();
+        names_.clear();
+        items_ = Jdk6.Collections.toArray(config_.getSeries(), String.class);
         folder_ = BasicConfiguration.folderFromContext(config_.getFolder(), context);
     }
 
     @Override
     public void end(Object context) throws Exception {
-        for (String item : summary_.getItems()) {
-            String nfile = config_.getFilePrefix();
-            nfile += "_" + StringFormatter.cleanup(item.replace('.', '_'));
-            nfile = Paths.changeExtension(nfile, "csv");
-            write(new File(BasicConfiguration.folder(folder_), nfile), summary_.getNames(), summary_.getSeries(item));
+        IOException err = null;
+        synchronized (writers_) {
+            for (ItemWriter writer : writers_.values()) {
+                try {
+                    writer.close();
+                } catch (IOException ex) {
+                    if (err == null) {
+                        err = ex;
+                    }
+                }
+            }
+            writers_.clear();
+            names_.clear();
         }
-        summary_ = null;
+        if (err != null) {
+            throw err;
+        }
+    }
+
+    @Override
+    public boolean isThreadSafe() {
+        return true;
     }
 
     @Override
@@ -78,13 +131,68 @@ public class CsvOutput implements IOutput<SaDocument<ISaSpecification>> {
         return true;
     }
 
-    private void write(File file, List<String> names, List<TsData> s) throws Exception {
-        try (FileOutputStream matrix = new FileOutputStream(file)) {
-            try (OutputStreamWriter writer = new OutputStreamWriter(matrix, StandardCharsets.ISO_8859_1)) {
-                TsCollectionCsvFormatter fmt = new TsCollectionCsvFormatter();
-                fmt.setFullName(config_.isFullName());
-                fmt.setPresentation(config_.getPresentation());
-                fmt.write(s, names, writer);
+    private ItemWriter createWriter(String item) throws IOException {
+        String nfile = config_.getFilePrefix();
+        nfile += "_" + StringFormatter.cleanup(item.replace('.', '_'));
+        nfile = Paths.changeExtension(nfile, "csv");
+        ItemWriter writer = new ItemWriter(new File(BasicConfiguration.folder(folder_), nfile));
+        // the previous documents didn't contain the item
+        for (String name : names_) {
+            writer.add(name, null);
+        }
+        return writer;
+    }
+
+    /**
+     * Output of one item. The calls are serialized by the output (lock on
+     * the writers)
+     */
+    private class ItemWriter {
+
+        private final File file;
+        private final TsCollectionCsvFormatter fmt = new TsCollectionCsvFormatter();
+        private Writer writer;
+        private SeriesSpool spool;
+
+        ItemWriter(File file) throws IOException {
+            this.file = file;
+            fmt.setFullName(config_.isFullName());
+            fmt.setPresentation(config_.getPresentation());
+            if (config_.getPresentation() == CsvLayout.List) {
+                writer = open();
+            } else {
+                spool = new SeriesSpool();
+            }
+        }
+
+        private Writer open() throws IOException {
+            return new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.ISO_8859_1);
+        }
+
+        void add(String name, TsData s) throws IOException {
+            if (writer != null) {
+                fmt.writeList(name, s, writer);
+            } else {
+                spool.add(name, s);
+            }
+        }
+
+        void close() throws IOException {
+            if (writer != null) {
+                writer.close();
+                writer = null;
+            } else if (spool != null) {
+                try (SeriesSpool cur = spool; Writer w = open()) {
+                    List<String> names = new ArrayList<>(cur.size());
+                    List<TsData> s = new ArrayList<>(cur.size());
+                    cur.forEach((n, data) -> {
+                        names.add(n);
+                        s.add(data);
+                    });
+                    fmt.write(s, names, w);
+                } finally {
+                    spool = null;
+                }
             }
         }
     }
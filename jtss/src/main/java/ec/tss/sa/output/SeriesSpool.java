@@ -0,0 +1,130 @@
+/*
+ * Copyright 2013 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.tss.sa.output;
+
+import ec.tstoolkit.timeseries.simplets.TsData;
+import ec.tstoolkit.timeseries.simplets.TsFrequency;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.function.BiConsumer;
+
+/**
+ * Temporary storage of named series. The outputs that can only be written
+ * when all the series are known (tables...) append the series to a spool
+ * instead of keeping the whole documents in memory. The series are stored in
+ * a temporary file, which is deleted when the spool is closed.
+ *
+ * The methods are synchronized.
+ */
+public final class SeriesSpool implements Closeable {
+
+    private final File file;
+    private DataOutputStream out;
+    private int count;
+
+    public SeriesSpool() throws IOException {
+        file = File.createTempFile("jdemetra", ".spool");
+        file.deleteOnExit();
+        out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+    }
+
+    /**
+     * Appends a series to the spool
+     *
+     * @param name The name of the series. May be null
+     * @param s The series. May be null
+     * @throws IOException
+     */
+    public synchronized void add(String name, TsData s) throws IOException {
+        if (out == null) {
+            throw new IOException("Closed spool");
+        }
+        out.writeBoolean(name != null);
+        if (name != null) {
+            out.writeUTF(name);
+        }
+        out.writeBoolean(s != null);
+        if (s != null) {
+            out.writeInt(s.getFrequency().intValue());
+            out.writeInt(s.getStart().getYear());
+            out.writeInt(s.getStart().getPosition());
+            int n = s.getLength();
+            out.writeInt(n);
+            for (int i = 0; i < n; ++i) {
+                out.writeDouble(s.get(i));
+            }
+        }
+        ++count;
+    }
+
+    /**
+     * Number of series in the spool
+     *
+     * @return
+     */
+    public synchronized int size() {
+        return count;
+    }
+
+    /**
+     * Reads the series of the spool, in the order of their insertion
+     *
+     * @param consumer Receives the name and the series (which can be null)
+     * @throws IOException
+     */
+    public synchronized void forEach(BiConsumer<String, TsData> consumer) throws IOException {
+        if (out == null) {
+            throw new IOException("Closed spool");
+        }
+        out.flush();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            for (int i = 0; i < count; ++i) {
+                String name = in.readBoolean() ? in.readUTF() : null;
+                TsData s = null;
+                if (in.readBoolean()) {
+                    TsFrequency freq = TsFrequency.valueOf(in.readInt());
+                    int year = in.readInt(), pos = in.readInt();
+                    double[] data = new double[in.readInt()];
+                    for (int j = 0; j < data.length; ++j) {
+                        data[j] = in.readDouble();
+                    }
+                    s = new TsData(freq, year, pos, data, false);
+                }
+                consumer.accept(name, s);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (out != null) {
+            try {
+                out.close();
+            } finally {
+                out = null;
+                file.delete();
+            }
+        }
+    }
+}
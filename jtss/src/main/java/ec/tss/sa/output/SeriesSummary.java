@@ -20,6 +20,7 @@ import ec.tss.sa.documents.SaDocument;
 import ec.tstoolkit.algorithm.IProcResults;
 import ec.tstoolkit.information.InformationSet;
 import ec.tstoolkit.timeseries.simplets.TsData;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -45,7 +46,8 @@ public class SeriesSummary {
             if (results != null) {
                 if (InformationSet.hasWildCards(item)) {
                     Map<String, TsData> all = results.searchAll(item, TsData.class);
-                    all.keySet().forEach(s->series_.put(s, results.getData(s, TsData.class)));
+                    // sorted, the dictionaries of the results are not always ordered
+                    all.keySet().stream().sorted().forEach(s->series_.put(s, results.getData(s, TsData.class)));
                 } else {
                     series_.put(item, results.getData(item, TsData.class));
                 }
@@ -64,6 +66,10 @@ public class SeriesSummary {
         }
     }
 
+    public Map<String, TsData> getAllSeries() {
+        return Collections.unmodifiableMap(series_);
+    }
+
     void fill(Set<String> set) {
         set.addAll(series_.keySet());
     }
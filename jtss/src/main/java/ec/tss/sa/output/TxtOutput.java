@@ -26,6 +26,7 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.io.OutputStreamWriter;
 import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -36,7 +37,7 @@ import org.slf4j.LoggerFactory;
 public class TxtOutput extends BasicConfiguration implements IOutput<SaDocument<ISaSpecification>> {
 
     public static final Logger LOGGER = LoggerFactory.getLogger(TxtOutputFactory.class);
-    private int id_;
+    private final AtomicInteger id_ = new AtomicInteger();
     private TxtOutputConfiguration config_;
     private File folder;
 
@@ -49,7 +50,7 @@ public class TxtOutput extends BasicConfiguration implements IOutput<SaDocument<
         if (document.getResults() == null) {
             return;
         }
-        String name = "s" + Integer.toString(++id_);
+        String name = "s" + Integer.toString(id_.incrementAndGet());
 
         for (String item : config_.getSeries()) {
             TsData s = document.getResults().getData(item, TsData.class);
@@ -61,7 +62,7 @@ public class TxtOutput extends BasicConfiguration implements IOutput<SaDocument<
 
     @Override
     public void start(Object context) {
-        id_ = 0;
+        id_.set(0);
         folder = BasicConfiguration.folderFromContext(config_.getFolder(), context);
     }
 
@@ -69,6 +70,17 @@ public class TxtOutput extends BasicConfiguration implements IOutput<SaDocument<
     public void end(Object file) {
     }
 
+    /**
+     * Each series is written in its own file, as soon as the document is
+     * processed
+     *
+     * @return
+     */
+    @Override
+    public boolean isThreadSafe() {
+        return true;
+    }
+
     @Override
     public String getName() {
         return "txt";
@@ -39,6 +39,7 @@ public class RevisionAnalysisSpec implements IProcSpecification, Cloneable {
     public static final String REVISION_START = "revisionStartDay";
     public static final String OUTOFSAMPLE = "outofsample";
     public static final String FINAL = "final";
+    public static final String INCREMENTAL = "incremental";
 
     public static class DayMonth {
 
@@ -130,6 +131,11 @@ public class RevisionAnalysisSpec implements IProcSpecification, Cloneable {
 
     private DayMonth revisionDay = DayMonth.BEG;
     private boolean outOfSample = true;
+    /**
+     * The intermediate estimations start from the ARIMA parameters of the
+     * previous vintage instead of a complete re-estimation
+     */
+    private boolean incremental = false;
 
     public MainPolicyType getMainEstimation() {
         return mainEstimation;
@@ -163,6 +169,14 @@ public class RevisionAnalysisSpec implements IProcSpecification, Cloneable {
         ftarget = b;
     }
 
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    public void setIncremental(boolean incremental) {
+        this.incremental = incremental;
+    }
+
     public int getAnalysisLength() {
         return analysisLength;
     }
@@ -235,6 +249,9 @@ public class RevisionAnalysisSpec implements IProcSpecification, Cloneable {
         if (ftarget == true || verbose) {
             info.set(FINAL, ftarget);
         }
+        if (incremental == true || verbose) {
+            info.set(INCREMENTAL, incremental);
+        }
         return info;
     }
 
@@ -282,6 +299,11 @@ public class RevisionAnalysisSpec implements IProcSpecification, Cloneable {
         if (b != null) {
             this.ftarget = b;
         }
+
+        b = info.get(INCREMENTAL, Boolean.class);
+        if (b != null) {
+            this.incremental = b;
+        }
         return true;
     }
 
@@ -294,6 +316,7 @@ public class RevisionAnalysisSpec implements IProcSpecification, Cloneable {
         dic.put(InformationSet.item(prefix, REVISION_START), String.class);
         dic.put(InformationSet.item(prefix, OUTOFSAMPLE), Boolean.class);
         dic.put(InformationSet.item(prefix, FINAL), Boolean.class);
+        dic.put(InformationSet.item(prefix, INCREMENTAL), Boolean.class);
     }
 
 }
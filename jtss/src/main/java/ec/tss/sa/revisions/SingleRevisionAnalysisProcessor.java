@@ -17,13 +17,20 @@
 package ec.tss.sa.revisions;
 
 import ec.satoolkit.ISaSpecification;
+import ec.satoolkit.tramoseats.TramoSeatsSpecification;
+import ec.satoolkit.x13.X13Specification;
 import ec.tss.Ts;
 import ec.tss.TsFactory;
 import ec.tss.sa.EstimationPolicyType;
 import ec.tss.sa.SaItem;
 import ec.tss.sa.SaManager;
+import ec.tstoolkit.Parameter;
+import ec.tstoolkit.ParameterType;
 import ec.tstoolkit.algorithm.CompositeResults;
 import ec.tstoolkit.information.InformationSet;
+import ec.tstoolkit.modelling.arima.DefaultArimaSpec;
+import ec.tstoolkit.modelling.arima.tramo.TramoSpecification;
+import ec.tstoolkit.modelling.arima.x13.RegArimaSpecification;
 import ec.tstoolkit.timeseries.Day;
 import ec.tstoolkit.timeseries.simplets.TsData;
 import ec.tstoolkit.timeseries.simplets.TsDomain;
@@ -93,6 +100,9 @@ public class SingleRevisionAnalysisProcessor {
                 policy = spec_.getIntermediateEstimation().getType();
             }
             ISaSpecification espec = SaManager.instance.createSpecification(cur, dom.drop(0, freq), policy, true);
+            if (spec_.isIncremental()) {
+                warmStart(espec, cur.getPointSpecification(), policy);
+            }
             cur = cur.newSpecification(tmp, espec, policy);
             details_.add(cur.process());
             ++i;
@@ -104,6 +114,71 @@ public class SingleRevisionAnalysisProcessor {
         return true;
     }
 
+    /**
+     * Uses the ARIMA parameters of the previous vintage as initial values of
+     * the new estimation, when the ARIMA model is not re-identified. The
+     * estimation of the new vintage is then a warm start from those values
+     * (see EstimateSpec.isWarmStart).
+     *
+     * @param nspec The specification of the new vintage (modified)
+     * @param pspec The point specification of the previous vintage
+     * @param policy The estimation policy of the new vintage
+     */
+    private static void warmStart(ISaSpecification nspec, ISaSpecification pspec, EstimationPolicyType policy) {
+        switch (policy) {
+            case FreeParameters:
+            case Outliers:
+            case LastOutliers:
+                break;
+            default:
+                return;
+        }
+        DefaultArimaSpec narima = arima(nspec), parima = arima(pspec);
+        if (narima == null || parima == null) {
+            return;
+        }
+        if (narima.getP() != parima.getP() || narima.getD() != parima.getD() || narima.getQ() != parima.getQ()
+                || narima.getBP() != parima.getBP() || narima.getBD() != parima.getBD() || narima.getBQ() != parima.getBQ()) {
+            return;
+        }
+        narima.setPhi(initialValues(narima.getPhi(), parima.getPhi()));
+        narima.setTheta(initialValues(narima.getTheta(), parima.getTheta()));
+        narima.setBPhi(initialValues(narima.getBPhi(), parima.getBPhi()));
+        narima.setBTheta(initialValues(narima.getBTheta(), parima.getBTheta()));
+        if (nspec instanceof TramoSeatsSpecification) {
+            ((TramoSeatsSpecification) nspec).getTramoSpecification().getEstimate().setWarmStart(true);
+        } else {
+            ((X13Specification) nspec).getRegArimaSpecification().getEstimate().setWarmStart(true);
+        }
+    }
+
+    private static DefaultArimaSpec arima(ISaSpecification spec) {
+        if (spec instanceof TramoSeatsSpecification) {
+            TramoSpecification tspec = ((TramoSeatsSpecification) spec).getTramoSpecification();
+            return tspec == null || tspec.isUsingAutoModel() ? null : tspec.getArima();
+        } else if (spec instanceof X13Specification) {
+            RegArimaSpecification rspec = ((X13Specification) spec).getRegArimaSpecification();
+            return rspec == null || rspec.isUsingAutoModel() ? null : rspec.getArima();
+        } else {
+            return null;
+        }
+    }
+
+    private static Parameter[] initialValues(Parameter[] target, Parameter[] source) {
+        if (target == null || source == null || target.length != source.length) {
+            return target;
+        }
+        Parameter[] p = new Parameter[target.length];
+        for (int i = 0; i < p.length; ++i) {
+            if (Parameter.isDefault(target[i]) && Parameter.isDefined(source[i])) {
+                p[i] = new Parameter(source[i].getValue(), ParameterType.Initial);
+            } else {
+                p[i] = target[i];
+            }
+        }
+        return p;
+    }
+
     private SaItem computeReferences() {
         SaItem ref1 = inSampleReference(), ref0 = outOfSampleReference();
 
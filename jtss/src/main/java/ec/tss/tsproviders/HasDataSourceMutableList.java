@@ -17,6 +17,7 @@
 package ec.tss.tsproviders;
 
 import ec.tss.tsproviders.utils.DataSourceEventSupport;
+import java.util.Collection;
 import java.util.LinkedHashSet;
 import java.util.function.Consumer;
 import org.checkerframework.checker.nullness.qual.NonNull;
@@ -55,6 +56,25 @@ public interface HasDataSourceMutableList extends HasDataSourceList {
      */
     boolean close(@NonNull DataSource dataSource) throws IllegalArgumentException;
 
+    /**
+     * Adds several DataSources to the provider. Implementations may load their
+     * content concurrently.
+     *
+     * @param dataSources
+     * @return true if all the DataSources have been added to the provider,
+     * false otherwise.
+     * @throws IllegalArgumentException if a DataSource doesn't belong to this
+     * provider.
+     * @since 2.2.4
+     */
+    default boolean openAll(@NonNull Collection<DataSource> dataSources) throws IllegalArgumentException {
+        boolean result = true;
+        for (DataSource o : dataSources) {
+            result &= open(o);
+        }
+        return result;
+    }
+
     /**
      * Removes all the DataSources from this provider.
      */
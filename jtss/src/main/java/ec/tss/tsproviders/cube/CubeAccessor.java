@@ -19,6 +19,7 @@ package ec.tss.tsproviders.cube;
 import ec.tss.tsproviders.cursor.TsCursor;
 import ec.tss.tsproviders.utils.IteratorWithIO;
 import java.io.IOException;
+import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentMap;
 import org.checkerframework.checker.index.qual.NonNegative;
@@ -49,6 +50,21 @@ public interface CubeAccessor {
     @NonNull
     TsCursor<CubeId> getSeriesWithData(@NonNull CubeId id) throws IOException;
 
+    /**
+     * Retrieves the data of a selection of series with a single query. The
+     * series that cannot be found are skipped.
+     *
+     * @param ids the ids of the series
+     * @return a new cursor, or null if the selection of series is not
+     * supported; the series must then be retrieved one by one.
+     * @throws IOException
+     * @since 2.2.4
+     */
+    @Nullable
+    default TsCursor<CubeId> getSelectionWithData(@NonNull List<CubeId> ids) throws IOException {
+        return null;
+    }
+
     @NonNull
     IteratorWithIO<CubeId> getChildren(@NonNull CubeId id) throws IOException;
 
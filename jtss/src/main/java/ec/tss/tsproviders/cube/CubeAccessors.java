@@ -19,6 +19,7 @@ package ec.tss.tsproviders.cube;
 import ec.tss.tsproviders.cursor.TsCursor;
 import ec.tss.tsproviders.utils.IteratorWithIO;
 import java.io.IOException;
+import java.util.List;
 import java.util.concurrent.ConcurrentMap;
 import org.checkerframework.checker.index.qual.NonNegative;
 import org.checkerframework.checker.nullness.qual.NonNull;
@@ -69,6 +70,11 @@ final class CubeAccessors {
             return delegate.getSeriesWithData(id);
         }
 
+        @Override
+        public TsCursor<CubeId> getSelectionWithData(List<CubeId> ids) throws IOException {
+            return delegate.getSelectionWithData(ids);
+        }
+
         @Override
         public IteratorWithIO<CubeId> getChildren(CubeId id) throws IOException {
             return delegate.getChildren(id);
@@ -134,5 +140,11 @@ final class CubeAccessors {
             }
             return super.getSeriesWithData(ref);
         }
+
+        @Override
+        public TsCursor<CubeId> getSelectionWithData(List<CubeId> ids) throws IOException {
+            // the series are retrieved one by one from the cached ancestors
+            return cacheEnabled ? null : super.getSelectionWithData(ids);
+        }
     }
 }
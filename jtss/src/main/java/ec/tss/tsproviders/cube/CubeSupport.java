@@ -91,7 +91,7 @@ public final class CubeSupport implements HasDataHierarchy, HasTsCursor, HasData
             return Collections.singletonList(fake);
         }
 
-        DataSet.Builder builder = DataSet.builder(dataSource, DataSet.Kind.COLLECTION);
+        DataSet.Builder builder = DataSet.builder(dataSource, parentId.getDepth() > 1 ? DataSet.Kind.COLLECTION : DataSet.Kind.SERIES);
         return children(builder, acc.getChildren(parentId), idParam);
     }
 
@@ -138,6 +138,28 @@ public final class CubeSupport implements HasDataHierarchy, HasTsCursor, HasData
                 : type.encompass(TsInformationType.Data) ? acc.getSeriesWithData(id) : TsCursor.singleton(id);
         return cursor.transform(toDataSetFunc(dataSet.toBuilder(DataSet.Kind.SERIES), idParam));
     }
+
+    @Override
+    public TsCursor<DataSet> getData(DataSource dataSource, List<DataSet> dataSets, TsInformationType type) throws IOException {
+        if (!type.encompass(TsInformationType.Data)) {
+            return null;
+        }
+
+        CubeAccessor acc = resource.getAccessor(dataSource);
+        IParam<DataSet, CubeId> idParam = resource.getIdParam(dataSource);
+
+        List<CubeId> ids = new ArrayList<>(dataSets.size());
+        for (DataSet o : dataSets) {
+            CubeId id = idParam.get(o);
+            if (!id.isSeries()) {
+                return null;
+            }
+            ids.add(id);
+        }
+
+        TsCursor<CubeId> cursor = acc.getSelectionWithData(ids);
+        return cursor != null ? cursor.transform(toDataSetFunc(DataSet.builder(dataSource, DataSet.Kind.SERIES), idParam)) : null;
+    }
     //</editor-fold>
 
     //<editor-fold defaultstate="collapsed" desc="HasDataDisplayName">
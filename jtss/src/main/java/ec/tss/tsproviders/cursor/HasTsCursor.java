@@ -20,7 +20,9 @@ import ec.tss.TsInformationType;
 import ec.tss.tsproviders.DataSet;
 import ec.tss.tsproviders.DataSource;
 import java.io.IOException;
+import java.util.List;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import net.jcip.annotations.ThreadSafe;
 
 /**
@@ -58,4 +60,24 @@ public interface HasTsCursor {
      */
     @NonNull
     TsCursor<DataSet> getData(@NonNull DataSet dataSet, @NonNull TsInformationType type) throws IllegalArgumentException, IOException;
+
+    /**
+     * Creates a cursor on a selection of series of a DataSource, retrieved
+     * with a single query. The cursor may skip the series that cannot be
+     * found.
+     *
+     * @param dataSource the DataSource
+     * @param dataSets the requested series of the DataSource
+     * @param type the type of data to return
+     * @return a new cursor, or null if the selection of series is not
+     * supported; the series must then be retrieved one by one.
+     * @throws IllegalArgumentException if the DataSource doesn't belong to this
+     * provider.
+     * @throws IOException if an internal exception prevented data retrieval.
+     * @since 2.2.4
+     */
+    @Nullable
+    default TsCursor<DataSet> getData(@NonNull DataSource dataSource, @NonNull List<DataSet> dataSets, @NonNull TsInformationType type) throws IllegalArgumentException, IOException {
+        return null;
+    }
 }
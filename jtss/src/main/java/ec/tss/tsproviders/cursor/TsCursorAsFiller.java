@@ -27,6 +27,9 @@ import ec.tss.tsproviders.utils.OptionalTsData;
 import ec.tss.tsproviders.utils.TsFiller;
 import ec.tstoolkit.MetaData;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import org.checkerframework.checker.nullness.qual.NonNull;
@@ -101,6 +104,40 @@ public final class TsCursorAsFiller {
             return resource.reportInvalid(info);
         }
 
+        @Override
+        public boolean fillAllSeries(List<TsInformation> infos) {
+            boolean result = true;
+            Map<DataSource, List<TsInformation>> bySource = new LinkedHashMap<>();
+            for (TsInformation o : infos) {
+                DataSet dataSet = resource.toDataSet(o);
+                if (isSeries(dataSet)) {
+                    bySource.computeIfAbsent(dataSet.getDataSource(), k -> new ArrayList<>()).add(o);
+                } else {
+                    result &= resource.reportInvalid(o);
+                }
+            }
+            for (Map.Entry<DataSource, List<TsInformation>> o : bySource.entrySet()) {
+                result &= o.getValue().size() > 1
+                        ? fillAllSeries(o.getValue(), o.getKey())
+                        : fillSeries(o.getValue().get(0));
+            }
+            return result;
+        }
+
+        private boolean fillAllSeries(List<TsInformation> infos, DataSource dataSource) {
+            List<TsInformation> missing;
+            try {
+                missing = resource.fill(infos, dataSource);
+            } catch (IOException ex) {
+                missing = infos;
+            }
+            boolean result = true;
+            for (TsInformation o : missing) {
+                result &= fillSeries(o);
+            }
+            return result;
+        }
+
         private static boolean isCollection(DataSource dataSource) {
             return dataSource != null;
         }
@@ -134,6 +171,8 @@ public final class TsCursorAsFiller {
 
         boolean fill(TsInformation info, DataSet dataSet) throws IOException;
 
+        List<TsInformation> fill(List<TsInformation> infos, DataSource dataSource) throws IOException;
+
         boolean reportException(TsInformation info, DataSet dataSet, IOException ex);
 
         boolean reportInvalid(TsInformation info);
@@ -233,6 +272,26 @@ public final class TsCursorAsFiller {
             }
         }
 
+        @Override
+        public List<TsInformation> fill(List<TsInformation> infos, DataSource dataSource) throws IOException {
+            Map<DataSet, TsInformation> pending = new LinkedHashMap<>();
+            infos.forEach(o -> pending.put(toDataSet(o), o));
+            TsInformationType type = infos.stream().map(o -> o.type).reduce(TsInformationType.None, TsInformationType::union);
+            try (TsCursor<DataSet> cursor = htc.getData(dataSource, new ArrayList<>(pending.keySet()), type)) {
+                if (cursor == null) {
+                    return infos;
+                }
+                while (!pending.isEmpty() && cursor.nextSeries()) {
+                    TsInformation info = pending.remove(cursor.getSeriesId());
+                    if (info != null) {
+                        info.name = cursor.getSeriesLabel();
+                        fill(info, cursor);
+                    }
+                }
+            }
+            return new ArrayList<>(pending.values());
+        }
+
         private void fill(TsCollectionInformation info, TsCursor<DataSet> cursor) throws IOException {
             if (info.type.encompass(TsInformationType.MetaData)) {
                 fillMeta(info, cursor);
@@ -20,6 +20,8 @@ package ec.tss.tsproviders.utils;
 import ec.tss.TsAsyncMode;
 import ec.tss.tsproviders.DataSource;
 import ec.tss.tsproviders.IDataSourceLoader;
+import java.io.IOException;
+import java.util.Collection;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.slf4j.Logger;
 
@@ -52,6 +54,34 @@ public abstract class AbstractDataSourceLoader<DATA, BEAN> extends AbstractDataS
         return support.open(dataSource);
     }
 
+    /**
+     * Adds several DataSources to the provider. Their content is loaded
+     * concurrently before they are opened so that the listeners find it in
+     * the cache. Loading errors are reported later, on access.
+     *
+     * @param dataSources
+     * @return
+     * @since 2.2.4
+     */
+    @Override
+    public boolean openAll(Collection<DataSource> dataSources) {
+        dataSources.forEach(support::check);
+        dataSources.parallelStream().distinct().forEach(this::preload);
+        boolean result = true;
+        for (DataSource o : dataSources) {
+            result &= support.open(o);
+        }
+        return result;
+    }
+
+    private void preload(DataSource dataSource) {
+        try {
+            support.getValue(cache, dataSource);
+        } catch (IOException ex) {
+            logger.info("Failed to load data source '" + dataSource + "'", ex);
+        }
+    }
+
     @Override
     public boolean close(DataSource dataSource) {
         if (support.close(dataSource)) {
@@ -28,7 +28,10 @@ import ec.tss.tsproviders.*;
 import ec.tstoolkit.MetaData;
 import ec.tstoolkit.timeseries.simplets.TsData;
 import java.io.IOException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -175,6 +178,60 @@ public abstract class AbstractDataSourceProvider<DATA> extends AbstractTsProvide
         return false;
     }
 
+    /**
+     * Processes a batch of series requests. The requests on the same data
+     * source are retrieved with a single query on the requested series if
+     * they are numerous enough (see {@link AsyncBatching#getMinBulkSize()})
+     * and if the provider supports it (see
+     * {@link #fillSeries(Map, DataSource)}); the other ones are processed one
+     * by one.
+     *
+     * @param infos
+     * @since 2.2.4
+     */
+    @Override
+    protected void process(List<TsInformation> infos) {
+        Map<DataSource, Map<DataSet, TsInformation>> bySource = new LinkedHashMap<>();
+        for (TsInformation o : infos) {
+            DataSet dataSet = toDataSet(o.moniker);
+            if (support.checkQuietly(dataSet, DataSet.Kind.SERIES)) {
+                bySource.computeIfAbsent(dataSet.getDataSource(), k -> new LinkedHashMap<>()).put(dataSet, o);
+            } else {
+                process(o);
+            }
+        }
+        int minBulkSize = getAsyncBatching().getMinBulkSize();
+        bySource.forEach((dataSource, requests) -> {
+            Collection<TsInformation> remaining = requests.values();
+            if (requests.size() >= minBulkSize) {
+                try {
+                    remaining = fillSeries(requests, dataSource);
+                } catch (Exception ex) {
+                    logger.info("Failed to get series of '" + dataSource + "' as a batch", ex);
+                }
+            }
+            remaining.forEach(this::process);
+        });
+    }
+
+    /**
+     * Fills several series of a data source with a single query on these
+     * series (keyed lookup, IN clause...). The default implementation fills
+     * nothing, so that the series are retrieved one by one; it should be
+     * overridden by the providers that can retrieve a selection of series at
+     * once.
+     *
+     * @param requests the series requests by data set
+     * @param dataSource the data source of the series
+     * @return the requests that have not been filled
+     * @throws IOException
+     * @since 2.2.4
+     */
+    @NonNull
+    protected Collection<TsInformation> fillSeries(@NonNull Map<DataSet, TsInformation> requests, @NonNull DataSource dataSource) throws IOException {
+        return requests.values();
+    }
+
     abstract protected void fillCollection(@NonNull TsCollectionInformation info, @NonNull DataSource dataSource) throws IOException;
 
     abstract protected void fillCollection(@NonNull TsCollectionInformation info, @NonNull DataSet dataSet) throws IOException;
@@ -19,10 +19,11 @@ package ec.tss.tsproviders.utils;
 import ec.tss.ITsProvider;
 import ec.tss.TsAsyncMode;
 import ec.tss.TsCollectionInformation;
-import ec.tss.TsFactory;
 import ec.tss.TsInformation;
 import ec.tss.TsInformationType;
 import ec.tss.TsMoniker;
+import java.util.List;
+import java.util.Objects;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.LockSupport;
 import org.slf4j.Logger;
@@ -39,12 +40,14 @@ public abstract class AbstractTsProvider implements ITsProvider {
     protected final AsyncRequests asyncRequests;
     //protected final Service requestsHandler;
     protected final RequestsHandler2 requestsHandler;
+    private final AsyncBatcher batcher;
 
     public AbstractTsProvider(Logger logger, String providerName, TsAsyncMode asyncMode) {
         this.logger = logger;
         this.providerName = providerName;
         this.asyncMode = asyncMode;
         this.asyncRequests = new AsyncRequests();
+        this.batcher = new AsyncBatcher(asyncRequests, AsyncBatching.DEFAULT, this::process, this::process);
         if (this.asyncMode != TsAsyncMode.None) {
             this.requestsHandler = new RequestsHandler2();
             requestsHandler.start();
@@ -81,6 +84,27 @@ public abstract class AbstractTsProvider implements ITsProvider {
         return asyncMode;
     }
 
+    /**
+     * Gets the parameters used to coalesce the asynchronous requests.
+     *
+     * @return a non-null object
+     * @since 2.2.4
+     */
+    public AsyncBatching getAsyncBatching() {
+        return batcher.getOptions();
+    }
+
+    /**
+     * Sets the parameters used to coalesce the asynchronous requests. By
+     * default, the requests are not delayed (see AsyncBatching#DEFAULT).
+     *
+     * @param asyncBatching a non-null object
+     * @since 2.2.4
+     */
+    public void setAsyncBatching(AsyncBatching asyncBatching) {
+        batcher.setOptions(Objects.requireNonNull(asyncBatching));
+    }
+
     @Override
     public boolean queryTsCollection(TsMoniker moniker, TsInformationType type) {
         if (asyncMode == TsAsyncMode.None) {
@@ -137,6 +161,17 @@ public abstract class AbstractTsProvider implements ITsProvider {
 
     abstract protected boolean process(TsInformation info);
 
+    /**
+     * Processes a batch of asynchronous requests. The default implementation
+     * processes the requests one by one.
+     *
+     * @param infos
+     * @since 2.2.4
+     */
+    protected void process(List<TsInformation> infos) {
+        infos.forEach(this::process);
+    }
+
 //    protected class RequestsHandler extends AbstractExecutionThreadService {
 //
 //        @Override
@@ -186,20 +221,9 @@ public abstract class AbstractTsProvider implements ITsProvider {
         @Override
         public void run() {
             while (!end.get()) {
-                // step 1. process tsCollection
-                TsCollectionInformation crequest = asyncRequests.nextTsCollection();
-                if (crequest != null && TsFactory.instance.isTsCollectionAlive(crequest.moniker)) {
-                    process(crequest);
-                    TsFactory.instance.update(crequest);
-                }
-                // step 2. process ts
-                TsInformation srequest = asyncRequests.nextTs();
-                if (srequest != null && TsFactory.instance.isTsAlive(srequest.moniker)) {
-                    process(srequest);
-                    TsFactory.instance.update(srequest);
-                }
-                // step 3. sleep if queues are empty
-                if (srequest == null && crequest == null) {
+                // process the next tsCollection and the next batch of ts
+                // and sleep if queues are empty
+                if (!batcher.processNext()) {
                     LockSupport.park();
                 }
             }
@@ -214,6 +238,7 @@ public abstract class AbstractTsProvider implements ITsProvider {
                 LockSupport.unpark(requestsThread);
             }
             end.set(true);
+            batcher.shutdown();
         }
 
         void unpark() {
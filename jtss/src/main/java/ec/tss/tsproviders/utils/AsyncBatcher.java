@@ -0,0 +1,152 @@
+/*
+ * Copyright 2016 National Bank of Belgium
+ * 
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved 
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * 
+ * http://ec.europa.eu/idabc/eupl
+ * 
+ * Unless required by applicable law or agreed to in writing, software 
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and 
+ * limitations under the Licence.
+ */
+package ec.tss.tsproviders.utils;
+
+import ec.tss.TsCollectionInformation;
+import ec.tss.TsFactory;
+import ec.tss.TsInformation;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Package-private supporting class that processes the pending asynchronous
+ * requests of a provider: collections one by one and series by batches.
+ * Batches may be processed concurrently, up to a maximum.
+ */
+final class AsyncBatcher {
+
+    private final AsyncRequests requests;
+    private final Consumer<TsCollectionInformation> collectionProcessor;
+    private final Consumer<List<TsInformation>> seriesProcessor;
+    private final Object lock;
+    private volatile AsyncBatching options;
+    private int running;
+    private ExecutorService executor;
+
+    AsyncBatcher(AsyncRequests requests, AsyncBatching options, Consumer<TsCollectionInformation> collectionProcessor, Consumer<List<TsInformation>> seriesProcessor) {
+        this.requests = requests;
+        this.options = options;
+        this.collectionProcessor = collectionProcessor;
+        this.seriesProcessor = seriesProcessor;
+        this.lock = new Object();
+        this.running = 0;
+        this.executor = null;
+    }
+
+    AsyncBatching getOptions() {
+        return options;
+    }
+
+    void setOptions(AsyncBatching options) {
+        this.options = options;
+    }
+
+    /**
+     * Processes the next collection request and the next batch of series
+     * requests. Must be called by a single thread.
+     *
+     * @return true if some requests have been processed, false if there were
+     * no requests
+     */
+    boolean processNext() {
+        AsyncBatching current = options;
+        boolean result = false;
+
+        TsCollectionInformation crequest = requests.nextTsCollection();
+        if (crequest != null) {
+            result = true;
+            if (TsFactory.instance.isTsCollectionAlive(crequest.moniker)) {
+                submit(current, () -> {
+                    collectionProcessor.accept(crequest);
+                    TsFactory.instance.update(crequest);
+                });
+            }
+        }
+
+        int count = requests.getTsCount();
+        if (count > 0) {
+            result = true;
+            if (current.getWindowMillis() > 0 && count < current.getMaxSize()) {
+                // gives a chance to coalesce the requests that follow
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(current.getWindowMillis()));
+            }
+            List<TsInformation> batch = requests.nextTs(current.getMaxSize());
+            batch.removeIf(o -> !TsFactory.instance.isTsAlive(o.moniker));
+            if (!batch.isEmpty()) {
+                submit(current, () -> {
+                    seriesProcessor.accept(batch);
+                    batch.forEach(TsFactory.instance::update);
+                });
+            }
+        }
+
+        return result;
+    }
+
+    void shutdown() {
+        synchronized (lock) {
+            if (executor != null) {
+                executor.shutdown();
+                executor = null;
+            }
+        }
+    }
+
+    private void submit(AsyncBatching current, Runnable task) {
+        if (current.getMaxConcurrency() <= 1) {
+            task.run();
+            return;
+        }
+        ExecutorService target;
+        synchronized (lock) {
+            try {
+                while (running >= current.getMaxConcurrency()) {
+                    lock.wait();
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                task.run();
+                return;
+            }
+            if (executor == null) {
+                executor = Executors.newCachedThreadPool(AsyncBatcher::newDaemonThread);
+            }
+            target = executor;
+            running++;
+        }
+        target.execute(() -> {
+            try {
+                task.run();
+            } finally {
+                synchronized (lock) {
+                    running--;
+                    lock.notifyAll();
+                }
+            }
+        });
+    }
+
+    private static Thread newDaemonThread(Runnable r) {
+        Thread result = new Thread(r);
+        result.setDaemon(true);
+        return result;
+    }
+}
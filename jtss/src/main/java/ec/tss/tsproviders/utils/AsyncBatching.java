@@ -0,0 +1,88 @@
+/*
+ * Copyright 2016 National Bank of Belgium
+ * 
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved 
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * 
+ * http://ec.europa.eu/idabc/eupl
+ * 
+ * Unless required by applicable law or agreed to in writing, software 
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and 
+ * limitations under the Licence.
+ */
+package ec.tss.tsproviders.utils;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import net.jcip.annotations.Immutable;
+
+/**
+ * Parameters used by asynchronous providers to coalesce the pending requests
+ * on series into batches.
+ *
+ * @since 2.2.4
+ */
+@Immutable
+@lombok.Value
+@lombok.With
+public final class AsyncBatching {
+
+    /**
+     * Creates a new set of parameters.
+     *
+     * @param windowMillis time to wait for other requests before processing a
+     * batch
+     * @param maxSize maximum number of requests in a batch
+     * @param maxConcurrency maximum number of batches processed concurrently
+     * @param minBulkSize minimum number of requests on the same data source
+     * for retrieving them with one query
+     * @return a non-null object
+     * @throws IllegalArgumentException if windowMillis is negative or if one
+     * of the other parameters is not strictly positive
+     */
+    @NonNull
+    public static AsyncBatching of(long windowMillis, int maxSize, int maxConcurrency, int minBulkSize) throws IllegalArgumentException {
+        return new AsyncBatching(windowMillis, maxSize, maxConcurrency, minBulkSize);
+    }
+
+    /**
+     * Requests are processed one at a time, as soon as they are submitted.
+     */
+    public static final AsyncBatching NONE = of(0, 1, 1, Integer.MAX_VALUE);
+
+    /**
+     * Default parameters: the requests that are already pending are processed
+     * together, without waiting for other ones.
+     */
+    public static final AsyncBatching DEFAULT = of(0, 1000, 1, 16);
+
+    /**
+     * Waits a short time for other requests before processing a batch. This
+     * is only useful for the providers whose sources can retrieve many series
+     * with one query; they must opt in (see
+     * AbstractTsProvider#setAsyncBatching or TsFillerAsProvider#of).
+     */
+    public static final AsyncBatching COALESCING = of(10, 1000, 1, 16);
+
+    private long windowMillis;
+
+    private int maxSize;
+
+    private int maxConcurrency;
+
+    private int minBulkSize;
+
+    // also used by the withers
+    private AsyncBatching(long windowMillis, int maxSize, int maxConcurrency, int minBulkSize) {
+        if (windowMillis < 0 || maxSize < 1 || maxConcurrency < 1 || minBulkSize < 1) {
+            throw new IllegalArgumentException("Invalid batching parameters");
+        }
+        this.windowMillis = windowMillis;
+        this.maxSize = maxSize;
+        this.maxConcurrency = maxConcurrency;
+        this.minBulkSize = minBulkSize;
+    }
+}
@@ -20,17 +20,21 @@ import ec.tss.TsCollectionInformation;
 import ec.tss.TsInformation;
 import ec.tss.TsInformationType;
 import ec.tss.TsMoniker;
-import java.util.Deque;
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
+ * Pending asynchronous requests. Requests on the same moniker are coalesced.
  *
  * @author Philippe Charles
  */
 public class AsyncRequests {
 
-    private final Deque<TsInformation> m_srequests = new LinkedList<>();
-    private final Deque<TsCollectionInformation> m_crequests = new LinkedList<>();
+    private final Map<TsMoniker, TsInformation> m_srequests = new LinkedHashMap<>();
+    private final Map<TsMoniker, TsCollectionInformation> m_crequests = new LinkedHashMap<>();
 
     public void clear() {
         synchronized (m_crequests) {
@@ -57,42 +61,36 @@ public class AsyncRequests {
 
     public void addTsCollection(TsMoniker moniker, TsInformationType type) {
         synchronized (m_crequests) {
-            for (TsCollectionInformation o : m_crequests) {
-                if (o.moniker.equals(moniker)) {
-                    o.type = type.union(o.type);
-                    return;
-                }
+            TsCollectionInformation o = m_crequests.get(moniker);
+            if (o != null) {
+                o.type = type.union(o.type);
+                return;
             }
-            m_crequests.addLast(new TsCollectionInformation(moniker, type));
+            m_crequests.put(moniker, new TsCollectionInformation(moniker, type));
         }
     }
 
     public boolean removeTsCollection(TsMoniker moniker, TsInformationType type) {
         synchronized (m_crequests) {
-            for (TsCollectionInformation o : m_crequests) {
-                if (o.moniker.equals(moniker)) {
-                    return type.encompass(o.type) ? m_crequests.remove(o) : false;
-                }
-            }
-            return false;
+            TsCollectionInformation o = m_crequests.get(moniker);
+            return o != null && type.encompass(o.type) && m_crequests.remove(moniker) != null;
         }
     }
 
     public TsCollectionInformation nextTsCollection() {
         synchronized (m_crequests) {
-            return m_crequests.pollFirst();
+            return pollFirst(m_crequests);
         }
     }
 
     public void addTs(TsMoniker moniker, TsInformationType type) {
         synchronized (m_srequests) {
-            for (TsInformation o : m_srequests) {
-                if (o.moniker.equals(moniker)) {
-                    o.type = type.union(o.type);
-                    return;
-                }
+            TsInformation o = m_srequests.get(moniker);
+            if (o != null) {
+                o.type = type.union(o.type);
+                return;
             }
-            m_srequests.addLast(new TsInformation(null, moniker, type));
+            m_srequests.put(moniker, new TsInformation(null, moniker, type));
         }
     }
 
@@ -105,18 +103,56 @@ public class AsyncRequests {
      */
     public boolean removeTs(TsMoniker moniker, TsInformationType type) {
         synchronized (m_srequests) {
-            for (TsInformation o : m_srequests) {
-                if (o.moniker.equals(moniker)) {
-                    return type.encompass(o.type) ? m_srequests.remove(o) : false;
-                }
-            }
-            return false;
+            TsInformation o = m_srequests.get(moniker);
+            return o != null && type.encompass(o.type) && m_srequests.remove(moniker) != null;
         }
     }
 
     public TsInformation nextTs() {
         synchronized (m_srequests) {
-            return m_srequests.pollFirst();
+            return pollFirst(m_srequests);
+        }
+    }
+
+    /**
+     * Removes several series requests at once, in the order of their
+     * submission.
+     *
+     * @param maxCount the maximum number of requests
+     * @return a non-null list
+     * @since 2.2.4
+     */
+    public List<TsInformation> nextTs(int maxCount) {
+        synchronized (m_srequests) {
+            List<TsInformation> result = new ArrayList<>(Math.min(maxCount, m_srequests.size()));
+            Iterator<TsInformation> iter = m_srequests.values().iterator();
+            while (result.size() < maxCount && iter.hasNext()) {
+                result.add(iter.next());
+                iter.remove();
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Gets the number of pending series requests.
+     *
+     * @return
+     * @since 2.2.4
+     */
+    public int getTsCount() {
+        synchronized (m_srequests) {
+            return m_srequests.size();
+        }
+    }
+
+    private static <X> X pollFirst(Map<TsMoniker, X> requests) {
+        Iterator<X> iter = requests.values().iterator();
+        if (iter.hasNext()) {
+            X result = iter.next();
+            iter.remove();
+            return result;
         }
+        return null;
     }
 }
@@ -168,7 +168,7 @@ public final class DataFormat {
      */
     public Parsers.@NonNull Parser<Number> numberParser() {
         try {
-            return Parsers.onNumberFormat(newNumberFormat());
+            return FastNumberParser.of(newNumberFormat());
         } catch (IllegalArgumentException ex) {
             return Parsers.onNull();
         }
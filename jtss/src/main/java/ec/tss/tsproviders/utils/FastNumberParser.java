@@ -0,0 +1,123 @@
+/*
+ * Copyright 2017 National Bank of Belgium
+ * 
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved 
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * 
+ * http://ec.europa.eu/idabc/eupl
+ * 
+ * Unless required by applicable law or agreed to in writing, software 
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and 
+ * limitations under the Licence.
+ */
+package ec.tss.tsproviders.utils;
+
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.NumberFormat;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * A number parser that handles plain decimal numbers (optional minus sign,
+ * ASCII digits, optional decimal separator) without going through
+ * {@link DecimalFormat}. Any other input is delegated to the number format,
+ * so that the results are identical to those of
+ * {@link Parsers#onNumberFormat(java.text.NumberFormat)}.
+ *
+ * @since 2.2.4
+ */
+final class FastNumberParser extends Parsers.Parser<Number> {
+
+    /**
+     * Creates a parser on a number format. The format must not be modified
+     * afterwards.
+     *
+     * @param numberFormat
+     * @return a non-null parser
+     */
+    static Parsers.@NonNull Parser<Number> of(@NonNull NumberFormat numberFormat) {
+        Parsers.Parser<Number> fallback = Parsers.onNumberFormat(numberFormat);
+        if (numberFormat instanceof DecimalFormat) {
+            DecimalFormat df = (DecimalFormat) numberFormat;
+            DecimalFormatSymbols symbols = df.getDecimalFormatSymbols();
+            if (df.getPositivePrefix().isEmpty() && df.getPositiveSuffix().isEmpty()
+                    && df.getNegativePrefix().length() == 1 && df.getNegativeSuffix().isEmpty()
+                    && df.getMultiplier() == 1 && !df.isParseBigDecimal() && !df.isParseIntegerOnly()
+                    && symbols.getZeroDigit() == '0' && !Character.isDigit(symbols.getDecimalSeparator())) {
+                return new FastNumberParser(df.getNegativePrefix().charAt(0), symbols.getDecimalSeparator(), fallback);
+            }
+        }
+        return fallback;
+    }
+
+    // doubles are exact up to 2^53 and powers of ten up to 10^22
+    private static final long MAX_EXACT = 1L << 53;
+    private static final int MAX_DIGITS = 18;
+    private static final long[] POW10 = new long[MAX_DIGITS + 1];
+
+    static {
+        POW10[0] = 1;
+        for (int i = 1; i < POW10.length; i++) {
+            POW10[i] = POW10[i - 1] * 10;
+        }
+    }
+
+    private final char minusSign;
+    private final char decimalSeparator;
+    private final Parsers.Parser<Number> fallback;
+
+    private FastNumberParser(char minusSign, char decimalSeparator, Parsers.Parser<Number> fallback) {
+        this.minusSign = minusSign;
+        this.decimalSeparator = decimalSeparator;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public Number parse(CharSequence input) throws NullPointerException {
+        int length = input.length();
+        int i = 0;
+        boolean negative = length > 0 && input.charAt(0) == minusSign;
+        if (negative) {
+            i++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int decimals = -1;
+        for (; i < length; i++) {
+            char c = input.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (++digits > MAX_DIGITS) {
+                    return fallback.parse(input);
+                }
+                mantissa = mantissa * 10 + (c - '0');
+                if (decimals >= 0) {
+                    decimals++;
+                }
+            } else if (c == decimalSeparator && decimals < 0) {
+                decimals = 0;
+            } else {
+                return fallback.parse(input);
+            }
+        }
+        if (digits == 0) {
+            return fallback.parse(input);
+        }
+        if (decimals <= 0 || mantissa % POW10[decimals] == 0) {
+            // same as DecimalFormat: integral values are longs except -0
+            if (mantissa == 0 && negative) {
+                return -0d;
+            }
+            long result = decimals <= 0 ? mantissa : mantissa / POW10[decimals];
+            return negative ? -result : result;
+        }
+        if (mantissa > MAX_EXACT) {
+            return fallback.parse(input);
+        }
+        double result = mantissa / (double) POW10[decimals];
+        return negative ? -result : result;
+    }
+}
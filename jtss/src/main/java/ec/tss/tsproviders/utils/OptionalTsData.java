@@ -484,7 +484,7 @@ public abstract class OptionalTsData {
         }
         if (gathering.getAggregationType() != TsAggregationType.None) {
             return new BuilderSupport<>(
-                    ObsList.newLongObsList(ordered, tsPeriodIdFunc),
+                    ObsList.newAggregatingLongObsList(gathering.getFrequency(), gathering.getAggregationType(), tsPeriodIdFunc),
                     periodFunc,
                     gathering.isSkipMissingValues(),
                     o -> makeWithAggregation(o, gathering.getFrequency(), gathering.getAggregationType()));
@@ -19,10 +19,10 @@ package ec.tss.tsproviders.utils;
 import ec.tss.ITsProvider;
 import ec.tss.TsAsyncMode;
 import ec.tss.TsCollectionInformation;
-import ec.tss.TsFactory;
 import ec.tss.TsInformation;
 import ec.tss.TsInformationType;
 import ec.tss.TsMoniker;
+import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.LockSupport;
@@ -45,12 +45,30 @@ public abstract class TsFillerAsProvider implements ITsProvider {
 
     @NonNull
     public static ITsProvider of(@NonNull String providerName, @NonNull TsAsyncMode asyncMode, @NonNull TsFiller filler, @NonNull Runnable cacheCleaner) {
+        return of(providerName, asyncMode, filler, cacheCleaner, AsyncBatching.DEFAULT);
+    }
+
+    /**
+     * Creates a provider whose asynchronous requests on series are coalesced
+     * into batches.
+     *
+     * @param providerName
+     * @param asyncMode
+     * @param filler
+     * @param cacheCleaner
+     * @param asyncBatching
+     * @return a non-null provider
+     * @since 2.2.4
+     */
+    @NonNull
+    public static ITsProvider of(@NonNull String providerName, @NonNull TsAsyncMode asyncMode, @NonNull TsFiller filler, @NonNull Runnable cacheCleaner, @NonNull AsyncBatching asyncBatching) {
+        Objects.requireNonNull(asyncBatching);
         switch (asyncMode) {
             case None:
                 return new SyncImpl(providerName, filler, cacheCleaner);
             case Dynamic:
             case Once:
-                return new AsyncImpl(providerName, asyncMode, filler, cacheCleaner);
+                return new AsyncImpl(providerName, asyncMode, filler, cacheCleaner, asyncBatching);
             default:
                 throw new RuntimeException();
         }
@@ -131,12 +149,12 @@ public abstract class TsFillerAsProvider implements ITsProvider {
         private final AsyncRequests asyncRequests;
         private final RequestsHandler2 requestsHandler;
 
-        private AsyncImpl(String providerName, TsAsyncMode asyncMode, TsFiller filler, Runnable cacheCleaner) {
+        private AsyncImpl(String providerName, TsAsyncMode asyncMode, TsFiller filler, Runnable cacheCleaner, AsyncBatching asyncBatching) {
             super(providerName, cacheCleaner);
             this.asyncMode = Objects.requireNonNull(asyncMode);
             this.filler = Objects.requireNonNull(filler);
             this.asyncRequests = new AsyncRequests();
-            this.requestsHandler = new RequestsHandler2(asyncRequests, filler);
+            this.requestsHandler = new RequestsHandler2(new AsyncBatcher(asyncRequests, asyncBatching, filler::fillCollection, batch -> fill(filler, asyncBatching, batch)));
             requestsHandler.start();
         }
 
@@ -205,16 +223,22 @@ public abstract class TsFillerAsProvider implements ITsProvider {
         }
     }
 
+    private static void fill(TsFiller filler, AsyncBatching asyncBatching, List<TsInformation> batch) {
+        if (batch.size() < asyncBatching.getMinBulkSize()) {
+            batch.forEach(filler::fillSeries);
+        } else {
+            filler.fillAllSeries(batch);
+        }
+    }
+
     private static final class RequestsHandler2 implements Runnable {
 
-        private final AsyncRequests asyncRequests;
-        private final TsFiller filler;
+        private final AsyncBatcher batcher;
         private final Thread requestsThread;
         private final AtomicBoolean end;
 
-        RequestsHandler2(AsyncRequests asyncRequests, TsFiller filler) {
-            this.asyncRequests = asyncRequests;
-            this.filler = filler;
+        RequestsHandler2(AsyncBatcher batcher) {
+            this.batcher = batcher;
             this.requestsThread = new Thread(this);
             this.end = new AtomicBoolean(false);
             requestsThread.setDaemon(true);
@@ -223,39 +247,20 @@ public abstract class TsFillerAsProvider implements ITsProvider {
         @Override
         public void run() {
             while (!end.get()) {
-                processNextTsCollection();
-                processNextTs();
-                if (asyncRequests.isEmpty()) {
+                if (!batcher.processNext()) {
                     LockSupport.park();
                 }
             }
         }
 
-        private void processNextTsCollection() {
-            TsCollectionInformation crequest = asyncRequests.nextTsCollection();
-            if (crequest != null && TsFactory.instance.isTsCollectionAlive(crequest.moniker)) {
-                filler.fillCollection(crequest);
-                TsFactory.instance.update(crequest);
-            }
-        }
-
-        private void processNextTs() {
-            TsInformation srequest = asyncRequests.nextTs();
-            if (srequest != null && TsFactory.instance.isTsAlive(srequest.moniker)) {
-                filler.fillSeries(srequest);
-                TsFactory.instance.update(srequest);
-            }
-        }
-
         void start() {
             requestsThread.start();
         }
 
         void stop() {
-            if (asyncRequests.isEmpty()) {
-                LockSupport.unpark(requestsThread);
-            }
             end.set(true);
+            LockSupport.unpark(requestsThread);
+            batcher.shutdown();
         }
 
         void unpark() {
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2017 National Bank of Belgium
+ * 
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved 
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * 
+ * http://ec.europa.eu/idabc/eupl
+ * 
+ * Unless required by applicable law or agreed to in writing, software 
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and 
+ * limitations under the Licence.
+ */
+package ec.tss;
+
+import ec.tstoolkit.MetaData;
+import ec.tstoolkit.timeseries.simplets.TsData;
+import ec.tstoolkit.timeseries.simplets.TsFrequency;
+import java.util.Map;
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.Test;
+
+public class TsColumnarCollectionTest {
+
+    private static TsCollectionInformation sample() {
+        TsCollectionInformation result = new TsCollectionInformation(TsMoniker.createAnonymousMoniker(), TsInformationType.All);
+        result.name = "sample";
+        for (int i = 0; i < 20; ++i) {
+            TsInformation item = new TsInformation("s" + i, new TsMoniker("test", "s" + i), TsInformationType.All);
+            item.metaData = new MetaData();
+            item.metaData.put("source", i % 2 == 0 ? "even" : "odd");
+            if (i % 7 == 6) {
+                item.invalidDataCause = "no data";
+            } else {
+                item.data = TsData.random(TsFrequency.Monthly, i);
+            }
+            result.items.add(item);
+        }
+        return result;
+    }
+
+    @Test
+    public void testOf() {
+        TsCollectionInformation info = sample();
+        TsColumnarCollection col = TsColumnarCollection.of(info);
+
+        assertThat(col.getName()).isEqualTo("sample");
+        assertThat(col.getMoniker()).isEqualTo(info.moniker);
+        assertThat(col.getCount()).isEqualTo(info.items.size());
+        for (int i = 0; i < info.items.size(); ++i) {
+            TsInformation item = info.items.get(i);
+            assertThat(col.getName(i)).isEqualTo(item.name);
+            assertThat(col.getMoniker(i)).isEqualTo(item.moniker);
+            assertThat(col.getMetaData(i)).containsExactlyEntriesOf(item.metaData);
+            assertThat(col.getData(i)).isEqualTo(item.data);
+            assertThat(col.getInvalidDataCause(i)).isEqualTo(item.invalidDataCause);
+            assertThat(col.indexOf(item.moniker)).isEqualTo(i);
+        }
+        assertThat(col.getMetaData(0)).isSameAs(col.getMetaData(2));
+        assertThat(col.getAllData()).hasSize(18);
+    }
+
+    @Test
+    public void testToInfo() {
+        TsCollectionInformation info = sample();
+        TsCollectionInformation copy = TsColumnarCollection.of(info).toInfo(TsInformationType.All);
+
+        assertThat(copy.items).hasSize(info.items.size());
+        for (int i = 0; i < info.items.size(); ++i) {
+            assertThat(copy.items.get(i).data).isEqualTo(info.items.get(i).data);
+            assertThat((Map<String, String>) copy.items.get(i).metaData).containsExactlyEntriesOf(info.items.get(i).metaData);
+            assertThat(copy.items.get(i).invalidDataCause).isEqualTo(info.items.get(i).invalidDataCause);
+        }
+
+        TsCollectionInformation definition = TsColumnarCollection.of(info).toInfo(TsInformationType.Definition);
+        assertThat(definition.items).allMatch(o -> o.data == null && o.metaData == null);
+    }
+
+    @Test
+    public void testSubCollection() {
+        TsColumnarCollection col = TsColumnarCollection.of(sample());
+        TsColumnarCollection sub = col.subCollection(5, 10);
+        assertThat(sub.getCount()).isEqualTo(5);
+        assertThat(sub.getName(0)).isEqualTo("s5");
+        assertThat(sub.getData(0)).isEqualTo(col.getData(5));
+        assertThat(sub.getBlock(1)).isNull();
+    }
+}
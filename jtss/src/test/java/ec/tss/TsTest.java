@@ -23,6 +23,15 @@ package ec.tss;
 import data.Data;
 import ec.tstoolkit.MetaData;
 import ec.tstoolkit.timeseries.simplets.TsData;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import static org.assertj.core.api.Assertions.assertThat;
 import org.junit.Test;
 import static org.junit.Assert.assertTrue;
@@ -84,4 +93,129 @@ public class TsTest {
                 .extracting("moniker", "name", "metaData", "tsData", "informationType", "invalidDataCause")
                 .containsExactly(info.moniker, "hello", null, null, TsInformationType.None, null);
     }
+
+    @Test
+    public void testConcurrentCreation() {
+        TsMoniker moniker = TsMoniker.createProvidedMoniker("test", "concurrent");
+        List<Ts> all = IntStream.range(0, 1000).parallel()
+                .mapToObj(i -> TsFactory.instance.createTs("s", moniker, null, Data.P))
+                .collect(Collectors.toList());
+        Ts ts = TsFactory.instance.getTs(moniker);
+        assertThat(ts).isNotNull();
+        assertThat(all).allMatch(o -> o.getMaster() == ts);
+        assertThat(TsFactory.instance.isTsAlive(moniker)).isTrue();
+
+        IntStream.range(0, 1000).parallel().forEach(i -> {
+            if (i % 2 == 0) {
+                ts.set(Data.X);
+            } else {
+                ts.setInvalidDataCause("cause" + i);
+            }
+        });
+        assertThat(ts.getTsData()).isEqualTo(Data.X);
+        assertThat(ts.getInvalidDataCause()).startsWith("cause");
+    }
+
+    @Test
+    public void testProviderLocks() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountingProvider p1 = new CountingProvider("test-lock-1", null);
+        CountingProvider p2 = new CountingProvider("test-lock-2", entered);
+        TsFactory.instance.add(p1);
+        TsFactory.instance.add(p2);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            // the creations that use the same provider are serialized
+            List<Future<Ts>> all = IntStream.range(0, 200)
+                    .mapToObj(i -> executor.submit(() -> TsFactory.instance.createTs("s", TsMoniker.createProvidedMoniker(p1.getSource(), "s" + i), TsInformationType.Data)))
+                    .collect(Collectors.toList());
+            for (Future<Ts> o : all) {
+                assertThat(o.get().getTsData()).isEqualTo(Data.P);
+            }
+            assertThat(p1.calls.get()).isEqualTo(200);
+            assertThat(p1.maxActive.get()).isEqualTo(1);
+
+            // another provider is not blocked
+            p1.wait = entered;
+            Future<Ts> s1 = executor.submit(() -> TsFactory.instance.createTs("s", TsMoniker.createProvidedMoniker(p1.getSource(), "blocked"), TsInformationType.Data));
+            Future<Ts> s2 = executor.submit(() -> TsFactory.instance.createTs("s", TsMoniker.createProvidedMoniker(p2.getSource(), "free"), TsInformationType.Data));
+            assertThat(s2.get(10, TimeUnit.SECONDS).getTsData()).isEqualTo(Data.P);
+            assertThat(s1.get(10, TimeUnit.SECONDS).getTsData()).isEqualTo(Data.P);
+            assertThat(p1.timedOut).isFalse();
+        } finally {
+            executor.shutdownNow();
+            TsFactory.instance.remove(p1.getSource());
+            TsFactory.instance.remove(p2.getSource());
+        }
+    }
+
+    private static final class CountingProvider implements ITsProvider {
+
+        final String source;
+        final CountDownLatch signal;
+        final AtomicInteger active = new AtomicInteger(), maxActive = new AtomicInteger(), calls = new AtomicInteger();
+        volatile CountDownLatch wait;
+        volatile boolean timedOut;
+
+        CountingProvider(String source, CountDownLatch signal) {
+            this.source = source;
+            this.signal = signal;
+        }
+
+        @Override
+        public boolean get(TsInformation info) {
+            int n = active.incrementAndGet();
+            maxActive.accumulateAndGet(n, Math::max);
+            calls.incrementAndGet();
+            try {
+                if (signal != null) {
+                    signal.countDown();
+                }
+                if (wait != null) {
+                    timedOut = !wait.await(5, TimeUnit.SECONDS);
+                } else {
+                    Thread.sleep(1);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } finally {
+                active.decrementAndGet();
+            }
+            info.data = Data.P;
+            return true;
+        }
+
+        @Override
+        public boolean get(TsCollectionInformation info) {
+            return false;
+        }
+
+        @Override
+        public void clearCache() {
+        }
+
+        @Override
+        public void dispose() {
+        }
+
+        @Override
+        public TsAsyncMode getAsyncMode() {
+            return TsAsyncMode.None;
+        }
+
+        @Override
+        public String getSource() {
+            return source;
+        }
+
+        @Override
+        public boolean queryTs(TsMoniker ts, TsInformationType type) {
+            return false;
+        }
+
+        @Override
+        public boolean queryTsCollection(TsMoniker collection, TsInformationType info) {
+            return false;
+        }
+    }
 }
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2013 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.tss.sa;
+
+import data.Data;
+import ec.satoolkit.tramoseats.TramoSeatsSpecification;
+import ec.satoolkit.x13.X13Specification;
+import ec.tss.sa.processors.TramoSeatsProcessor;
+import ec.tss.sa.processors.X13Processor;
+import ec.tstoolkit.algorithm.CompositeResults;
+import ec.tstoolkit.timeseries.simplets.TsData;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class SaProcessingCacheTest {
+
+    static {
+        SaManager.instance.add(new TramoSeatsProcessor());
+        SaManager.instance.add(new X13Processor());
+    }
+
+    public SaProcessingCacheTest() {
+    }
+
+    @Test
+    public void testCache() {
+        SaProcessingCache cache = new SaProcessingCache();
+        SaManager.instance.setCache(cache);
+        try {
+            CompositeResults r1 = SaManager.instance.process(TramoSeatsSpecification.RSA4, Data.P);
+            assertNotNull(r1);
+            // equivalent inputs
+            CompositeResults r2 = SaManager.instance.process(TramoSeatsSpecification.RSA4.clone(), Data.P.clone());
+            assertSame(r1, r2);
+            assertEquals(1, cache.getHitCount());
+            // modified inputs
+            TsData s = Data.P.clone();
+            s.set(s.getLength() - 1, s.get(s.getLength() - 1) + 1);
+            assertNotSame(r1, SaManager.instance.process(TramoSeatsSpecification.RSA4, s));
+            assertNotSame(r1, SaManager.instance.process(TramoSeatsSpecification.RSA5, Data.P));
+            assertNotSame(r1, SaManager.instance.process(X13Specification.RSA4, Data.P));
+            assertEquals(1, cache.getHitCount());
+            assertEquals(4, cache.size());
+            cache.invalidateAll();
+            assertNotSame(r1, SaManager.instance.process(TramoSeatsSpecification.RSA4, Data.P));
+        } finally {
+            SaManager.instance.setCache(null);
+        }
+    }
+
+    @Test
+    public void testEviction() {
+        // room for 10 series
+        SaProcessingCache cache = new SaProcessingCache(10 * Data.X.getLength());
+        for (int i = 0; i < 100; ++i) {
+            cache.put(X13Specification.RSA4, Data.X.plus(i), null, new CompositeResults());
+        }
+        assertNotNull(cache.get(X13Specification.RSA4, Data.X.plus(99), null));
+        assertTrue(cache.size() <= 10);
+        assertEquals(100 - cache.size(), cache.getEvictionCount());
+    }
+}
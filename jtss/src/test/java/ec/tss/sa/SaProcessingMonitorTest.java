@@ -0,0 +1,100 @@
+/*
+* Copyright 2013 National Bank of Belgium
+*
+* Licensed under the EUPL, Version 1.1 or – as soon they will be approved 
+* by the European Commission - subsequent versions of the EUPL (the "Licence");
+* You may not use this work except in compliance with the Licence.
+* You may obtain a copy of the Licence at:
+*
+* http://ec.europa.eu/idabc/eupl
+*
+* Unless required by applicable law or agreed to in writing, software 
+* distributed under the Licence is distributed on an "AS IS" basis,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the Licence for the specific language governing permissions and 
+* limitations under the Licence.
+*/
+package ec.tss.sa;
+
+import data.Data;
+import ec.satoolkit.ISaSpecification;
+import ec.satoolkit.tramoseats.TramoSeatsSpecification;
+import ec.satoolkit.x13.X13Specification;
+import ec.tss.TsFactory;
+import ec.tss.sa.documents.SaDocument;
+import ec.tss.sa.processors.TramoSeatsProcessor;
+import ec.tss.sa.processors.X13Processor;
+import ec.tstoolkit.algorithm.IOutput;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class SaProcessingMonitorTest {
+
+    static {
+        SaManager.instance.add(new TramoSeatsProcessor());
+        SaManager.instance.add(new X13Processor());
+    }
+
+    public SaProcessingMonitorTest() {
+    }
+
+    @Test
+    public void testRun() {
+        SaProcessing processing = new SaProcessing();
+        for (int i = 0; i < 10; ++i) {
+            ISaSpecification spec = i % 2 == 0 ? TramoSeatsSpecification.RSAfull : X13Specification.RSA4;
+            processing.add(new SaItem(spec, TsFactory.instance.createTs("s" + i, null, i % 3 == 0 ? Data.P : Data.X)));
+        }
+        final AtomicInteger nprocessed = new AtomicInteger(), ndocs = new AtomicInteger(), ncompleted = new AtomicInteger();
+        SaProcessingMonitor monitor = new SaProcessingMonitor();
+        monitor.setProcessing(processing);
+        monitor.setBlockSize(3);
+        monitor.setCompress(true);
+        monitor.addSaEventListener(new SaEventListener() {
+            @Override
+            public void Processed(SaItemEvent evt) {
+                nprocessed.incrementAndGet();
+            }
+
+            @Override
+            public void Completed(SaProcessingEvent evt) {
+                ncompleted.incrementAndGet();
+            }
+        });
+        monitor.addOutput(new IOutput<SaDocument<ISaSpecification>>() {
+            @Override
+            public String getName() {
+                return "test";
+            }
+
+            @Override
+            public boolean isAvailable() {
+                return true;
+            }
+
+            @Override
+            public void process(SaDocument<ISaSpecification> document) {
+                assertNotNull(document.getResults());
+                ndocs.incrementAndGet();
+            }
+
+            @Override
+            public void start(Object context) {
+            }
+
+            @Override
+            public void end(Object context) {
+            }
+        });
+        assertTrue(monitor.run());
+        assertEquals(10, monitor.getProcessedCount());
+        assertEquals(0, monitor.getFailedCount());
+        assertEquals(10, nprocessed.get());
+        assertEquals(10, ndocs.get());
+        assertEquals(1, ncompleted.get());
+        for (SaItem item : processing) {
+            assertEquals(SaItem.Status.Valid, item.getStatus());
+        }
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2013 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.tss.sa.output;
+
+import data.Data;
+import ec.satoolkit.ISaSpecification;
+import ec.satoolkit.tramoseats.TramoSeatsSpecification;
+import ec.satoolkit.x13.X13Specification;
+import ec.tss.TsFactory;
+import ec.tss.formatters.StringFormatter;
+import ec.tss.formatters.CsvInformationFormatter;
+import ec.tss.sa.SaItem;
+import ec.tss.sa.SaManager;
+import ec.tss.sa.documents.SaDocument;
+import ec.tss.sa.processors.TramoSeatsProcessor;
+import ec.tss.sa.processors.X13Processor;
+import ec.tstoolkit.algorithm.IProcResults;
+import ec.tstoolkit.timeseries.simplets.TsData;
+import ec.tstoolkit.utilities.NamedObject;
+import java.io.File;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import static org.junit.Assert.*;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class CsvOutputTest {
+
+    static {
+        SaManager.instance.add(new TramoSeatsProcessor());
+        SaManager.instance.add(new X13Processor());
+    }
+
+    private static final List<SaDocument<ISaSpecification>> docs = new ArrayList<>();
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    public CsvOutputTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+        for (int i = 0; i < 6; ++i) {
+            ISaSpecification spec = i % 2 == 0 ? TramoSeatsSpecification.RSAfull : X13Specification.RSA4;
+            SaItem item = new SaItem(spec, TsFactory.instance.createTs("s" + i, null, i % 3 == 0 ? Data.P : Data.X));
+            item.process();
+            docs.add(item.toDocument());
+        }
+    }
+
+    @Test
+    public void testResultsMatrix() throws Exception {
+        List<String> items = new CsvMatrixOutputConfiguration().getItems();
+        List<NamedObject<IProcResults>> records = new ArrayList<>();
+        docs.forEach(doc -> records.add(new NamedObject<>(doc.getInput().getRawName(), doc.getResults())));
+        records.add(new NamedObject<>("failed", null));
+
+        CsvInformationFormatter fmt = new CsvInformationFormatter();
+        StringWriter expected = new StringWriter();
+        fmt.formatResults(expected, records, items, true);
+
+        StringWriter actual = new StringWriter();
+        try (CsvInformationFormatter.ResultsMatrix matrix = fmt.createResultsMatrix(items, true)) {
+            for (NamedObject<IProcResults> record : records) {
+                matrix.add(record.name, record.object);
+            }
+            assertEquals(records.size(), matrix.getRowsCount());
+            matrix.write(actual);
+        }
+        assertEquals(expected.toString(), actual.toString());
+    }
+
+    @Test
+    public void testConcurrentOutputs() throws Exception {
+        for (CsvLayout layout : CsvLayout.values()) {
+            File root = folder.newFolder(layout.name());
+            CsvOutputConfiguration config = new CsvOutputConfiguration();
+            config.setFolder(root);
+            config.setPresentation(layout);
+            config.setSeries(Arrays.asList("sa", "t"));
+            CsvOutput output = new CsvOutput(config);
+            assertTrue(output.isThreadSafe());
+            output.start(null);
+            docs.parallelStream().forEach(doc -> {
+                try {
+                    output.process(doc);
+                } catch (Exception ex) {
+                    throw new RuntimeException(ex);
+                }
+            });
+            output.end(null);
+            File sa = new File(root, "series_sa.csv");
+            assertTrue(sa.exists());
+            assertTrue(new File(root, "series_t.csv").exists());
+            List<String> lines = Files.readAllLines(sa.toPath(), StandardCharsets.ISO_8859_1);
+            switch (layout) {
+                case List:
+                    assertEquals(docs.size(), lines.size());
+                    break;
+                case HTable:
+                    assertEquals(docs.size() + 1, lines.size());
+                    break;
+                case VTable:
+                    assertEquals(Data.P.getDomain().union(Data.X.getDomain()).getLength() + 1, lines.size());
+                    break;
+            }
+        }
+    }
+
+    @Test
+    public void testMissingItems() throws Exception {
+        // the first document (tramo-seats) doesn't contain the x11 tables
+        List<String> series = Arrays.asList("sa", "decomposition.d-tables.d1*", "undefined");
+        DefaultCollectionSummary summary = new DefaultCollectionSummary();
+        String[] items = series.toArray(new String[series.size()]);
+        docs.forEach(doc -> summary.add(items, doc));
+        Map<String, TsData> first = new SeriesSummary(items, "s0", docs.get(0)).getAllSeries();
+        List<String> expectedItems = summary.getItems();
+        assertTrue(expectedItems.stream().anyMatch(item -> !first.containsKey(item)));
+        assertTrue(expectedItems.contains("undefined"));
+
+        for (CsvLayout layout : CsvLayout.values()) {
+            File root = folder.newFolder(layout.name());
+            CsvOutputConfiguration config = new CsvOutputConfiguration();
+            config.setFolder(root);
+            config.setPresentation(layout);
+            config.setSeries(series);
+            CsvOutput output = new CsvOutput(config);
+            output.start(null);
+            for (SaDocument<ISaSpecification> doc : docs) {
+                output.process(doc);
+            }
+            output.end(null);
+            TsCollectionCsvFormatter fmt = new TsCollectionCsvFormatter();
+            fmt.setFullName(config.isFullName());
+            fmt.setPresentation(layout);
+            for (String item : expectedItems) {
+                StringWriter expected = new StringWriter();
+                fmt.write(summary.getSeries(item), summary.getNames(), expected);
+                File file = new File(root, "series_" + StringFormatter.cleanup(item.replace('.', '_')) + ".csv");
+                assertEquals(expected.toString(), new String(Files.readAllBytes(file.toPath()), StandardCharsets.ISO_8859_1));
+            }
+            assertEquals(expectedItems.size(), root.list().length);
+        }
+    }
+}
@@ -40,4 +40,27 @@ public class SingleRevisionAnalysisProcessorTest {
         System.out.println(table);
     }
 
+    @Test
+    public void testIncremental() {
+        RevisionAnalysisSpec spec = new RevisionAnalysisSpec();
+        SingleRevisionAnalysisProcessor processor = new SingleRevisionAnalysisProcessor(spec, Data.P);
+        assertTrue(processor.process());
+        List<TsData> sa = processor.items("sa", TsData.class);
+
+        RevisionAnalysisSpec ispec = spec.clone();
+        ispec.setIncremental(true);
+        SingleRevisionAnalysisProcessor iprocessor = new SingleRevisionAnalysisProcessor(ispec, Data.P);
+        assertTrue(iprocessor.process());
+        List<TsData> isa = iprocessor.items("sa", TsData.class);
+
+        assertEquals(sa.size(), isa.size());
+        for (int i = 0; i < sa.size(); ++i) {
+            TsData s = sa.get(i), is = isa.get(i);
+            assertEquals(s.getDomain(), is.getDomain());
+            for (int j = 0; j < s.getLength(); ++j) {
+                assertEquals(s.get(j), is.get(j), 1e-3 * Math.abs(s.get(j)));
+            }
+        }
+    }
+
 }
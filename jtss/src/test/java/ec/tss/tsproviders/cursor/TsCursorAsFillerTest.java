@@ -37,7 +37,11 @@ import ec.tss.tsproviders.utils.TsFiller;
 import ec.tstoolkit.MetaData;
 import ec.tstoolkit.timeseries.simplets.TsData;
 import ec.tstoolkit.utilities.LinearId;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import org.junit.Test;
 import org.slf4j.Logger;
@@ -251,6 +255,66 @@ public class TsCursorAsFillerTest {
         });
     }
 
+    @Test
+    public void testSeriesFillBulk() {
+        TsFiller filler = TsCursorAsFiller.of(logger, goodCursor, monikers, goodCursor);
+
+        List<TsInformation> infos = Arrays.asList(
+                new TsInformation(null, leaf3, All),
+                new TsInformation(null, leaf2, TsInformationType.MetaData),
+                new TsInformation(null, goodCollection, All));
+        assertThat(filler.fillAllSeries(infos)).isFalse();
+        assertThat(infos)
+                .usingFieldByFieldElementComparator()
+                .containsExactly(
+                        seriesInfo("leaf3", leaf3, All, Data.M2, null, customMeta),
+                        seriesInfo("node.leaf2", leaf2, TsInformationType.MetaData, null, null, null),
+                        seriesInfo(null, goodCollection, All, null, "Invalid moniker", null)
+                );
+    }
+
+    @Test
+    public void testSeriesFillKeyed() {
+        List<List<DataSet>> queries = new ArrayList<>();
+        HasTsCursor keyedCursor = new HasTsCursor() {
+            @Override
+            public TsCursor<DataSet> getData(DataSource dataSource, TsInformationType type) throws IOException {
+                return goodCursor.getData(dataSource, type);
+            }
+
+            @Override
+            public TsCursor<DataSet> getData(DataSet dataSet, TsInformationType type) throws IOException {
+                return goodCursor.getData(dataSet, type);
+            }
+
+            @Override
+            public TsCursor<DataSet> getData(DataSource dataSource, List<DataSet> dataSets, TsInformationType type) throws IOException {
+                queries.add(dataSets);
+                return goodCursor.getData(dataSource, type).filter(dataSets::contains);
+            }
+        };
+        TsFiller filler = TsCursorAsFiller.of(logger, keyedCursor, monikers, goodCursor);
+        TsFiller single = TsCursorAsFiller.of(logger, goodCursor, monikers, goodCursor);
+        TsMoniker missing = monikers.toMoniker(DataSet.of(DataSource.of(provider, ""), SERIES, "id", "node.missing"));
+
+        List<TsInformation> expected = Arrays.asList(
+                new TsInformation(null, leaf3, All),
+                new TsInformation(null, missing, All),
+                new TsInformation(null, leaf2, All));
+        expected.forEach(single::fillSeries);
+
+        List<TsInformation> infos = Arrays.asList(
+                new TsInformation(null, leaf3, All),
+                new TsInformation(null, missing, All),
+                new TsInformation(null, leaf2, All));
+        assertThat(filler.fillAllSeries(infos)).isFalse();
+        assertThat(infos)
+                .usingFieldByFieldElementComparator()
+                .containsExactlyElementsOf(expected);
+        assertThat(infos.get(1).invalidDataCause).isEqualTo("Missing time series");
+        assertThat(queries).containsExactly(Arrays.asList(monikers.toDataSet(leaf3), monikers.toDataSet(missing), monikers.toDataSet(leaf2)));
+    }
+
     @Test
     public void testSeriesEx() {
         TsFiller filler = TsCursorAsFiller.of(logger, badCursor, monikers, goodCursor);
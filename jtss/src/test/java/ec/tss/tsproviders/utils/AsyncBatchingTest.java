@@ -0,0 +1,48 @@
+/*
+ * Copyright 2017 National Bank of Belgium
+ * 
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved 
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * 
+ * http://ec.europa.eu/idabc/eupl
+ * 
+ * Unless required by applicable law or agreed to in writing, software 
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and 
+ * limitations under the Licence.
+ */
+package ec.tss.tsproviders.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.Test;
+
+public class AsyncBatchingTest {
+
+    @Test
+    public void testFactory() {
+        assertThat(AsyncBatching.of(5, 10, 2, 3))
+                .extracting("windowMillis", "maxSize", "maxConcurrency", "minBulkSize")
+                .containsExactly(5L, 10, 2, 3);
+
+        assertThatThrownBy(() -> AsyncBatching.of(-1, 10, 2, 3)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> AsyncBatching.of(5, 0, 2, 3)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> AsyncBatching.of(5, 10, 0, 3)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> AsyncBatching.of(5, 10, 2, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testWithers() {
+        assertThat(AsyncBatching.DEFAULT.withMaxSize(10).withWindowMillis(5))
+                .isEqualTo(AsyncBatching.of(5, 10, 1, 16));
+
+        assertThatThrownBy(() -> AsyncBatching.DEFAULT.withWindowMillis(-1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> AsyncBatching.DEFAULT.withMaxSize(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> AsyncBatching.DEFAULT.withMaxSize(-5)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> AsyncBatching.DEFAULT.withMaxConcurrency(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> AsyncBatching.DEFAULT.withMinBulkSize(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
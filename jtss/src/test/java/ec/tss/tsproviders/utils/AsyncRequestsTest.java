@@ -0,0 +1,67 @@
+/*
+ * Copyright 2017 National Bank of Belgium
+ * 
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved 
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * 
+ * http://ec.europa.eu/idabc/eupl
+ * 
+ * Unless required by applicable law or agreed to in writing, software 
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and 
+ * limitations under the Licence.
+ */
+package ec.tss.tsproviders.utils;
+
+import ec.tss.TsInformation;
+import ec.tss.TsInformationType;
+import ec.tss.TsMoniker;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import org.junit.Test;
+
+public class AsyncRequestsTest {
+
+    private final TsMoniker m1 = TsMoniker.createProvidedMoniker("provider", "m1");
+    private final TsMoniker m2 = TsMoniker.createProvidedMoniker("provider", "m2");
+    private final TsMoniker m3 = TsMoniker.createProvidedMoniker("provider", "m3");
+
+    @Test
+    public void testCoalescing() {
+        AsyncRequests requests = new AsyncRequests();
+        requests.addTs(m1, TsInformationType.MetaData);
+        requests.addTs(m2, TsInformationType.Data);
+        requests.addTs(m1, TsInformationType.Data);
+        assertThat(requests.getTsCount()).isEqualTo(2);
+
+        assertThat(requests.removeTs(m1, TsInformationType.Data)).isFalse();
+        assertThat(requests.removeTs(m1, TsInformationType.All)).isTrue();
+        assertThat(requests.getTsCount()).isEqualTo(1);
+
+        TsInformation next = requests.nextTs();
+        assertThat(next.moniker).isEqualTo(m2);
+        assertThat(next.type).isEqualTo(TsInformationType.Data);
+        assertThat(requests.isEmpty()).isTrue();
+        assertThat(requests.nextTs()).isNull();
+    }
+
+    @Test
+    public void testNextTsWithMaxCount() {
+        AsyncRequests requests = new AsyncRequests();
+        requests.addTs(m1, TsInformationType.Data);
+        requests.addTs(m2, TsInformationType.Data);
+        requests.addTs(m3, TsInformationType.Data);
+        requests.addTs(m1, TsInformationType.MetaData);
+
+        assertThat(requests.nextTs(2))
+                .extracting(o -> o.moniker, o -> o.type)
+                .containsExactly(
+                        tuple(m1, TsInformationType.All),
+                        tuple(m2, TsInformationType.Data));
+        assertThat(requests.nextTs(2)).extracting(o -> o.moniker).containsExactly(m3);
+        assertThat(requests.nextTs(2)).isEmpty();
+    }
+}
@@ -91,6 +91,20 @@ public class DataFormatTest {
         assertThat(f4.format(value)).isEqualTo("1234.50 €");
     }
 
+    @Test
+    public void testNumberParser() {
+        String[] inputs = {"0", "-0", "1", "-1", "007", "1.5", "-1.5", "1,5", "-1,5", "1.0", "1,0", "100.00", "1.", "1,", ".5", ",5",
+            "1,234.5", "1.234,5", "1 234,5", "1E3", "+1", "-", ".", "", " 1", "1 ", "abc", "1.2.3", "1,2,3",
+            "123456789012345678", "1234567890123456789", "0.1", "0.2", "0.3", "9007199254740993", "90071992547409.93", "3.14159265358979"};
+        for (DataFormat o : new DataFormat[]{of(US, null, null), of(FRANCE, null, null), of(GERMANY, null, null), of(ROOT, null, null), of(US, null, "#0.00")}) {
+            Parsers.Parser<Number> expected = Parsers.onNumberFormat(o.newNumberFormat());
+            Parsers.Parser<Number> actual = o.numberParser();
+            for (String input : inputs) {
+                assertThat(actual.parse(input)).as("%s with %s", input, o).isEqualTo(expected.parse(input));
+            }
+        }
+    }
+
     @Test
     public void testNewDateFormat() throws ParseException {
         assertThatIllegalArgumentException().isThrownBy(() -> of(FRENCH, "c", null).newDateFormat());
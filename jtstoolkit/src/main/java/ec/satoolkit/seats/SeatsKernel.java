@@ -20,6 +20,7 @@ import ec.satoolkit.ISeriesDecomposer;
 import static ec.satoolkit.seats.IArimaDecomposer.MODEL_DECOMPOSER;
 import ec.satoolkit.seats.SeatsSpecification.ApproximationMode;
 import ec.tstoolkit.algorithm.ProcessingInformation;
+import ec.tstoolkit.algorithm.ProcessingMetrics;
 import ec.tstoolkit.design.Development;
 import ec.tstoolkit.information.InformationSet;
 import ec.tstoolkit.timeseries.simplets.TsData;
@@ -78,6 +79,7 @@ public class SeatsKernel implements ISeriesDecomposer {
 //                info.addLog(DECOMPOSITION, model.getSarima().getSpecification());
             }
         }
+        ProcessingMetrics.count("seats.decompositions", Math.min(nround, 10));
         if (ucm == null) {
             throw new SeatsException(SeatsException.ERR_DECOMP);
         }
@@ -85,8 +87,10 @@ public class SeatsKernel implements ISeriesDecomposer {
         results.model = model;
         results.decomposition = ucm;
 
-        results.initialComponents = toolkit.getComponentsEstimator().decompose(model, ucm, info, context);
-        results.finalComponents = toolkit.getBiasCorrector().correct(results.initialComponents, info, context);
+        try (ProcessingMetrics.Stage stage = ProcessingMetrics.stage("components")) {
+            results.initialComponents = toolkit.getComponentsEstimator().decompose(model, ucm, info, context);
+            results.finalComponents = toolkit.getBiasCorrector().correct(results.initialComponents, info, context);
+        }
         results.info_ = info;
         results.addProcessingInformation(context.processingLog);
         return results;
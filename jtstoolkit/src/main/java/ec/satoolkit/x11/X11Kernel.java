@@ -18,6 +18,7 @@ package ec.satoolkit.x11;
 
 import ec.satoolkit.DecompositionMode;
 import ec.satoolkit.ISeriesDecomposer;
+import ec.tstoolkit.algorithm.ProcessingMetrics;
 import ec.tstoolkit.design.Development;
 import ec.tstoolkit.information.InformationSet;
 import ec.tstoolkit.timeseries.simplets.TsData;
@@ -93,12 +94,24 @@ public class X11Kernel implements ISeriesDecomposer {
         // build the modules
         info.subSet(A).set(A1, s);
 
-        stepA(info);
-        stepB(info);
-        stepC(info);
-        stepD(info);
-        stepE(info);
-        stepF(info);
+        try (ProcessingMetrics.Stage stage = ProcessingMetrics.stage("A")) {
+            stepA(info);
+        }
+        try (ProcessingMetrics.Stage stage = ProcessingMetrics.stage("B")) {
+            stepB(info);
+        }
+        try (ProcessingMetrics.Stage stage = ProcessingMetrics.stage("C")) {
+            stepC(info);
+        }
+        try (ProcessingMetrics.Stage stage = ProcessingMetrics.stage("D")) {
+            stepD(info);
+        }
+        try (ProcessingMetrics.Stage stage = ProcessingMetrics.stage("E")) {
+            stepE(info);
+        }
+        try (ProcessingMetrics.Stage stage = ProcessingMetrics.stage("F")) {
+            stepF(info);
+        }
 
         X11Results results = new X11Results(mode, info);
         return results;
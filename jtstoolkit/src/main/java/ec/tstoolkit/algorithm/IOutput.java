@@ -61,4 +61,15 @@ public interface IOutput<D extends IProcDocument<?, ?, ?>> {
      * @param id The identifier of handled information
      */
     void end(Object context)throws Exception;
+
+    /**
+     * Indicates that the process method can be called concurrently by
+     * several threads (between start and end). Otherwise, the callers must
+     * serialize the calls.
+     *
+     * @return False by default
+     */
+    default boolean isThreadSafe() {
+        return false;
+    }
 }
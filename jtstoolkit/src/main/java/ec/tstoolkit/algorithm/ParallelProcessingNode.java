@@ -23,17 +23,22 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.concurrent.*;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
+ * Processing node that executes its sub-nodes concurrently. The sub-nodes are
+ * submitted to the shared ProcessingExecutor (or to a specific executor), so
+ * that nested parallel nodes share the same bounded pool of threads.
  *
  * @author Jean Palate
  */
 public class ParallelProcessingNode<I> implements IProcessingNode<I> {
 
-    private final int NBR_EXECUTORS = Runtime.getRuntime().availableProcessors();
     private final String name, prefix;
+    private ProcessingExecutor executor;
+    private long timeout;
 
     public ParallelProcessingNode(final String name, final String prefix) {
         this.name = name;
@@ -45,16 +50,47 @@ public class ParallelProcessingNode<I> implements IProcessingNode<I> {
         nodes_.add(node);
     }
 
-    private List<Callable<IProcessing.Status>> createTasks(final I input, final Map<String, IProcResults> map, final Map<String, String> errors) {
+    /**
+     * Sets the executor used by this node.
+     *
+     * @param executor The executor. Null to use the shared executor
+     * (ProcessingExecutor.getDefault()).
+     */
+    public void setExecutor(ProcessingExecutor executor) {
+        this.executor = executor;
+    }
+
+    public ProcessingExecutor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Sets the maximum duration of the processing. The sub-nodes that are not
+     * completed when the delay expires are cancelled and reported as errors.
+     *
+     * @param timeout The delay, in milliseconds. 0 for no limit (default).
+     */
+    public void setTimeout(long timeout) {
+        this.timeout = timeout;
+    }
+
+    public long getTimeout() {
+        return timeout;
+    }
+
+    private List<Callable<IProcessing.Status>> createTasks(final I input, final Collector collector) {
         ArrayList<Callable<IProcessing.Status>> result = new ArrayList<>();
         for (final IProcessingNode<I> o : nodes_) {
             result.add(new Callable<IProcessing.Status>() {
                 @Override
                 public IProcessing.Status call() throws Exception {
+                    Map<String, IProcResults> local = new HashMap<>();
                     try {
-                        return o.process(input, map);
+                        IProcessing.Status status = o.process(input, local);
+                        collector.publish(local, null, null);
+                        return status;
                     } catch (Exception err) {
-                        errors.put(o.getName(), err.getMessage());
+                        collector.publish(local, o.getName(), err.getMessage());
                         return IProcessing.Status.Invalid;
                     }
                 }
@@ -64,6 +100,31 @@ public class ParallelProcessingNode<I> implements IProcessingNode<I> {
         return result;
     }
 
+    /**
+     * Results of the sub-nodes. The sub-nodes that are still running when
+     * the collector is closed (timeout) can't publish their results anymore.
+     */
+    private static final class Collector {
+
+        private final Map<String, IProcResults> results = new HashMap<>();
+        private final Map<String, String> errors = new HashMap<>();
+        private boolean closed;
+
+        synchronized void publish(Map<String, IProcResults> local, String name, String error) {
+            if (closed) {
+                return;
+            }
+            results.putAll(local);
+            if (name != null) {
+                errors.put(name, error);
+            }
+        }
+
+        synchronized void close() {
+            closed = true;
+        }
+    }
+
     @Override
     public String getName() {
         return name;
@@ -77,19 +138,33 @@ public class ParallelProcessingNode<I> implements IProcessingNode<I> {
     @Override
     public Status process(I input, Map<String, IProcResults> results) {
         CompositeResults cresults = new CompositeResults();
-        final ConcurrentHashMap<String, IProcResults> map = new ConcurrentHashMap<>();
-        ExecutorService executorService = Executors.newFixedThreadPool(NBR_EXECUTORS, CustomThreadFactory.INSTANCE);
+        ProcessingExecutor exec = executor != null ? executor : ProcessingExecutor.getDefault();
 
-        Map<String, String> errors=new ConcurrentHashMap<>();
-        List<Callable<IProcessing.Status>> tasks = createTasks(input, map, errors);
+        Collector collector = new Collector();
+        List<Callable<IProcessing.Status>> tasks = createTasks(input, collector);
+        boolean timedOut = false;
         try {
-            executorService.invokeAll(tasks);
+            exec.invokeAll(tasks, timeout, TimeUnit.MILLISECONDS);
         } catch (InterruptedException ex) {
+            collector.close();
             Thread.currentThread().interrupt();
             return Status.Invalid;
+        } catch (TimeoutException ex) {
+            // the unfinished tasks are cancelled; those that are running are
+            // not interrupted, but their results are discarded
+            collector.close();
+            timedOut = true;
+        }
+        Map<String, IProcResults> map = collector.results;
+        Map<String, String> errors = collector.errors;
+        if (timedOut) {
+            for (IProcessingNode<I> cur : nodes_) {
+                if (!map.containsKey(cur.getName()) && !errors.containsKey(cur.getName())) {
+                    errors.put(cur.getName(), "timeout");
+                }
+            }
         }
 
-        executorService.shutdown();
         for (IProcessingNode<I> cur : nodes_) {
 
             String cname = cur.getName();
@@ -104,27 +179,4 @@ public class ParallelProcessingNode<I> implements IProcessingNode<I> {
         results.put(name, cresults);
         return Status.Valid;
     }
-
-    private enum CustomThreadFactory implements ThreadFactory {
-
-        INSTANCE;
-        //
-        final ThreadGroup group;
-        final AtomicInteger threadNumber = new AtomicInteger(1);
-        final String namePrefix;
-
-        private CustomThreadFactory() {
-            SecurityManager s = System.getSecurityManager();
-            group = (s != null) ? s.getThreadGroup() : Thread.currentThread().getThreadGroup();
-            namePrefix = "pool-" + CustomThreadFactory.class.getSimpleName() + "-thread-";
-        }
-
-        @Override
-        public Thread newThread(Runnable r) {
-            Thread t = new Thread(group, r, namePrefix + threadNumber.getAndIncrement(), 0);
-            t.setDaemon(true);
-            t.setPriority(Thread.MIN_PRIORITY);
-            return t;
-        }
-    }
 }
@@ -0,0 +1,225 @@
+/*
+ * Copyright 2013 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.tstoolkit.algorithm;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Process-wide execution service shared by the parallel processing nodes.
+ * The tasks are executed in a work-stealing pool. When tasks are submitted
+ * from a thread of the pool itself (nested parallel nodes), they are forked
+ * in the current worker and the waiting thread helps executing them, so that
+ * nested processing never oversubscribes the cores nor deadlocks.
+ *
+ * The operations of the solvers done by the tasks (see SolverMetrics) and
+ * their processing metrics (see ProcessingMetrics) are attributed to the
+ * calling thread when the tasks are completed.
+ *
+ * The default parallelism is the number of available processors. It can be
+ * changed by means of the system property
+ * "ec.tstoolkit.algorithm.parallelism" or by installing another executor.
+ */
+public final class ProcessingExecutor {
+
+    public static final String PARALLELISM_PROPERTY = "ec.tstoolkit.algorithm.parallelism";
+
+    private static volatile ProcessingExecutor DEFAULT;
+
+    /**
+     * Gets the shared executor. It is created on first use.
+     *
+     * @return The default executor. Never null.
+     */
+    public static ProcessingExecutor getDefault() {
+        ProcessingExecutor result = DEFAULT;
+        if (result == null) {
+            synchronized (ProcessingExecutor.class) {
+                result = DEFAULT;
+                if (result == null) {
+                    int n = Integer.getInteger(PARALLELISM_PROPERTY, Runtime.getRuntime().availableProcessors());
+                    result = new ProcessingExecutor(n);
+                    DEFAULT = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Installs a new shared executor. The previous one (if any) is shut down
+     * once its pending tasks are completed, unless it uses a pool provided by
+     * the caller (see ProcessingExecutor(ForkJoinPool)).
+     *
+     * @param executor The new executor. Null to reset to the default
+     * configuration (created on next use).
+     */
+    public static void setDefault(ProcessingExecutor executor) {
+        ProcessingExecutor old;
+        synchronized (ProcessingExecutor.class) {
+            old = DEFAULT;
+            DEFAULT = executor;
+        }
+        if (old != null && old != executor && old.owned) {
+            old.pool.shutdown();
+        }
+    }
+
+    private final ForkJoinPool pool;
+    private final boolean owned;
+
+    /**
+     * Creates a new executor with a dedicated pool
+     *
+     * @param parallelism The maximum number of concurrent workers. Should be
+     * strictly positive.
+     */
+    public ProcessingExecutor(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism should be strictly positive");
+        }
+        this.pool = new ForkJoinPool(parallelism, CustomThreadFactory.INSTANCE, null, false);
+        this.owned = true;
+    }
+
+    /**
+     * Creates a new executor on an existing pool (for instance
+     * ForkJoinPool.commonPool()).
+     *
+     * @param pool The pool. The caller remains responsible of its life cycle.
+     */
+    public ProcessingExecutor(ForkJoinPool pool) {
+        this.pool = pool;
+        this.owned = false;
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    /**
+     * Executes the given tasks and waits for their completion.
+     *
+     * @param <T>
+     * @param tasks The tasks
+     * @return The completed tasks, in the order of the input. Tasks that failed
+     * are completed exceptionally.
+     * @throws InterruptedException
+     */
+    public <T> List<ForkJoinTask<T>> invokeAll(List<? extends Callable<T>> tasks) throws InterruptedException {
+        try {
+            return invokeAll(tasks, 0, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            // no timeout
+            throw new AssertionError(ex);
+        }
+    }
+
+    /**
+     * Executes the given tasks and waits for their completion, at most during
+     * the given delay. When the delay expires, the tasks that are not
+     * completed are cancelled (tasks that are already running are not
+     * interrupted; they will complete, but their results are discarded).
+     *
+     * @param <T>
+     * @param tasks The tasks
+     * @param timeout The maximum delay. 0 (or negative) for no limit.
+     * @param unit The unit of the delay.
+     * @return The completed tasks, in the order of the input.
+     * @throws InterruptedException The calling thread has been interrupted. All
+     * the tasks are cancelled.
+     * @throws TimeoutException The delay has expired. The unfinished tasks are
+     * cancelled.
+     */
+    public <T> List<ForkJoinTask<T>> invokeAll(List<? extends Callable<T>> tasks, long timeout, TimeUnit unit) throws InterruptedException, TimeoutException {
+        List<ForkJoinTask<T>> futures = new ArrayList<>(tasks.size());
+        SolverMetrics.Batch metrics = new SolverMetrics.Batch();
+        ProcessingMetrics.Batch pmetrics = new ProcessingMetrics.Batch();
+        for (Callable<T> task : tasks) {
+            futures.add(ForkJoinTask.adapt(ProcessingMetrics.attach(SolverMetrics.attach(task, metrics), pmetrics)));
+        }
+        Thread cur = Thread.currentThread();
+        boolean nested = cur instanceof ForkJoinWorkerThread
+                && ((ForkJoinWorkerThread) cur).getPool() == pool;
+        for (ForkJoinTask<T> f : futures) {
+            if (nested) {
+                f.fork();
+            } else {
+                pool.execute(f);
+            }
+        }
+        long deadline = timeout > 0 ? System.nanoTime() + unit.toNanos(timeout) : 0;
+        boolean done = false;
+        try {
+            // joins in reverse order, to favour the local execution of the forked tasks
+            for (int i = futures.size() - 1; i >= 0; --i) {
+                ForkJoinTask<T> f = futures.get(i);
+                try {
+                    if (deadline == 0) {
+                        f.get();
+                    } else {
+                        f.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    }
+                } catch (ExecutionException | CancellationException ex) {
+                    // the failure is kept in the task
+                }
+            }
+            done = true;
+            return futures;
+        } finally {
+            if (!done) {
+                for (ForkJoinTask<T> f : futures) {
+                    f.cancel(false);
+                }
+            }
+            // the work of the cancelled tasks that are still running is lost
+            SolverMetrics.merge(metrics);
+            ProcessingMetrics.merge(pmetrics);
+        }
+    }
+
+    private enum CustomThreadFactory implements ForkJoinPool.ForkJoinWorkerThreadFactory {
+
+        INSTANCE;
+        //
+        final AtomicInteger threadNumber = new AtomicInteger(1);
+        final String namePrefix;
+
+        private CustomThreadFactory() {
+            namePrefix = "pool-" + ProcessingExecutor.class.getSimpleName() + "-thread-";
+        }
+
+        @Override
+        public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+            ForkJoinWorkerThread t = new ForkJoinWorkerThread(pool) {
+            };
+            t.setName(namePrefix + threadNumber.getAndIncrement());
+            t.setDaemon(true);
+            t.setPriority(Thread.MIN_PRIORITY);
+            return t;
+        }
+    }
+}
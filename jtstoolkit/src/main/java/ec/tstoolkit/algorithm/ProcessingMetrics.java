@@ -0,0 +1,450 @@
+/*
+ * Copyright 2013 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.tstoolkit.algorithm;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lightweight instrumentation of the processing. When some hooks are
+ * registered, each sequential processing (for instance the seasonal
+ * adjustment of a series) records the wall time and the allocated memory of
+ * its steps and of the sub-stages declared inside them (outliers detection,
+ * model identification...), as well as some counters (iterations of the
+ * optimizers, rounds of the outliers detection...), including the counts of
+ * the solvers (see SolverMetrics, "solver.likelihoods"...). The record is
+ * dispatched to the hooks at the end of the processing (see
+ * ProcessingMetricsCollector for an aggregation over a batch).
+ *
+ * The metrics are attached to the thread that executes the processing. The
+ * counters and the stages of the tasks executed by the ProcessingExecutor
+ * (parallel evaluation of the ARMA candidates...) are added to the record of
+ * the calling thread when the tasks are completed. Their work is included in
+ * the timing of the enclosing stage, but not in its allocation count.
+ *
+ * When no hook is registered, the instrumentation points reduce to the test
+ * of a volatile flag.
+ */
+public final class ProcessingMetrics {
+
+    private static final ProcessingHookProvider<SequentialProcessing<?>, Record> HOOKS = new ProcessingHookProvider<>();
+    private static final ThreadLocal<Record> CURRENT = new ThreadLocal<>();
+    private static final AtomicInteger ID = new AtomicInteger();
+    private static final ThreadMXBean THREADS = threads();
+    private static volatile boolean enabled;
+
+    private ProcessingMetrics() {
+    }
+
+    private static ThreadMXBean threads() {
+        try {
+            ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if (bean instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean tbean = (com.sun.management.ThreadMXBean) bean;
+                if (tbean.isThreadAllocatedMemorySupported() && tbean.isThreadAllocatedMemoryEnabled()) {
+                    return bean;
+                }
+            }
+        } catch (RuntimeException | LinkageError err) {
+            // not available on this VM
+        }
+        return null;
+    }
+
+    /**
+     * Bytes allocated by the current thread since its creation
+     *
+     * @return The number of bytes or -1 if that information is not available
+     */
+    static long allocatedBytes() {
+        if (THREADS instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) THREADS).getThreadAllocatedBytes(Thread.currentThread().getId());
+        } else {
+            return -1;
+        }
+    }
+
+    /**
+     * Registers a hook that will receive the metrics of each sequential
+     * processing. The instrumentation is active as long as a hook is
+     * registered.
+     *
+     * @param hook
+     */
+    public static synchronized void register(IProcessingHook<SequentialProcessing<?>, Record> hook) {
+        HOOKS.register(hook);
+        enabled = HOOKS.hasHooks();
+    }
+
+    public static synchronized void unregister(IProcessingHook<SequentialProcessing<?>, Record> hook) {
+        HOOKS.unregister(hook);
+        enabled = HOOKS.hasHooks();
+    }
+
+    /**
+     * Checks that the metrics are recorded
+     *
+     * @return
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Starts a new record for the current thread. The previous record (if
+     * any) is suspended until the new one is ended.
+     *
+     * @return The new record or null if the instrumentation is disabled
+     */
+    static Record begin() {
+        if (!enabled) {
+            return null;
+        }
+        Record record = new Record(ID.incrementAndGet(), CURRENT.get());
+        CURRENT.set(record);
+        return record;
+    }
+
+    /**
+     * Ends the given record and dispatches it to the hooks
+     *
+     * @param source
+     * @param record
+     */
+    static void end(SequentialProcessing<?> source, Record record) {
+        record.end();
+        if (record.previous != null) {
+            CURRENT.set(record.previous);
+            record.previous = null;
+        } else {
+            CURRENT.remove();
+        }
+        HOOKS.processHooks(new IProcessingHook.HookInformation<SequentialProcessing<?>, Record>(source, record), false);
+    }
+
+    /**
+     * Opens a new stage in the current record. The stages can be nested;
+     * their names are then prefixed by the name of the enclosing stage
+     * ("preprocessing.outliers"...). The stage must be closed in the same
+     * thread, typically in a try-with-resources statement.
+     *
+     * @param name The name of the stage
+     * @return The new stage. Never null (a dummy object is returned when the
+     * instrumentation is disabled)
+     */
+    public static Stage stage(String name) {
+        if (!enabled) {
+            return Stage.NONE;
+        }
+        Record record = CURRENT.get();
+        return record == null ? Stage.NONE : record.open(name);
+    }
+
+    /**
+     * Increments a counter of the current record
+     *
+     * @param counter The name of the counter
+     * @param n The increment
+     */
+    public static void count(String counter, long n) {
+        if (!enabled) {
+            return;
+        }
+        Record record = CURRENT.get();
+        if (record != null) {
+            record.add(counter, n);
+        }
+    }
+
+    /**
+     * Wraps a task, so that its counters and its stages are collected in the
+     * given batch (see merge). The stages of the task are nested in the stage
+     * that was open when the batch was created.
+     *
+     * @param <T>
+     * @param task
+     * @param batch
+     * @return
+     */
+    static <T> Callable<T> attach(final Callable<T> task, final Batch batch) {
+        if (batch.owner == null) {
+            return task;
+        }
+        return () -> {
+            Record previous = CURRENT.get();
+            Record local = new Record(batch);
+            CURRENT.set(local);
+            try {
+                return task.call();
+            } finally {
+                if (previous != null) {
+                    CURRENT.set(previous);
+                } else {
+                    CURRENT.remove();
+                }
+                batch.records.add(local);
+            }
+        };
+    }
+
+    /**
+     * Adds the metrics of the completed tasks of a batch to the record of the
+     * current thread. Should be called by the thread that created the batch.
+     *
+     * @param batch
+     */
+    static void merge(Batch batch) {
+        if (batch.owner == null) {
+            return;
+        }
+        Record record;
+        while ((record = batch.records.poll()) != null) {
+            batch.owner.merge(record);
+        }
+    }
+
+    /**
+     * Metrics of the tasks launched by a processing (see attach)
+     */
+    static final class Batch {
+
+        private final Record owner;
+        private final String stage;
+        private final ConcurrentLinkedQueue<Record> records = new ConcurrentLinkedQueue<>();
+
+        /**
+         * Creates a new batch for the record of the current thread
+         */
+        Batch() {
+            owner = enabled ? CURRENT.get() : null;
+            stage = owner == null || owner.current == null ? null : owner.current.name;
+        }
+    }
+
+    /**
+     * Cumulated measures of a stage
+     */
+    public static final class Measure {
+
+        private long count, time, bytes;
+
+        void add(long time, long bytes) {
+            ++count;
+            this.time += time;
+            if (bytes >= 0) {
+                this.bytes += bytes;
+            }
+        }
+
+        void add(Measure m) {
+            count += m.count;
+            time += m.time;
+            bytes += m.bytes;
+        }
+
+        void clear() {
+            count = 0;
+            time = 0;
+            bytes = 0;
+        }
+
+        Measure copy() {
+            Measure m = new Measure();
+            m.add(this);
+            return m;
+        }
+
+        /**
+         * Number of executions of the stage
+         *
+         * @return
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Total wall time of the stage
+         *
+         * @return The time in nanoseconds
+         */
+        public long getTime() {
+            return time;
+        }
+
+        /**
+         * Total memory allocated by the stage (in the current thread)
+         *
+         * @return The number of bytes (0 if that information is not
+         * available)
+         */
+        public long getAllocatedBytes() {
+            return bytes;
+        }
+    }
+
+    /**
+     * Metrics of one processing. A record is only modified by the thread
+     * that executes the processing; it shouldn't be modified once it has been
+     * dispatched to the hooks.
+     */
+    public static final class Record {
+
+        private final int id;
+        private final long start, startBytes;
+        private final Measure total = new Measure();
+        private final Map<String, Measure> stages = new LinkedHashMap<>();
+        private final Map<String, Long> counters = new LinkedHashMap<>();
+        private final SolverMetrics.Scope solver;
+        private Record previous;
+        private Stage current;
+
+        private Record(int id, Record previous) {
+            this.id = id;
+            this.previous = previous;
+            start = System.nanoTime();
+            startBytes = allocatedBytes();
+            solver = SolverMetrics.open();
+        }
+
+        // partial record of a task (the solvers are counted by the executor)
+        private Record(Batch batch) {
+            this.id = batch.owner.id;
+            start = 0;
+            startBytes = -1;
+            solver = null;
+            if (batch.stage != null) {
+                current = new Stage(null, null, batch.stage);
+            }
+        }
+
+        private void end() {
+            total.add(System.nanoTime() - start, startBytes < 0 ? -1 : allocatedBytes() - startBytes);
+            solver.close();
+            for (SolverMetrics.Counter c : SolverMetrics.Counter.values()) {
+                long n = solver.get(c);
+                if (n != 0) {
+                    add("solver." + c.getId(), n);
+                }
+            }
+        }
+
+        private Stage open(String name) {
+            current = new Stage(this, current, current == null ? name : current.name + '.' + name);
+            return current;
+        }
+
+        private void close(Stage stage, long time, long bytes) {
+            Measure m = stages.get(stage.name);
+            if (m == null) {
+                m = new Measure();
+                stages.put(stage.name, m);
+            }
+            m.add(time, bytes);
+            current = stage.parent;
+        }
+
+        private void add(String counter, long n) {
+            Long c = counters.get(counter);
+            counters.put(counter, c == null ? n : c + n);
+        }
+
+        private void merge(Record record) {
+            record.stages.forEach((name, m) -> {
+                Measure cur = stages.get(name);
+                if (cur == null) {
+                    stages.put(name, m);
+                } else {
+                    cur.add(m);
+                }
+            });
+            record.counters.forEach(this::add);
+        }
+
+        /**
+         * Unique identifier of the record (in the current session)
+         *
+         * @return
+         */
+        public int getId() {
+            return id;
+        }
+
+        /**
+         * Measure of the whole processing
+         *
+         * @return
+         */
+        public Measure getTotal() {
+            return total;
+        }
+
+        /**
+         * Measures of the different stages, in the order of their first
+         * execution
+         *
+         * @return
+         */
+        public Map<String, Measure> getStages() {
+            return Collections.unmodifiableMap(stages);
+        }
+
+        public Map<String, Long> getCounters() {
+            return Collections.unmodifiableMap(counters);
+        }
+    }
+
+    /**
+     * Stage of a processing
+     */
+    public static class Stage implements AutoCloseable {
+
+        static final Stage NONE = new Stage(null, null, null);
+
+        private final Record record;
+        private final Stage parent;
+        private final String name;
+        private final long start, startBytes;
+
+        private Stage(Record record, Stage parent, String name) {
+            this.record = record;
+            this.parent = parent;
+            this.name = name;
+            if (record != null) {
+                start = System.nanoTime();
+                startBytes = allocatedBytes();
+            } else {
+                start = 0;
+                startBytes = 0;
+            }
+        }
+
+        @Override
+        public void close() {
+            if (record != null) {
+                long time = System.nanoTime() - start;
+                record.close(this, time, startBytes < 0 ? -1 : allocatedBytes() - startBytes);
+            }
+        }
+    }
+}
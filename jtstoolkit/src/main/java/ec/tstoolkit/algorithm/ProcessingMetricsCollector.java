@@ -0,0 +1,257 @@
+/*
+ * Copyright 2013 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.tstoolkit.algorithm;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * Aggregation of the metrics of a batch of processing. The collector must be
+ * registered in ProcessingMetrics (see start/stop). It is thread-safe.
+ *
+ * Typical use:
+ * <pre>
+ * ProcessingMetricsCollector collector = new ProcessingMetricsCollector();
+ * collector.start();
+ * try {
+ *     // processing...
+ * } finally {
+ *     collector.stop();
+ * }
+ * collector.writeCsv(writer);
+ * </pre>
+ */
+public class ProcessingMetricsCollector implements IProcessingHook<SequentialProcessing<?>, ProcessingMetrics.Record> {
+
+    public static final String TOTAL = "total";
+
+    private final boolean keepRecords;
+    private final List<ProcessingMetrics.Record> records = new ArrayList<>();
+    private final ProcessingMetrics.Measure total = new ProcessingMetrics.Measure();
+    private final Map<String, ProcessingMetrics.Measure> stages = new LinkedHashMap<>();
+    private final Map<String, Long> counters = new LinkedHashMap<>();
+
+    /**
+     * Creates a collector that only keeps the aggregated metrics
+     */
+    public ProcessingMetricsCollector() {
+        this(false);
+    }
+
+    /**
+     * Creates a new collector
+     *
+     * @param keepRecords True if the metrics of each processing are kept
+     */
+    public ProcessingMetricsCollector(boolean keepRecords) {
+        this.keepRecords = keepRecords;
+    }
+
+    /**
+     * Starts the collection of the metrics
+     */
+    public void start() {
+        ProcessingMetrics.register(this);
+    }
+
+    /**
+     * Stops the collection of the metrics
+     */
+    public void stop() {
+        ProcessingMetrics.unregister(this);
+    }
+
+    @Override
+    public synchronized void process(HookInformation<SequentialProcessing<?>, ProcessingMetrics.Record> info, boolean cancancel) {
+        ProcessingMetrics.Record record = info.information;
+        total.add(record.getTotal());
+        for (Entry<String, ProcessingMetrics.Measure> stage : record.getStages().entrySet()) {
+            ProcessingMetrics.Measure m = stages.get(stage.getKey());
+            if (m == null) {
+                m = new ProcessingMetrics.Measure();
+                stages.put(stage.getKey(), m);
+            }
+            m.add(stage.getValue());
+        }
+        for (Entry<String, Long> counter : record.getCounters().entrySet()) {
+            Long c = counters.get(counter.getKey());
+            counters.put(counter.getKey(), c == null ? counter.getValue() : c + counter.getValue());
+        }
+        if (keepRecords) {
+            records.add(record);
+        }
+    }
+
+    /**
+     * Removes all the collected metrics
+     */
+    public synchronized void clear() {
+        records.clear();
+        stages.clear();
+        counters.clear();
+        total.clear();
+    }
+
+    /**
+     * Number of processing
+     *
+     * @return
+     */
+    public synchronized long getCount() {
+        return total.getCount();
+    }
+
+    public synchronized ProcessingMetrics.Measure getTotal() {
+        return total.copy();
+    }
+
+    public synchronized Map<String, ProcessingMetrics.Measure> getStages() {
+        Map<String, ProcessingMetrics.Measure> copy = new LinkedHashMap<>();
+        for (Entry<String, ProcessingMetrics.Measure> stage : stages.entrySet()) {
+            copy.put(stage.getKey(), stage.getValue().copy());
+        }
+        return copy;
+    }
+
+    public synchronized Map<String, Long> getCounters() {
+        return new LinkedHashMap<>(counters);
+    }
+
+    /**
+     * Metrics of each processing (in the order of their completion). Empty
+     * if the records are not kept.
+     *
+     * @return
+     */
+    public synchronized List<ProcessingMetrics.Record> getRecords() {
+        return new ArrayList<>(records);
+    }
+
+    /**
+     * Writes the aggregated metrics in CSV format. Each line contains the
+     * name of a stage (or of a counter), the number of executions, the total
+     * time (in milliseconds) and the total allocated memory (in bytes). The
+     * counters only have a name and a value (put in the "count" column).
+     *
+     * @param out
+     * @throws IOException
+     */
+    public synchronized void writeCsv(Appendable out) throws IOException {
+        out.append("name,count,time_ms,allocated_bytes\n");
+        writeCsv(out, TOTAL, total);
+        for (Entry<String, ProcessingMetrics.Measure> stage : stages.entrySet()) {
+            writeCsv(out, stage.getKey(), stage.getValue());
+        }
+        for (Entry<String, Long> counter : counters.entrySet()) {
+            out.append(counter.getKey()).append(',').append(Long.toString(counter.getValue())).append(",,\n");
+        }
+    }
+
+    /**
+     * Writes the metrics of each processing in CSV format (one line by
+     * processing and by stage)
+     *
+     * @param out
+     * @throws IOException
+     */
+    public synchronized void writeRecordsCsv(Appendable out) throws IOException {
+        out.append("id,name,count,time_ms,allocated_bytes\n");
+        for (ProcessingMetrics.Record record : records) {
+            String id = Integer.toString(record.getId());
+            out.append(id).append(',');
+            writeCsv(out, TOTAL, record.getTotal());
+            for (Entry<String, ProcessingMetrics.Measure> stage : record.getStages().entrySet()) {
+                out.append(id).append(',');
+                writeCsv(out, stage.getKey(), stage.getValue());
+            }
+            for (Entry<String, Long> counter : record.getCounters().entrySet()) {
+                out.append(id).append(',').append(counter.getKey()).append(',')
+                        .append(Long.toString(counter.getValue())).append(",,\n");
+            }
+        }
+    }
+
+    /**
+     * Writes the aggregated metrics (and the records, if they are kept) in
+     * JSON format
+     *
+     * @param out
+     * @throws IOException
+     */
+    public synchronized void writeJson(Appendable out) throws IOException {
+        out.append('{');
+        out.append("\"count\":").append(Long.toString(total.getCount())).append(',');
+        writeJson(out, total, stages, counters);
+        if (keepRecords) {
+            out.append(",\"records\":[");
+            for (int i = 0; i < records.size(); ++i) {
+                if (i > 0) {
+                    out.append(',');
+                }
+                ProcessingMetrics.Record record = records.get(i);
+                out.append("{\"id\":").append(Integer.toString(record.getId())).append(',');
+                writeJson(out, record.getTotal(), record.getStages(), record.getCounters());
+                out.append('}');
+            }
+            out.append(']');
+        }
+        out.append('}');
+    }
+
+    private static void writeCsv(Appendable out, String name, ProcessingMetrics.Measure m) throws IOException {
+        out.append(name).append(',').append(Long.toString(m.getCount())).append(',')
+                .append(Double.toString(m.getTime() * 1e-6)).append(',')
+                .append(Long.toString(m.getAllocatedBytes())).append('\n');
+    }
+
+    private static void writeJson(Appendable out, ProcessingMetrics.Measure total,
+            Map<String, ProcessingMetrics.Measure> stages, Map<String, Long> counters) throws IOException {
+        out.append("\"total\":");
+        writeJson(out, total);
+        out.append(",\"stages\":{");
+        boolean first = true;
+        for (Entry<String, ProcessingMetrics.Measure> stage : stages.entrySet()) {
+            if (!first) {
+                out.append(',');
+            }
+            first = false;
+            out.append('"').append(stage.getKey()).append("\":");
+            writeJson(out, stage.getValue());
+        }
+        out.append("},\"counters\":{");
+        first = true;
+        for (Entry<String, Long> counter : counters.entrySet()) {
+            if (!first) {
+                out.append(',');
+            }
+            first = false;
+            out.append('"').append(counter.getKey()).append("\":").append(Long.toString(counter.getValue()));
+        }
+        out.append('}');
+    }
+
+    private static void writeJson(Appendable out, ProcessingMetrics.Measure m) throws IOException {
+        out.append("{\"count\":").append(Long.toString(m.getCount()))
+                .append(",\"time_ms\":").append(Double.toString(m.getTime() * 1e-6))
+                .append(",\"allocated_bytes\":").append(Long.toString(m.getAllocatedBytes()))
+                .append('}');
+    }
+}
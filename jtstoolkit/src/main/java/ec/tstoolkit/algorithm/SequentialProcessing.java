@@ -53,16 +53,32 @@ public class SequentialProcessing<I> implements IProcessing<I, CompositeResults>
 
     @Override
     public CompositeResults process(I input) {
+        ProcessingMetrics.Record metrics = ProcessingMetrics.begin();
+        try {
+            return process(input, metrics);
+        } finally {
+            if (metrics != null) {
+                ProcessingMetrics.end(this, metrics);
+            }
+        }
+    }
+
+    private CompositeResults process(I input, ProcessingMetrics.Record metrics) {
         CompositeResults results = new CompositeResults();
         HashMap<String, IProcResults> map = new HashMap<>();
         boolean ok = true;
         for (IProcessingNode cur : nodes_) {
             String name = cur.getName();
+            if (ok && Thread.currentThread().isInterrupted()) {
+                // the processing has been cancelled: the next steps are skipped
+                ok = false;
+                results.addInformation(ProcessingInformation.error(name, "interrupted"));
+            }
             if (!ok) {
                 results.put(name, null, null);
 //                results.addInformation(ProcessingInformation.error(name, "unprocessed"));
             } else {
-                try {
+                try (ProcessingMetrics.Stage stage = metrics == null ? null : ProcessingMetrics.stage(name)) {
                     Status st = cur.process(input, map);
                     if (st == Status.Valid) {
                         results.put(name, map.get(name), cur.getPrefix());
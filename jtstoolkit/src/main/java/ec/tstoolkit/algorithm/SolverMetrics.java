@@ -0,0 +1,293 @@
+/*
+ * Copyright 2013 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.tstoolkit.algorithm;
+
+import ec.tstoolkit.design.Development;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of the numerical routines (runs of the Kalman filters, evaluations
+ * of the likelihood, iterations of the optimizers, matrix decompositions).
+ *
+ * The counters are kept by thread, so that their update doesn't need any
+ * synchronization: the solvers simply increment the counters of the thread
+ * that executes them. They are read through a scope, which gives the work
+ * done by the current thread between its opening and its closing (typically
+ * the processing of one series):
+ * <pre>
+ * try (SolverMetrics.Scope scope = SolverMetrics.open()) {
+ *     processing.process(s);
+ *     n = scope.get(SolverMetrics.Counter.LikelihoodEvaluations);
+ * }
+ * </pre>
+ * A scope can be attached to a batch, which accumulates the counts of all
+ * its scopes (possibly opened in different threads) when they are closed.
+ *
+ * The work done by the tasks executed through the ProcessingExecutor (for
+ * instance parallel computations of derivatives) is attributed to the thread
+ * that submitted them: the counts of the tasks are added to the counters of
+ * that thread (and so to its opened scopes) when they are completed. The work
+ * done in other threads is counted in those threads.
+ *
+ * @since 2.2.4
+ */
+@Development(status = Development.Status.Alpha)
+public final class SolverMetrics {
+
+    /**
+     * The counted operations
+     */
+    public static enum Counter {
+
+        /**
+         * Runs of a Kalman filter (on a whole series)
+         */
+        FilterRuns("filters"),
+        /**
+         * Evaluations of a likelihood
+         */
+        LikelihoodEvaluations("likelihoods"),
+        /**
+         * Iterations of an optimizer
+         */
+        OptimizerIterations("iterations"),
+        /**
+         * Decompositions of matrices (QR, LU, Cholesky, SVD...)
+         */
+        Decompositions("decompositions");
+
+        private final String id;
+
+        private Counter(String id) {
+            this.id = id;
+        }
+
+        /**
+         * Short identifier of the counter
+         *
+         * @return
+         */
+        public String getId() {
+            return id;
+        }
+    }
+
+    private static final Counter[] COUNTERS = Counter.values();
+    private static final ThreadLocal<long[]> COUNTS = ThreadLocal.withInitial(() -> new long[COUNTERS.length]);
+
+    private SolverMetrics() {
+    }
+
+    /**
+     * Increments a counter of the current thread
+     *
+     * @param counter
+     */
+    public static void increment(Counter counter) {
+        ++COUNTS.get()[counter.ordinal()];
+    }
+
+    /**
+     * Adds a number of operations to a counter of the current thread
+     *
+     * @param counter
+     * @param n
+     */
+    public static void add(Counter counter, long n) {
+        COUNTS.get()[counter.ordinal()] += n;
+    }
+
+    /**
+     * Opens a scope on the current thread. The scope must be closed in the
+     * same thread.
+     *
+     * @return
+     */
+    public static Scope open() {
+        return new Scope(null);
+    }
+
+    /**
+     * Opens a scope on the current thread, whose counts will be added to the
+     * given batch when it is closed.
+     *
+     * @param batch
+     * @return
+     */
+    public static Scope open(Batch batch) {
+        return new Scope(batch);
+    }
+
+    /**
+     * Wraps a task, so that its operations are accumulated in the given batch
+     * instead of the counters of the thread that executes it. The counters of
+     * the executing thread are left unchanged, even if it executes other
+     * (wrapped) tasks while this one is running.
+     *
+     * @param <T>
+     * @param task
+     * @param batch
+     * @return
+     */
+    static <T> Callable<T> attach(final Callable<T> task, final Batch batch) {
+        return () -> {
+            long[] previous = COUNTS.get();
+            long[] local = new long[COUNTERS.length];
+            COUNTS.set(local);
+            try {
+                return task.call();
+            } finally {
+                COUNTS.set(previous);
+                batch.add(local);
+            }
+        };
+    }
+
+    /**
+     * Adds the counts of a batch to the counters of the current thread
+     *
+     * @param batch
+     */
+    static void merge(Batch batch) {
+        long[] counts = COUNTS.get();
+        for (int i = 0; i < counts.length; ++i) {
+            counts[i] += batch.counts[i].sum();
+        }
+    }
+
+    /**
+     * Counts of the current thread between the opening and the closing of the
+     * scope. The values are frozen when the scope is closed.
+     */
+    public static final class Scope implements AutoCloseable {
+
+        private final long[] counts;
+        private final long[] start;
+        private final Batch batch;
+        private boolean closed;
+
+        private Scope(Batch batch) {
+            this.batch = batch;
+            counts = COUNTS.get();
+            start = counts.clone();
+        }
+
+        /**
+         * Number of operations done by the current thread since the opening
+         * of the scope (till its closing)
+         *
+         * @param counter
+         * @return
+         */
+        public long get(Counter counter) {
+            int i = counter.ordinal();
+            return closed ? start[i] : counts[i] - start[i];
+        }
+
+        /**
+         * All the counters
+         *
+         * @return
+         */
+        public Map<Counter, Long> getAll() {
+            Map<Counter, Long> all = new EnumMap<>(Counter.class);
+            for (Counter c : COUNTERS) {
+                all.put(c, get(c));
+            }
+            return all;
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            for (int i = 0; i < start.length; ++i) {
+                start[i] = counts[i] - start[i];
+            }
+            closed = true;
+            if (batch != null) {
+                batch.add(start);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return getAll().toString();
+        }
+    }
+
+    /**
+     * Aggregation of the counts of several scopes, which can be closed
+     * concurrently.
+     */
+    public static final class Batch {
+
+        private final LongAdder[] counts = new LongAdder[COUNTERS.length];
+
+        public Batch() {
+            for (int i = 0; i < counts.length; ++i) {
+                counts[i] = new LongAdder();
+            }
+        }
+
+        private void add(long[] n) {
+            for (int i = 0; i < n.length; ++i) {
+                if (n[i] != 0) {
+                    counts[i].add(n[i]);
+                }
+            }
+        }
+
+        /**
+         * Number of operations of the closed scopes of the batch
+         *
+         * @param counter
+         * @return
+         */
+        public long get(Counter counter) {
+            return counts[counter.ordinal()].sum();
+        }
+
+        /**
+         * All the counters
+         *
+         * @return
+         */
+        public Map<Counter, Long> getAll() {
+            Map<Counter, Long> all = new EnumMap<>(Counter.class);
+            for (Counter c : COUNTERS) {
+                all.put(c, get(c));
+            }
+            return all;
+        }
+
+        public void reset() {
+            for (LongAdder c : counts) {
+                c.reset();
+            }
+        }
+
+        @Override
+        public String toString() {
+            return getAll().toString();
+        }
+    }
+}
@@ -16,6 +16,7 @@
 */
 package ec.tstoolkit.arima.estimation;
 
+import ec.tstoolkit.algorithm.SolverMetrics;
 import ec.tstoolkit.arima.*;
 import ec.tstoolkit.data.SubArrayOfInt;
 import ec.tstoolkit.eco.ConcentratedLikelihood;
@@ -45,11 +46,6 @@ import ec.tstoolkit.maths.polynomials.Polynomial;
 @Development(status = Development.Status.Alpha)
 public class ArmaKF {
 
-    /**
-     * Contains the number of function calls to the main routine of the class,
-     * i.e. "process".
-     */
-    public static int fnCalls;
     private IArimaModel arma_;
     private Polynomial phi_;
     private int dim_;
@@ -194,7 +190,7 @@ public class ArmaKF {
      */
     public boolean process(final IReadDataBlock y, final IDataBlock res,
             final IDataBlock stde) {
-        ++fnCalls;
+        SolverMetrics.increment(SolverMetrics.Counter.FilterRuns);
         fast_ = false;
         Determinant det = new Determinant();
         double[] C = c0_.clone();
@@ -267,7 +263,7 @@ public class ArmaKF {
      * @return True if the processing is successful, false otherwise.
      */
     public boolean process(final IReadDataBlock y, final Likelihood ll) {
-        ++fnCalls;
+        SolverMetrics.increment(SolverMetrics.Counter.FilterRuns);
         fast_ = false;
         Determinant det = new Determinant();
         double[] C = c0_.clone();
@@ -347,7 +343,7 @@ public class ArmaKF {
      */
     public boolean process(final IReadDataBlock y, final SubArrayOfInt ao,
             final SubMatrix x, final ConcentratedLikelihood ll) {
-        ++fnCalls;
+        SolverMetrics.increment(SolverMetrics.Counter.FilterRuns);
         fast_ = false;
         Determinant det = new Determinant();
         double[] c = c0_.clone();
@@ -17,6 +17,7 @@
 package ec.tstoolkit.arima.estimation;
 
 import ec.tstoolkit.BaseException;
+import ec.tstoolkit.algorithm.SolverMetrics;
 import ec.tstoolkit.arima.IArimaModel;
 import ec.tstoolkit.data.DataBlock;
 import ec.tstoolkit.data.DataBlockIterator;
@@ -27,7 +28,6 @@ import ec.tstoolkit.maths.matrices.Householder;
 import ec.tstoolkit.maths.matrices.Matrix;
 import ec.tstoolkit.maths.matrices.SymmetricMatrix;
 import ec.tstoolkit.maths.matrices.UpperTriangularMatrix;
-import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * @author Jean Palate
@@ -35,11 +35,6 @@ import java.util.concurrent.atomic.AtomicLong;
 @Development(status = Development.Status.Alpha)
 public class ConcentratedLikelihoodEstimation {
 
-    /**
-     *
-     */
-    public static final AtomicLong fnCalls = new AtomicLong(0);
-
     private final IArmaFilter m_filter;
     private boolean m_scaling = true;
     private ConcentratedLikelihood m_ll;
@@ -116,7 +111,7 @@ public class ConcentratedLikelihoodEstimation {
     }
 
     private boolean process(RegModel model, int nl, int nd, int[] missings) {
-        fnCalls.incrementAndGet();
+        SolverMetrics.increment(SolverMetrics.Counter.LikelihoodEvaluations);
         m_ll = new ConcentratedLikelihood();
         DataBlock y = model.getY().deepClone();
         int n = y.getLength();
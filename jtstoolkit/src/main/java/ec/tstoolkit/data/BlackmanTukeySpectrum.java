@@ -19,6 +19,7 @@ package ec.tstoolkit.data;
 import ec.tstoolkit.design.NewObject;
 import ec.tstoolkit.dstats.Normal;
 import ec.tstoolkit.dstats.TestType;
+import ec.tstoolkit.maths.FftPlan;
 import ec.tstoolkit.stats.StatisticalTest;
 
 /**
@@ -155,14 +156,17 @@ public class BlackmanTukeySpectrum {
         double[] cwnd = window();
         int nspect_ = 1 + winLen_ / 2;
         spect_ = new double[nspect_];
-        for (int i = 0; i < winLen_; i++) {
-            cwnd[i] *= cov_[i];
-        }
+        // s(i) = cwnd(0) + 2 * sum(cwnd(j) * cos(2*pi*i*j/winLen)), j in [1, winLen[,
+        // is the real part of the discrete Fourier transform of 
+        // cwnd(0), 2 * cwnd(1), ..., 2 * cwnd(winLen-1)
+        double[] x = new double[winLen_], re = new double[nspect_], im = new double[nspect_];
+        x[0] = cwnd[0] * cov_[0];
+        for (int i = 1; i < winLen_; i++) {
+            x[i] = 2 * cwnd[i] * cov_[i];
+        }
+        FftPlan.of(winLen_).realTransform(x, re, im);
         for (int i = 0; i < nspect_; i++) {
-            double s = cwnd[0];
-            for (int j = 1; j < winLen_; j++) {
-                s += 2 * cwnd[j] * Math.cos(Math.PI * 2.0 * i * j / winLen_);
-            }
+            double s = re[i];
             if (s < 0) {
                 s = 0;
             }
@@ -179,22 +183,10 @@ public class BlackmanTukeySpectrum {
         if (data_ == null || winLen_ < 0) {
             return;
         }
-        if (cov_ != null && cov_.length > winLen_) {
+        if (cov_ != null && cov_.length >= winLen_) {
             return;
         }
-        int lstart;
-        if (cov_ != null) {
-            lstart = cov_.length;
-            double[] tmp = new double[winLen_ + 1];
-            System.arraycopy(cov_, 0, tmp, 0, lstart);
-            cov_ = tmp;
-        } else {
-            lstart = 0;
-            cov_ = new double[winLen_];
-        }
-        for (int i = lstart; i < winLen_; i++) {
-            cov_[i] = DescriptiveStatistics.cov(i, data_);
-        }
+        cov_ = DescriptiveStatistics.acov(winLen_, data_);
     }
 
     private boolean meanCorrection() {
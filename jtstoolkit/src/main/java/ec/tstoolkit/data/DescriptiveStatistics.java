@@ -19,6 +19,7 @@ package ec.tstoolkit.data;
 
 import ec.tstoolkit.data.IReadDataBlock;
 import ec.tstoolkit.design.Development;
+import ec.tstoolkit.maths.FftPlan;
 
 /**
  *
@@ -38,13 +39,107 @@ public class DescriptiveStatistics {
      */
     public static double[] ac(int k, double[] data) {
         double[] c = new double[k];
-        double var = cov(0, data);
+        double[] cov = acov(k + 1, data);
+        double var = cov[0];
         for (int i = 0; i < k; ++i) {
-            c[i] = cov(i + 1, data) / var;
+            c[i] = cov[i + 1] / var;
         }
         return c;
     }
 
+    /**
+     * Computes the auto-covariances of the lags 0 to k-1 (see cov(int, double[])).
+     * When it is cheaper, the sums of the lagged products are computed by FFT
+     * (O(n*log(n)) instead of O(k*n) operations).
+     * @param k The number of lags
+     * @param data The data, which are supposed to have a zero mean. 
+     * Missing values (non finite) are omitted
+     * @return The auto-covariances. c[i] corresponds to the lag i
+     */
+    public static double[] acov(int k, double[] data) {
+        double[] c = new double[k];
+        int n = data.length;
+        if (!isFftCheaper(k, n)) {
+            for (int i = 0; i < k; ++i) {
+                c[i] = cov(i, data);
+            }
+            return c;
+        }
+        double[] s = laggedProducts(k, data);
+        // number of pairs without missing values
+        double[] g = null;
+        for (int i = 0; i < n; ++i) {
+            if (!Double.isFinite(data[i])) {
+                double[] idx = new double[n];
+                for (int j = 0; j < n; ++j) {
+                    idx[j] = Double.isFinite(data[j]) ? 1 : 0;
+                }
+                g = laggedProducts(k, idx);
+                break;
+            }
+        }
+        for (int i = 0; i < k; ++i) {
+            // see cov(double[], double[], int): m = n - (n - i - g(i))
+            long m = g == null ? n : i + Math.round(g[i]);
+            c[i] = m == 0 ? 0 : s[i] / m;
+        }
+        return c;
+    }
+
+    /**
+     * Computes the sums of the lagged products sum(x(j)*x(j+i)), for the 
+     * lags i in [0, k[. Missing values (non finite) are considered as 0. 
+     * When it is cheaper, the sums are computed by FFT.
+     * @param k The number of lags
+     * @param data The data
+     * @return The sums. s[i] corresponds to the lag i
+     */
+    public static double[] laggedProducts(int k, double[] data) {
+        int n = data.length;
+        double[] s = new double[k];
+        if (!isFftCheaper(k, n)) {
+            for (int i = 0; i < k; ++i) {
+                double v = 0;
+                for (int j = 0; j < n - i; ++j) {
+                    double x = data[j], y = data[j + i];
+                    if (Double.isFinite(x) && Double.isFinite(y)) {
+                        v += x * y;
+                    }
+                }
+                s[i] = v;
+            }
+            return s;
+        }
+        // circular correlation of the data padded with zeroes
+        int m = FftPlan.fastLength(n + k - 1), h = m / 2;
+        double[] x = new double[m], re = new double[h + 1], im = new double[h + 1];
+        for (int j = 0; j < n; ++j) {
+            if (Double.isFinite(data[j])) {
+                x[j] = data[j];
+            }
+        }
+        FftPlan plan = FftPlan.of(m);
+        plan.realTransform(x, re, im);
+        for (int j = 0; j <= h; ++j) {
+            re[j] = re[j] * re[j] + im[j] * im[j];
+            im[j] = 0;
+        }
+        plan.realBackTransform(re, im, x);
+        System.arraycopy(x, 0, s, 0, Math.min(k, m));
+        return s;
+    }
+
+    // relative cost of one operation of the FFT (by element and by level)
+    private static final int FFT_COST = 4;
+
+    static boolean isFftCheaper(int k, int n) {
+        if (k <= 1 || n <= 1) {
+            return false;
+        }
+        int m = FftPlan.fastLength(n + k - 1);
+        return (long) k * n > (long) FFT_COST * m * (32 - Integer.numberOfLeadingZeros(m));
+    }
+
     /**
      * Computes the covariance between two arrays of doubles, which are supposed to 
      * have zero means; the arrays might contain missing values (Double.NaN); 
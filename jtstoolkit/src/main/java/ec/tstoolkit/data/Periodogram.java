@@ -18,6 +18,7 @@ package ec.tstoolkit.data;
 
 import ec.tstoolkit.BaseException;
 import ec.tstoolkit.design.Development;
+import ec.tstoolkit.maths.FftPlan;
 import ec.tstoolkit.utilities.IntList;
 
 /**
@@ -68,6 +69,8 @@ public class Periodogram {
             return new double[]{f};
         }
     }
+    // length of the series from which the periodogram is computed by FFT
+    private static final int FFT_THRESHOLD = 32;
     private double m_sy, m_sy2;
     private int m_n;
     private int[] m_w;
@@ -136,12 +139,10 @@ public class Periodogram {
         }
         // p(l(j)) = a(j)*a(j) + b(j)*b(j)
         // l(j) = 2*pi*j / T, where T = m_data.Length
-        // a(j) = (1/sqrt(T))
-        int T = m_data.length, T1 = (1 + T) / 2, T2 = 1 + T / 2;
-        m_p = new double[T2];
-        double l = 2 * Math.PI / T;
-        double cosl = Math.cos(l), sinl = Math.sin(l);
-        double cos = 1, sin = 0; // current cos and sin...
+        // a(j)+i*b(j) is the j-th coefficient of the discrete Fourier transform 
+        // of the data (missing values are set to 0)
+        int T = m_data.length;
+        m_p = new double[1 + T / 2];
 
         // the mean has been removed
         if (m_mean) {
@@ -149,6 +150,20 @@ public class Periodogram {
         } else {
             m_p[0] = m_sy * m_sy / m_sy2;
         }
+        if (T < FFT_THRESHOLD) {
+            calcpDirect();
+        } else {
+            calcpFft();
+        }
+    }
+
+    // O(T*T) computation, faster than the FFT for very short series
+    private void calcpDirect() {
+        int T = m_data.length, T1 = (1 + T) / 2, T2 = 1 + T / 2;
+        double l = 2 * Math.PI / T;
+        double cosl = Math.cos(l), sinl = Math.sin(l);
+        double cos = 1, sin = 0; // current cos and sin...
+
         double a = 0, b = 0;
         for (int i = 1; i < T1; ++i) {
             // compute next cos, sin
@@ -189,6 +204,26 @@ public class Periodogram {
         }
     }
 
+    // O(T*log(T)) computation
+    private void calcpFft() {
+        int T = m_data.length, T1 = (1 + T) / 2, T2 = 1 + T / 2;
+        double[] x = new double[T], re = new double[T2], im = new double[T2];
+        for (int j = 0; j < T; ++j) {
+            if (!Double.isNaN(m_data[j])) {
+                x[j] = m_data[j];
+            }
+        }
+        FftPlan.of(T).realTransform(x, re, im);
+        for (int i = 1; i < T1; ++i) {
+            m_p[i] = 2 * (re[i] * re[i] + im[i] * im[i]) / m_sy2;
+        }
+
+        if (T1 != T2) // T even
+        {
+            m_p[T2 - 1] = re[T2 - 1] * re[T2 - 1] / m_sy2;
+        }
+    }
+
     private void calcs() {
         if (m_s != null || m_data == null) {
             return;
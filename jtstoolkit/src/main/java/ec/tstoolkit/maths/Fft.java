@@ -17,30 +17,16 @@
 package ec.tstoolkit.maths;
 
 import ec.tstoolkit.design.Development;
-import ec.tstoolkit.utilities.Arrays2;
 
 /**
- * Fast Fourier transformation
+ * Fast Fourier transformation. The computations are done by FftPlan, which
+ * should be preferred in new code (no conversion of the data, real
+ * transformations).
  * @author Frank Osaer
  */
 @Development(status = Development.Status.Alpha)
 public class Fft {
 
-    private static final double[] CosArray;
-    private static final double[] SinArray;
-
-    static {
-	CosArray = new double[16];
-	SinArray = new double[16];
-	final double twopi = Math.PI * 2;
-	double n = 2;
-	for (int i = 0; i < 16; ++i) {
-	    CosArray[i] = Math.cos(twopi / n);
-	    SinArray[i] = Math.sin(twopi / n);
-	    n *= 2;
-	}
-    }
-
     /**
      * 
      * @param data
@@ -60,42 +46,49 @@ public class Fft {
 
     private void transform(final Complex[] data, final boolean back) {
 	final int n = data.length;
-	for (int i = 0, j = 0; i < n; ++i) {
-	    if (j > i)
-		Arrays2.swap(data, i, j);
-	    int q = n >> 1;
-	    while (q >= 1 && j >= q) {
-		j -= q;
-		q >>= 1;
-	    }
-	    j += q;
+	double[] re = new double[n], im = new double[n];
+	for (int i = 0; i < n; ++i) {
+	    re[i] = data[i].getRe();
+	    im[i] = data[i].getIm();
 	}
-	// Danielson-Lanzcos routine
-	int m = 1, s = 0;
-	// external loop
-	while (m < n) {
-	    int tm = m << 1;
-	    Complex wm = Complex.cart(CosArray[s], back ? -SinArray[s]
-		    : SinArray[s]);
-	    Complex w = Complex.ONE;
-	    // internal loops
-	    for (int j = 0; j < m; ++j) {
-		for (int k = j; k < n; k += tm) {
-		    int l = k + m;
-		    Complex t = w.times(data[l]);
-		    Complex u = data[k];
-		    data[k] = u.plus(t);
-		    data[l] = u.minus(t);
-		}
-		w = w.times(wm);
-	    }
-	    m = tm;
-	    ++s;
+	transform(re, im, back);
+	for (int i = 0; i < n; ++i)
+	    data[i] = Complex.cart(re[i], im[i]);
+    }
+
+    /**
+     * Fourier transformation of a complex sequence, given by its real and
+     * imaginary parts. The transformation is done in place. The sequence can
+     * have any length (see FftPlan). The convention is the same as in
+     * transform(Complex[]): X(k) = sum(x(j)*e(i*2*pi*j*k/n))
+     * 
+     * @param re The real parts
+     * @param im The imaginary parts
+     */
+    public void transform(final double[] re, final double[] im) {
+	transform(re, im, false);
+    }
+
+    /**
+     * Inverse transformation of transform(double[], double[]) (including the
+     * scaling by 1/n).
+     * 
+     * @param re The real parts
+     * @param im The imaginary parts
+     */
+    public void backTransform(final double[] re, final double[] im) {
+	transform(re, im, true);
+    }
+
+    private static void transform(final double[] re, final double[] im, final boolean back) {
+	if (im.length != re.length) {
+	    throw new IllegalArgumentException("Incompatible arrays");
 	}
+	FftPlan plan = FftPlan.of(re.length);
 	if (back) {
-	    final double v = 1.0 / n;
-	    for (int i = 0; i < n; ++i)
-		data[i] = data[i].times(v);
+	    plan.backTransform(re, im);
+	} else {
+	    plan.transform(re, im);
 	}
     }
 
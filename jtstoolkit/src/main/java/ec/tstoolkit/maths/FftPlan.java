@@ -0,0 +1,535 @@
+/*
+* Copyright 2013 National Bank of Belgium
+*
+* Licensed under the EUPL, Version 1.1 or – as soon they will be approved
+* by the European Commission - subsequent versions of the EUPL (the "Licence");
+* You may not use this work except in compliance with the Licence.
+* You may obtain a copy of the Licence at:
+*
+* http://ec.europa.eu/idabc/eupl
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the Licence is distributed on an "AS IS" basis,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the Licence for the specific language governing permissions and
+* limitations under the Licence.
+*/
+package ec.tstoolkit.maths;
+
+import ec.tstoolkit.design.Development;
+import ec.tstoolkit.design.Immutable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Fast Fourier transformations of a given length, on sequences stored in
+ * arrays of doubles (real and imaginary parts). The transformations are done
+ * in place.
+ *
+ * The length is decomposed in factors 4, 2, 3 and other small primes
+ * (mixed-radix algorithm, with self-sorting passes); lengths with a large prime
+ * factor are handled by the Bluestein algorithm. The twiddle factors are
+ * computed once, when the plan is created.
+ *
+ * The direct transformation is X(k) = sum(x(j)*e(i*2*pi*j*k/n)); the inverse
+ * transformation uses the conjugate kernel and is scaled by 1/n. Plans are
+ * immutable and can be shared between threads; they should be retrieved by
+ * means of of(int), which caches them by length.
+ *
+ * @since 2.2.4
+ */
+@Development(status = Development.Status.Alpha)
+@Immutable
+public final class FftPlan {
+
+    // prime factors above that limit are handled by the Bluestein algorithm
+    private static final int MAX_FACTOR = 37;
+    private static final int MAX_CACHED_LENGTH = 1 << 20, MAX_CACHE_SIZE = 256;
+    private static final ConcurrentMap<Integer, FftPlan> CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * Gets the plan for a given length. The plans of usual lengths are cached.
+     *
+     * @param n The length of the sequences
+     * @return The plan
+     */
+    public static FftPlan of(final int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("Negative length");
+        }
+        FftPlan plan = CACHE.get(n);
+        if (plan == null) {
+            plan = new FftPlan(n);
+            if (n <= MAX_CACHED_LENGTH && CACHE.size() < MAX_CACHE_SIZE) {
+                FftPlan cur = CACHE.putIfAbsent(n, plan);
+                if (cur != null) {
+                    plan = cur;
+                }
+            }
+        }
+        return plan;
+    }
+
+    /**
+     * Gets the smallest even length greater or equal to n whose only factors
+     * are 2, 3 and 5. Sequences padded to such a length (for convolutions) are
+     * transformed efficiently, also by the real transformations.
+     *
+     * @param n The minimal length
+     * @return The "fast" length
+     */
+    public static int fastLength(final int n) {
+        int h = (n + 1) / 2;
+        if (h <= 1) {
+            return 2;
+        }
+        int best = Integer.highestOneBit(h);
+        if (best < h) {
+            best <<= 1;
+        }
+        for (long p5 = 1; p5 < best; p5 *= 5) {
+            for (long p35 = p5; p35 < best; p35 *= 3) {
+                long m = p35;
+                while (m < h) {
+                    m <<= 1;
+                }
+                if (m < best) {
+                    best = (int) m;
+                }
+            }
+        }
+        return 2 * best;
+    }
+
+    private final int n;
+    private final int[] factors;
+    // e(i*2*pi*t/n), t in [0, n[ (t in [0, n/2] for the Bluestein algorithm)
+    private final double[] cos, sin;
+    // Bluestein algorithm: chirp and transformed (conjugate) chirp
+    private final FftPlan conv;
+    private final double[] wr, wi, br, bi;
+    // plan of length n/2, used by the real transformations
+    private volatile FftPlan half;
+
+    private FftPlan(final int n) {
+        this.n = n;
+        int[] f = factorize(n);
+        if (f.length > 0 && f[f.length - 1] > MAX_FACTOR) {
+            factors = null;
+            // only used by the real transformations
+            cos = new double[n / 2 + 1];
+            sin = new double[n / 2 + 1];
+            int m = Integer.highestOneBit(2 * n - 1);
+            if (m < 2 * n - 1) {
+                m <<= 1;
+            }
+            conv = of(m);
+            // w(j) = e(i*pi*j*j/n)
+            wr = new double[n];
+            wi = new double[n];
+            final long n2 = 2L * n;
+            for (int j = 0; j < n; ++j) {
+                final double a = Math.PI * ((long) j * j % n2) / n;
+                wr[j] = Math.cos(a);
+                wi[j] = Math.sin(a);
+            }
+            br = new double[m];
+            bi = new double[m];
+            br[0] = wr[0];
+            bi[0] = -wi[0];
+            for (int j = 1; j < n; ++j) {
+                br[j] = br[m - j] = wr[j];
+                bi[j] = bi[m - j] = -wi[j];
+            }
+            conv.execute(br, bi, 1);
+        } else {
+            factors = f;
+            cos = new double[n];
+            sin = new double[n];
+            conv = null;
+            wr = null;
+            wi = null;
+            br = null;
+            bi = null;
+        }
+        final double theta = 2 * Math.PI / n;
+        for (int t = 0; t < cos.length; ++t) {
+            cos[t] = Math.cos(theta * t);
+            sin[t] = Math.sin(theta * t);
+        }
+    }
+
+    /**
+     * The length of the sequences
+     *
+     * @return
+     */
+    public int getLength() {
+        return n;
+    }
+
+    /**
+     * Fourier transformation of a complex sequence
+     *
+     * @param re The real parts (length n)
+     * @param im The imaginary parts (length n)
+     */
+    public void transform(final double[] re, final double[] im) {
+        check(re, im);
+        execute(re, im, 1);
+    }
+
+    /**
+     * Inverse Fourier transformation of a complex sequence (including the
+     * scaling by 1/n)
+     *
+     * @param re The real parts (length n)
+     * @param im The imaginary parts (length n)
+     */
+    public void backTransform(final double[] re, final double[] im) {
+        check(re, im);
+        execute(re, im, -1);
+        scale(re, im, n, 1.0 / n);
+    }
+
+    /**
+     * Fourier transformation of a real sequence. Only the coefficients
+     * X(0)...X(n/2) are computed; the other ones are their conjugates:
+     * X(n-k) = conj(X(k)). When n is even, the transformation is computed by
+     * means of a complex transformation of length n/2.
+     *
+     * @param x The sequence (length n). Unchanged.
+     * @param re On exit, the real parts of X(0)...X(n/2) (length &ge; n/2+1)
+     * @param im On exit, the imaginary parts of X(0)...X(n/2) (length &ge;
+     * n/2+1)
+     */
+    public void realTransform(final double[] x, final double[] re, final double[] im) {
+        final int h = n / 2;
+        if (x.length != n || re.length <= h || im.length <= h) {
+            throw new IllegalArgumentException("Incompatible arrays");
+        }
+        if (n == 0) {
+            return;
+        }
+        if (n % 2 != 0) {
+            double[] zr = x.clone(), zi = new double[n];
+            execute(zr, zi, 1);
+            System.arraycopy(zr, 0, re, 0, h + 1);
+            System.arraycopy(zi, 0, im, 0, h + 1);
+            return;
+        }
+        // z(j) = x(2j) + i*x(2j+1), Z(k) = E(k) + i*O(k), where E and O are
+        // the transformations of the even and of the odd terms.
+        // X(k) = E(k) + e(i*2*pi*k/n)*O(k)
+        double[] zr = new double[h], zi = new double[h];
+        for (int j = 0, l = 0; j < h; ++j, l += 2) {
+            zr[j] = x[l];
+            zi[j] = x[l + 1];
+        }
+        half().execute(zr, zi, 1);
+        for (int k = 0; k <= h; ++k) {
+            final int a = k == h ? 0 : k, b = k == 0 ? 0 : h - k;
+            final double er = .5 * (zr[a] + zr[b]), ei = .5 * (zi[a] - zi[b]);
+            final double or = .5 * (zi[a] + zi[b]), oi = -.5 * (zr[a] - zr[b]);
+            final double c = cos[k], s = sin[k];
+            re[k] = er + c * or - s * oi;
+            im[k] = ei + c * oi + s * or;
+        }
+    }
+
+    /**
+     * Inverse Fourier transformation of the transformation of a real sequence
+     * (including the scaling by 1/n).
+     *
+     * @param re The real parts of X(0)...X(n/2) (length &ge; n/2+1)
+     * @param im The imaginary parts of X(0)...X(n/2) (length &ge; n/2+1)
+     * @param x On exit, the real sequence (length n)
+     */
+    public void realBackTransform(final double[] re, final double[] im, final double[] x) {
+        final int h = n / 2;
+        if (x.length != n || re.length <= h || im.length <= h) {
+            throw new IllegalArgumentException("Incompatible arrays");
+        }
+        if (n == 0) {
+            return;
+        }
+        if (n % 2 != 0) {
+            double[] zr = new double[n], zi = new double[n];
+            zr[0] = re[0];
+            for (int k = 1; k <= h; ++k) {
+                zr[k] = zr[n - k] = re[k];
+                zi[k] = im[k];
+                zi[n - k] = -im[k];
+            }
+            execute(zr, zi, -1);
+            final double v = 1.0 / n;
+            for (int j = 0; j < n; ++j) {
+                x[j] = zr[j] * v;
+            }
+            return;
+        }
+        // E(k) = (X(k) + conj(X(h-k)))/2, O(k) = (X(k) - conj(X(h-k)))/2 * e(-i*2*pi*k/n)
+        double[] zr = new double[h], zi = new double[h];
+        for (int k = 0; k < h; ++k) {
+            final double er = .5 * (re[k] + re[h - k]), ei = .5 * (im[k] - im[h - k]);
+            final double dr = .5 * (re[k] - re[h - k]), di = .5 * (im[k] + im[h - k]);
+            final double c = cos[k], s = sin[k];
+            final double or = c * dr + s * di, oi = c * di - s * dr;
+            zr[k] = er - oi;
+            zi[k] = ei + or;
+        }
+        half().execute(zr, zi, -1);
+        final double v = 1.0 / h;
+        for (int j = 0, l = 0; j < h; ++j, l += 2) {
+            x[l] = zr[j] * v;
+            x[l + 1] = zi[j] * v;
+        }
+    }
+
+    private FftPlan half() {
+        FftPlan plan = half;
+        if (plan == null) {
+            plan = of(n / 2);
+            half = plan;
+        }
+        return plan;
+    }
+
+    private void check(final double[] re, final double[] im) {
+        if (re.length != n || im.length != n) {
+            throw new IllegalArgumentException("Incompatible arrays");
+        }
+    }
+
+    private static void scale(final double[] re, final double[] im, final int n, final double v) {
+        for (int i = 0; i < n; ++i) {
+            re[i] *= v;
+            im[i] *= v;
+        }
+    }
+
+    /**
+     * Unscaled transformation
+     *
+     * @param sign 1 for the direct transformation, -1 for the inverse one
+     */
+    private void execute(final double[] re, final double[] im, final int sign) {
+        if (n <= 1) {
+            return;
+        }
+        if (factors == null) {
+            bluestein(re, im, sign);
+            return;
+        }
+        double[] cr = re, ci = im, hr = new double[n], hi = new double[n];
+        int l1 = 1;
+        for (int p : factors) {
+            final int ido = n / (l1 * p);
+            switch (p) {
+                case 2:
+                    pass2(ido, l1, cr, ci, hr, hi, sign);
+                    break;
+                case 3:
+                    pass3(ido, l1, cr, ci, hr, hi, sign);
+                    break;
+                case 4:
+                    pass4(ido, l1, cr, ci, hr, hi, sign);
+                    break;
+                default:
+                    pass(p, ido, l1, cr, ci, hr, hi, sign);
+            }
+            double[] tmp = cr;
+            cr = hr;
+            hr = tmp;
+            tmp = ci;
+            ci = hi;
+            hi = tmp;
+            l1 *= p;
+        }
+        if (cr != re) {
+            System.arraycopy(cr, 0, re, 0, n);
+            System.arraycopy(ci, 0, im, 0, n);
+        }
+    }
+
+    // The passes transform the input c(ido, p, l1) into the output h(ido, l1, p),
+    // the outputs being multiplied by the twiddle factors e(i*2*pi*i*u*l1/n)
+    private void pass2(final int ido, final int l1, final double[] cr, final double[] ci,
+            final double[] hr, final double[] hi, final int sign) {
+        final int ol = ido * l1;
+        for (int k = 0; k < l1; ++k) {
+            final int in0 = 2 * k * ido, out0 = k * ido;
+            for (int i = 0; i < ido; ++i) {
+                final int a = in0 + i, b = a + ido, o = out0 + i;
+                final double dr = cr[a] - cr[b], di = ci[a] - ci[b];
+                hr[o] = cr[a] + cr[b];
+                hi[o] = ci[a] + ci[b];
+                if (i == 0) {
+                    hr[o + ol] = dr;
+                    hi[o + ol] = di;
+                } else {
+                    final int t = i * l1;
+                    final double wr = cos[t], wi = sign * sin[t];
+                    hr[o + ol] = wr * dr - wi * di;
+                    hi[o + ol] = wr * di + wi * dr;
+                }
+            }
+        }
+    }
+
+    private void pass3(final int ido, final int l1, final double[] cr, final double[] ci,
+            final double[] hr, final double[] hi, final int sign) {
+        final int ol = ido * l1;
+        final double q = sign * Math.sqrt(3) / 2;
+        for (int k = 0; k < l1; ++k) {
+            final int in0 = 3 * k * ido, out0 = k * ido;
+            for (int i = 0; i < ido; ++i) {
+                final int a0 = in0 + i, a1 = a0 + ido, a2 = a1 + ido, o = out0 + i;
+                final double tr = cr[a1] + cr[a2], ti = ci[a1] + ci[a2];
+                final double dr = q * (cr[a1] - cr[a2]), di = q * (ci[a1] - ci[a2]);
+                final double mr = cr[a0] - .5 * tr, mi = ci[a0] - .5 * ti;
+                hr[o] = cr[a0] + tr;
+                hi[o] = ci[a0] + ti;
+                twiddle(i * l1, mr - di, mi + dr, hr, hi, o + ol, sign);
+                twiddle(2 * i * l1, mr + di, mi - dr, hr, hi, o + 2 * ol, sign);
+            }
+        }
+    }
+
+    private void pass4(final int ido, final int l1, final double[] cr, final double[] ci,
+            final double[] hr, final double[] hi, final int sign) {
+        final int ol = ido * l1;
+        for (int k = 0; k < l1; ++k) {
+            final int in0 = 4 * k * ido, out0 = k * ido;
+            for (int i = 0; i < ido; ++i) {
+                final int a0 = in0 + i, a1 = a0 + ido, a2 = a1 + ido, a3 = a2 + ido, o = out0 + i;
+                final double t0r = cr[a0] + cr[a2], t0i = ci[a0] + ci[a2];
+                final double t1r = cr[a0] - cr[a2], t1i = ci[a0] - ci[a2];
+                final double t2r = cr[a1] + cr[a3], t2i = ci[a1] + ci[a3];
+                // (sign*i)*(a1-a3)
+                final double t3r = -sign * (ci[a1] - ci[a3]), t3i = sign * (cr[a1] - cr[a3]);
+                hr[o] = t0r + t2r;
+                hi[o] = t0i + t2i;
+                twiddle(i * l1, t1r + t3r, t1i + t3i, hr, hi, o + ol, sign);
+                twiddle(2 * i * l1, t0r - t2r, t0i - t2i, hr, hi, o + 2 * ol, sign);
+                twiddle(3 * i * l1, t1r - t3r, t1i - t3i, hr, hi, o + 3 * ol, sign);
+            }
+        }
+    }
+
+    private void pass(final int p, final int ido, final int l1, final double[] cr, final double[] ci,
+            final double[] hr, final double[] hi, final int sign) {
+        final int ol = ido * l1, np = n / p;
+        final double[] xr = new double[p], xi = new double[p];
+        for (int k = 0; k < l1; ++k) {
+            final int in0 = p * k * ido, out0 = k * ido;
+            for (int i = 0; i < ido; ++i) {
+                for (int j = 0, a = in0 + i; j < p; ++j, a += ido) {
+                    xr[j] = cr[a];
+                    xi[j] = ci[a];
+                }
+                final int o = out0 + i;
+                for (int u = 0; u < p; ++u) {
+                    // sum(x(j)*e(i*2*pi*j*u/p))
+                    double sr = xr[0], si = xi[0];
+                    for (int j = 1, r = u; j < p; ++j, r += u) {
+                        if (r >= p) {
+                            r -= p;
+                        }
+                        final double wr = cos[r * np], wi = sign * sin[r * np];
+                        sr += wr * xr[j] - wi * xi[j];
+                        si += wr * xi[j] + wi * xr[j];
+                    }
+                    if (u == 0) {
+                        hr[o] = sr;
+                        hi[o] = si;
+                    } else {
+                        twiddle(u * i * l1, sr, si, hr, hi, o + u * ol, sign);
+                    }
+                }
+            }
+        }
+    }
+
+    private void twiddle(final int t, final double xr, final double xi,
+            final double[] hr, final double[] hi, final int o, final int sign) {
+        if (t == 0) {
+            hr[o] = xr;
+            hi[o] = xi;
+        } else {
+            final double wr = cos[t], wi = sign * sin[t];
+            hr[o] = wr * xr - wi * xi;
+            hi[o] = wr * xi + wi * xr;
+        }
+    }
+
+    /**
+     * Transformation computed as a convolution (2jk = j*j + k*k - (k-j)*(k-j)),
+     * which is itself computed by means of transformations whose length is a
+     * power of 2.
+     */
+    private void bluestein(final double[] re, final double[] im, final int sign) {
+        final int m = br.length;
+        final double[] ar = new double[m], ai = new double[m];
+        for (int j = 0; j < n; ++j) {
+            final double cr = wr[j], ci = sign * wi[j];
+            ar[j] = re[j] * cr - im[j] * ci;
+            ai[j] = re[j] * ci + im[j] * cr;
+        }
+        conv.execute(ar, ai, 1);
+        for (int k = 0; k < m; ++k) {
+            // the transformed conjugate chirp of the inverse transformation
+            // is conj(B(-k))
+            final double cr, ci;
+            if (sign > 0) {
+                cr = br[k];
+                ci = bi[k];
+            } else {
+                final int l = k == 0 ? 0 : m - k;
+                cr = br[l];
+                ci = -bi[l];
+            }
+            final double r = ar[k] * cr - ai[k] * ci;
+            ai[k] = ar[k] * ci + ai[k] * cr;
+            ar[k] = r;
+        }
+        conv.execute(ar, ai, -1);
+        final double v = 1.0 / m;
+        for (int k = 0; k < n; ++k) {
+            final double r = ar[k] * v, i = ai[k] * v, cr = wr[k], ci = sign * wi[k];
+            re[k] = r * cr - i * ci;
+            im[k] = r * ci + i * cr;
+        }
+    }
+
+    /**
+     * Factors of n: 4, 2, 3, then the other primes in increasing order
+     */
+    private static int[] factorize(int n) {
+        if (n <= 1) {
+            return new int[0];
+        }
+        int[] f = new int[32];
+        int nf = 0;
+        while (n % 4 == 0) {
+            f[nf++] = 4;
+            n /= 4;
+        }
+        if (n % 2 == 0) {
+            f[nf++] = 2;
+            n /= 2;
+        }
+        for (int p = 3; p * p <= n; p += 2) {
+            while (n % p == 0) {
+                f[nf++] = p;
+                n /= p;
+            }
+        }
+        if (n > 1) {
+            f[nf++] = n;
+        }
+        int[] result = new int[nf];
+        System.arraycopy(f, 0, result, 0, nf);
+        return result;
+    }
+}
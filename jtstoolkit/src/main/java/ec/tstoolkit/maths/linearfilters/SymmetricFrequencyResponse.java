@@ -20,6 +20,7 @@ import ec.tstoolkit.data.TableOfLong;
 import ec.tstoolkit.design.Development;
 import ec.tstoolkit.design.Immutable;
 import ec.tstoolkit.maths.Complex;
+import ec.tstoolkit.maths.FftPlan;
 import ec.tstoolkit.maths.Simplifying;
 import ec.tstoolkit.maths.matrices.Matrix;
 import ec.tstoolkit.maths.matrices.MatrixException;
@@ -59,6 +60,32 @@ public class SymmetricFrequencyResponse {
         return new SymmetricFrequencyResponse(SymmetricFilter.createFromFilter(f));
     }
 
+    /**
+     * Computes the frequency response of a symmetric filter at the Fourier
+     * frequencies 2*pi*k/n, k in [0, n/2]. The response is the (real) Fourier
+     * transform of the weights of the filter, folded modulo n; it is computed
+     * by FFT, which avoids the (ill-conditioned) polynomial in cos(x).
+     *
+     * @param sf The symmetric filter
+     * @param n The number of frequencies in [0, 2*pi[
+     * @return The n/2+1 values of the frequency response
+     */
+    public static double[] evaluate(final SymmetricFilter sf, final int n) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("Invalid number of frequencies");
+        }
+        double[] c = sf.getCoefficients();
+        double[] w = new double[n];
+        w[0] = c[0];
+        for (int i = 1; i < c.length; ++i) {
+            w[i % n] += c[i];
+            w[(n - i % n) % n] += c[i];
+        }
+        double[] re = new double[n / 2 + 1], im = new double[n / 2 + 1];
+        FftPlan.of(n).realTransform(w, re, im);
+        return re;
+    }
+
     /**
      * @param c On entry, coefficients of a symmetric filter (Fourier
      * transform). On exit, the transformed coefficients, corresponding to the
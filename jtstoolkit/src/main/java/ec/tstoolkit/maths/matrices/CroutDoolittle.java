@@ -17,6 +17,7 @@
 
 package ec.tstoolkit.maths.matrices;
 
+import ec.tstoolkit.algorithm.SolverMetrics;
 import ec.tstoolkit.design.Development;
 
 /**
@@ -43,6 +44,7 @@ public class CroutDoolittle extends LuDecomposition {
     /// of a square matrix.
     /// </summary>
     private void croutdoolittle() {
+        SolverMetrics.increment(SolverMetrics.Counter.Decompositions);
         // Use a "left-looking", dot-product, Crout/Doolittle algorithm.
 
         double[] LUcolj = new double[n_];
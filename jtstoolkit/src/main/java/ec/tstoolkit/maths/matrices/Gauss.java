@@ -17,6 +17,7 @@
 
 package ec.tstoolkit.maths.matrices;
 
+import ec.tstoolkit.algorithm.SolverMetrics;
 import ec.tstoolkit.design.Development;
 
 /**
@@ -42,6 +43,7 @@ public class Gauss extends LuDecomposition {
     /// The method implements the Gauss algorithm for LU-decomposition of a square matrix.
     /// </summary>
     private void gauss() {
+        SolverMetrics.increment(SolverMetrics.Counter.Decompositions);
         for (int k = 0, kn = 0; k < n_; k++, kn++) {
             // Find pivot.
             int p = k;
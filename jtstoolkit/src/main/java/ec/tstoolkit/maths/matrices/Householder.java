@@ -16,6 +16,7 @@
  */
 package ec.tstoolkit.maths.matrices;
 
+import ec.tstoolkit.algorithm.SolverMetrics;
 import ec.tstoolkit.data.DataBlock;
 import ec.tstoolkit.data.IDataBlock;
 import ec.tstoolkit.data.IReadDataBlock;
@@ -133,6 +134,7 @@ public class Householder extends AbstractLinearSystemSolver implements
     }
 
     private void householder() {
+        SolverMetrics.increment(SolverMetrics.Counter.Decompositions);
         int[] unused = new int[m_norig];
         int nunused = 0, nrdiag = 0;
         // Main loop.
@@ -158,8 +160,27 @@ public class Householder extends AbstractLinearSystemSolver implements
                 // if a(k,k) < 0 then a(k,k) = -(a(k,k) - nrm) / nrm, else
                 // a(k,k)=( a(k,k) + nrm) / nrm
 
-                // Apply transformation to remaining columns.
-                for (int jm = km + m_m; jm < len; jm += m_m) {
+                // Apply transformation to remaining columns, by pairs (the
+                // Householder vector is read once for two columns)
+                double vl = -m_qr[l + km];
+                int jm = km + m_m;
+                for (; jm + m_m < len; jm += 2 * m_m) {
+                    int jm1 = jm + m_m;
+                    double s0 = 0.0, s1 = 0.0;
+                    for (int i = l; i < m_m; ++i) {
+                        double v = m_qr[i + km];
+                        s0 += v * m_qr[i + jm];
+                        s1 += v * m_qr[i + jm1];
+                    }
+                    s0 /= vl;
+                    s1 /= vl;
+                    for (int i = l; i < m_m; ++i) {
+                        double v = m_qr[i + km];
+                        m_qr[i + jm] += s0 * v;
+                        m_qr[i + jm1] += s1 * v;
+                    }
+                }
+                if (jm < len) {
                     double s = 0.0;
                     for (int i = l; i < m_m; ++i) {
                         s += m_qr[i + km] * m_qr[i + jm];
@@ -17,6 +17,7 @@
 
 package ec.tstoolkit.maths.matrices;
 
+import ec.tstoolkit.algorithm.SolverMetrics;
 import ec.tstoolkit.data.DataBlock;
 import ec.tstoolkit.data.IDataBlock;
 import ec.tstoolkit.data.IReadDataBlock;
@@ -104,6 +105,7 @@ public class HouseholderC extends AbstractLinearSystemSolver implements
     }
 
     private void householder() {
+	SolverMetrics.increment(SolverMetrics.Counter.Decompositions);
 	double[] work = new double[m_m];
 	m_rdiag = new double[m_n];
 	int info = ec.tstoolkit.maths.matrices.lapack.Dgeqr2.fn(m_m, m_n, m_qr,
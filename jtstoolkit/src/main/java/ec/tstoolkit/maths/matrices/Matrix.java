@@ -39,6 +39,37 @@ import java.util.function.IntToDoubleFunction;
 @Development(status = Development.Status.Alpha)
 public class Matrix implements Cloneable {
 
+    /**
+     * System property that enables the parallel computation of large products
+     * (see setParallelProducts)
+     *
+     * @since 2.2.4
+     */
+    public static final String PARALLEL_PRODUCTS_PROPERTY = "ec.tstoolkit.maths.matrices.parallel";
+
+    /**
+     * Enables or disables the parallel computation of large products. When
+     * enabled, the products of large matrices are split by blocks of columns,
+     * which are computed by the shared ProcessingExecutor, except when they
+     * are already computed in a worker of a fork/join pool. The parallel
+     * products are disabled by default (they can be enabled by means of the
+     * system property PARALLEL_PRODUCTS_PROPERTY).
+     *
+     * @param parallel True to enable the parallel products
+     * @since 2.2.4
+     */
+    public static void setParallelProducts(boolean parallel) {
+        MatrixKernels.parallel = parallel;
+    }
+
+    /**
+     * @return True if the large products are computed in parallel
+     * @since 2.2.4
+     */
+    public static boolean isParallelProducts() {
+        return MatrixKernels.parallel;
+    }
+
     /**
      * @since 2.2
      */
@@ -1006,6 +1037,10 @@ public class Matrix implements Cloneable {
 
         int nr = nrows_, nc = Y.ncols_, nk = ncols_;
         Matrix s = new Matrix(nr, nc);
+        if (MatrixKernels.isUsed(nr, nc, nk)) {
+            MatrixKernels.product(all(), Y.all(), s.all(), false);
+            return s;
+        }
         double[] tmp = new double[nk];
         for (int i = 0; i < nr; ++i) {
             for (int j = 0, k = i; j < nk; ++j, k += nr) {
@@ -0,0 +1,319 @@
+/*
+ * Copyright 2013 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.tstoolkit.maths.matrices;
+
+import ec.tstoolkit.algorithm.ProcessingExecutor;
+import ec.tstoolkit.design.Development;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Blocked kernel of the product of dense matrices. The operands are
+ * sub-matrices with any increments between rows and between columns, so that
+ * transposed views are handled without copies.
+ *
+ * The operands are copied by blocks in contiguous buffers (A by panels of MR
+ * rows, B by panels of NR columns); the result is computed by tiles of MR x NR
+ * elements, kept in local variables. When the parallel products are enabled
+ * (see Matrix.setParallelProducts), large products are split by blocks of
+ * columns, which are computed by the shared ProcessingExecutor. Products
+ * computed in a worker of a fork/join pool (parallel processing of series,
+ * parallel derivatives...) are never split.
+ *
+ * @since 2.2.4
+ */
+@Development(status = Development.Status.Alpha)
+final class MatrixKernels {
+
+    // register tile
+    private static final int MR = 4, NR = 4;
+    // cache blocks (A: MC x KC, B: KC x NC)
+    private static final int MC = 128, KC = 256, NC = 2048;
+    // below that size of the result (rows and columns), the usual loops are faster
+    private static final int THRESHOLD = 32;
+    // above that number of multiplications, the blocks of columns are computed in parallel
+    private static final long PARALLEL_THRESHOLD = 192L * 192 * 192;
+
+    static volatile boolean parallel = Boolean.getBoolean(Matrix.PARALLEL_PRODUCTS_PROPERTY);
+
+    // states of the blocks of columns computed in parallel
+    private static final int PENDING = 0, RUNNING = 1, DONE = 2, DROPPED = 3, FAILED = 4;
+
+    private MatrixKernels() {
+        // static class
+    }
+
+    /**
+     * Checks that the blocked kernel should be used for a product
+     *
+     * @param m The number of rows of the result
+     * @param n The number of columns of the result
+     * @param k The inner dimension
+     * @return
+     */
+    static boolean isUsed(final int m, final int n, final int k) {
+        return m >= THRESHOLD && n >= THRESHOLD && k >= MR;
+    }
+
+    /**
+     * Computes C = A*B. The dimensions are not checked. The product is not
+     * interruptible: when the calling thread is interrupted during a parallel
+     * product, the blocks that are not computed yet are computed by the
+     * calling thread and its interrupt status is restored.
+     *
+     * @param a m x k sub-matrix
+     * @param b k x n sub-matrix
+     * @param c m x n sub-matrix
+     * @param lower If true, only the lower triangle of C (including the
+     * diagonal) is certainly computed (symmetric results). The other elements
+     * are undefined
+     */
+    static void product(final SubMatrix a, final SubMatrix b, final SubMatrix c, final boolean lower) {
+        final int m = a.m_nrows, k = a.m_ncols, n = b.m_ncols;
+        if (m == 0 || n == 0) {
+            return;
+        }
+        if (k == 0) {
+            c.set(0);
+            return;
+        }
+        int ntasks = 1;
+        ProcessingExecutor executor = null;
+        if (parallel && (long) m * n * k >= PARALLEL_THRESHOLD && !ForkJoinTask.inForkJoinPool()) {
+            executor = ProcessingExecutor.getDefault();
+            ntasks = Math.min(executor.getParallelism(), n / (8 * NR));
+        }
+        if (ntasks <= 1) {
+            product(a, b, c, 0, n, lower);
+        } else {
+            // blocks of columns of similar cost (triangular cost for the lower case)
+            final int[] cols = new int[ntasks + 1];
+            for (int t = 1; t < ntasks; ++t) {
+                double q = (double) t / ntasks;
+                if (lower) {
+                    q = 1 - Math.sqrt(1 - q);
+                }
+                cols[t] = Math.min(n, (int) Math.round(q * n / NR) * NR);
+            }
+            cols[ntasks] = n;
+            final AtomicIntegerArray states = new AtomicIntegerArray(ntasks);
+            List<Callable<Void>> tasks = new ArrayList<>(ntasks);
+            for (int t = 0; t < ntasks; ++t) {
+                final int j0 = cols[t], j1 = cols[t + 1], it = t;
+                tasks.add(() -> {
+                    if (states.compareAndSet(it, PENDING, RUNNING)) {
+                        int state = FAILED;
+                        try {
+                            product(a, b, c, j0, j1, lower);
+                            state = DONE;
+                        } finally {
+                            synchronized (states) {
+                                states.set(it, state);
+                                states.notifyAll();
+                            }
+                        }
+                    }
+                    return null;
+                });
+            }
+            try {
+                for (ForkJoinTask<Void> task : executor.invokeAll(tasks)) {
+                    task.join();
+                }
+            } catch (InterruptedException ex) {
+                // the tasks that are still running write in C: they must be
+                // completed before the missing blocks are computed here
+                for (int t = 0; t < ntasks; ++t) {
+                    if (!states.compareAndSet(t, PENDING, DROPPED)) {
+                        awaitTermination(states, t);
+                    }
+                }
+                for (int t = 0; t < ntasks; ++t) {
+                    if (states.get(t) != DONE) {
+                        product(a, b, c, cols[t], cols[t + 1], lower);
+                    }
+                }
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Waits (uninterruptibly) for the end of a running block of columns
+     */
+    private static void awaitTermination(final AtomicIntegerArray states, final int t) {
+        boolean interrupted = false;
+        synchronized (states) {
+            while (states.get(t) == RUNNING) {
+                try {
+                    states.wait();
+                } catch (InterruptedException ex) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Computes the columns [j0, j1[ of C = A*B.
+     */
+    private static void product(final SubMatrix a, final SubMatrix b, final SubMatrix c,
+            final int j0, final int j1, final boolean lower) {
+        final int m = a.m_nrows, k = a.m_ncols;
+        final double[] apack = new double[Math.min(MC + MR, m + MR) * Math.min(KC, k)];
+        final double[] bpack = new double[Math.min(KC, k) * Math.min(NC + NR, j1 - j0 + NR)];
+        for (int jc = j0; jc < j1; jc += NC) {
+            final int nc = Math.min(NC, j1 - jc);
+            for (int pc = 0; pc < k; pc += KC) {
+                final int kc = Math.min(KC, k - pc);
+                packB(b, pc, kc, jc, nc, bpack);
+                for (int ic = lower ? jc / MR * MR : 0; ic < m; ic += MC) {
+                    final int mc = Math.min(MC, m - ic);
+                    packA(a, ic, mc, pc, kc, apack);
+                    for (int jr = 0; jr < nc; jr += NR) {
+                        final int nr = Math.min(NR, nc - jr);
+                        for (int ir = 0; ir < mc; ir += MR) {
+                            final int mr = Math.min(MR, mc - ir);
+                            if (lower && ic + ir + mr <= jc + jr) {
+                                // tile above the diagonal
+                                continue;
+                            }
+                            kernel(kc, apack, ir * kc, bpack, jr * kc, c, ic + ir, jc + jr, mr, nr, pc > 0);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Copies A[i0:i0+mc, p0:p0+kc] by panels of MR rows (zero-padded): the
+     * element (i, p) of the panel starting at row r is at r*kc + p*MR + i
+     */
+    private static void packA(final SubMatrix a, final int i0, final int mc, final int p0, final int kc, final double[] apack) {
+        final double[] data = a.m_data;
+        final int ri = a.m_row_inc, ci = a.m_col_inc;
+        for (int r = 0; r < mc; r += MR) {
+            final int mr = Math.min(MR, mc - r), off = r * kc;
+            int start = a.m_start + (i0 + r) * ri + p0 * ci;
+            for (int p = 0, l = off; p < kc; ++p, l += MR, start += ci) {
+                int i = 0;
+                for (int idx = start; i < mr; ++i, idx += ri) {
+                    apack[l + i] = data[idx];
+                }
+                for (; i < MR; ++i) {
+                    apack[l + i] = 0;
+                }
+            }
+        }
+    }
+
+    /**
+     * Copies B[p0:p0+kc, j0:j0+nc] by panels of NR columns (zero-padded): the
+     * element (p, j) of the panel starting at column c is at c*kc + p*NR + j
+     */
+    private static void packB(final SubMatrix b, final int p0, final int kc, final int j0, final int nc, final double[] bpack) {
+        final double[] data = b.m_data;
+        final int ri = b.m_row_inc, ci = b.m_col_inc;
+        for (int c = 0; c < nc; c += NR) {
+            final int nr = Math.min(NR, nc - c), off = c * kc;
+            int start = b.m_start + p0 * ri + (j0 + c) * ci;
+            for (int p = 0, l = off; p < kc; ++p, l += NR, start += ri) {
+                int j = 0;
+                for (int idx = start; j < nr; ++j, idx += ci) {
+                    bpack[l + j] = data[idx];
+                }
+                for (; j < NR; ++j) {
+                    bpack[l + j] = 0;
+                }
+            }
+        }
+    }
+
+    /**
+     * C[i0:i0+mr, j0:j0+nr] (+)= A panel * B panel
+     */
+    private static void kernel(final int kc, final double[] apack, int ia, final double[] bpack, int ib,
+            final SubMatrix c, final int i0, final int j0, final int mr, final int nr, final boolean add) {
+        double c00 = 0, c10 = 0, c20 = 0, c30 = 0;
+        double c01 = 0, c11 = 0, c21 = 0, c31 = 0;
+        double c02 = 0, c12 = 0, c22 = 0, c32 = 0;
+        double c03 = 0, c13 = 0, c23 = 0, c33 = 0;
+        for (int p = 0; p < kc; ++p, ia += MR, ib += NR) {
+            final double a0 = apack[ia], a1 = apack[ia + 1], a2 = apack[ia + 2], a3 = apack[ia + 3];
+            double b = bpack[ib];
+            c00 += a0 * b;
+            c10 += a1 * b;
+            c20 += a2 * b;
+            c30 += a3 * b;
+            b = bpack[ib + 1];
+            c01 += a0 * b;
+            c11 += a1 * b;
+            c21 += a2 * b;
+            c31 += a3 * b;
+            b = bpack[ib + 2];
+            c02 += a0 * b;
+            c12 += a1 * b;
+            c22 += a2 * b;
+            c32 += a3 * b;
+            b = bpack[ib + 3];
+            c03 += a0 * b;
+            c13 += a1 * b;
+            c23 += a2 * b;
+            c33 += a3 * b;
+        }
+        final double[] data = c.m_data;
+        final int ri = c.m_row_inc, ci = c.m_col_inc, start = c.m_start + i0 * ri + j0 * ci;
+        if (mr == MR && nr == NR) {
+            store(data, start, ri, c00, c10, c20, c30, add);
+            store(data, start + ci, ri, c01, c11, c21, c31, add);
+            store(data, start + 2 * ci, ri, c02, c12, c22, c32, add);
+            store(data, start + 3 * ci, ri, c03, c13, c23, c33, add);
+        } else {
+            final double[] tile = {c00, c10, c20, c30, c01, c11, c21, c31,
+                c02, c12, c22, c32, c03, c13, c23, c33};
+            for (int j = 0; j < nr; ++j) {
+                for (int i = 0, idx = start + j * ci; i < mr; ++i, idx += ri) {
+                    double v = tile[j * MR + i];
+                    data[idx] = add ? data[idx] + v : v;
+                }
+            }
+        }
+    }
+
+    private static void store(final double[] data, final int start, final int ri,
+            final double x0, final double x1, final double x2, final double x3, final boolean add) {
+        final int i1 = start + ri, i2 = i1 + ri, i3 = i2 + ri;
+        if (add) {
+            data[start] += x0;
+            data[i1] += x1;
+            data[i2] += x2;
+            data[i3] += x3;
+        } else {
+            data[start] = x0;
+            data[i1] = x1;
+            data[i2] = x2;
+            data[i3] = x3;
+        }
+    }
+}
@@ -17,6 +17,7 @@
 
 package ec.tstoolkit.maths.matrices;
 
+import ec.tstoolkit.algorithm.SolverMetrics;
 import ec.tstoolkit.data.DataBlock;
 import ec.tstoolkit.data.DataBlockIterator;
 
@@ -64,6 +65,7 @@ public class SingularValueDecomposition extends AbstractLinearSystemSolver {
     }
 
     private void init(Matrix matrix) {
+        SolverMetrics.increment(SolverMetrics.Counter.Decompositions);
         double[] A = matrix.internalStorage();
         m_m = matrix.getRowsCount();
         m_n = matrix.getColumnsCount();
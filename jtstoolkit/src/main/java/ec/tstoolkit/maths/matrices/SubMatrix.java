@@ -738,7 +738,9 @@ public class SubMatrix implements Cloneable {
      * @param n
      */
     public void product(final SubMatrix m, final SubMatrix n) {
-        if (m.getColumnsCount() < PROD_THRESHOLD * (m.getRowsCount())) {
+        if (MatrixKernels.isUsed(m_nrows, m_ncols, m.m_ncols)) {
+            MatrixKernels.product(m, n, this, false);
+        } else if (m.getColumnsCount() < PROD_THRESHOLD * (m.getRowsCount())) {
             DataBlockIterator cols = columns();
             DataBlockIterator rcols = n.columns();
             DataBlockIterator lcols = m.columns();
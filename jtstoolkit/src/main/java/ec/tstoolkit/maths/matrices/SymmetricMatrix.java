@@ -16,6 +16,7 @@
  */
 package ec.tstoolkit.maths.matrices;
 
+import ec.tstoolkit.algorithm.SolverMetrics;
 import ec.tstoolkit.data.DataBlockIterator;
 import ec.tstoolkit.data.DataBlock;
 import ec.tstoolkit.design.Development;
@@ -197,6 +198,7 @@ public final class SymmetricMatrix {
      * decomposable (not positive definite)
      */
     public static void lcholesky(final Matrix m) {
+        SolverMetrics.increment(SolverMetrics.Counter.Decompositions);
         double[] data = m.data_;
         int n = m.nrows_;
         // if (n != m.ncols_)
@@ -240,6 +242,7 @@ public final class SymmetricMatrix {
      * @throws MatrixException
      */
     public static void lcholesky(final Matrix m, double Zero) {
+        SolverMetrics.increment(SolverMetrics.Counter.Decompositions);
         double[] data = m.data_;
         int n = m.nrows_;
         // if (n != m.ncols_)
@@ -399,8 +402,13 @@ public final class SymmetricMatrix {
     public static Matrix quadraticForm(final Matrix s, final Matrix x) {
         int nc = x.getColumnsCount();
         Matrix SX = s.times(x);
-        DataBlockIterator rows = x.columns(), cols = SX.columns();
         Matrix o = new Matrix(nc, nc);
+        if (MatrixKernels.isUsed(nc, nc, x.getRowsCount())) {
+            MatrixKernels.product(x.all().transpose(), SX.all(), o.all(), true);
+            fromLower(o);
+            return o;
+        }
+        DataBlockIterator rows = x.columns(), cols = SX.columns();
 
         int idx = 0, c = 0;
         do {
@@ -534,8 +542,13 @@ public final class SymmetricMatrix {
             throws MatrixException {
         int nr = x.getRowsCount();
         Matrix XS = x.times(s);
-        DataBlockIterator rows = XS.rows(), cols = x.rows();
         Matrix o = new Matrix(nr, nr);
+        if (MatrixKernels.isUsed(nr, nr, x.getColumnsCount())) {
+            MatrixKernels.product(XS.all(), x.all().transpose(), o.all(), true);
+            fromLower(o);
+            return o;
+        }
+        DataBlockIterator rows = XS.rows(), cols = x.rows();
 
         int idx = 0, c = 0;
         DataBlock col = cols.getData(), row = rows.getData();
@@ -570,8 +583,13 @@ public final class SymmetricMatrix {
         int nr = x.getRowsCount();
         Matrix XS = new Matrix(nr, n);
         XS.all().product(x, s);
-        DataBlockIterator rows = XS.rows(), cols = x.rows();
         Matrix o = new Matrix(nr, nr);
+        if (MatrixKernels.isUsed(nr, nr, n)) {
+            MatrixKernels.product(XS.all(), x.transpose(), o.all(), true);
+            fromLower(o);
+            return o;
+        }
+        DataBlockIterator rows = XS.rows(), cols = x.rows();
 
         int idx = 0, c = 0;
         DataBlock col = cols.getData(), row = rows.getData();
@@ -600,6 +618,11 @@ public final class SymmetricMatrix {
         int nr = x.getRowsCount();
         Matrix XS = new Matrix(nr, n);
         XS.all().product(x, s);
+        if (MatrixKernels.isUsed(nr, nr, n)) {
+            MatrixKernels.product(XS.all(), x.transpose(), xsxt, true);
+            fromLower(xsxt);
+            return;
+        }
         DataBlockIterator rows = XS.rows(), cols = x.rows(), xcols = xsxt
                 .columns();
         DataBlock col = cols.getData(), xcol = xcols.getData(), cur = rows
@@ -785,6 +808,7 @@ public final class SymmetricMatrix {
      * decomposable (not positive definite)
      */
     public static void ucholesky(final Matrix s) throws MatrixException {
+        SolverMetrics.increment(SolverMetrics.Counter.Decompositions);
         // if (s == null)
         // throw new ArgumentNullException("s");
         double[] data = s.data_;
@@ -878,6 +902,13 @@ public final class SymmetricMatrix {
      */
     public static Matrix XtX(final Matrix x) throws MatrixException {
         int n = x.getColumnsCount();
+        if (MatrixKernels.isUsed(n, n, x.getRowsCount())) {
+            Matrix o = new Matrix(n, n);
+            SubMatrix sx = x.all();
+            MatrixKernels.product(sx.transpose(), sx, o.all(), true);
+            fromLower(o);
+            return o;
+        }
         DataBlockIterator rows = x.columns(), cols = x.columns();
         Matrix o = new Matrix(n, n);
         int idx = 0, c = 0;
@@ -902,6 +933,12 @@ public final class SymmetricMatrix {
      * @param m c x c sub-matrix.
      */
     public static void XtX(final SubMatrix x, final SubMatrix m) {
+        int n = x.getColumnsCount();
+        if (MatrixKernels.isUsed(n, n, x.getRowsCount())) {
+            MatrixKernels.product(x.transpose(), x, m, true);
+            fromLower(m);
+            return;
+        }
         DataBlockIterator rows = x.columns(), cols = x.columns(), rcols = m
                 .columns();
         int c = 0;
@@ -926,6 +963,13 @@ public final class SymmetricMatrix {
      */
     public static Matrix XXt(final Matrix x) throws MatrixException {
         int n = x.getRowsCount();
+        if (MatrixKernels.isUsed(n, n, x.getColumnsCount())) {
+            Matrix o = new Matrix(n, n);
+            SubMatrix sx = x.all();
+            MatrixKernels.product(sx, sx.transpose(), o.all(), true);
+            fromLower(o);
+            return o;
+        }
         DataBlockIterator rows = x.rows(), cols = x.rows();
         Matrix o = new Matrix(n, n);
         int idx = 0, c = 0;
@@ -949,6 +993,12 @@ public final class SymmetricMatrix {
      * @param m r x r sub-matrix.
      */
     public static void XXt(final SubMatrix x, final SubMatrix m) {
+        int n = x.getRowsCount();
+        if (MatrixKernels.isUsed(n, n, x.getColumnsCount())) {
+            MatrixKernels.product(x, x.transpose(), m, true);
+            fromLower(m);
+            return;
+        }
         DataBlockIterator rows = x.rows(), cols = x.rows(), rcols = m
                 .columns();
         int c = 0;
@@ -17,6 +17,7 @@
 
 package ec.tstoolkit.maths.matrices;
 
+import ec.tstoolkit.algorithm.SolverMetrics;
 import ec.tstoolkit.data.DataBlock;
 import ec.tstoolkit.data.IDataBlock;
 import ec.tstoolkit.data.IReadDataBlock;
@@ -166,6 +167,7 @@ public class ThinHouseholder extends AbstractLinearSystemSolver implements IQrDe
     }
 
     private void householder() {
+        SolverMetrics.increment(SolverMetrics.Counter.Decompositions);
         for (int k = 0, km = 0; k < m_n; ++k, km += m_m) {
             // cfr Golub - Van Loan. We compute the householder vector
             double sigma = 0;
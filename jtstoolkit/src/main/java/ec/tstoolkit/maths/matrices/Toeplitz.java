@@ -18,8 +18,7 @@ package ec.tstoolkit.maths.matrices;
 
 import ec.tstoolkit.data.DataBlock;
 import ec.tstoolkit.design.Development;
-import ec.tstoolkit.maths.Complex;
-import ec.tstoolkit.maths.Fft;
+import ec.tstoolkit.maths.FftPlan;
 import ec.tstoolkit.utilities.Arrays2;
 
 /**
@@ -169,28 +168,32 @@ public final class Toeplitz
 	    x.mul(0, m_r[0]);
 	else {
 	    // By FFT.
-	    // circulant matrix
+	    // circulant matrix (first column: r(0), ..., r(n-1), 0, ..., 0,
+	    // r(n-1), ..., r(1))
 	    int nc = 2 * n - 2;
 	    // DFT length:
-	    int q = 2;
-	    while (q < nc)
-		q <<= 1;
-	    Complex[] fx = new Complex[q];
-	    Complex[] fr = new Complex[q];
+	    int q = FftPlan.fastLength(nc), h = q / 2;
+	    double[] fx = new double[q];
+	    double[] fr = new double[q];
 	    for (int i = 0; i < n; ++i) {
-		fx[i] = Complex.cart(x.get(i));
-		fr[i] = Complex.cart(m_r[i]);
+		fx[i] = x.get(i);
+		fr[i] = m_r[i];
 	    }
-	    for (int i = n - 2, j = n; i > 0; --i, ++j)
-		fr[j] = Complex.cart(m_r[i]);
-	    Fft fft = new Fft();
-	    fft.transform(fx);
-	    fft.transform(fr);
-	    for (int i = 0; i < q; ++i)
-		fx[i] = fx[i].times(fr[i]);
-	    fft.backTransform(fx);
+	    for (int i = 1; i < n; ++i)
+		fr[q - i] = m_r[i];
+	    FftPlan fft = FftPlan.of(q);
+	    double[] xre = new double[h + 1], xim = new double[h + 1];
+	    double[] rre = new double[h + 1], rim = new double[h + 1];
+	    fft.realTransform(fx, xre, xim);
+	    fft.realTransform(fr, rre, rim);
+	    for (int i = 0; i <= h; ++i) {
+		double re = xre[i] * rre[i] - xim[i] * rim[i];
+		xim[i] = xre[i] * rim[i] + xim[i] * rre[i];
+		xre[i] = re;
+	    }
+	    fft.realBackTransform(xre, xim, fx);
 	    for (int i = 0; i < n; ++i)
-		x.set(i, fx[i].getRe());
+		x.set(i, fx[i]);
 	}
 
     }
@@ -17,6 +17,7 @@
 
 package ec.tstoolkit.maths.realfunctions;
 
+import ec.tstoolkit.algorithm.SolverMetrics;
 import ec.tstoolkit.data.IReadDataBlock;
 import ec.tstoolkit.data.DataBlock;
 import ec.tstoolkit.data.DataBlockIterator;
@@ -252,6 +253,7 @@ public class QRMarquardt implements ISsqFunctionMinimizer {
     protected boolean iterate(boolean bnewval) {
 
         ++m_niter;
+        SolverMetrics.increment(SolverMetrics.Counter.OptimizerIterations);
         int ne = m_e.length, n = m_beta.length;
         int nc = ne + n;
 
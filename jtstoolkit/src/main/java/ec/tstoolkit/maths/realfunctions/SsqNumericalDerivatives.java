@@ -16,6 +16,7 @@
  */
 package ec.tstoolkit.maths.realfunctions;
 
+import ec.tstoolkit.algorithm.ProcessingExecutor;
 import ec.tstoolkit.data.IReadDataBlock;
 import ec.tstoolkit.data.DataBlock;
 import ec.tstoolkit.design.Development;
@@ -25,8 +26,6 @@ import ec.tstoolkit.maths.matrices.SymmetricMatrix;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.RecursiveAction;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
@@ -39,7 +38,6 @@ import java.util.logging.Logger;
 @Development(status = Development.Status.Alpha)
 public class SsqNumericalDerivatives implements ISsqFunctionDerivatives {
 
-    private static final int nThreads = Runtime.getRuntime().availableProcessors();
 
     private double[] m_epsp;
     private double[][] m_ep;
@@ -113,10 +111,8 @@ public class SsqNumericalDerivatives implements ISsqFunctionDerivatives {
                 }
             }
             List<Callable<Void>> tasks = createTasks(n, m_sym);
-            ExecutorService executorService = Executors.newFixedThreadPool(nThreads);
             try {
-                executorService.invokeAll(tasks);
-                executorService.shutdown();
+                ProcessingExecutor.getDefault().invokeAll(tasks);
             } catch (InterruptedException ex) {
                 Thread.currentThread().interrupt();
             }
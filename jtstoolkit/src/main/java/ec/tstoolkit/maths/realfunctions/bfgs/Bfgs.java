@@ -17,6 +17,7 @@
 
 package ec.tstoolkit.maths.realfunctions.bfgs;
 
+import ec.tstoolkit.algorithm.SolverMetrics;
 import ec.tstoolkit.data.DataBlock;
 import ec.tstoolkit.data.DataBlockIterator;
 import ec.tstoolkit.data.IReadDataBlock;
@@ -296,6 +297,7 @@ public class Bfgs implements IFunctionMinimizer {
         while (iterate() && m_iter < m_maxiter) {
             ++m_iter;
         }
+        SolverMetrics.add(SolverMetrics.Counter.OptimizerIterations, m_iter);
 
         return true;
     }
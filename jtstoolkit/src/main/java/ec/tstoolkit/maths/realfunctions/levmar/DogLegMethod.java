@@ -17,6 +17,7 @@
 
 package ec.tstoolkit.maths.realfunctions.levmar;
 
+import ec.tstoolkit.algorithm.SolverMetrics;
 import ec.tstoolkit.data.DataBlock;
 import ec.tstoolkit.data.DescriptiveStatistics;
 import ec.tstoolkit.data.IReadDataBlock;
@@ -300,6 +301,7 @@ public class DogLegMethod implements ISsqFunctionMinimizer {
         while (iterate() && iter < itmax) {
             ++iter;
         }
+        SolverMetrics.add(SolverMetrics.Counter.OptimizerIterations, iter);
         return (stop != 7 && stop != 4);
     }
 }
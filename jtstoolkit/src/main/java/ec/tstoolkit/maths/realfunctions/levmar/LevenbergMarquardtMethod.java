@@ -18,6 +18,8 @@ package ec.tstoolkit.maths.realfunctions.levmar;
 
 import ec.tstoolkit.algorithm.IProcessingHook;
 import ec.tstoolkit.algorithm.ProcessingHookProvider;
+import ec.tstoolkit.algorithm.ProcessingMetrics;
+import ec.tstoolkit.algorithm.SolverMetrics;
 import ec.tstoolkit.data.DataBlock;
 import ec.tstoolkit.data.DescriptiveStatistics;
 import ec.tstoolkit.data.IReadDataBlock;
@@ -322,6 +324,8 @@ public class LevenbergMarquardtMethod extends ProcessingHookProvider<LevenbergMa
                 break;
             }
         }
+        ProcessingMetrics.count("levmar.iterations", iter);
+        SolverMetrics.add(SolverMetrics.Counter.OptimizerIterations, iter);
         //validate();
         return (stop != 7 && stop != 4);
     }
@@ -20,6 +20,8 @@ package ec.tstoolkit.maths.realfunctions.riso;
 
 import ec.tstoolkit.algorithm.IProcessingHook;
 import ec.tstoolkit.algorithm.ProcessingHookProvider;
+import ec.tstoolkit.algorithm.ProcessingMetrics;
+import ec.tstoolkit.algorithm.SolverMetrics;
 import ec.tstoolkit.data.DataBlock;
 import ec.tstoolkit.data.IReadDataBlock;
 import ec.tstoolkit.maths.matrices.Matrix;
@@ -200,6 +202,8 @@ public class LbfgsMinimizer extends ProcessingHookProvider<LbfgsMinimizer, IFunc
                 failed = true;
             }
         } while (next(failed, success));
+        ProcessingMetrics.count("lbfgs.iterations", m_lbfgs.getNIter());
+        SolverMetrics.add(SolverMetrics.Counter.OptimizerIterations, m_lbfgs.getNIter());
         return m_converged;
     }
 
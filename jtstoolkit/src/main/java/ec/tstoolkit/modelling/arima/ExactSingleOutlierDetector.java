@@ -200,13 +200,19 @@ public class ExactSingleOutlierDetector<T extends IArimaModel> extends AbstractS
         getModel().getDifferencingFilter().filter(O, OD);
 
         DataBlock OL = new DataBlock(od, n, 2 * n - d, 1);
+        // work buffers, shared by all the positions (they are completely
+        // overwritten at each step)
+        double[] u = new double[m_n];
+        DataBlock U = new DataBlock(u);
+        double[] l = null;
+        DataBlock L = null, W = null;
+        if (m_L != null) {
+            l = new double[m_b.length];
+            L = new DataBlock(l);
+            W = new DataBlock(m_w);
+        }
         for (int i = 0; i < n; ++i) {
             if (isDefined(i, idx)) {
-//                double[] ol = new double[n - d];
-//                DataBlock OL = new DataBlock(ol);
-//                System.arraycopy(od, n - i , ol, 0, ol.length);
-                double[] u = new double[m_n];
-                DataBlock U = new DataBlock(u);
                 m_filter.filter(OL, U);
                 double xx = 0, xy = 0;
                 for (int j = 0; j < u.length; ++j) {
@@ -215,13 +221,11 @@ public class ExactSingleOutlierDetector<T extends IArimaModel> extends AbstractS
                 }
 
                 if (m_L != null) {
-                    double[] l = new double[m_b.length];
                     DataBlockIterator xcols = m_X.columns();
                     DataBlock xcol = xcols.getData();
                     do {
                         l[xcols.getPosition()] = xcol.dot(U);
                     } while (xcols.next());
-                    DataBlock L = new DataBlock(l);
                     // K=A^-1*L
                     // lA * lA' * K = L
                     // l'AA^-1l = |l' * lA'^-1|
@@ -234,7 +238,7 @@ public class ExactSingleOutlierDetector<T extends IArimaModel> extends AbstractS
                         exclude(i, idx);
                     } else {
                         LowerTriangularMatrix.lsolve(m_L, l);
-                        setT(i, idx, (xy - new DataBlock(m_w).dot(L))
+                        setT(i, idx, (xy - W.dot(L))
                                 / (Math.sqrt(c)) / getMAD());
                     }
                 } else if (xx <= 0) {
@@ -16,6 +16,8 @@
  */
 package ec.tstoolkit.modelling.arima.tramo;
 
+import ec.tstoolkit.algorithm.ProcessingExecutor;
+import ec.tstoolkit.algorithm.ProcessingMetrics;
 import ec.tstoolkit.arima.estimation.ArmaKF;
 import ec.tstoolkit.data.DataBlock;
 import ec.tstoolkit.data.IReadDataBlock;
@@ -27,7 +29,11 @@ import ec.tstoolkit.sarima.SarimaModel;
 import ec.tstoolkit.sarima.SarimaSpecification;
 import ec.tstoolkit.sarima.SarmaSpecification;
 import ec.tstoolkit.sarima.estimation.HannanRissanen;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinTask;
 
 /**
  *
@@ -159,7 +165,10 @@ public class ArmaModule implements IPreprocessingModule {
     private boolean m_bforced = false;
     private final int m_nmod;
     private static final int NMOD = 5;
+    // minimum number of candidate models for a parallel evaluation
+    private static final int MT_MIN = 4;
     private boolean acceptwn = false;
+    private boolean m_mt = true;
 
     @Override
     public ProcessingResult process(ModellingContext context) {
@@ -276,6 +285,20 @@ public class ArmaModule implements IPreprocessingModule {
         return this.acceptwn;
     }
 
+    /**
+     * The candidate models are evaluated concurrently (by means of the shared
+     * ProcessingExecutor). The selection doesn't depend on that option.
+     *
+     * @param mt
+     */
+    public void setMultiThreading(boolean mt) {
+        m_mt = mt;
+    }
+
+    public boolean isMultiThreading() {
+        return m_mt;
+    }
+
     /**
      *
      * @return
@@ -458,16 +481,17 @@ public class ArmaModule implements IPreprocessingModule {
      */
     public int sort(final IReadDataBlock data, final SarmaSpecification[] specs) {
         m_hrs = null;
+        // the initial innovations are shared by all the candidates
+        HannanRissanen.Innovations innovations = new HannanRissanen.Innovations(data);
+        HRBic[] all = evaluate(innovations, specs);
+        ProcessingMetrics.count("arma.candidates", specs.length);
+        // the models are kept in the order of the specifications, so that
+        // the (stable) sort gives the same result as a sequential evaluation
         HRBic[] hrs = new HRBic[specs.length];
         int n = 0;
-        for (int i = 0; i < specs.length; ++i) {
-            HannanRissanen hr = new HannanRissanen();
-            if (hr.process(data, specs[i])) {
-                SarimaModel m = hr.getModel();
-                if (!m.adjustSpecification() && m.isStable(true)) {
-                    HRBic hrbic = new HRBic(hr);
-                    hrs[n++] = hrbic;
-                }
+        for (int i = 0; i < all.length; ++i) {
+            if (all[i] != null) {
+                hrs[n++] = all[i];
             }
         }
         if (n == 0) {
@@ -482,6 +506,41 @@ public class ArmaModule implements IPreprocessingModule {
         return n;
     }
 
+    private HRBic[] evaluate(final HannanRissanen.Innovations innovations, final SarmaSpecification[] specs) {
+        HRBic[] hrs = new HRBic[specs.length];
+        ProcessingExecutor executor = ProcessingExecutor.getDefault();
+        if (m_mt && specs.length >= MT_MIN && executor.getParallelism() > 1) {
+            List<Callable<HRBic>> tasks = new ArrayList<>(specs.length);
+            for (SarmaSpecification spec : specs) {
+                tasks.add(() -> evaluate(innovations, spec));
+            }
+            try {
+                List<ForkJoinTask<HRBic>> rslts = executor.invokeAll(tasks);
+                for (int i = 0; i < hrs.length; ++i) {
+                    hrs[i] = rslts.get(i).join();
+                }
+                return hrs;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        for (int i = 0; i < specs.length; ++i) {
+            hrs[i] = evaluate(innovations, specs[i]);
+        }
+        return hrs;
+    }
+
+    private static HRBic evaluate(final HannanRissanen.Innovations innovations, final SarmaSpecification spec) {
+        HannanRissanen hr = new HannanRissanen();
+        if (hr.process(innovations, spec)) {
+            SarimaModel m = hr.getModel();
+            if (!m.adjustSpecification() && m.isStable(true)) {
+                return new HRBic(hr);
+            }
+        }
+        return null;
+    }
+
     private SarmaSpecification getPreferredSpecification() {
         if (m_hrs.length == 1) {
             return m_hrs[0].m_hr.getSpec().clone();
@@ -531,6 +590,7 @@ public class ArmaModule implements IPreprocessingModule {
             }
 
             ArmaModule step0 = new ArmaModule();
+            step0.setMultiThreading(m_mt);
             nmax = step0.sort(data, specs);
             if (0 == nmax) {
                 for (int i = 0; i < specs.length; ++i) {
@@ -560,6 +620,7 @@ public class ArmaModule implements IPreprocessingModule {
         }
 
         ArmaModule step1 = new ArmaModule();
+        step1.setMultiThreading(m_mt);
         nmax = step1.sort(data, specs);
         if (0 == nmax) {
             return null;
@@ -581,6 +642,7 @@ public class ArmaModule implements IPreprocessingModule {
             }
 
             step2 = new ArmaModule();
+            step2.setMultiThreading(m_mt);
             if (0 == step2.sort(data, specs)) {
                 return null;
             }
@@ -17,6 +17,7 @@
 
 package ec.tstoolkit.modelling.arima.tramo;
 
+import ec.tstoolkit.algorithm.ProcessingMetrics;
 import ec.tstoolkit.design.Development;
 import ec.tstoolkit.modelling.arima.IPreprocessingModule;
 import ec.tstoolkit.modelling.arima.ModelEstimation;
@@ -45,6 +46,12 @@ public class AutomaticModelIdentification extends AbstractTramoModule implements
 
     @Override
     public ProcessingResult process(ModellingContext context) {
+        try (ProcessingMetrics.Stage stage = ProcessingMetrics.stage("automodel")) {
+            return identify(context);
+        }
+    }
+
+    private ProcessingResult identify(ModellingContext context) {
         if (context.estimation == null){
             ModelEstimation estimation =new ModelEstimation(context.description.buildRegArima(),
                     context.description.getLikelihoodCorrection());
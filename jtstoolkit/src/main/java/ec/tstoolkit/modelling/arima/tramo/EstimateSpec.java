@@ -36,17 +36,19 @@ public class EstimateSpec implements Cloneable, InformationSetSerializable {
     public static final String SPAN = "span",
             EML = "eml",
             TOL = "tol",
-            UBP = "ubp";
+            UBP = "ubp",
+            WARMSTART = "warmstart";
     
     public static void fillDictionary(String prefix, Map<String, Class> dic) {
         dic.put(InformationSet.item(prefix, EML), Boolean.class);
         dic.put(InformationSet.item(prefix, TOL), Double.class);
         dic.put(InformationSet.item(prefix, UBP), Double.class);
         dic.put(InformationSet.item(prefix, SPAN), TsPeriodSelector.class);
+        dic.put(InformationSet.item(prefix, WARMSTART), Boolean.class);
     }
 
     private TsPeriodSelector span_ = new TsPeriodSelector();
-    private boolean eml_ = true;
+    private boolean eml_ = true, warmstart_;
     private double tol_ = DEF_TOL, ubp_ = DEF_UBP;
     public static final double DEF_TOL = 1e-7, DEF_UBP = .96;
 
@@ -58,6 +60,7 @@ public class EstimateSpec implements Cloneable, InformationSetSerializable {
         eml_ = true;
         tol_ = DEF_TOL;
         ubp_ = DEF_UBP;
+        warmstart_ = false;
     }
 
     public TsPeriodSelector getSpan() {
@@ -99,8 +102,25 @@ public class EstimateSpec implements Cloneable, InformationSetSerializable {
         ubp_ = value;
     }
 
+    /**
+     * When set, the ARIMA parameters given as initial values are re-estimated
+     * from those values, even if the model is otherwise fully specified.
+     * Otherwise, such a model is only refined by one iteration of the
+     * optimizer (default).
+     *
+     * @return
+     * @since 2.2.4
+     */
+    public boolean isWarmStart() {
+        return warmstart_;
+    }
+
+    public void setWarmStart(boolean value) {
+        warmstart_ = value;
+    }
+
     public boolean isDefault() {
-        return eml_ && tol_ == DEF_TOL && ubp_ == DEF_UBP && span_.getType() == PeriodSelectorType.All;
+        return !warmstart_ && eml_ && tol_ == DEF_TOL && ubp_ == DEF_UBP && span_.getType() == PeriodSelectorType.All;
     }
 
     @Override
@@ -120,6 +140,7 @@ public class EstimateSpec implements Cloneable, InformationSetSerializable {
         hash = 13 * hash + (this.eml_ ? 1 : 0);
         hash = 13 * hash + Jdk6.Double.hashCode(this.tol_);
         hash = 13 * hash + Jdk6.Double.hashCode(this.ubp_);
+        hash = 13 * hash + (this.warmstart_ ? 1 : 0);
         return hash;
     }
 
@@ -129,7 +150,7 @@ public class EstimateSpec implements Cloneable, InformationSetSerializable {
     }
 
     private boolean equals(EstimateSpec other) {
-        return eml_ == other.eml_ && tol_ == other.tol_ && ubp_ == other.ubp_ && Objects.equals(other.span_, span_);
+        return eml_ == other.eml_ && warmstart_ == other.warmstart_ && tol_ == other.tol_ && ubp_ == other.ubp_ && Objects.equals(other.span_, span_);
     }
 
     @Override
@@ -150,6 +171,9 @@ public class EstimateSpec implements Cloneable, InformationSetSerializable {
         if (verbose || ubp_ != DEF_UBP) {
             info.add(UBP, ubp_);
         }
+        if (verbose || warmstart_) {
+            info.add(WARMSTART, warmstart_);
+        }
         return info;
     }
 
@@ -173,6 +197,10 @@ public class EstimateSpec implements Cloneable, InformationSetSerializable {
             if (eml != null) {
                 eml_ = eml;
             }
+            Boolean warmstart = info.get(WARMSTART, Boolean.class);
+            if (warmstart != null) {
+                warmstart_ = warmstart;
+            }
 
             return true;
         } catch (Exception err) {
@@ -17,6 +17,7 @@
 package ec.tstoolkit.modelling.arima.tramo;
 
 import ec.tstoolkit.algorithm.ProcessingInformation;
+import ec.tstoolkit.algorithm.ProcessingMetrics;
 import ec.tstoolkit.arima.estimation.RegArimaEstimation;
 import ec.tstoolkit.arima.estimation.RegArimaModel;
 import ec.tstoolkit.data.DataBlock;
@@ -79,6 +80,14 @@ public class OutliersDetector implements IOutliersDetectionModule {
 
     @Override
     public ProcessingResult process(ModellingContext context) {
+        try (ProcessingMetrics.Stage stage = ProcessingMetrics.stage("outliers")) {
+            ProcessingResult rslt = detect(context);
+            ProcessingMetrics.count("outliers.rounds", round_);
+            return rslt;
+        }
+    }
+
+    private ProcessingResult detect(ModellingContext context) {
         clear();
         List<OutlierDefinition> initial = OutlierDefinition.of(context.description.getOutliers());
         if (curcv_ == 0) {
@@ -81,8 +81,14 @@ public class SingleOutlierDetector {
         }
         m_c = 0;
         m_tmax = 0;
+        // shared by all the outlier types
+        RationalBackFilter pi = m_model.getPiWeights();
+        double[] cel = null;
         for (int i = 0; i < getOutlierFactoriesCount(); ++i) {
-            processOutlier(i);
+            if (cel == null && needCorrection(i)) {
+                cel = cumulatedResiduals();
+            }
+            processOutlier(i, pi, cel);
         }
         return m_tmax > 0;
     }
@@ -320,19 +326,41 @@ public class SingleOutlierDetector {
         return calc(sty);
     }
 
-    private void processOutlier(int idx) {
+    private boolean needCorrection(int idx) {
+        if (m_ur.getDegree() != 0) {
+            return false;
+        }
+        IOutlierVariable outlier = getOutlierFactory(idx).create(
+                getDomain().getStart());
+        IOutlierVariable.FilterRepresentation representation = outlier.getFilterRepresentation(m_stmodel.getFrequency());
+        return representation != null && representation.correction != 0;
+    }
+
+    /**
+     * cel[k] = el[0] + ... + el[k-1]. The partial sums are accumulated in the
+     * same order as a direct summation, so that the results are unchanged.
+     */
+    private double[] cumulatedResiduals() {
+        double[] cel = new double[m_el.length + 1];
+        double s = 0;
+        for (int k = 0; k < m_el.length; ++k) {
+            cel[k] = s;
+            s += m_el[k];
+        }
+        cel[m_el.length] = s;
+        return cel;
+    }
+
+    private void processOutlier(int idx, RationalBackFilter pi, double[] cel) {
         int nl = m_el.length;
         int d = m_ur.getDegree();
         int n = nl + d;
-//        double[] o = new double[n];
-//        DataBlock O = new DataBlock(o);
         IOutlierVariable outlier = getOutlierFactory(idx).create(
                 getDomain().getStart());
         IOutlierVariable.FilterRepresentation representation = outlier.getFilterRepresentation(m_stmodel.getFrequency());
         if (representation == null) {
             return;
         }
-        RationalBackFilter pi = m_model.getPiWeights();
         double[] o = pi.times(representation.filter).getWeights(n);
         double corr = 0;
         if (d == 0 && representation.correction != 0) {
@@ -367,7 +395,8 @@ public class SingleOutlierDetector {
                     sxx += corr * corr;
                 }
             }
-            if (!ok[n - 1 - ix]) {
+            int pos = n - 1 - ix;
+            if (!ok[pos] || pos < m_lbound || pos >= m_ubound) {
                 continue;
             }
             double sxy = 0;
@@ -375,23 +404,16 @@ public class SingleOutlierDetector {
                 sxy += m_el[ek] * o[ix - k];
             }
             if (corr != 0) {
-                double cxy = 0;
-                for (int k = 0; k < nl - kmax; ++k) {
-                    cxy += m_el[k];
-                }
-                sxy += cxy * corr;
+                sxy += cel[nl - kmax] * corr;
             }
-            int pos = n - 1 - ix;
-            if (pos >= m_lbound && pos < m_ubound) {
-                double c = sxy / sxx;
-                double val = c * Math.sqrt(sxx) / rmse;
-                double aval = Math.abs(val);
-                if (aval > m_tmax) {
-                    m_tmax = aval;
-                    m_c = c;
-                    m_posmax = n - 1 - ix;
-                    m_omax = idx;
-                }
+            double c = sxy / sxx;
+            double val = c * Math.sqrt(sxx) / rmse;
+            double aval = Math.abs(val);
+            if (aval > m_tmax) {
+                m_tmax = aval;
+                m_c = c;
+                m_posmax = pos;
+                m_omax = idx;
             }
         }
     }
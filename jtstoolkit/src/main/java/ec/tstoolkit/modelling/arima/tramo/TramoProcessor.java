@@ -69,6 +69,11 @@ public class TramoProcessor extends AbstractTramoModule implements IPreprocessor
     public FinalEstimator finalizer;
     public List<IModelController> controllers = new ArrayList<>();
     public IModelController benchmarking;
+    /**
+     * Re-estimation of the initial values of the ARIMA parameters of fully
+     * specified models (see EstimateSpec.isWarmStart)
+     */
+    public boolean warmStart;
     private final IModelBuilder defaultBuilder = new DefaultModelBuilder();
     private boolean mu_, pass3_;
     private boolean dfm_;
@@ -116,8 +121,9 @@ public class TramoProcessor extends AbstractTramoModule implements IPreprocessor
                 return null;
             }
 
-            if (context.description.isFullySpecified() && outliers == null) {
-                // nothing to do
+            if (context.description.isFullySpecified() && outliers == null
+                    && !(warmStart && context.description.getArimaComponent().hasInitialParameters())) {
+                // nothing to do (except for a warm start from initial parameters)
                 IParametricMapping<SarimaModel> mapping = context.description.defaultMapping();
                 ModelDescription model = context.description;
                 RegArimaModel<SarimaModel> regarima = model.buildRegArima();
@@ -593,6 +593,7 @@ public class TramoSpecification implements Cloneable, IRegArimaSpecification {
         TramoProcessor tramo = new TramoProcessor();
         // span
         tramo.estimationSpan = estimate_.getSpan();
+        tramo.warmStart = estimate_.isWarmStart();
         // model builder
         tramo.builder = new TramoModelBuilder(this, context);
 
@@ -102,6 +102,14 @@ public class Peaks {
         DescriptiveStatistics bs = new DescriptiveStatistics(x);
         double an = x.getLength() - bs.getMissingValuesCount();
         double bn = 1.0 / an;
+        if (x == y) {
+            // auto-covariances: the sums are computed by FFT when it is cheaper
+            double[] s = DescriptiveStatistics.laggedProducts(Cxx.length, x.internalStorage());
+            for (int i = 0; i < Cxx.length; i++) {
+                Cxx[i] = s[i] * bn;
+            }
+            return;
+        }
         double ct0 = 0.0;
         for (int i = 0; i < Cxx.length; i++) {
             double t = ct0;
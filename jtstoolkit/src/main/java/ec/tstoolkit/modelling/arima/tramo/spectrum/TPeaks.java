@@ -17,6 +17,7 @@
 
 package ec.tstoolkit.modelling.arima.tramo.spectrum;
 
+import ec.tstoolkit.maths.FftPlan;
 import ec.tstoolkit.timeseries.simplets.TsData;
 import ec.tstoolkit.timeseries.simplets.TsFrequency;
 import java.util.Arrays;
@@ -108,12 +109,18 @@ public class TPeaks {
         for (int i = 0; i < Win_Size; i++) {
             spect[0] += Cxx[i] * window[i];
         }
+        // spect[i] is the real part of the discrete Fourier transform of
+        // Cxx[0]*window[0], 2*Cxx[1]*window[1], ..., 2*Cxx[Win_Size-1]*window[Win_Size-1]
+        // (real transformation: re[Win_Size-i] = re[i])
+        double[] x = new double[Win_Size], re = new double[Win_Size / 2 + 1], im = new double[Win_Size / 2 + 1];
+        x[0] = Cxx[0] * window[0];
+        for (int j = 1; j < Win_Size; j++) {
+            x[j] = 2.0 * Cxx[j] * window[j];
+        }
+        FftPlan.of(Win_Size).realTransform(x, re, im);
         for (int i = 1; i <= Win_Size / 2 + 1; i++) {
-            spect[i] = Cxx[0] * window[0];
-            for (int j = 1; j < Win_Size; j++) {
-                spect[i] += 2.0 * Cxx[j] * window[j] * Math.cos((Math.PI * 2.0 * j * i / Win_Size));
-            }
-
+            int j = i % Win_Size;
+            spect[i] = re[Math.min(j, Win_Size - j)];
         }
     }
 
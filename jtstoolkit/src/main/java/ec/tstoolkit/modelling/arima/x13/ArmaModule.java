@@ -16,6 +16,8 @@
  */
 package ec.tstoolkit.modelling.arima.x13;
 
+import ec.tstoolkit.algorithm.ProcessingExecutor;
+import ec.tstoolkit.algorithm.ProcessingMetrics;
 import ec.tstoolkit.arima.estimation.RegArimaEstimation;
 import ec.tstoolkit.arima.estimation.RegArimaModel;
 import ec.tstoolkit.data.DataBlock;
@@ -29,6 +31,8 @@ import ec.tstoolkit.sarima.estimation.GlsSarimaMonitor;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinTask;
 
 /**
  *
@@ -96,6 +100,9 @@ public class ArmaModule {
     private boolean m_bforced = false;
     private int m_nmod = 5;
     private double eps_ = 1e-5;
+    private boolean m_mt = true;
+    // minimum number of candidate models for a parallel evaluation
+    private static final int MT_MIN = 4;
 
     public double getEpsilon() {
         return eps_;
@@ -121,6 +128,20 @@ public class ArmaModule {
         return mixed_;
     }
 
+    /**
+     * The candidate models are evaluated concurrently (by means of the shared
+     * ProcessingExecutor). The selection doesn't depend on that option.
+     *
+     * @param mt
+     */
+    public void setMultiThreading(boolean mt) {
+        m_mt = mt;
+    }
+
+    public boolean isMultiThreading() {
+        return m_mt;
+    }
+
     /**
      *
      */
@@ -321,11 +342,10 @@ public class ArmaModule {
      * @return
      */
     public int sort(final DataBlock data, final SarmaSpecification[] specs) {
-        m_est = new RegArmaBic[specs.length];
-        for (int i = 0; i < specs.length; ++i) {
-            m_est[i] = new RegArmaBic(data, specs[i], eps_);
-        }
-
+        m_est = evaluate(data, specs);
+        ProcessingMetrics.count("arma.candidates", specs.length);
+        // the estimations are in the order of the specifications, so that
+        // the (stable) sort gives the same result as a sequential evaluation
         Arrays.sort(m_est);
         for (int i = m_est.length; i > 0; --i) {
             if (m_est[i - 1].getBIC() != NO_BIC) {
@@ -335,6 +355,32 @@ public class ArmaModule {
         return 0;
     }
 
+    private RegArmaBic[] evaluate(final DataBlock data, final SarmaSpecification[] specs) {
+        RegArmaBic[] est = new RegArmaBic[specs.length];
+        ProcessingExecutor executor = ProcessingExecutor.getDefault();
+        if (m_mt && specs.length >= MT_MIN && executor.getParallelism() > 1) {
+            final double eps = eps_;
+            List<Callable<RegArmaBic>> tasks = new ArrayList<>(specs.length);
+            for (SarmaSpecification spec : specs) {
+                // the data are only read by the estimations
+                tasks.add(() -> new RegArmaBic(data, spec, eps));
+            }
+            try {
+                List<ForkJoinTask<RegArmaBic>> rslts = executor.invokeAll(tasks);
+                for (int i = 0; i < est.length; ++i) {
+                    est[i] = rslts.get(i).join();
+                }
+                return est;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        for (int i = 0; i < specs.length; ++i) {
+            est[i] = new RegArmaBic(data, specs[i], eps_);
+        }
+        return est;
+    }
+
     /**
      *
      * @param data
@@ -377,6 +423,7 @@ public class ArmaModule {
             SarmaSpecification[] specs0 = lspecs0.toArray(new SarmaSpecification[lspecs0.size()]);
 
             ArmaModule step0 = new ArmaModule();
+            step0.setMultiThreading(m_mt);
             nmax = step0.sort(data, specs0);
             if (0 == nmax) {
                 return null;
@@ -399,6 +446,7 @@ public class ArmaModule {
         SarmaSpecification[] specs1 = lspecs1.toArray(new SarmaSpecification[lspecs1.size()]);
 
         ArmaModule step1 = new ArmaModule();
+        step1.setMultiThreading(m_mt);
         nmax = step1.sort(data, specs1);
         if (0 == nmax) {
             return null;
@@ -427,6 +475,7 @@ public class ArmaModule {
             SarmaSpecification[] specs2 = lspecs2.toArray(new SarmaSpecification[lspecs2.size()]);
 
             step2 = new ArmaModule();
+            step2.setMultiThreading(m_mt);
             if (0 == step2.sort(data, specs2)) {
                 return null;
             }
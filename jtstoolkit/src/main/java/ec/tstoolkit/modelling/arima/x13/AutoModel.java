@@ -17,6 +17,7 @@
 
 package ec.tstoolkit.modelling.arima.x13;
 
+import ec.tstoolkit.algorithm.ProcessingMetrics;
 import ec.tstoolkit.data.DataBlock;
 import ec.tstoolkit.maths.linearfilters.BackFilter;
 import ec.tstoolkit.modelling.arima.IPreprocessingModule;
@@ -66,6 +67,12 @@ public class AutoModel implements IPreprocessingModule {
 
     @Override
     public ProcessingResult process(ModellingContext context) {
+        try (ProcessingMetrics.Stage stage = ProcessingMetrics.stage("automodel")) {
+            return identify(context);
+        }
+    }
+
+    private ProcessingResult identify(ModellingContext context) {
         int freq = context.description.getFrequency();
         if (context.estimation == null) {
             return ProcessingResult.Failed;
@@ -31,15 +31,18 @@ import java.util.Objects;
 public class EstimateSpec implements Cloneable, InformationSetSerializable {
 
     public static final String SPAN = "span",
-            TOL = "tol";
+            TOL = "tol",
+            WARMSTART = "warmstart";
 
     public static void fillDictionary(String prefix, Map<String, Class> dic) {
         dic.put(InformationSet.item(prefix, TOL), Double.class);
         dic.put(InformationSet.item(prefix, SPAN), TsPeriodSelector.class);
+        dic.put(InformationSet.item(prefix, WARMSTART), Boolean.class);
     }
 
     private TsPeriodSelector span_ = new TsPeriodSelector();
     private double tol_ = DEF_TOL;
+    private boolean warmstart_;
     public static final double DEF_TOL = 1e-7;
 
     public EstimateSpec() {
@@ -48,10 +51,12 @@ public class EstimateSpec implements Cloneable, InformationSetSerializable {
     public void reset() {
         span_ = new TsPeriodSelector();
         tol_ = DEF_TOL;
+        warmstart_ = false;
     }
 
     public EstimateSpec(EstimateSpec spec) {
         tol_ = spec.tol_;
+        warmstart_ = spec.warmstart_;
     }
 
     public TsPeriodSelector getSpan() {
@@ -74,14 +79,32 @@ public class EstimateSpec implements Cloneable, InformationSetSerializable {
         tol_ = value;
     }
 
+    /**
+     * When set, the ARIMA parameters given as initial values are re-estimated
+     * from those values, even if the model is otherwise fully specified.
+     * Otherwise, such a model is only refined by one iteration of the
+     * optimizer (default).
+     *
+     * @return
+     * @since 2.2.4
+     */
+    public boolean isWarmStart() {
+        return warmstart_;
+    }
+
+    public void setWarmStart(boolean value) {
+        warmstart_ = value;
+    }
+
     public boolean isDefault() {
-        return tol_ == DEF_TOL && span_.getType() == PeriodSelectorType.All;
+        return !warmstart_ && tol_ == DEF_TOL && span_.getType() == PeriodSelectorType.All;
     }
 
     @Override
     public int hashCode() {
         int hash = 3;
         hash = 29 * hash + Jdk6.Double.hashCode(this.tol_);
+        hash = 29 * hash + (this.warmstart_ ? 1 : 0);
         return hash;
     }
 
@@ -102,7 +125,7 @@ public class EstimateSpec implements Cloneable, InformationSetSerializable {
     }
 
     private boolean equals(EstimateSpec other) {
-        return other.tol_ == tol_ && Objects.equals(other.span_, span_);
+        return other.tol_ == tol_ && other.warmstart_ == warmstart_ && Objects.equals(other.span_, span_);
     }
 
     @Override
@@ -117,6 +140,9 @@ public class EstimateSpec implements Cloneable, InformationSetSerializable {
         if (verbose || tol_ != DEF_TOL) {
             info.add(TOL, tol_);
         }
+        if (verbose || warmstart_) {
+            info.add(WARMSTART, warmstart_);
+        }
         return info;
     }
 
@@ -132,6 +158,10 @@ public class EstimateSpec implements Cloneable, InformationSetSerializable {
             if (tol != null) {
                 tol_ = tol;
             }
+            Boolean warmstart = info.get(WARMSTART, Boolean.class);
+            if (warmstart != null) {
+                warmstart_ = warmstart;
+            }
             return true;
         } catch (Exception err) {
             return false;
@@ -16,6 +16,7 @@
  */
 package ec.tstoolkit.modelling.arima.x13;
 
+import ec.tstoolkit.algorithm.ProcessingMetrics;
 import ec.tstoolkit.arima.estimation.AnsleyFilter;
 import ec.tstoolkit.arima.estimation.RegArimaModel;
 import ec.tstoolkit.data.DataBlock;
@@ -140,6 +141,14 @@ public class OutliersDetector implements IOutliersDetectionModule {
 
     @Override
     public ProcessingResult process(ModellingContext context) {
+        try (ProcessingMetrics.Stage stage = ProcessingMetrics.stage("outliers")) {
+            ProcessingResult rslt = detect(context);
+            ProcessingMetrics.count("outliers.rounds", m_round);
+            return rslt;
+        }
+    }
+
+    private ProcessingResult detect(ModellingContext context) {
         try {
             clear();
             if (curcv_ == 0) {
@@ -446,6 +446,7 @@ public class RegArimaSpecification implements IRegArimaSpecification, Cloneable
         X13Preprocessor x13 = new X13Preprocessor();
         // span
         x13.estimateSpan = estimate_.getSpan();
+        x13.warmStart = estimate_.isWarmStart();
         // model builder
         x13.builder = new X13ModelBuilder(this, context);
 
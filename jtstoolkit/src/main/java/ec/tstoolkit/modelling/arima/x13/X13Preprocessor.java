@@ -59,6 +59,11 @@ public class X13Preprocessor implements IPreprocessor {
     public IPreprocessingModule regressionTest1 = new RegressionVariablesTest(RegressionVariablesTest.CVAL, RegressionVariablesTest.TSIG);
     public IModelEstimator estimator;
     public IModelEstimator finalizer = new FinalEstimator();
+    /**
+     * Re-estimation of the initial values of the ARIMA parameters of fully
+     * specified models (see EstimateSpec.isWarmStart)
+     */
+    public boolean warmStart;
     private double pcr_ = .95, cpcr_;
     private double plbox_, rvr_, rtval_;
     private int refsens_;
@@ -110,8 +115,9 @@ public class X13Preprocessor implements IPreprocessor {
                     return null;
                 }
             }
-            if (context.description.isFullySpecified() && outliers == null) {
-                // nothing to do
+            if (context.description.isFullySpecified() && outliers == null
+                    && !(warmStart && context.description.getArimaComponent().hasInitialParameters())) {
+                // nothing to do (except for a warm start from initial parameters)
                 IParametricMapping<SarimaModel> mapping = context.description.defaultMapping();
                 ModelDescription model = context.description;
                 RegArimaModel<SarimaModel> regarima = model.buildRegArima();
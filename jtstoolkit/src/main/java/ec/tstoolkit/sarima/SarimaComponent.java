@@ -368,6 +368,28 @@ public class SarimaComponent extends AbstractArimaComponent implements Cloneable
                 && Parameter.isDefault(m_bphi) && Parameter.isDefault(m_btheta);
     }
 
+    /**
+     * Checks that some parameters are only initial values, which should still
+     * be optimized.
+     * @return
+     */
+    public boolean hasInitialParameters() {
+        return hasInitialParameters(m_phi) || hasInitialParameters(m_theta)
+                || hasInitialParameters(m_bphi) || hasInitialParameters(m_btheta);
+    }
+
+    private static boolean hasInitialParameters(Parameter[] p) {
+        if (p == null) {
+            return false;
+        }
+        for (int i = 0; i < p.length; ++i) {
+            if (p[i] != null && p[i].getType() == ParameterType.Initial) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public void setSpecification(SarimaSpecification spec) {
         setP(spec.getP());
         m_D = spec.getD();
@@ -27,6 +27,8 @@ import ec.tstoolkit.maths.matrices.Matrix;
 import ec.tstoolkit.maths.matrices.MatrixException;
 import ec.tstoolkit.sarima.SarimaModel;
 import ec.tstoolkit.sarima.SarmaSpecification;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * The Hannan-Rissanen procedure is performed as in TRAMO.
@@ -44,6 +46,8 @@ public class HannanRissanen {
 
     private double[] m_data, m_a, m_pi;
 
+    private Innovations m_innovations;
+
     private static final int MAXNPI = 50;
     private static final double OVERFLOW = 1e16, EPS=1e-9;
 
@@ -163,6 +167,7 @@ public class HannanRissanen {
     private void clear() {
 	m_model = null;
 	m_a = null;
+	m_innovations = null;
 	m_ok = false;
     }
 
@@ -208,7 +213,7 @@ public class HannanRissanen {
     }
 
     // step 0 of the process...
-    private double[] initac() {
+    private int npi() {
 	int q = m_spec.getQ() + m_spec.getFrequency() * m_spec.getBQ();
 	int p = m_spec.getP() + m_spec.getFrequency() * m_spec.getBP();
 	int n = m_data.length;
@@ -219,25 +224,33 @@ public class HannanRissanen {
 	    npi = n - n / 4;
 	if (npi > MAXNPI)
 	    npi = MAXNPI;
-
-	return DescriptiveStatistics.ac(npi, m_data);
+	return npi;
     }
 
     // compute estimates of innovations
     private void initialize() {
-	int n = m_data.length;
-	m_a = new double[n];
-	double[] ac = initac();
+	int npi = npi();
+	if (m_innovations != null)
+	    m_a = m_innovations.get(npi);
+	else
+	    m_a = innovations(m_data, npi);
+    }
+
+    private static double[] innovations(double[] data, int npi) {
+	int n = data.length;
+	double[] a = new double[n];
+	double[] ac = DescriptiveStatistics.ac(npi, data);
 	double[] pc = new double[ac.length];
 	DescriptiveStatistics.pac(ac, pc);
 
 	for (int i = 0; i < n; ++i) {
-	    double e = m_data[i];
+	    double e = data[i];
 	    int jmax = ac.length > i ? i : ac.length;
 	    for (int j = 1; j <= jmax; ++j)
-		e -= pc[j - 1] * m_data[i - j];
-	    m_a[i] = e;
+		e -= pc[j - 1] * data[i - j];
+	    a[i] = e;
 	}
+	return a;
     }
 
     // step 1 of the process ... regression
@@ -298,6 +311,24 @@ public class HannanRissanen {
 	return calc();
     }
 
+    /**
+     * Same as process(value, spec), but the data and the initial estimates
+     * of the innovations are taken from a shared object. That avoids
+     * recomputing the long autoregression when many specifications are
+     * estimated on the same series (model identification).
+     * @param innovations
+     * @param spec
+     * @return
+     */
+    public boolean process(final Innovations innovations, SarmaSpecification spec) {
+	clear();
+	m_innovations = innovations;
+	// the data are never modified, they can be shared
+	m_data = innovations.m_data;
+	m_spec = spec.clone();
+	return calc();
+    }
+
     private void updatemodel() {
 	int ccur = 0;
 	if (m_spec.getP() != 0)
@@ -318,4 +349,38 @@ public class HannanRissanen {
 		ccur += 1 + m_spec.getQ();
 	    }
     }
+
+    /**
+     * Initial estimates of the innovations (step 0 of the procedure), obtained
+     * by means of a long autoregression on a given series. They only depend on
+     * the series and on the length of the autoregression, so that they can be
+     * shared by the estimations of different specifications on the same
+     * series. The object is thread-safe.
+     */
+    public static final class Innovations {
+
+	private final double[] m_data;
+	private final ConcurrentMap<Integer, double[]> m_a = new ConcurrentHashMap<>();
+
+	/**
+	 * 
+	 * @param data
+	 */
+	public Innovations(final IReadDataBlock data) {
+	    m_data = new double[data.getLength()];
+	    data.copyTo(m_data, 0);
+	}
+
+	/**
+	 * 
+	 * @return
+	 */
+	public IReadDataBlock getData() {
+	    return new ReadDataBlock(m_data);
+	}
+
+	double[] get(int npi) {
+	    return m_a.computeIfAbsent(npi, k -> innovations(m_data, k));
+	}
+    }
 }
@@ -18,6 +18,7 @@ package ec.tstoolkit.ssf;
 
 import ec.tstoolkit.data.DataBlock;
 import ec.tstoolkit.data.DataBlockIterator;
+import ec.tstoolkit.algorithm.SolverMetrics;
 import ec.tstoolkit.design.Development;
 import ec.tstoolkit.eco.DefaultLikelihoodEvaluation;
 import ec.tstoolkit.eco.DiffuseConcentratedLikelihood;
@@ -50,6 +51,7 @@ public class AkfAlgorithm<F extends ISsf> implements ISsfAlgorithm<F> {
     @Override
     public DefaultLikelihoodEvaluation<DiffuseConcentratedLikelihood> evaluate(
             SsfModel<F> instance) {
+        SolverMetrics.increment(SolverMetrics.Counter.LikelihoodEvaluations);
         SsfModel<F> model = instance;
         FilteringResults frslts = new FilteringResults(true);
         Filter<ISsf> filter = new Filter<>();
@@ -17,6 +17,7 @@
 package ec.tstoolkit.ssf;
 
 import ec.tstoolkit.BaseException;
+import ec.tstoolkit.algorithm.SolverMetrics;
 import ec.tstoolkit.data.SubArrayOfInt;
 import ec.tstoolkit.maths.matrices.Matrix;
 import ec.tstoolkit.data.DataBlock;
@@ -196,7 +197,7 @@ public class ArrayFilter {
     }
 
     public boolean process(final ISsfData data, final IArrayFilteringResults rslts) {
-
+        SolverMetrics.increment(SolverMetrics.Counter.FilterRuns);
         if (rslts != null) {
             rslts.prepare(m_ssf, data);
         }
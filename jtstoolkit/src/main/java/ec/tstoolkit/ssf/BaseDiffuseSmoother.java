@@ -49,14 +49,6 @@ public class BaseDiffuseSmoother extends BaseSmoother {
     protected void clear() {
         super.clear();
         m_frslts = null;
-        m_Ri = null;
-        m_Ki = null;
-        m_Z = null;
-        m_tmp0 = null;
-        m_tmp1 = null;
-        m_N2 = null;
-        m_V = null;
-        m_N1 = null;
     }
 
     /**
@@ -109,21 +101,29 @@ public class BaseDiffuseSmoother extends BaseSmoother {
         super.initSmoother();
         m_ndiffuse = m_frslts.getDiffuseCount();
         m_enddiffuse = m_frslts.getEndDiffusePosition();
-        m_tmp0 = new DataBlock(m_r);
-        if (m_bCalcVar) {
-            m_V = new Matrix(m_r, m_r);
-        }
+        m_tmp0 = FilterWorkspace.vector(m_tmp0, m_r);
+        m_V = m_bCalcVar ? FilterWorkspace.matrix(m_V, m_r, m_r) : null;
         if (m_enddiffuse > 0) {
-            m_Ki = new DataBlock(m_r);
-            if (m_data.hasData()) {
-                m_Ri = new DataBlock(m_r);
-            }
+            m_Ki = FilterWorkspace.vector(m_Ki, m_r);
+            m_Ri = m_data.hasData() ? FilterWorkspace.vector(m_Ri, m_r) : null;
             if (m_bCalcVar) {
-                m_N1 = new Matrix(m_r, m_r);
-                m_N2 = new Matrix(m_r, m_r);
-                m_Z = new DataBlock(m_r);
-                m_tmp1 = new DataBlock(m_r);
+                m_N1 = FilterWorkspace.matrix(m_N1, m_r, m_r);
+                m_N2 = FilterWorkspace.matrix(m_N2, m_r, m_r);
+                m_Z = FilterWorkspace.vector(m_Z, m_r);
+                m_tmp1 = FilterWorkspace.vector(m_tmp1, m_r);
+            } else {
+                m_N1 = null;
+                m_N2 = null;
+                m_Z = null;
+                m_tmp1 = null;
             }
+        } else {
+            m_Ki = null;
+            m_Ri = null;
+            m_N1 = null;
+            m_N2 = null;
+            m_Z = null;
+            m_tmp1 = null;
         }
     }
 
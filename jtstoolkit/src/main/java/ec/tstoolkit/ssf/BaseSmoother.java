@@ -36,6 +36,8 @@ public abstract class BaseSmoother {
     double m_v, m_ff;
     Matrix m_Nf;
     Matrix m_L, m_T;
+    // temporary of iterateN
+    DataBlock m_kvt;
     boolean m_bCalcVar = false, m_bMissing;
     double m_c, m_cvar;
 
@@ -46,15 +48,11 @@ public abstract class BaseSmoother {
     }
 
     /**
-     *
+     * Clears the references to the data. The buffers are kept; they are reused
+     * by the next run if the dimensions of the model don't change
      */
     protected void clear() {
         m_data = null;
-        m_Rf = null;
-        m_Kf = null;
-        m_Nf = null;
-        m_L = null;
-        m_T = null;
     }
 
     /**
@@ -83,14 +81,17 @@ public abstract class BaseSmoother {
     protected void initSmoother() {
         m_pos = m_data.getCount() - 1;
         m_r = m_ssf.getStateDim();
-        if (m_data.hasData()) {
-            m_Rf = new DataBlock(m_r);
-        }
-        m_Kf = new DataBlock(m_r);
+        m_Rf = m_data.hasData() ? FilterWorkspace.vector(m_Rf, m_r) : null;
+        m_Kf = FilterWorkspace.vector(m_Kf, m_r);
         if (m_bCalcVar) {
-            m_Nf = new Matrix(m_r, m_r);
-            m_L = new Matrix(m_r, m_r);
-            m_T = new Matrix(m_r, m_r);
+            m_Nf = FilterWorkspace.matrix(m_Nf, m_r, m_r);
+            m_L = FilterWorkspace.matrix(m_L, m_r, m_r);
+            m_T = FilterWorkspace.matrix(m_T, m_r, m_r);
+            m_kvt = FilterWorkspace.vector(m_kvt, m_r);
+        } else {
+            m_Nf = null;
+            m_L = null;
+            m_T = null;
         }
     }
 
@@ -130,7 +131,7 @@ public abstract class BaseSmoother {
 
             // compute K'VT
             // compute (XT)'*T. (XT)' rows are the columns of XT
-            DataBlock kvt = new DataBlock(m_r);
+            DataBlock kvt = m_kvt;
             do {
                 kvt.set(ncols.getPosition(), m_Kf.dot(ncol));
                 m_ssf.XT(m_pos, ncol);
@@ -18,7 +18,6 @@ package ec.tstoolkit.ssf;
 
 import ec.tstoolkit.data.DataBlock;
 import ec.tstoolkit.design.Development;
-import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * 
@@ -27,11 +26,6 @@ import java.util.concurrent.atomic.AtomicLong;
 @Development(status = Development.Status.Alpha)
 public class BaseState {
 
-    /**
-     *
-     */
-    public static final AtomicLong fnCalls = new AtomicLong(0);
-
     /**
      *
      */
@@ -25,6 +25,8 @@ import ec.tstoolkit.design.Development;
 @Development(status = Development.Status.Alpha)
 public class DiffuseFilter {
 
+    private final FilterWorkspace m_workspace = new FilterWorkspace();
+
     /**
      * 
      */
@@ -49,6 +51,7 @@ public class DiffuseFilter {
 	    return false;
 	Filter<ISsf> filter = new Filter<>(ssf, new SsfInitializer(pos,
 		state));
+	filter.setWorkspace(m_workspace);
 	return filter.process(data, rslts);
     }
 }
@@ -41,6 +41,8 @@ public class DisturbanceSmoother extends BaseDiffuseSmoother {
     private Matrix m_uVar, m_Q;
 
     private Matrix m_W, m_WQ;
+    // restriction of N to the residuals (temporary of iterateUVar)
+    private Matrix m_NR;
 
     private boolean m_qinit;
 
@@ -126,10 +128,6 @@ public class DisturbanceSmoother extends BaseDiffuseSmoother {
     protected void clear() {
 	super.clear();
 	m_qinit = false;
-	m_Q = null;
-	m_R = null;
-	m_W = null;
-	m_WQ = null;
 	m_uVar = null;
 	clearResults();
     }
@@ -168,16 +166,20 @@ public class DisturbanceSmoother extends BaseDiffuseSmoother {
     protected void initSmoother() {
 	super.initSmoother();
 	m_nres = m_ssf.getTransitionResDim();
-	m_u = new DataBlock(m_nres);
+	m_u = FilterWorkspace.vector(m_u, m_nres);
 
 	// WQ
 	int rescount = m_ssf.getTransitionResCount(), resdim = m_ssf
 		.getTransitionResDim();
-	if (m_ssf.hasR())
-	    m_R = new int[rescount];
-	if (m_ssf.hasW())
-	    m_W = new Matrix(rescount, resdim);
-	m_Q = new Matrix(resdim, resdim);
+	if (m_ssf.hasR()) {
+	    if (m_R == null || m_R.length != rescount)
+		m_R = new int[rescount];
+	    if (m_bCalcVar)
+		m_NR = FilterWorkspace.matrix(m_NR, rescount, rescount);
+	} else
+	    m_R = null;
+	m_W = m_ssf.hasW() ? FilterWorkspace.matrix(m_W, rescount, resdim) : null;
+	m_Q = FilterWorkspace.matrix(m_Q, resdim, resdim);
 	prepareResults();
     }
 
@@ -235,7 +237,7 @@ public class DisturbanceSmoother extends BaseDiffuseSmoother {
     protected void iterateUVar()
     {
 	if (m_R != null) {
-	    Matrix N = new Matrix(m_R.length, m_R.length);
+	    Matrix N = m_NR;
 	    for (int i = 0; i < m_R.length; ++i)
 		for (int j = 0; j < m_R.length; ++j)
 		    N.set(i, j, m_Nf.get(m_R[i], m_R[j]));
@@ -267,8 +269,10 @@ public class DisturbanceSmoother extends BaseDiffuseSmoother {
 	    m_ssf.Q(m_pos - 1, m_Q.subMatrix());
 	    if (m_W != null)
 		m_WQ = m_W.times(m_Q);
-	    else
-		m_WQ = m_Q.clone();
+	    else {
+		m_WQ = FilterWorkspace.matrix(m_WQ, m_Q.getRowsCount(), m_Q.getColumnsCount());
+		m_WQ.copy(m_Q);
+	    }
 	}
 	return true;
     }
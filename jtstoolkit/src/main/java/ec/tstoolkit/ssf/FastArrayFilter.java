@@ -16,6 +16,7 @@
 */
 package ec.tstoolkit.ssf;
 
+import ec.tstoolkit.algorithm.SolverMetrics;
 import ec.tstoolkit.data.DataBlock;
 import ec.tstoolkit.design.Development;
 
@@ -119,6 +120,7 @@ public class FastArrayFilter<F extends ISsf> {
 	    final IFastArrayFilteringResults rslts) {
 	if (m_ssf == null)
 	    return false;
+	SolverMetrics.increment(SolverMetrics.Counter.FilterRuns);
 	m_data = data;
 	m_dim = m_ssf.getStateDim();
 	m_pos = 0;
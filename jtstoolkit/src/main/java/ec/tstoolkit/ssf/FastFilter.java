@@ -16,6 +16,7 @@
 */
 package ec.tstoolkit.ssf;
 
+import ec.tstoolkit.algorithm.SolverMetrics;
 import ec.tstoolkit.design.Development;
 
 /**
@@ -133,7 +134,7 @@ public class FastFilter<F extends ISsf> {
 	    final IFastFilteringResults rslts) {
 	if (m_ssf == null)
 	    return false;
-	BaseState.fnCalls.incrementAndGet();
+	SolverMetrics.increment(SolverMetrics.Counter.FilterRuns);
 	m_data = data;
 	m_rslts = rslts;
 	m_dim = m_ssf.getStateDim();
@@ -16,6 +16,7 @@
 */
 package ec.tstoolkit.ssf;
 
+import ec.tstoolkit.algorithm.SolverMetrics;
 import ec.tstoolkit.design.Development;
 import ec.tstoolkit.eco.DefaultLikelihoodEvaluation;
 import ec.tstoolkit.eco.DiffuseConcentratedLikelihood;
@@ -87,6 +88,7 @@ public class FastSsfAlgorithm<F extends ISsf> extends AbstractSsfAlgorithm
     @Override
     public DefaultLikelihoodEvaluation<DiffuseConcentratedLikelihood> evaluate(
 	    SsfModel<F> instance) {
+	SolverMetrics.increment(SolverMetrics.Counter.LikelihoodEvaluations);
 	if (instance.getX() == null)
 	    return calcNoRegs(instance);
 	else
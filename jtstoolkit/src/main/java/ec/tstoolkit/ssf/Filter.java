@@ -16,15 +16,18 @@
  */
 package ec.tstoolkit.ssf;
 
+import ec.tstoolkit.algorithm.SolverMetrics;
 import ec.tstoolkit.data.DataBlock;
-import ec.tstoolkit.data.DataBlockIterator;
 import ec.tstoolkit.data.SubArrayOfInt;
 import ec.tstoolkit.design.Development;
 import ec.tstoolkit.maths.matrices.Matrix;
+import ec.tstoolkit.maths.matrices.SubMatrix;
 import ec.tstoolkit.maths.matrices.SymmetricMatrix;
 
 /**
- * Ordinary Kalman filter
+ * Ordinary Kalman filter. The buffers of the filter are held by a workspace
+ * (see {@link FilterWorkspace}), which is reused by the successive calls to
+ * process.
  *
  * @param <F>
  * @author Jean Palate
@@ -32,19 +35,18 @@ import ec.tstoolkit.maths.matrices.SymmetricMatrix;
 @Development(status = Development.Status.Alpha)
 public class Filter<F extends ISsf> {
 
-    /**
-     *
-     */
-    public static int fnCalls = 0;
     private State m_state;
     private F m_ssf;
     private ISsfData m_data;
     private ISsfInitializer<F> m_initializer;
     private int m_pos, m_end, m_r, m_steadypos = -1;
     private int[] m_idxR;
+    private SubArrayOfInt m_R;
     private Matrix m_Q, m_WQW;
     private Matrix m_W;
-    private boolean m_bsteady, m_fixedsteadypos, m_qinit;
+    private SubMatrix m_Qv, m_Wv, m_WQWv, m_P;
+    private FilterWorkspace m_workspace;
+    private boolean m_bsteady, m_fixedsteadypos;
     // for steady state
     /**
      *
@@ -111,7 +113,7 @@ public class Filter<F extends ISsf> {
         // m_ff=m_Pf.quadraticForm(m_Z)+m_h;
 
         if (!m_bsteady) {
-            m_state.f = m_ssf.ZVZ(m_pos, m_state.P.subMatrix());
+            m_state.f = m_ssf.ZVZ(m_pos, m_P);
             if (m_state.f < State.ZERO) {
                 m_state.f = 0;
             }
@@ -123,7 +125,7 @@ public class Filter<F extends ISsf> {
                 m_bsteady = false;
                 m_state.e = Double.NaN;
             } else {
-                m_ssf.ZM(m_pos, m_state.P.subMatrix(), m_state.C);
+                m_ssf.ZM(m_pos, m_P, m_state.C);
                 m_ssf.TX(m_pos, m_state.C);
                 m_state.e = y - m_ssf.ZX(m_pos, m_state.A);
                 if (m_state.f == 0) {
@@ -135,7 +137,7 @@ public class Filter<F extends ISsf> {
                 }
             }
         } else {
-            m_ssf.ZM(m_pos, m_state.P.subMatrix(), m_state.C);
+            m_ssf.ZM(m_pos, m_P, m_state.C);
             m_ssf.TX(m_pos, m_state.C);
             m_state.e = 0;
         }
@@ -162,25 +164,23 @@ public class Filter<F extends ISsf> {
         try {
             // m_ssf.Z(m_pos, m_Z);
             if (!m_ssf.hasTransitionRes(m_pos)
-                    || (m_qinit && m_ssf.isTransitionEquationTimeInvariant())) {
+                    || (m_workspace.wqwInit && m_ssf.isTransitionEquationTimeInvariant())) {
                 return true;
             }
             if (m_idxR != null && m_ssf.hasR()) {
-                SubArrayOfInt R = SubArrayOfInt.create(m_idxR);
-                R.set(0);
-                m_ssf.R(m_pos, R);
+                m_R.set(0);
+                m_ssf.R(m_pos, m_R);
             }
             if (m_Q != null) {
                 m_Q.set(0);
-                m_ssf.Q(m_pos, m_Q.subMatrix());
+                m_ssf.Q(m_pos, m_Qv);
             }
             if (m_W != null && m_ssf.hasW()) {
                 m_W.set(0);
-                m_ssf.W(m_pos, m_W.subMatrix());
-                SymmetricMatrix.quadraticFormT(m_Q.subMatrix(),
-                        m_W.subMatrix(), m_WQW.subMatrix());
+                m_ssf.W(m_pos, m_Wv);
+                SymmetricMatrix.quadraticFormT(m_Qv, m_Wv, m_WQWv);
                 if (m_ssf.isTransitionEquationTimeInvariant()) {
-                    m_qinit = true;
+                    m_workspace.wqwInit = true;
                 }
             }
             return true;
@@ -198,6 +198,8 @@ public class Filter<F extends ISsf> {
     }
 
     /**
+     * Gets the current state. The state belongs to the workspace of the
+     * filter; it is overwritten by the next call to process
      *
      * @return
      */
@@ -205,6 +207,26 @@ public class Filter<F extends ISsf> {
         return m_state;
     }
 
+    /**
+     *
+     * @return The workspace used by the filter. Null before the first call
+     * to process, if no workspace has been set
+     */
+    public FilterWorkspace getWorkspace() {
+        return m_workspace;
+    }
+
+    /**
+     * Sets the workspace of the filter. It is (re)sized if need be by the
+     * next call to process
+     *
+     * @param value The new workspace. If null, the filter will create its own
+     * workspace
+     */
+    public void setWorkspace(final FilterWorkspace value) {
+        m_workspace = value;
+    }
+
     /**
      *
      * @return
@@ -214,7 +236,6 @@ public class Filter<F extends ISsf> {
     }
 
     private boolean initFilter() {
-        m_qinit = false;
         m_pos = 0;
         m_bsteady = false;
         if (!m_fixedsteadypos) {
@@ -225,47 +246,39 @@ public class Filter<F extends ISsf> {
         m_end = m_data.getCount();
         m_pos = 0;
 
-        int rescount = m_ssf.getTransitionResCount(), resdim = m_ssf.getTransitionResDim();
-
-        if (rescount != 0) {
-            m_Q = new Matrix(resdim, resdim);
-            if (m_ssf.hasR()) {
-                m_idxR = new int[rescount];
-            } else {
-                m_idxR = null;
-            }
-            if (m_ssf.hasW()) {
-                m_W = new Matrix(rescount, resdim);
-            } else {
-                m_W = null;
-            }
-            if (m_W == null) {
-                m_WQW = m_Q;
-            } else {
-                m_WQW = new Matrix(rescount, rescount);
-            }
-        } else {
-            m_Q = null;
-            m_idxR = null;
-            m_W = null;
-            m_WQW = null;
+        if (m_workspace == null) {
+            m_workspace = new FilterWorkspace();
         }
+        m_workspace.prepare(m_ssf, m_data.hasData());
+        m_workspace.user = this;
+        m_Q = m_workspace.Q;
+        m_Qv = m_workspace.Qv;
+        m_idxR = m_workspace.idxR;
+        m_R = m_workspace.Rv;
+        m_W = m_workspace.W;
+        m_Wv = m_workspace.Wv;
+        m_WQW = m_workspace.WQW;
+        m_WQWv = m_workspace.WQWv;
         getModelInfo();
         return true;
     }
 
     private int initState(final IFilteringResults rslts) {
-        m_state = new State(m_r, m_data.hasData());
+        m_state = m_workspace.state;
+        int pos;
         if (m_initializer != null) {
-            return m_initializer.initialize(m_ssf, m_data, m_state, rslts);
+            pos = m_initializer.initialize(m_ssf, m_data, m_state, rslts);
         } else if (!m_ssf.isDiffuse()) {
             new DefaultSsfInitializer().initialize(m_ssf, m_data, m_state,
                     rslts);
-            return 0;
+            pos = 0;
         } else {
             DurbinKoopmanInitializer dk = new DurbinKoopmanInitializer();
-            return dk.initialize(m_ssf, m_data, m_state, rslts);
+            pos = dk.initialize(m_ssf, m_data, m_state, rslts);
         }
+        // the initializers may replace the buffers of the state
+        m_P = m_state.P.all();
+        return pos;
     }
 
     /**
@@ -295,20 +308,20 @@ public class Filter<F extends ISsf> {
                 // M = PZ'
                 // P = TPT' - (TM)*(TM)' / f + RQR' --> Symmetric
                 // A = Ta + (TM) v / f
-                m_ssf.TVT(m_pos, m_state.P.subMatrix());
+                m_ssf.TVT(m_pos, m_P);
                 if (m_state.f != 0) {
-                    DataBlockIterator cols = m_state.P.columns();
-                    DataBlock col = cols.getData();
-                    int pos = 0;
-                    do {
-                        double c = -m_state.C.get(pos) / m_state.f;
-                        if (pos > 0) {
-                            col.drop(pos, 0).addAY(c, m_state.C.drop(pos, 0));
-                        } else {
-                            col.addAY(c, m_state.C);
+                    // lower part of P - C*C'/f, in place
+                    double[] p = m_state.P.internalStorage();
+                    DataBlock C = m_state.C;
+                    double f = m_state.f;
+                    for (int j = 0, jr = 0; j < m_r; ++j, jr += m_r) {
+                        double c = -C.get(j) / f;
+                        if (c != 0) {
+                            for (int i = j; i < m_r; ++i) {
+                                p[jr + i] += c * C.get(i);
+                            }
                         }
-                        ++pos;
-                    } while (cols.next());
+                    }
                     SymmetricMatrix.fromLower(m_state.P);
                 }
                 // RQR'
@@ -332,10 +345,16 @@ public class Filter<F extends ISsf> {
     }
 
     /**
+     * Extends the last run of the filter by one period
      *
-     * @return
+     * @return False if the forecast can't be computed, for instance when the
+     * workspace of the filter has been used by another filter since the last
+     * call to process
      */
     public boolean nextForecast() {
+        if (m_workspace == null || m_workspace.user != this) {
+            return false;
+        }
         if (!m_ssf.isTimeInvariant() && !getModelInfo()) {
             return false;
         }
@@ -346,7 +365,7 @@ public class Filter<F extends ISsf> {
 
     private void nextMissing() {
         // variance
-        m_ssf.TVT(m_pos, m_state.P.subMatrix());
+        m_ssf.TVT(m_pos, m_P);
         addRQR(m_state.P);
 
         // state
@@ -363,7 +382,7 @@ public class Filter<F extends ISsf> {
         if (m_ssf == null) {
             return false;
         }
-        ++fnCalls;
+        SolverMetrics.increment(SolverMetrics.Counter.FilterRuns);
         m_data = data;
         if (!initFilter()) {
             return false;
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2013 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.tstoolkit.ssf;
+
+import ec.tstoolkit.data.DataBlock;
+import ec.tstoolkit.data.SubArrayOfInt;
+import ec.tstoolkit.design.Development;
+import ec.tstoolkit.maths.matrices.Matrix;
+import ec.tstoolkit.maths.matrices.SubMatrix;
+
+/**
+ * Buffers of the ordinary Kalman filter: the state (a, P, C), the covariance
+ * of the residuals of the transition equation (Q, W, WQW') and the views on
+ * them. They are allocated for the dimensions of a model and reused by the
+ * successive runs of the filter, as long as the dimensions don't change, so
+ * that the iterations of the filter don't allocate anything.
+ * <br>
+ * A workspace can be shared by several filters that are used sequentially,
+ * but not by concurrent filters. The state of the last run is overwritten by
+ * the next one, which is also the only run that can be extended (see
+ * Filter.nextForecast).
+ *
+ * @since 2.2.4
+ */
+@Development(status = Development.Status.Alpha)
+public class FilterWorkspace {
+
+    private int m_dim = -1, m_rescount, m_resdim;
+    private boolean m_hasdata, m_hasR, m_hasW;
+    State state;
+    Matrix Q, W, WQW;
+    SubMatrix Qv, Wv, WQWv;
+    int[] idxR;
+    SubArrayOfInt Rv;
+    // filter of the last run (set by the filter after prepare)
+    Object user;
+    // WQW' has been computed for the current, time invariant, model
+    boolean wqwInit;
+
+    /**
+     *
+     */
+    public FilterWorkspace() {
+    }
+
+    /**
+     * Creates a workspace for the given model
+     *
+     * @param ssf
+     * @param hasdata
+     */
+    public FilterWorkspace(final ISsf ssf, final boolean hasdata) {
+        prepare(ssf, hasdata);
+    }
+
+    /**
+     * Checks that the workspace fits the given model (reallocates it
+     * otherwise) and resets the state
+     *
+     * @param ssf The model
+     * @param hasdata True if the filter will be applied on actual data
+     * @return True if the buffers have been reused, false if they have been
+     * (re)allocated
+     */
+    public boolean prepare(final ISsf ssf, final boolean hasdata) {
+        user = null;
+        wqwInit = false;
+        int dim = ssf.getStateDim();
+        int rescount = ssf.getTransitionResCount(), resdim = ssf.getTransitionResDim();
+        boolean hasR = rescount != 0 && ssf.hasR(), hasW = rescount != 0 && ssf.hasW();
+        if (state != null && dim == m_dim && hasdata == m_hasdata && rescount == m_rescount
+                && resdim == m_resdim && hasR == m_hasR && hasW == m_hasW
+                && checkState()) {
+            state.A.set(0);
+            state.C.set(0);
+            state.P.set(0);
+            state.e = 0;
+            state.f = 0;
+            return true;
+        }
+        m_dim = dim;
+        m_hasdata = hasdata;
+        m_rescount = rescount;
+        m_resdim = resdim;
+        m_hasR = hasR;
+        m_hasW = hasW;
+        state = new State(dim, hasdata);
+        if (rescount != 0) {
+            Q = new Matrix(resdim, resdim);
+            Qv = Q.all();
+            if (hasR) {
+                idxR = new int[rescount];
+                Rv = SubArrayOfInt.create(idxR);
+            } else {
+                idxR = null;
+                Rv = null;
+            }
+            if (hasW) {
+                W = new Matrix(rescount, resdim);
+                Wv = W.all();
+                WQW = new Matrix(rescount, rescount);
+                WQWv = WQW.all();
+            } else {
+                W = null;
+                Wv = null;
+                WQW = Q;
+                WQWv = Qv;
+            }
+        } else {
+            Q = null;
+            Qv = null;
+            W = null;
+            Wv = null;
+            WQW = null;
+            WQWv = null;
+            idxR = null;
+            Rv = null;
+        }
+        return false;
+    }
+
+    /**
+     * The initializers may replace the buffers of the state (by buffers of the
+     * same size)
+     */
+    private boolean checkState() {
+        return state.P.getRowsCount() == m_dim && state.C.getLength() == m_dim
+                && state.A.getLength() == (m_hasdata ? m_dim : 0);
+    }
+
+    /**
+     * Gets the state of the last run
+     *
+     * @return
+     */
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * Reuses a vector of the given length, which is reset to 0
+     *
+     * @param x The current buffer. May be null
+     * @param n The length of the buffer
+     * @return x if it has the right length, a new buffer otherwise
+     */
+    static DataBlock vector(final DataBlock x, final int n) {
+        if (x == null || x.getLength() != n) {
+            return new DataBlock(n);
+        }
+        x.set(0);
+        return x;
+    }
+
+    /**
+     * Reuses a matrix of the given dimensions, which is reset to 0
+     *
+     * @param m The current buffer. May be null
+     * @param nrows The number of rows
+     * @param ncols The number of columns
+     * @return m if it has the right dimensions, a new buffer otherwise
+     */
+    static Matrix matrix(final Matrix m, final int nrows, final int ncols) {
+        if (m == null || m.getRowsCount() != nrows || m.getColumnsCount() != ncols) {
+            return new Matrix(nrows, ncols);
+        }
+        m.set(0);
+        return m;
+    }
+}
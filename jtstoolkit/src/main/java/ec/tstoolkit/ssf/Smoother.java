@@ -68,11 +68,8 @@ public class Smoother extends BaseDiffuseSmoother {
     @Override
     protected void clear() {
         super.clear();
-        m_a = null;
         m_Pf = null;
         m_Pi = null;
-        m_Vtmp0 = null;
-        m_Vtmp1 = null;
         m_srslts = null;
     }
 
@@ -84,12 +81,12 @@ public class Smoother extends BaseDiffuseSmoother {
         super.initSmoother();
         m_srslts.prepare(m_data.getCount(), m_r);
         if (m_data.hasData()) {
-            m_a = new DataBlock(m_r);
+            m_a = FilterWorkspace.vector(m_a, m_r);
         }else
             m_a=DataBlock.EMPTY;
         if (m_bCalcVar) {
-            m_Vtmp0 = new Matrix(m_r, m_r);
-            m_Vtmp1 = new Matrix(m_r, m_r);
+            m_Vtmp0 = FilterWorkspace.matrix(m_Vtmp0, m_r, m_r);
+            m_Vtmp1 = FilterWorkspace.matrix(m_Vtmp1, m_r, m_r);
         }
     }
 
@@ -129,7 +126,7 @@ public class Smoother extends BaseDiffuseSmoother {
                 m_Vtmp0.all().product(m_Pf, m_N1.all());
                 m_Vtmp1.all().product(m_Vtmp0.all(), m_Pi);
                 m_V.add(m_Vtmp1);
-                m_V.add(m_Vtmp1.transpose());
+                m_V.all().add(m_Vtmp1.all().transpose());
                 m_V.chs();
                 m_V.all().add(m_Pf);
 
@@ -16,12 +16,16 @@
 */
 package ec.tstoolkit.ssf;
 
+import ec.tstoolkit.algorithm.SolverMetrics;
 import ec.tstoolkit.design.Development;
 import ec.tstoolkit.eco.DefaultLikelihoodEvaluation;
 import ec.tstoolkit.eco.DiffuseConcentratedLikelihood;
 
 /**
- * 
+ * Likelihood of a state space model, computed by the ordinary Kalman filter.
+ * The buffers of the filter are reused by the successive evaluations of a
+ * thread (see {@link FilterWorkspace}).
+ *
  * @param <F>
  * @author Jean Palate
  */
@@ -30,6 +34,7 @@ public class SsfAlgorithm<F extends ISsf> extends AbstractSsfAlgorithm
 	implements ISsfAlgorithm<F> {
 
     private ISsfInitializer<F> m_initializer;
+    private final ThreadLocal<FilterWorkspace> m_workspace = ThreadLocal.withInitial(FilterWorkspace::new);
 
     /**
      * 
@@ -56,6 +61,7 @@ public class SsfAlgorithm<F extends ISsf> extends AbstractSsfAlgorithm
 	    SsfModel<F> instance) {
 	Filter<F> filter = new Filter<>();
 	filter.setSsf(instance.ssf);
+	filter.setWorkspace(m_workspace.get());
 	if (m_initializer != null)
 	    filter.setInitializer(m_initializer);
 	DiffusePredictionErrorDecomposition pred = new DiffusePredictionErrorDecomposition(
@@ -70,6 +76,7 @@ public class SsfAlgorithm<F extends ISsf> extends AbstractSsfAlgorithm
 	    SsfModel<F> instance) {
 	Filter<F> filter = new Filter<>();
 	filter.setSsf(instance.ssf);
+	filter.setWorkspace(m_workspace.get());
 	if (m_initializer != null)
 	    filter.setInitializer(m_initializer);
 	DiffuseFilteringResults drslts = new DiffuseFilteringResults(true);
@@ -87,6 +94,7 @@ public class SsfAlgorithm<F extends ISsf> extends AbstractSsfAlgorithm
     @Override
     public DefaultLikelihoodEvaluation<DiffuseConcentratedLikelihood> evaluate(
 	    SsfModel<F> instance) {
+	SolverMetrics.increment(SolverMetrics.Counter.LikelihoodEvaluations);
 	if (instance.getX() == null)
 	    return calcNoRegs(instance);
 	else
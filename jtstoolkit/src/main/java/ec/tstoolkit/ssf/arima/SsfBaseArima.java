@@ -18,7 +18,6 @@ package ec.tstoolkit.ssf.arima;
 
 import ec.tstoolkit.arima.IArimaModel;
 import ec.tstoolkit.data.DataBlock;
-import ec.tstoolkit.data.DataBlockIterator;
 import ec.tstoolkit.data.SubArrayOfInt;
 import ec.tstoolkit.design.Development;
 import ec.tstoolkit.maths.matrices.SubMatrix;
@@ -338,12 +337,14 @@ public abstract class SsfBaseArima implements ISsf {
     {
 	DataBlock tmp = new DataBlock(m_tmp);
 	tmp.set(0);
-	DataBlockIterator cols = vm.columns();
-	DataBlock col = cols.getData();
-	cols.end();
+	// tmp = V * (-phi) (last columns of V), without views on V
 	for (int p = 1; p < m_phi.length; ++p) {
-	    tmp.addAY(-m_phi[p], col);
-	    cols.previous();
+	    double c = -m_phi[p];
+	    if (c != 0) {
+		for (int i = 0, j = m_dim - p; i < m_dim; ++i) {
+		    m_tmp[i] += c * vm.get(i, j);
+		}
+	    }
 	}
 
 	double tlast = -m_Phi.dotReverse(tmp);
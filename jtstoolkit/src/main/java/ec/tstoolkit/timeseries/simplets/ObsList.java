@@ -18,6 +18,7 @@ package ec.tstoolkit.timeseries.simplets;
 
 import ec.tstoolkit.design.Internal;
 import ec.tstoolkit.design.NewObject;
+import ec.tstoolkit.timeseries.TsAggregationType;
 import ec.tstoolkit.utilities.ObjLongToIntFunction;
 
 /**
@@ -60,4 +61,24 @@ public interface ObsList {
                 ? new ObsLists.PreSortedLongObsList(tsPeriodIdFunc, 32)
                 : new ObsLists.SortableLongObsList(tsPeriodIdFunc);
     }
+
+    /**
+     * Creates a list that aggregates the observations while they are added.
+     * The memory used by the list depends on the number of periods of the
+     * final series instead of the number of observations, which is suitable
+     * for high frequency feeds (daily, intraday...).
+     *
+     * @param frequency The frequency of the final series. Can't be undefined.
+     * @param aggregation The aggregation type. Can't be None.
+     * @param tsPeriodIdFunc
+     * @return
+     * @since 2.2.4
+     */
+    @NewObject
+    static LongObsList newAggregatingLongObsList(TsFrequency frequency, TsAggregationType aggregation, ObjLongToIntFunction<TsFrequency> tsPeriodIdFunc) {
+        if (frequency == TsFrequency.Undefined || aggregation == TsAggregationType.None) {
+            throw new IllegalArgumentException();
+        }
+        return new ObsLists.AggregatingLongObsList(frequency, aggregation, tsPeriodIdFunc);
+    }
 }
@@ -18,10 +18,9 @@ package ec.tstoolkit.timeseries.simplets;
 
 import ec.tstoolkit.design.Internal;
 import ec.tstoolkit.design.VisibleForTesting;
+import ec.tstoolkit.timeseries.TsAggregationType;
 import ec.tstoolkit.utilities.ObjLongToIntFunction;
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.List;
 
 /**
  * Package private supporting class for {@link ObsList}.
@@ -39,13 +38,17 @@ final class ObsLists {
     static final class SortableLongObsList implements ObsList.LongObsList {
 
         private final ObjLongToIntFunction<TsFrequency> tsPeriodIdFunc;
-        private final List<LongObs> list = new ArrayList<>();
+        private long[] periods;
+        private double[] values;
+        private int size;
         private boolean sorted = true;
         private long latestPeriod = Long.MIN_VALUE;
 
         @VisibleForTesting
         SortableLongObsList(ObjLongToIntFunction<TsFrequency> tsPeriodIdFunc) {
             this.tsPeriodIdFunc = tsPeriodIdFunc;
+            this.periods = new long[32];
+            this.values = new double[32];
         }
 
         @VisibleForTesting
@@ -55,52 +58,291 @@ final class ObsLists {
 
         @Override
         public void clear() {
-            list.clear();
+            size = 0;
             sorted = true;
             latestPeriod = Long.MIN_VALUE;
         }
 
         @Override
         public void add(long period, double value) {
-            list.add(new LongObs(period, value));
+            if (size == periods.length) {
+                int newCapacity = size * 2;
+                periods = Arrays.copyOf(periods, newCapacity);
+                values = Arrays.copyOf(values, newCapacity);
+            }
+            periods[size] = period;
+            values[size] = value;
+            size++;
             sorted = sorted && latestPeriod <= period;
             latestPeriod = period;
         }
 
         @Override
         public int size() {
-            return list.size();
+            return size;
         }
 
         @Override
         public double getValue(int index) {
-            return list.get(index).value;
+            checkIndex(index, size);
+            return values[index];
         }
 
         @Override
         public int getPeriodId(TsFrequency frequency, int index) {
-            return tsPeriodIdFunc.applyAsInt(frequency, list.get(index).period);
+            checkIndex(index, size);
+            return tsPeriodIdFunc.applyAsInt(frequency, periods[index]);
+        }
+
+        long getPeriod(int index) {
+            return periods[index];
         }
 
         @Override
         public void sortByPeriod() {
             if (!sorted) {
-                list.sort((l, r) -> Long.compare(l.period, r.period));
+                sort(periods, values, size);
                 sorted = true;
-                latestPeriod = list.get(list.size() - 1).period;
+                latestPeriod = periods[size - 1];
+            }
+        }
+
+        @Override
+        public double[] getValues() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    /**
+     * Aggregates the observations on the fly, when it is known that the
+     * series can't be created at another frequency. The observations are
+     * kept as long as they could define a monthly (or lower frequency) series,
+     * i.e. as long as two observations don't belong to the same month (the
+     * test is done on successive observations and on the number of months
+     * spanned by the observations). Afterwards, only one value by period (of the final frequency) is
+     * retained, so that the memory doesn't depend on the number of
+     * observations.
+     *
+     * The results are the same as the aggregation of the sorted observations.
+     * Sums and averages of unordered observations might however slightly
+     * differ, due to the different ordering of the additions.
+     */
+    static final class AggregatingLongObsList implements ObsList.LongObsList {
+
+        private final TsFrequency frequency;
+        private final TsAggregationType aggregation;
+        private final ObjLongToIntFunction<TsFrequency> tsPeriodIdFunc;
+        private final SortableLongObsList raw;
+        private int lastMonth, minMonth, maxMonth;
+        private boolean aggregated;
+        // periods (of the final frequency) from base to base+pcount.length-1
+        private int base, nperiods;
+        private double[] pvalues;
+        private long[] pperiods;
+        private int[] pcount;
+        // compact view on the non empty periods, built on demand
+        private int[] vids;
+        private double[] vvalues;
+        private long[] vperiods;
+
+        @VisibleForTesting
+        AggregatingLongObsList(TsFrequency frequency, TsAggregationType aggregation, ObjLongToIntFunction<TsFrequency> tsPeriodIdFunc) {
+            this.frequency = frequency;
+            this.aggregation = aggregation;
+            this.tsPeriodIdFunc = tsPeriodIdFunc;
+            this.raw = new SortableLongObsList(tsPeriodIdFunc);
+            clear();
+        }
+
+        @VisibleForTesting
+        boolean isAggregated() {
+            return aggregated;
+        }
+
+        @Override
+        public void clear() {
+            raw.clear();
+            lastMonth = Integer.MIN_VALUE;
+            minMonth = Integer.MAX_VALUE;
+            maxMonth = Integer.MIN_VALUE;
+            aggregated = false;
+            nperiods = 0;
+            pvalues = null;
+            pperiods = null;
+            pcount = null;
+            vids = null;
+        }
+
+        @Override
+        public void add(long period, double value) {
+            if (aggregated) {
+                aggregate(period, value);
+                return;
+            }
+            int month = tsPeriodIdFunc.applyAsInt(TsFrequency.Monthly, period);
+            if (month == lastMonth) {
+                startAggregation();
+                aggregate(period, value);
+                return;
+            }
+            lastMonth = month;
+            minMonth = Math.min(minMonth, month);
+            maxMonth = Math.max(maxMonth, month);
+            raw.add(period, value);
+            if (raw.size() > maxMonth - minMonth + 1) {
+                // at least two observations in the same month
+                startAggregation();
+            }
+        }
+
+        private void startAggregation() {
+            // the observations can't be gathered without aggregation
+            aggregated = true;
+            int n = raw.size();
+            for (int i = 0; i < n; ++i) {
+                aggregate(raw.getPeriod(i), raw.getValue(i));
+            }
+            raw.clear();
+        }
+
+        private void aggregate(long period, double value) {
+            if (!Double.isFinite(value)) {
+                return;
+            }
+            vids = null;
+            int pos = position(tsPeriodIdFunc.applyAsInt(frequency, period));
+            int n = pcount[pos]++;
+            if (n == 0) {
+                ++nperiods;
+                pvalues[pos] = value;
+                pperiods[pos] = period;
+                return;
+            }
+            switch (aggregation) {
+                case Sum:
+                case Average:
+                    pvalues[pos] += value;
+                    break;
+                case First:
+                    // the first of the sorted observations (stable)
+                    if (period < pperiods[pos]) {
+                        pvalues[pos] = value;
+                    }
+                    break;
+                case Last:
+                    if (period >= pperiods[pos]) {
+                        pvalues[pos] = value;
+                    }
+                    break;
+                case Max:
+                    if (value > pvalues[pos]) {
+                        pvalues[pos] = value;
+                    }
+                    break;
+                case Min:
+                    if (value < pvalues[pos]) {
+                        pvalues[pos] = value;
+                    }
+                    break;
+            }
+            if (aggregation == TsAggregationType.Last) {
+                pperiods[pos] = Math.max(period, pperiods[pos]);
+            } else {
+                pperiods[pos] = Math.min(period, pperiods[pos]);
             }
         }
 
-        private static final class LongObs {
+        private int position(int id) {
+            if (pcount == null) {
+                base = id;
+                pvalues = new double[32];
+                pperiods = new long[32];
+                pcount = new int[32];
+                return 0;
+            }
+            int pos = id - base;
+            if (pos >= 0 && pos < pcount.length) {
+                return pos;
+            }
+            int first = Math.min(base, id), last = Math.max(base + pcount.length, id + 1);
+            int capacity = Math.max(last - first, 2 * pcount.length);
+            // the free space is put on the side of the new period
+            if (id < base) {
+                first = last - capacity;
+            }
+            int shift = base - first;
+            double[] tvalues = new double[capacity];
+            long[] tperiods = new long[capacity];
+            int[] tcount = new int[capacity];
+            System.arraycopy(pvalues, 0, tvalues, shift, pvalues.length);
+            System.arraycopy(pperiods, 0, tperiods, shift, pperiods.length);
+            System.arraycopy(pcount, 0, tcount, shift, pcount.length);
+            pvalues = tvalues;
+            pperiods = tperiods;
+            pcount = tcount;
+            base = first;
+            return id - base;
+        }
 
-            final long period;
-            final double value;
+        private void compact() {
+            if (vids != null) {
+                return;
+            }
+            vids = new int[nperiods];
+            vvalues = new double[nperiods];
+            vperiods = new long[nperiods];
+            for (int i = 0, j = 0; j < nperiods; ++i) {
+                int n = pcount[i];
+                if (n > 0) {
+                    vids[j] = base + i;
+                    vvalues[j] = aggregation == TsAggregationType.Average ? pvalues[i] / n : pvalues[i];
+                    vperiods[j++] = pperiods[i];
+                }
+            }
+        }
 
-            private LongObs(long period, double value) {
-                this.period = period;
-                this.value = value;
+        @Override
+        public int size() {
+            return aggregated ? nperiods : raw.size();
+        }
+
+        @Override
+        public void sortByPeriod() {
+            if (aggregated) {
+                compact();
+            } else {
+                raw.sortByPeriod();
             }
         }
+
+        @Override
+        public int getPeriodId(TsFrequency frequency, int index) {
+            if (!aggregated) {
+                return raw.getPeriodId(frequency, index);
+            }
+            compact();
+            checkIndex(index, nperiods);
+            return frequency == this.frequency ? vids[index] : tsPeriodIdFunc.applyAsInt(frequency, vperiods[index]);
+        }
+
+        @Override
+        public double getValue(int index) {
+            if (!aggregated) {
+                return raw.getValue(index);
+            }
+            compact();
+            checkIndex(index, nperiods);
+            return vvalues[index];
+        }
+
+        @Override
+        public double[] getValues() {
+            if (!aggregated) {
+                return raw.getValues();
+            }
+            compact();
+            return vvalues.clone();
+        }
     }
 
     static final class PreSortedLongObsList implements ObsList.LongObsList {
@@ -165,4 +407,57 @@ final class ObsLists {
             return Arrays.copyOf(values, size);
         }
     }
+
+    private static void checkIndex(int index, int size) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    /**
+     * Stable sort of the observations by period
+     */
+    private static void sort(long[] periods, double[] values, int n) {
+        long[] tperiods = Arrays.copyOf(periods, n);
+        double[] tvalues = Arrays.copyOf(values, n);
+        mergeSort(tperiods, tvalues, periods, values, 0, n);
+    }
+
+    private static final int INSERTIONSORT_THRESHOLD = 16;
+
+    // sorts src[lo, hi[ into dst[lo, hi[ (src and dst contain the same data)
+    private static void mergeSort(long[] psrc, double[] vsrc, long[] pdst, double[] vdst, int lo, int hi) {
+        int len = hi - lo;
+        if (len < INSERTIONSORT_THRESHOLD) {
+            for (int i = lo + 1; i < hi; ++i) {
+                long p = pdst[i];
+                double v = vdst[i];
+                int j = i - 1;
+                for (; j >= lo && pdst[j] > p; --j) {
+                    pdst[j + 1] = pdst[j];
+                    vdst[j + 1] = vdst[j];
+                }
+                pdst[j + 1] = p;
+                vdst[j + 1] = v;
+            }
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        mergeSort(pdst, vdst, psrc, vsrc, lo, mid);
+        mergeSort(pdst, vdst, psrc, vsrc, mid, hi);
+        if (psrc[mid - 1] <= psrc[mid]) {
+            System.arraycopy(psrc, lo, pdst, lo, len);
+            System.arraycopy(vsrc, lo, vdst, lo, len);
+            return;
+        }
+        for (int i = lo, p = lo, q = mid; i < hi; ++i) {
+            if (q >= hi || (p < mid && psrc[p] <= psrc[q])) {
+                pdst[i] = psrc[p];
+                vdst[i] = vsrc[p++];
+            } else {
+                pdst[i] = psrc[q];
+                vdst[i] = vsrc[q++];
+            }
+        }
+    }
 }
@@ -0,0 +1,352 @@
+/*
+* Copyright 2013 National Bank of Belgium
+*
+* Licensed under the EUPL, Version 1.1 or – as soon they will be approved
+* by the European Commission - subsequent versions of the EUPL (the "Licence");
+* You may not use this work except in compliance with the Licence.
+* You may obtain a copy of the Licence at:
+*
+* http://ec.europa.eu/idabc/eupl
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the Licence is distributed on an "AS IS" basis,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the Licence for the specific language governing permissions and
+* limitations under the Licence.
+*/
+
+package ec.tstoolkit.timeseries.simplets;
+
+import ec.tstoolkit.data.DataBlock;
+import ec.tstoolkit.design.IBuilder;
+import ec.tstoolkit.design.Immutable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Columnar storage of a large number of time series. The observations of all
+ * the series of a given frequency are stored in one contiguous block; each
+ * series is described by a few integers (start, offset and length in the
+ * block). Series may be missing.
+ *
+ * The blocks are shared by the views (see getBlock) and by the sub-collections
+ * (see subset); they must never be modified.
+ *
+ * @since 2.2.4
+ */
+@Immutable
+public final class TsDataColumns {
+
+    private static final int MISSING = -1;
+
+    /**
+     * Creates a new builder
+     *
+     * @return
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final class Builder implements IBuilder<TsDataColumns> {
+
+        private final List<TsFrequency> freqs = new ArrayList<>();
+        private final List<double[]> blocks = new ArrayList<>();
+        private int[] used = new int[0];
+        private int[] groups = new int[16], starts = new int[16], offsets = new int[16], lengths = new int[16];
+        private int count;
+
+        private Builder() {
+        }
+
+        /**
+         * Adds a series
+         *
+         * @param s The series. Null for a missing series
+         * @return This builder
+         */
+        public Builder add(TsData s) {
+            if (count == groups.length) {
+                int n = count * 2;
+                groups = Arrays.copyOf(groups, n);
+                starts = Arrays.copyOf(starts, n);
+                offsets = Arrays.copyOf(offsets, n);
+                lengths = Arrays.copyOf(lengths, n);
+            }
+            if (s == null) {
+                groups[count] = MISSING;
+            } else {
+                int g = group(s.getFrequency());
+                int n = s.getLength();
+                double[] block = blocks.get(g);
+                if (used[g] + n > block.length) {
+                    block = Arrays.copyOf(block, Math.max(block.length * 2, used[g] + n));
+                    blocks.set(g, block);
+                }
+                System.arraycopy(s.internalStorage(), 0, block, used[g], n);
+                groups[count] = g;
+                starts[count] = s.getStart().id();
+                offsets[count] = used[g];
+                lengths[count] = n;
+                used[g] += n;
+            }
+            ++count;
+            return this;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        @Override
+        public TsDataColumns build() {
+            double[][] data = new double[blocks.size()][];
+            for (int i = 0; i < data.length; ++i) {
+                data[i] = Arrays.copyOf(blocks.get(i), used[i]);
+            }
+            return new TsDataColumns(freqs.toArray(new TsFrequency[freqs.size()]), data,
+                    Arrays.copyOf(groups, count), Arrays.copyOf(starts, count),
+                    Arrays.copyOf(offsets, count), Arrays.copyOf(lengths, count));
+        }
+
+        private int group(TsFrequency freq) {
+            int g = freqs.indexOf(freq);
+            if (g < 0) {
+                g = freqs.size();
+                freqs.add(freq);
+                blocks.add(new double[256]);
+                used = Arrays.copyOf(used, g + 1);
+            }
+            return g;
+        }
+    }
+
+    private final TsFrequency[] freqs;
+    private final double[][] blocks;
+    private final int[] groups, starts, offsets, lengths;
+
+    private TsDataColumns(TsFrequency[] freqs, double[][] blocks, int[] groups, int[] starts, int[] offsets, int[] lengths) {
+        this.freqs = freqs;
+        this.blocks = blocks;
+        this.groups = groups;
+        this.starts = starts;
+        this.offsets = offsets;
+        this.lengths = lengths;
+    }
+
+    /**
+     * The number of series (including the missing ones)
+     *
+     * @return
+     */
+    public int getCount() {
+        return groups.length;
+    }
+
+    public boolean isMissing(int i) {
+        return groups[i] == MISSING;
+    }
+
+    /**
+     * The frequencies of the series, in order of appearance
+     *
+     * @return
+     */
+    public List<TsFrequency> getFrequencies() {
+        boolean[] present = new boolean[freqs.length];
+        for (int g : groups) {
+            if (g != MISSING) {
+                present[g] = true;
+            }
+        }
+        List<TsFrequency> result = new ArrayList<>(freqs.length);
+        for (int g = 0; g < freqs.length; ++g) {
+            if (present[g]) {
+                result.add(freqs[g]);
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Gets the frequency of a series
+     *
+     * @param i The position of the series
+     * @return The frequency or null if the series is missing
+     */
+    public TsFrequency getFrequency(int i) {
+        int g = groups[i];
+        return g == MISSING ? null : freqs[g];
+    }
+
+    /**
+     * Gets the domain of a series
+     *
+     * @param i The position of the series
+     * @return The domain or null if the series is missing
+     */
+    public TsDomain getDomain(int i) {
+        int g = groups[i];
+        return g == MISSING ? null : new TsDomain(new TsPeriod(freqs[g], starts[i]), lengths[i]);
+    }
+
+    /**
+     * Gets a copy of a series
+     *
+     * @param i The position of the series
+     * @return A new series or null if the series is missing
+     */
+    public TsData get(int i) {
+        int g = groups[i];
+        if (g == MISSING) {
+            return null;
+        }
+        double[] data = Arrays.copyOfRange(blocks[g], offsets[i], offsets[i] + lengths[i]);
+        return new TsData(new TsPeriod(freqs[g], starts[i]), data, false);
+    }
+
+    /**
+     * Gets a view on a series. The data are not copied.
+     *
+     * @param i The position of the series
+     * @return The view or null if the series is missing. The view should not
+     * be modified.
+     */
+    public TsDataBlock getBlock(int i) {
+        int g = groups[i];
+        if (g == MISSING) {
+            return null;
+        }
+        return new TsDataBlock(new TsPeriod(freqs[g], starts[i]),
+                new DataBlock(blocks[g], offsets[i], offsets[i] + lengths[i], 1));
+    }
+
+    /**
+     * Gets all the series (missing series are null)
+     *
+     * @return A new list of new series
+     */
+    public List<TsData> getAll() {
+        List<TsData> result = new ArrayList<>(groups.length);
+        for (int i = 0; i < groups.length; ++i) {
+            result.add(get(i));
+        }
+        return result;
+    }
+
+    /**
+     * Gets the union of the domains of the series of a given frequency
+     *
+     * @param freq The frequency
+     * @return The domain or null if no series has that frequency
+     */
+    public TsDomain getDomain(TsFrequency freq) {
+        int g = Arrays.asList(freqs).indexOf(freq);
+        if (g < 0) {
+            return null;
+        }
+        int beg = Integer.MAX_VALUE, end = Integer.MIN_VALUE;
+        for (int i = 0; i < groups.length; ++i) {
+            if (groups[i] == g) {
+                beg = Math.min(beg, starts[i]);
+                end = Math.max(end, starts[i] + lengths[i]);
+            }
+        }
+        return beg > end ? null : new TsDomain(new TsPeriod(freq, beg), end - beg);
+    }
+
+    /**
+     * Selects a range of series. The blocks are shared.
+     *
+     * @param from The first series (included)
+     * @param to The last series (excluded)
+     * @return A new object
+     */
+    public TsDataColumns subset(int from, int to) {
+        return new TsDataColumns(freqs, blocks,
+                Arrays.copyOfRange(groups, from, to), Arrays.copyOfRange(starts, from, to),
+                Arrays.copyOfRange(offsets, from, to), Arrays.copyOfRange(lengths, from, to));
+    }
+
+    /**
+     * Applies a function on all the observations. The blocks are processed
+     * in one pass, without creating intermediate series.
+     *
+     * @param fn The function
+     * @return A new object with the same structure
+     */
+    public TsDataColumns transform(DoubleUnaryOperator fn) {
+        double[][] nblocks = new double[blocks.length][];
+        for (int g = 0; g < blocks.length; ++g) {
+            double[] src = blocks[g];
+            double[] dst = new double[src.length];
+            for (int j = 0; j < src.length; ++j) {
+                dst[j] = fn.applyAsDouble(src[j]);
+            }
+            nblocks[g] = dst;
+        }
+        return new TsDataColumns(freqs, nblocks, groups, starts, offsets, lengths);
+    }
+
+    /**
+     * Computes the sum of the series of a given frequency. The semantics are
+     * the same as in TsAggregator (without weights).
+     *
+     * @param freq The frequency
+     * @param missingsEqualsToZero If true, the sum is computed on the union of
+     * the domains (absent observations are considered as 0); otherwise, it is
+     * computed on the intersection of the domains.
+     * @return A new series or null if no series has that frequency
+     */
+    public TsData sum(TsFrequency freq, boolean missingsEqualsToZero) {
+        int g = Arrays.asList(freqs).indexOf(freq);
+        if (g < 0) {
+            return null;
+        }
+        int n = 0, beg, end;
+        for (int i = 0; i < groups.length; ++i) {
+            if (groups[i] == g) {
+                ++n;
+            }
+        }
+        if (n == 0) {
+            return null;
+        }
+        if (missingsEqualsToZero) {
+            beg = Integer.MAX_VALUE;
+            end = Integer.MIN_VALUE;
+            for (int i = 0; i < groups.length; ++i) {
+                if (groups[i] == g) {
+                    beg = Math.min(beg, starts[i]);
+                    end = Math.max(end, starts[i] + lengths[i]);
+                }
+            }
+        } else {
+            beg = Integer.MIN_VALUE;
+            end = Integer.MAX_VALUE;
+            for (int i = 0; i < groups.length; ++i) {
+                if (groups[i] == g) {
+                    beg = Math.max(beg, starts[i]);
+                    end = Math.min(end, starts[i] + lengths[i]);
+                }
+            }
+        }
+        if (beg > end) {
+            end = beg;
+        }
+        double[] total = new double[end - beg];
+        double[] block = blocks[g];
+        for (int i = 0; i < groups.length; ++i) {
+            if (groups[i] == g) {
+                int ibeg = Math.max(beg, starts[i]), iend = Math.min(end, starts[i] + lengths[i]);
+                for (int t = ibeg, k = offsets[i] + ibeg - starts[i]; t < iend; ++t, ++k) {
+                    total[t - beg] += block[k];
+                }
+            }
+        }
+        return new TsData(new TsPeriod(freq, beg), total, false);
+    }
+}
@@ -21,7 +21,10 @@ import ec.tstoolkit.algorithm.IProcessing.Status;
 import ec.tstoolkit.information.InformationSet;
 import ec.tstoolkit.information.ProxyResults;
 import ec.tstoolkit.maths.matrices.Matrix;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
 import org.junit.AfterClass;
 import org.junit.Test;
 import static org.junit.Assert.*;
@@ -99,6 +102,52 @@ public class ParallelProcessingNodeTest {
 
     }
 
+    @Test
+    public void testTimeout() throws InterruptedException {
+        final CountDownLatch finished = new CountDownLatch(1);
+        ParallelProcessingNode<Matrix> node = new ParallelProcessingNode<>("all", null);
+        node.add(createNode(0));
+        node.add(new IProcessingNode<Matrix>() {
+
+            @Override
+            public String getName() {
+                return "slow";
+            }
+
+            @Override
+            public String getPrefix() {
+                return getName();
+            }
+
+            @Override
+            public Status process(Matrix input, Map<String, IProcResults> results) {
+                try {
+                    Thread.sleep(300);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                InformationSet tmp = new InformationSet();
+                tmp.set("value", 0.0);
+                results.put(getName(), new ProxyResults(tmp, null));
+                finished.countDown();
+                return Status.Valid;
+            }
+        });
+        node.setExecutor(new ProcessingExecutor(2));
+        node.setTimeout(50);
+
+        Matrix M = new Matrix(10, 1);
+        M.randomize();
+        Map<String, IProcResults> results = new HashMap<>();
+        assertEquals(Status.Valid, node.process(M, results));
+        CompositeResults all = (CompositeResults) results.get("all");
+        // the slow node completes after the timeout: its results are discarded
+        finished.await();
+        assertNotNull(all.get("column0"));
+        assertNull(all.get("slow"));
+        assertEquals(Collections.singletonList("slow: timeout"), ProcessingInformation.getErrorMessages(all.getProcessingInformation()));
+    }
+
     private static IProcessingNode<Matrix> createNode(final int pos) {
         return new IProcessingNode<Matrix>() {
 
@@ -0,0 +1,117 @@
+/*
+* Copyright 2013 National Bank of Belgium
+*
+* Licensed under the EUPL, Version 1.1 or – as soon they will be approved
+* by the European Commission - subsequent versions of the EUPL (the "Licence");
+* You may not use this work except in compliance with the Licence.
+* You may obtain a copy of the Licence at:
+*
+* http://ec.europa.eu/idabc/eupl
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the Licence is distributed on an "AS IS" basis,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the Licence for the specific language governing permissions and
+* limitations under the Licence.
+*/
+package ec.tstoolkit.algorithm;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class ProcessingExecutorTest {
+
+    public ProcessingExecutorTest() {
+    }
+
+    @Test
+    public void testNested() throws Exception {
+        // nested calls on a single worker should not deadlock
+        final ProcessingExecutor exec = new ProcessingExecutor(1);
+        List<Callable<Integer>> outer = new ArrayList<>();
+        for (int i = 0; i < 5; ++i) {
+            final int k = i;
+            outer.add(new Callable<Integer>() {
+                @Override
+                public Integer call() throws Exception {
+                    List<Callable<Integer>> inner = new ArrayList<>();
+                    for (int j = 0; j < 10; ++j) {
+                        final int l = j;
+                        inner.add(new Callable<Integer>() {
+                            @Override
+                            public Integer call() throws Exception {
+                                return k * l;
+                            }
+                        });
+                    }
+                    int s = 0;
+                    for (ForkJoinTask<Integer> f : exec.invokeAll(inner)) {
+                        s += f.get();
+                    }
+                    return s;
+                }
+            });
+        }
+        List<ForkJoinTask<Integer>> rslts = exec.invokeAll(outer);
+        for (int i = 0; i < 5; ++i) {
+            assertEquals(45 * i, rslts.get(i).get().intValue());
+        }
+    }
+
+    @Test
+    public void testFailure() throws Exception {
+        ProcessingExecutor exec = new ProcessingExecutor(2);
+        List<Callable<Integer>> tasks = new ArrayList<>();
+        tasks.add(new Callable<Integer>() {
+            @Override
+            public Integer call() throws Exception {
+                throw new IllegalStateException();
+            }
+        });
+        tasks.add(new Callable<Integer>() {
+            @Override
+            public Integer call() throws Exception {
+                return 1;
+            }
+        });
+        List<ForkJoinTask<Integer>> rslts = exec.invokeAll(tasks);
+        assertTrue(rslts.get(0).isCompletedAbnormally());
+        assertEquals(1, rslts.get(1).get().intValue());
+    }
+
+    @Test
+    public void testSetDefault() {
+        ForkJoinPool pool = new ForkJoinPool(1);
+        try {
+            ProcessingExecutor exec = new ProcessingExecutor(pool);
+            ProcessingExecutor.setDefault(exec);
+            assertSame(exec, ProcessingExecutor.getDefault());
+            ProcessingExecutor.setDefault(null);
+            // the pool of the caller is left untouched
+            assertFalse(pool.isShutdown());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test(expected = TimeoutException.class)
+    public void testTimeout() throws Exception {
+        ProcessingExecutor exec = new ProcessingExecutor(1);
+        List<Callable<Integer>> tasks = new ArrayList<>();
+        tasks.add(new Callable<Integer>() {
+            @Override
+            public Integer call() throws Exception {
+                Thread.sleep(2000);
+                return 1;
+            }
+        });
+        exec.invokeAll(tasks, 50, TimeUnit.MILLISECONDS);
+    }
+}
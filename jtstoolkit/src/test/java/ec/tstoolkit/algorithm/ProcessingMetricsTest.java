@@ -0,0 +1,132 @@
+/*
+ * Copyright 2013 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved 
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software 
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and 
+ * limitations under the Licence.
+ */
+package ec.tstoolkit.algorithm;
+
+import data.Data;
+import ec.satoolkit.GenericSaProcessingFactory;
+import ec.satoolkit.algorithm.implementation.TramoSeatsProcessingFactory;
+import ec.satoolkit.algorithm.implementation.X13ProcessingFactory;
+import ec.satoolkit.tramoseats.TramoSeatsSpecification;
+import ec.satoolkit.x13.X13Specification;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class ProcessingMetricsTest {
+
+    public ProcessingMetricsTest() {
+    }
+
+    @Test
+    public void testCollector() throws IOException {
+        ProcessingMetricsCollector collector = new ProcessingMetricsCollector(true);
+        collector.start();
+        try {
+            assertTrue(ProcessingMetrics.isEnabled());
+            TramoSeatsProcessingFactory.process(Data.P, TramoSeatsSpecification.RSA5);
+            X13ProcessingFactory.process(Data.P, X13Specification.RSA5);
+        } finally {
+            collector.stop();
+        }
+        assertFalse(ProcessingMetrics.isEnabled());
+        // no more records
+        TramoSeatsProcessingFactory.process(Data.P, TramoSeatsSpecification.RSA5);
+        assertEquals(2, collector.getCount());
+        assertEquals(2, collector.getRecords().size());
+
+        Map<String, ProcessingMetrics.Measure> stages = collector.getStages();
+        assertEquals(2, stages.get(GenericSaProcessingFactory.PREPROCESSING).getCount());
+        assertEquals(2, stages.get(GenericSaProcessingFactory.DECOMPOSITION).getCount());
+        assertTrue(stages.containsKey(GenericSaProcessingFactory.PREPROCESSING + ".outliers"));
+        assertTrue(stages.containsKey(GenericSaProcessingFactory.PREPROCESSING + ".automodel"));
+        assertTrue(stages.containsKey(GenericSaProcessingFactory.DECOMPOSITION + ".components"));
+        assertTrue(stages.containsKey(GenericSaProcessingFactory.DECOMPOSITION + ".D"));
+        long pre = stages.get(GenericSaProcessingFactory.PREPROCESSING).getTime();
+        assertTrue(pre > 0 && pre <= collector.getTotal().getTime());
+        assertTrue(collector.getCounters().get("levmar.iterations") > 0);
+        assertTrue(collector.getCounters().get("arma.candidates") > 0);
+        assertTrue(collector.getCounters().get("solver.likelihoods") > 0);
+
+        StringBuilder csv = new StringBuilder();
+        collector.writeCsv(csv);
+        assertTrue(csv.toString().startsWith("name,count,time_ms,allocated_bytes\ntotal,2,"));
+        StringBuilder json = new StringBuilder();
+        collector.writeJson(json);
+        assertTrue(json.toString().startsWith("{\"count\":2,\"total\":{"));
+        assertTrue(json.toString().contains("\"records\":[{\"id\":"));
+
+        collector.clear();
+        assertEquals(0, collector.getCount());
+        assertTrue(collector.getStages().isEmpty());
+    }
+
+    @Test
+    public void testParallelTasks() throws Exception {
+        ProcessingMetricsCollector collector = new ProcessingMetricsCollector(true);
+        collector.start();
+        ProcessingExecutor executor = new ProcessingExecutor(4);
+        try {
+            ProcessingMetrics.Record record = ProcessingMetrics.begin();
+            try (ProcessingMetrics.Stage stage = ProcessingMetrics.stage("outer")) {
+                List<Callable<Void>> tasks = new ArrayList<>();
+                for (int i = 0; i < 20; ++i) {
+                    tasks.add(() -> {
+                        try (ProcessingMetrics.Stage inner = ProcessingMetrics.stage("inner")) {
+                            ProcessingMetrics.count("tasks", 1);
+                        }
+                        return null;
+                    });
+                }
+                executor.invokeAll(tasks);
+            }
+            ProcessingMetrics.end(null, record);
+            assertEquals(20L, (long) record.getCounters().get("tasks"));
+            assertEquals(1, record.getStages().get("outer").getCount());
+            assertEquals(20, record.getStages().get("outer.inner").getCount());
+        } finally {
+            collector.stop();
+        }
+    }
+
+    @Test
+    public void testParallelArmaSelection() {
+        // the candidates of the automatic model identification are evaluated
+        // sequentially (one worker) or in parallel; the counters are the same
+        Map<String, Long> seq = counters(new ProcessingExecutor(1));
+        Map<String, Long> par = counters(new ProcessingExecutor(4));
+        assertTrue(seq.get("levmar.iterations") > 0);
+        assertEquals(seq, par);
+    }
+
+    private static Map<String, Long> counters(ProcessingExecutor executor) {
+        ProcessingMetricsCollector collector = new ProcessingMetricsCollector(false);
+        ProcessingExecutor.setDefault(executor);
+        collector.start();
+        try {
+            TramoSeatsProcessingFactory.process(Data.P, TramoSeatsSpecification.RSA5);
+            X13ProcessingFactory.process(Data.P, X13Specification.RSA5);
+            return collector.getCounters();
+        } finally {
+            collector.stop();
+            ProcessingExecutor.setDefault(null);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2013 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.tstoolkit.algorithm;
+
+import data.Data;
+import ec.satoolkit.algorithm.implementation.TramoSeatsProcessingFactory;
+import ec.satoolkit.tramoseats.TramoSeatsSpecification;
+import ec.tstoolkit.algorithm.SolverMetrics.Counter;
+import ec.tstoolkit.arima.estimation.GlsArimaMonitor;
+import ec.tstoolkit.arima.estimation.RegArimaModel;
+import ec.tstoolkit.data.DataBlock;
+import ec.tstoolkit.maths.matrices.Householder;
+import ec.tstoolkit.maths.matrices.Matrix;
+import ec.tstoolkit.sarima.SarimaModel;
+import ec.tstoolkit.sarima.SarimaSpecification;
+import ec.tstoolkit.sarima.estimation.SarimaMapping;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.IntStream;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class SolverMetricsTest {
+
+    public SolverMetricsTest() {
+    }
+
+    @Test
+    public void testScope() {
+        Matrix m = new Matrix(10, 3);
+        m.randomize(0);
+        SolverMetrics.Scope scope;
+        try (SolverMetrics.Scope s = SolverMetrics.open()) {
+            scope = s;
+            new Householder(false).decompose(m);
+            try (SolverMetrics.Scope inner = SolverMetrics.open()) {
+                new Householder(false).decompose(m);
+                assertEquals(1, inner.get(Counter.Decompositions));
+            }
+            assertEquals(2, s.get(Counter.Decompositions));
+            assertEquals(0, s.get(Counter.FilterRuns));
+        }
+        // frozen
+        new Householder(false).decompose(m);
+        assertEquals(2, scope.get(Counter.Decompositions));
+    }
+
+    @Test
+    public void testProcessing() {
+        try (SolverMetrics.Scope scope = SolverMetrics.open()) {
+            TramoSeatsProcessingFactory.process(Data.P, TramoSeatsSpecification.RSA5);
+            assertTrue(scope.get(Counter.FilterRuns) > 0);
+            assertTrue(scope.get(Counter.LikelihoodEvaluations) > 0);
+            assertTrue(scope.get(Counter.OptimizerIterations) > 0);
+            assertTrue(scope.get(Counter.Decompositions) > 0);
+        }
+    }
+
+    @Test
+    public void testParallelDerivatives() {
+        // the work of the tasks of the ProcessingExecutor is attributed to the caller
+        Map<Counter, Long> seq = estimateAirline(false), par = estimateAirline(true);
+        assertTrue(seq.get(Counter.LikelihoodEvaluations) > 0);
+        assertEquals(seq, par);
+    }
+
+    private static Map<Counter, Long> estimateAirline(boolean mt) {
+        SarimaSpecification spec = new SarimaSpecification(12);
+        spec.airline();
+        RegArimaModel<SarimaModel> reg = new RegArimaModel<>(new SarimaModel(spec), new DataBlock(Data.P));
+        GlsArimaMonitor<SarimaModel> monitor = new GlsArimaMonitor<>();
+        monitor.setMapping(new SarimaMapping(spec, true));
+        monitor.setMultiThread(mt);
+        try (SolverMetrics.Scope scope = SolverMetrics.open()) {
+            assertNotNull(monitor.optimize(reg));
+            scope.close();
+            return scope.getAll();
+        }
+    }
+
+    @Test
+    public void testExecutor() throws InterruptedException {
+        List<Callable<Long>> tasks = new ArrayList<>();
+        for (int i = 0; i < 8; ++i) {
+            final int n = i + 1;
+            tasks.add(() -> {
+                SolverMetrics.add(Counter.FilterRuns, n);
+                // nested tasks
+                ProcessingExecutor.getDefault().invokeAll(Collections.<Callable<Void>>singletonList(() -> {
+                    SolverMetrics.increment(Counter.Decompositions);
+                    return null;
+                }));
+                try (SolverMetrics.Scope scope = SolverMetrics.open()) {
+                    SolverMetrics.increment(Counter.OptimizerIterations);
+                    return scope.get(Counter.OptimizerIterations);
+                }
+            });
+        }
+        try (SolverMetrics.Scope scope = SolverMetrics.open()) {
+            for (ForkJoinTask<Long> task : ProcessingExecutor.getDefault().invokeAll(tasks)) {
+                assertEquals(1, task.join().longValue());
+            }
+            assertEquals(36, scope.get(Counter.FilterRuns));
+            assertEquals(8, scope.get(Counter.Decompositions));
+            assertEquals(8, scope.get(Counter.OptimizerIterations));
+        }
+    }
+
+    @Test
+    public void testBatch() {
+        SolverMetrics.Batch batch = new SolverMetrics.Batch();
+        long[] n = new long[8];
+        IntStream.range(0, n.length).parallel().forEach(i -> {
+            try (SolverMetrics.Scope scope = SolverMetrics.open(batch)) {
+                for (int j = 0; j <= i; ++j) {
+                    SolverMetrics.increment(Counter.FilterRuns);
+                }
+                SolverMetrics.add(Counter.LikelihoodEvaluations, 2);
+                // only the work of the current thread
+                n[i] = scope.get(Counter.FilterRuns);
+            }
+        });
+        for (int i = 0; i < n.length; ++i) {
+            assertEquals(i + 1, n[i]);
+        }
+        assertEquals(36, batch.get(Counter.FilterRuns));
+        assertEquals(16, batch.get(Counter.LikelihoodEvaluations));
+        assertEquals(0, batch.get(Counter.Decompositions));
+        batch.reset();
+        assertEquals(0, batch.get(Counter.FilterRuns));
+    }
+}
@@ -89,6 +89,34 @@ public class BlackmanTukeySpectrumTest {
 //        }
     }
 
+    @Test
+    public void testSpectrum() {
+        double[] dx = new double[g_exports.length - 1];
+        for (int i = 0; i < dx.length; ++i) {
+            dx[i] = g_exports[i + 1] - g_exports[i];
+        }
+        for (int len : new int[]{44, 79, 112}) {
+            BlackmanTukeySpectrum tukey = new BlackmanTukeySpectrum();
+            tukey.setWindowLength(len);
+            tukey.setData(dx);
+            assertTrue(tukey.isValid());
+            double[] spectrum = tukey.getSpectrum();
+            double[] w = tukey.window();
+            double[] cov = new double[len];
+            for (int j = 0; j < len; ++j) {
+                cov[j] = DescriptiveStatistics.cov(j, tukey.getData());
+                assertEquals(cov[j], tukey.getAutoCovariances(j), 1e-9 * cov[0]);
+            }
+            for (int i = 0; i < spectrum.length; ++i) {
+                double s = w[0] * cov[0];
+                for (int j = 1; j < len; ++j) {
+                    s += 2 * w[j] * cov[j] * Math.cos(Math.PI * 2.0 * i * j / len);
+                }
+                assertEquals(Math.max(s, 0) / cov[0], spectrum[i], 1e-9);
+            }
+        }
+    }
+
     //@Test
     public void testRandom() {
         int N = 360, M = 500;
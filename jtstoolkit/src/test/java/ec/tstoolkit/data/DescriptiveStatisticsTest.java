@@ -17,6 +17,7 @@
 
 package ec.tstoolkit.data;
 
+import java.util.Random;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -35,4 +36,32 @@ public class DescriptiveStatisticsTest {
         Assert.assertFalse(Double.isFinite(Double.POSITIVE_INFINITY));
         Assert.assertFalse(Double.isFinite(Double.NaN));
     }
+
+    @Test
+    public void testAcov() {
+        Random rnd = new Random(0);
+        for (int n : new int[]{120, 240, 601}) {
+            double[] x = new double[n];
+            for (int i = 0; i < n; ++i) {
+                x[i] = rnd.nextGaussian();
+            }
+            int k = n - 1;
+            Assert.assertTrue(DescriptiveStatistics.isFftCheaper(k, n));
+            Assert.assertArrayEquals(directAcov(k, x), DescriptiveStatistics.acov(k, x), 1e-12);
+            // missing values
+            x[0] = Double.NaN;
+            x[n / 2] = Double.NaN;
+            x[n / 2 + 1] = Double.POSITIVE_INFINITY;
+            Assert.assertArrayEquals(directAcov(k, x), DescriptiveStatistics.acov(k, x), 1e-12);
+            Assert.assertArrayEquals(directAcov(5, x), DescriptiveStatistics.acov(5, x), 0);
+        }
+    }
+
+    private static double[] directAcov(int k, double[] x) {
+        double[] c = new double[k];
+        for (int i = 0; i < k; ++i) {
+            c[i] = DescriptiveStatistics.cov(i, x);
+        }
+        return c;
+    }
 }
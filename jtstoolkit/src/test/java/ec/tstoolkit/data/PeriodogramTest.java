@@ -31,4 +31,41 @@ public class PeriodogramTest {
         }
     }
 
+    @Test
+    public void testFourierOrdinates() {
+        // short series (direct computation) and long series (FFT)
+        for (int K : new int[]{2, 3, 12, 31, 32, 37, 41, 60, 82, 97, 160, 201, 240, 256, 601}) {
+            DataBlock z = new DataBlock(K);
+            z.randomize(K);
+            if (K > 10) {
+                z.set(3, Double.NaN);
+                z.set(K - 2, Double.NaN);
+            }
+            for (boolean mean : new boolean[]{false, true}) {
+                Periodogram p = new Periodogram(z, mean);
+                double[] expected = directP(p.getData(), p.getSsq(), p.getP()[0]);
+                assertArrayEquals(expected, p.getP(), 1e-9);
+            }
+        }
+    }
+
+    // p(j) = 2*|sum(x(t)*e(i*t*2*pi*j/n))|^2/sx2, computed directly
+    private static double[] directP(double[] x, double ssq, double p0) {
+        int n = x.length;
+        double[] p = new double[1 + n / 2];
+        p[0] = p0;
+        for (int j = 1; j < p.length; ++j) {
+            double a = 0, b = 0;
+            for (int t = 0; t < n; ++t) {
+                if (!Double.isNaN(x[t])) {
+                    double l = 2 * Math.PI * ((long) t * j % n) / n;
+                    a += x[t] * Math.cos(l);
+                    b += x[t] * Math.sin(l);
+                }
+            }
+            p[j] = (2 * j == n ? 1 : 2) * (a * a + b * b) / ssq;
+        }
+        return p;
+    }
+
 }
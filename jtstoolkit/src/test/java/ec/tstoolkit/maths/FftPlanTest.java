@@ -0,0 +1,123 @@
+/*
+ * Copyright 2013 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved 
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software 
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and 
+ * limitations under the Licence.
+ */
+package ec.tstoolkit.maths;
+
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class FftPlanTest {
+
+    // mixed radix (4, 2, 3, 5, 7, 11, 13, 37) and Bluestein (41, 43, 101) lengths
+    private static final int[] LENGTHS = {0, 1, 2, 3, 4, 5, 6, 7, 9, 11, 16, 24, 26, 35, 37, 41, 43, 60,
+        82, 101, 120, 128, 210, 240, 486, 1000};
+
+    public FftPlanTest() {
+    }
+
+    @Test
+    public void testTransform() {
+        Random rnd = new Random(0);
+        for (int n : LENGTHS) {
+            double[] re = random(rnd, n), im = random(rnd, n);
+            double[] xre = re.clone(), xim = im.clone();
+            FftPlan plan = FftPlan.of(n);
+            plan.transform(xre, xim);
+            double[][] dft = dft(re, im);
+            for (int k = 0; k < n; ++k) {
+                assertEquals(dft[0][k], xre[k], 1e-9);
+                assertEquals(dft[1][k], xim[k], 1e-9);
+            }
+            plan.backTransform(xre, xim);
+            for (int i = 0; i < n; ++i) {
+                assertEquals(re[i], xre[i], 1e-12);
+                assertEquals(im[i], xim[i], 1e-12);
+            }
+        }
+    }
+
+    @Test
+    public void testRealTransform() {
+        Random rnd = new Random(0);
+        for (int n : LENGTHS) {
+            double[] x = random(rnd, n);
+            int h = n / 2;
+            double[] re = new double[h + 1], im = new double[h + 1];
+            FftPlan plan = FftPlan.of(n);
+            plan.realTransform(x, re, im);
+            double[][] dft = dft(x, new double[n]);
+            for (int k = 0; k < n && k <= h; ++k) {
+                assertEquals(dft[0][k], re[k], 1e-9);
+                assertEquals(dft[1][k], im[k], 1e-9);
+            }
+            double[] y = new double[n];
+            plan.realBackTransform(re, im, y);
+            for (int i = 0; i < n; ++i) {
+                assertEquals(x[i], y[i], 1e-12);
+            }
+        }
+    }
+
+    @Test
+    public void testFastLength() {
+        assertEquals(2, FftPlan.fastLength(0));
+        assertEquals(2, FftPlan.fastLength(2));
+        assertEquals(6, FftPlan.fastLength(5));
+        assertEquals(250, FftPlan.fastLength(241));
+        assertEquals(1024, FftPlan.fastLength(1001));
+        for (int n = 1; n < 2000; ++n) {
+            int m = FftPlan.fastLength(n);
+            assertTrue(m >= n && m % 2 == 0 && m < 2 * n + 2);
+            while (m % 2 == 0) {
+                m /= 2;
+            }
+            while (m % 3 == 0) {
+                m /= 3;
+            }
+            while (m % 5 == 0) {
+                m /= 5;
+            }
+            assertEquals(1, m);
+        }
+        assertSame(FftPlan.of(120), FftPlan.of(120));
+    }
+
+    private static double[] random(Random rnd, int n) {
+        double[] x = new double[n];
+        for (int i = 0; i < n; ++i) {
+            x[i] = rnd.nextGaussian();
+        }
+        return x;
+    }
+
+    // X(k) = sum(x(j)*e(i*2*pi*j*k/n))
+    private static double[][] dft(double[] re, double[] im) {
+        int n = re.length;
+        double[][] X = new double[2][n];
+        for (int k = 0; k < n; ++k) {
+            for (int j = 0; j < n; ++j) {
+                double a = 2 * Math.PI * ((long) j * k % n) / n;
+                double c = Math.cos(a), s = Math.sin(a);
+                X[0][k] += re[j] * c - im[j] * s;
+                X[1][k] += re[j] * s + im[j] * c;
+            }
+        }
+        return X;
+    }
+}
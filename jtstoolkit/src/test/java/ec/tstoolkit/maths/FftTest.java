@@ -0,0 +1,79 @@
+/*
+ * Copyright 2013 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved 
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software 
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and 
+ * limitations under the Licence.
+ */
+package ec.tstoolkit.maths;
+
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+public class FftTest {
+
+    public FftTest() {
+    }
+
+    @Test
+    public void testTransform() {
+        Random rnd = new Random(0);
+        Fft fft = new Fft();
+        for (int n : new int[]{1, 2, 3, 5, 7, 8, 12, 13, 17, 32, 44, 60, 79, 100, 112, 240}) {
+            double[] re = new double[n], im = new double[n];
+            for (int i = 0; i < n; ++i) {
+                re[i] = rnd.nextGaussian();
+                im[i] = rnd.nextGaussian();
+            }
+            double[] xre = re.clone(), xim = im.clone();
+            fft.transform(xre, xim);
+            for (int k = 0; k < n; ++k) {
+                // X(k) = sum(x(j)*e(i*2*pi*j*k/n))
+                double sre = 0, sim = 0;
+                for (int j = 0; j < n; ++j) {
+                    double a = 2 * Math.PI * ((long) j * k % n) / n;
+                    double c = Math.cos(a), s = Math.sin(a);
+                    sre += re[j] * c - im[j] * s;
+                    sim += re[j] * s + im[j] * c;
+                }
+                assertEquals(sre, xre[k], 1e-9);
+                assertEquals(sim, xim[k], 1e-9);
+            }
+            fft.backTransform(xre, xim);
+            for (int i = 0; i < n; ++i) {
+                assertEquals(re[i], xre[i], 1e-12);
+                assertEquals(im[i], xim[i], 1e-12);
+            }
+        }
+    }
+
+    @Test
+    public void testComplex() {
+        Random rnd = new Random(0);
+        Fft fft = new Fft();
+        int n = 64;
+        double[] re = new double[n], im = new double[n];
+        Complex[] c = new Complex[n];
+        for (int i = 0; i < n; ++i) {
+            re[i] = rnd.nextGaussian();
+            im[i] = rnd.nextGaussian();
+            c[i] = Complex.cart(re[i], im[i]);
+        }
+        fft.transform(re, im);
+        fft.transform(c);
+        for (int i = 0; i < n; ++i) {
+            assertEquals(c[i].getRe(), re[i], 1e-9);
+            assertEquals(c[i].getIm(), im[i], 1e-9);
+        }
+    }
+}
@@ -25,4 +25,17 @@ public class SymmetricFrequencyResponseTest {
         Matrix d = SymmetricFrequencyResponse.dtransform(53);
         assertTrue(l.equals(d, 1e-18));
     }
+
+    @Test
+    public void testEvaluate() {
+        SymmetricFilter sf = HendersonFilters.instance.create(23);
+        // n smaller than the length of the filter: folded weights
+        for (int n : new int[]{6, 12, 17, 100}) {
+            double[] f = SymmetricFrequencyResponse.evaluate(sf, n);
+            assertEquals(n / 2 + 1, f.length);
+            for (int k = 0; k < f.length; ++k) {
+                assertEquals(sf.frequencyResponse(2 * Math.PI * k / n).getRe(), f[k], 1e-9);
+            }
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2013 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.tstoolkit.maths.matrices;
+
+import ec.tstoolkit.algorithm.ProcessingExecutor;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class MatrixKernelsTest {
+
+    public MatrixKernelsTest() {
+    }
+
+    private static Matrix naive(SubMatrix a, SubMatrix b) {
+        Matrix c = new Matrix(a.getRowsCount(), b.getColumnsCount());
+        for (int i = 0; i < c.getRowsCount(); ++i) {
+            for (int j = 0; j < c.getColumnsCount(); ++j) {
+                double s = 0;
+                for (int k = 0; k < a.getColumnsCount(); ++k) {
+                    s += a.get(i, k) * b.get(k, j);
+                }
+                c.set(i, j, s);
+            }
+        }
+        return c;
+    }
+
+    @Test
+    public void testProduct() {
+        // odd sizes, larger than the cache blocks
+        for (int[] dim : new int[][]{{5, 4, 1}, {33, 37, 41}, {131, 7, 263}, {70, 301, 9}}) {
+            int m = dim[0], n = dim[1], k = dim[2];
+            Matrix a = new Matrix(m, k);
+            a.randomize(1);
+            Matrix b = new Matrix(k, n);
+            b.randomize(2);
+            Matrix c = new Matrix(m, n);
+            MatrixKernels.product(a.all(), b.all(), c.all(), false);
+            assertEquals(0, c.minus(naive(a.all(), b.all())).nrm2(), 1e-9);
+            // transposed views
+            Matrix at = a.transpose(), bt = b.transpose();
+            c.set(Double.NaN);
+            MatrixKernels.product(at.all().transpose(), bt.all().transpose(), c.all(), false);
+            assertEquals(0, c.minus(naive(a.all(), b.all())).nrm2(), 1e-9);
+            // result in a sub-matrix
+            Matrix big = new Matrix(m + 3, n + 2);
+            MatrixKernels.product(a.all(), b.all(), big.subMatrix(2, m + 2, 1, n + 1), false);
+            assertEquals(0, new Matrix(big.subMatrix(2, m + 2, 1, n + 1)).minus(naive(a.all(), b.all())).nrm2(), 1e-9);
+            assertEquals(0, big.row(0).nrm2(), 0);
+            assertEquals(0, big.column(0).nrm2(), 0);
+        }
+    }
+
+    @Test
+    public void testLowerProduct() {
+        for (int[] dim : new int[][]{{6, 3}, {45, 17}, {150, 300}}) {
+            int n = dim[0], k = dim[1];
+            Matrix x = new Matrix(n, k);
+            x.randomize(3);
+            Matrix c = new Matrix(n, n);
+            MatrixKernels.product(x.all(), x.all().transpose(), c.all(), true);
+            Matrix xxt = naive(x.all(), x.all().transpose());
+            for (int i = 0; i < n; ++i) {
+                for (int j = 0; j <= i; ++j) {
+                    assertEquals(xxt.get(i, j), c.get(i, j), 1e-9);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testParallelProduct() throws Exception {
+        Matrix a = new Matrix(300, 250);
+        a.randomize(6);
+        Matrix b = new Matrix(250, 280);
+        b.randomize(7);
+        Matrix expected = naive(a.all(), b.all());
+        boolean old = Matrix.isParallelProducts();
+        try {
+            Matrix.setParallelProducts(false);
+            assertEquals(0, a.times(b).minus(expected).nrm2(), 1e-9);
+            Matrix.setParallelProducts(true);
+            assertEquals(0, a.times(b).minus(expected).nrm2(), 1e-9);
+            Matrix lower = new Matrix(300, 300);
+            MatrixKernels.product(a.all(), a.all().transpose(), lower.all(), true);
+            Matrix aat = naive(a.all(), a.all().transpose());
+            for (int i = 0; i < 300; ++i) {
+                for (int j = 0; j <= i; ++j) {
+                    assertEquals(aat.get(i, j), lower.get(i, j), 1e-9);
+                }
+            }
+            // nested in a worker: not split
+            Matrix nested = ForkJoinPool.commonPool().submit(() -> a.times(b)).get();
+            assertEquals(0, nested.minus(expected).nrm2(), 1e-9);
+        } finally {
+            Matrix.setParallelProducts(old);
+        }
+    }
+
+    @Test
+    public void testInterruptedProduct() {
+        // inner dimension larger than KC: the blocks are accumulated in C
+        Matrix a = new Matrix(300, 600);
+        a.randomize(8);
+        Matrix b = new Matrix(600, 320);
+        b.randomize(9);
+        Matrix expected = naive(a.all(), b.all());
+        boolean old = Matrix.isParallelProducts();
+        ProcessingExecutor.setDefault(new ProcessingExecutor(4));
+        try {
+            Matrix.setParallelProducts(true);
+            for (int i = 0; i < 10; ++i) {
+                Thread.currentThread().interrupt();
+                Matrix c = a.times(b);
+                assertTrue(Thread.interrupted());
+                assertEquals(0, c.minus(expected).nrm2(), 1e-9);
+                Matrix lower = new Matrix(300, 300);
+                Thread.currentThread().interrupt();
+                MatrixKernels.product(a.all(), a.all().transpose(), lower.all(), true);
+                assertTrue(Thread.interrupted());
+                for (int r = 0; r < 300; r += 7) {
+                    for (int s = 0; s <= r; ++s) {
+                        assertEquals(a.row(r).dot(a.row(s)), lower.get(r, s), 1e-9);
+                    }
+                }
+            }
+        } finally {
+            Thread.interrupted();
+            Matrix.setParallelProducts(old);
+            ProcessingExecutor.setDefault(null);
+        }
+    }
+
+    @Test
+    public void testSymmetric() {
+        Matrix x = new Matrix(240, 50);
+        x.randomize(4);
+        Matrix xtx = SymmetricMatrix.XtX(x);
+        assertEquals(0, xtx.minus(naive(x.all().transpose(), x.all())).nrm2(), 1e-9);
+        assertTrue(SymmetricMatrix.isSymmetric(xtx, 0));
+        Matrix xxt = SymmetricMatrix.XXt(x.transpose());
+        assertEquals(0, xxt.minus(xtx).nrm2(), 1e-9);
+        // covariance update T*P*T'
+        Matrix t = new Matrix(40, 40);
+        t.randomize(5);
+        Matrix tpt = naive(naive(t.all(), xtx.subMatrix(0, 40, 0, 40)).all(), t.all().transpose());
+        assertEquals(0, SymmetricMatrix.quadraticFormT(xtx.subMatrix(0, 40, 0, 40), t.all()).minus(tpt).nrm2(), 1e-9);
+        Matrix p = new Matrix(xtx.subMatrix(0, 40, 0, 40));
+        assertEquals(0, SymmetricMatrix.quadraticFormT(p, t).minus(tpt).nrm2(), 1e-9);
+        Matrix q = new Matrix(40, 40);
+        SymmetricMatrix.quadraticFormT(p.all(), t.all(), q.all());
+        assertEquals(0, q.minus(tpt).nrm2(), 1e-9);
+        assertEquals(0, SymmetricMatrix.quadraticForm(p, t.transpose()).minus(tpt).nrm2(), 1e-9);
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2013 National Bank of Belgium
+ * 
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved 
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * 
+ * http://ec.europa.eu/idabc/eupl
+ * 
+ * Unless required by applicable law or agreed to in writing, software 
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and 
+ * limitations under the Licence.
+ */
+package ec.tstoolkit.maths.matrices;
+
+import ec.tstoolkit.data.DataBlock;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class ToeplitzTest {
+
+    public ToeplitzTest() {
+    }
+
+    @Test
+    public void testMul() {
+        for (int n : new int[]{2, 3, 10, 37, 120}) {
+            DataBlock r = new DataBlock(n);
+            r.randomize();
+            DataBlock x = new DataBlock(n);
+            x.randomize();
+            DataBlock y = x.deepClone();
+            new Toeplitz(r.getData()).mul(y);
+            for (int i = 0; i < n; ++i) {
+                double s = 0;
+                for (int j = 0; j < n; ++j) {
+                    s += r.get(Math.abs(i - j)) * x.get(j);
+                }
+                assertEquals(s, y.get(i), 1e-9);
+            }
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2016 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.tstoolkit.modelling.arima;
+
+import data.Data;
+import ec.tstoolkit.arima.estimation.AnsleyFilter;
+import ec.tstoolkit.arima.estimation.RegArimaModel;
+import ec.tstoolkit.data.DataBlock;
+import ec.tstoolkit.data.DataBlockIterator;
+import ec.tstoolkit.eco.RegModel;
+import ec.tstoolkit.maths.matrices.Householder;
+import ec.tstoolkit.maths.matrices.Matrix;
+import ec.tstoolkit.sarima.SarimaModel;
+import ec.tstoolkit.sarima.SarimaModelBuilder;
+import ec.tstoolkit.timeseries.regression.AdditiveOutlierFactory;
+import ec.tstoolkit.timeseries.regression.IOutlierFactory;
+import ec.tstoolkit.timeseries.regression.IOutlierVariable;
+import ec.tstoolkit.timeseries.regression.LevelShiftFactory;
+import ec.tstoolkit.timeseries.regression.SeasonalOutlierFactory;
+import ec.tstoolkit.timeseries.regression.TransitoryChangeFactory;
+import ec.tstoolkit.timeseries.simplets.TsData;
+import ec.tstoolkit.timeseries.simplets.TsDomain;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Compares the t-stats of the detector with the ones of the generalized
+ * regression model that contains the outlier, estimated from scratch at each
+ * position.
+ */
+public class ExactSingleOutlierDetectorTest {
+
+    public ExactSingleOutlierDetectorTest() {
+    }
+
+    @Test
+    public void testWithoutRegressors() {
+        SarimaModel airline = new SarimaModelBuilder().createAirlineModel(12, -.6, -.8);
+        for (TsData s : new TsData[]{Data.P.log(), Data.X.log()}) {
+            RegArimaModel<SarimaModel> regarima = new RegArimaModel<>(airline, new DataBlock(s.internalStorage()));
+            compare(regarima, s.getDomain());
+        }
+    }
+
+    @Test
+    public void testWithRegressors() {
+        SarimaModel airline = new SarimaModelBuilder().createAirlineModel(12, -.4, -.7);
+        for (TsData s : new TsData[]{Data.P.log(), Data.X.log()}) {
+            RegArimaModel<SarimaModel> regarima = new RegArimaModel<>(airline, new DataBlock(s.internalStorage()));
+            regarima.setMeanCorrection(true);
+            double[] x = new double[s.getLength()];
+            for (int i = 0; i < x.length; ++i) {
+                x[i] = Math.cos(2 * Math.PI * i / 7);
+            }
+            regarima.addX(new DataBlock(x));
+            compare(regarima, s.getDomain());
+        }
+    }
+
+    private static IOutlierFactory[] factories() {
+        LevelShiftFactory ls = new LevelShiftFactory();
+        ls.setZeroEnded(true);
+        TransitoryChangeFactory tc = new TransitoryChangeFactory();
+        tc.setMonthlyCoefficient(true);
+        SeasonalOutlierFactory so = new SeasonalOutlierFactory();
+        so.setZeroEnded(true);
+        return new IOutlierFactory[]{new AdditiveOutlierFactory(), ls, tc, so};
+    }
+
+    private static void compare(RegArimaModel<SarimaModel> regarima, TsDomain domain) {
+        IOutlierFactory[] facs = factories();
+        ExactSingleOutlierDetector<SarimaModel> sod = new ExactSingleOutlierDetector<>();
+        for (IOutlierFactory fac : facs) {
+            sod.addOutlierFactory(fac);
+        }
+        sod.prepare(domain, null);
+        assertTrue(sod.process(regarima));
+        int ndefined = 0;
+        for (int j = 0; j < facs.length; ++j) {
+            for (int i = 0; i < domain.getLength(); ++i) {
+                if (sod.isDefined(i, j)) {
+                    double t = t(regarima, domain, facs[j], i, sod.getMAD());
+                    assertEquals(t, sod.T(i, j), 1e-9 * Math.max(1, Math.abs(t)));
+                    ++ndefined;
+                }
+            }
+        }
+        assertTrue(ndefined > 3 * domain.getLength());
+    }
+
+    private static double t(RegArimaModel<SarimaModel> regarima, TsDomain domain, IOutlierFactory fac, int pos, double mad) {
+        int n = domain.getLength();
+        int d = regarima.getDifferencingFilter().getDegree();
+        double[] o = new double[n];
+        IOutlierVariable outlier = fac.create(domain.get(pos));
+        outlier.data(domain.getStart(), new DataBlock(o));
+        DataBlock od = new DataBlock(n - d);
+        regarima.getDifferencingFilter().filter(new DataBlock(o), od);
+
+        RegModel dmodel = regarima.getDModel();
+        Matrix x = dmodel.variables();
+        int nx = x == null ? 0 : x.getColumnsCount();
+        AnsleyFilter filter = new AnsleyFilter();
+        int m = filter.initialize(regarima.getArma(), n - d);
+        Matrix z = new Matrix(m, nx + 1);
+        if (x != null) {
+            DataBlockIterator xcols = x.columns(), zcols = z.columns();
+            DataBlock xcol = xcols.getData(), zcol = zcols.getData();
+            do {
+                filter.filter(xcol, zcol);
+            } while (xcols.next() && zcols.next());
+        }
+        filter.filter(od, z.column(nx));
+        DataBlock yl = new DataBlock(m);
+        filter.filter(dmodel.getY(), yl);
+
+        Householder qr = new Householder(false);
+        qr.decompose(z);
+        double[] b = new double[nx + 1];
+        qr.leastSquares(yl, new DataBlock(b), null);
+        // var(b[nx]) = sig2 / r(nx, nx)^2
+        return b[nx] * Math.abs(qr.getR().get(nx, nx)) / mad;
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2013 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved 
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software 
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and 
+ * limitations under the Licence.
+ */
+package ec.tstoolkit.modelling.arima.tramo;
+
+import data.Data;
+import ec.tstoolkit.data.DataBlock;
+import ec.tstoolkit.data.IReadDataBlock;
+import ec.tstoolkit.modelling.arima.PreprocessingModel;
+import ec.tstoolkit.sarima.SarimaComponent;
+import ec.tstoolkit.sarima.SarmaSpecification;
+import ec.tstoolkit.sarima.estimation.HannanRissanen;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class ArmaModuleTest {
+
+    public ArmaModuleTest() {
+    }
+
+    @Test
+    public void testMultiThreading() {
+        PreprocessingModel model = TramoSpecification.TRfull.build().process(Data.P, null);
+        SarimaComponent arima = model.description.getArimaComponent();
+        DataBlock res = model.estimation.getLinearizedData();
+        DataBlock dres = new DataBlock(res.getLength() - arima.getDifferencingOrder());
+        arima.getDifferencingFilter().filter(res, dres);
+        SarmaSpecification maxspec = new SarmaSpecification(model.description.getFrequency());
+        maxspec.setP(3);
+        maxspec.setQ(3);
+        maxspec.setBP(1);
+        maxspec.setBQ(1);
+
+        ArmaModule seq = new ArmaModule();
+        seq.setMultiThreading(false);
+        HannanRissanen shr = seq.tramo(dres, maxspec, arima.getD(), arima.getBD(), true);
+        ArmaModule mt = new ArmaModule();
+        mt.setMultiThreading(true);
+        HannanRissanen mhr = mt.tramo(dres, maxspec, arima.getD(), arima.getBD(), true);
+        assertEquals(shr.getSpec(), mhr.getSpec());
+        assertEquals(seq.getCount(), mt.getCount());
+        for (int i = 0; i < seq.getCount(); ++i) {
+            ArmaModule.HRBic s = seq.getPreferedModels()[i], m = mt.getPreferedModels()[i];
+            if (s == null) {
+                assertNull(m);
+            } else {
+                assertEquals(s.getHR().getSpec(), m.getHR().getSpec());
+                assertEquals(s.getBIC(), m.getBIC(), 0);
+            }
+        }
+    }
+
+    @Test
+    public void testSharedInnovations() {
+        double[] p = Data.P.internalStorage();
+        DataBlock data = new DataBlock(p.length - 1);
+        for (int i = 0; i < data.getLength(); ++i) {
+            data.set(i, p[i + 1] - p[i]);
+        }
+        HannanRissanen.Innovations innovations = new HannanRissanen.Innovations(data);
+        SarmaSpecification spec = new SarmaSpecification(12);
+        spec.setP(1);
+        spec.setQ(1);
+        spec.setBQ(1);
+        HannanRissanen hr1 = new HannanRissanen(), hr2 = new HannanRissanen();
+        assertTrue(hr1.process(data, spec));
+        assertTrue(hr2.process(innovations, spec));
+        IReadDataBlock p1 = hr1.getModel().getParameters(), p2 = hr2.getModel().getParameters();
+        for (int i = 0; i < p1.getLength(); ++i) {
+            assertEquals(p1.get(i), p2.get(i), 0);
+        }
+    }
+}
@@ -42,6 +42,11 @@ public class EstimateSpecTest {
         assertNotEquals(expected, actual);
         actual.setUbp(1.0);
         assertEquals(expected, actual);
+
+        expected.setWarmStart(true);
+        assertNotEquals(expected, actual);
+        actual.setWarmStart(true);
+        assertEquals(expected, actual);
     }
 
     @Test
@@ -122,6 +127,11 @@ public class EstimateSpecTest {
         nspec.read(info);
         assertEquals(1.2, nspec.getUbp(), 0.0);
 
+        spec.setWarmStart(true);
+        info = spec.write(false);
+        nspec.read(info);
+        assertTrue(nspec.isWarmStart());
+
         // Reset values
         spec.reset();
         assertEquals(new EstimateSpec(), spec);
@@ -0,0 +1,209 @@
+/*
+* Copyright 2013 National Bank of Belgium
+*
+* Licensed under the EUPL, Version 1.1 or – as soon they will be approved
+* by the European Commission - subsequent versions of the EUPL (the "Licence");
+* You may not use this work except in compliance with the Licence.
+* You may obtain a copy of the Licence at:
+*
+* http://ec.europa.eu/idabc/eupl
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the Licence is distributed on an "AS IS" basis,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the Licence for the specific language governing permissions and
+* limitations under the Licence.
+*/
+package ec.tstoolkit.modelling.arima.tramo;
+
+import data.Data;
+import ec.tstoolkit.arima.StationaryTransformation;
+import ec.tstoolkit.arima.estimation.ArmaKF;
+import ec.tstoolkit.data.DataBlock;
+import ec.tstoolkit.eco.Likelihood;
+import ec.tstoolkit.maths.linearfilters.RationalBackFilter;
+import ec.tstoolkit.maths.polynomials.Polynomial;
+import ec.tstoolkit.sarima.SarimaModel;
+import ec.tstoolkit.sarima.SarimaModelBuilder;
+import ec.tstoolkit.timeseries.regression.AdditiveOutlierFactory;
+import ec.tstoolkit.timeseries.regression.IOutlierFactory;
+import ec.tstoolkit.timeseries.regression.IOutlierVariable;
+import ec.tstoolkit.timeseries.regression.LevelShiftFactory;
+import ec.tstoolkit.timeseries.regression.SeasonalOutlierFactory;
+import ec.tstoolkit.timeseries.regression.TransitoryChangeFactory;
+import ec.tstoolkit.timeseries.simplets.TsData;
+import ec.tstoolkit.timeseries.simplets.TsDomain;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Compares the scan of the detector with a direct scan (one full correction
+ * sum and one computation of the pi weights for each position and each type).
+ */
+public class SingleOutlierDetectorTest {
+
+    public SingleOutlierDetectorTest() {
+    }
+
+    @Test
+    public void testAirline() {
+        SarimaModel airline = new SarimaModelBuilder().createAirlineModel(12, -.6, -.8);
+        for (TsData s : new TsData[]{Data.P.log(), Data.X.log(), Data.M1}) {
+            TsData sty = s.delta(1).delta(12);
+            compare(airline, s.getDomain(), null, sty.internalStorage(), null);
+            compare(airline, s.getDomain(), s.getDomain().drop(24, 12), sty.internalStorage(), new int[]{30, 31, 100});
+        }
+    }
+
+    @Test
+    public void testStationary() {
+        // no differencing: the level shifts and the seasonal outliers use the correction
+        SarimaModel arma = new SarimaModelBuilder().createArmaModel(12, 1, 1, 0, 1);
+        arma.setPhi(1, -.3);
+        arma.setTheta(1, -.4);
+        arma.setBTheta(1, -.7);
+        for (TsData s : new TsData[]{Data.P.log(), Data.X.log()}) {
+            TsData sty = s.delta(1).delta(12);
+            compare(arma, sty.getDomain(), null, sty.internalStorage(), null);
+            compare(arma, sty.getDomain(), sty.getDomain().drop(12, 6), sty.internalStorage(), new int[]{5, 50});
+        }
+    }
+
+    private static IOutlierFactory[] factories() {
+        LevelShiftFactory ls = new LevelShiftFactory();
+        ls.setZeroEnded(true);
+        TransitoryChangeFactory tc = new TransitoryChangeFactory();
+        SeasonalOutlierFactory so = new SeasonalOutlierFactory();
+        so.setZeroEnded(true);
+        return new IOutlierFactory[]{new AdditiveOutlierFactory(), ls, tc, so};
+    }
+
+    private static void compare(SarimaModel model, TsDomain domain, TsDomain odomain, double[] sty, int[] excluded) {
+        IOutlierFactory[] facs = factories();
+        SingleOutlierDetector sod = new SingleOutlierDetector();
+        for (IOutlierFactory fac : facs) {
+            sod.addOutlierFactory(fac);
+        }
+        sod.prepare(domain, odomain);
+        sod.exclude(excluded);
+        assertTrue(sod.process(model, new DataBlock(sty)));
+
+        Reference ref = new Reference(model, domain, sod.getLBound(), sod.getUBound(), excluded, sty, sod.getMAD());
+        for (int i = 0; i < facs.length; ++i) {
+            ref.scan(facs[i], i);
+        }
+        assertEquals(ref.tmax, sod.getMaxTStat(), 0);
+        assertEquals(ref.c, sod.getMaxCoefficient(), 0);
+        assertEquals(ref.posmax, sod.getMaxPosition());
+        assertEquals(ref.omax, sod.getMaxOutlierType());
+    }
+
+    /**
+     * Direct scan, as done before the pi weights and the cumulated residuals
+     * were shared by the positions.
+     */
+    private static class Reference {
+
+        final SarimaModel model, stmodel;
+        final int d, lbound, ubound;
+        final TsDomain domain;
+        final int[] excluded;
+        final double[] el;
+        final double mad;
+        double tmax, c;
+        int posmax = -1, omax = -1;
+
+        Reference(SarimaModel model, TsDomain domain, int lbound, int ubound, int[] excluded, double[] sty, double mad) {
+            this.model = model;
+            StationaryTransformation st = model.stationaryTransformation();
+            this.stmodel = (SarimaModel) st.stationaryModel;
+            this.d = st.unitRoots.getDegree();
+            this.domain = domain;
+            this.lbound = lbound;
+            this.ubound = ubound;
+            this.excluded = excluded;
+            ArmaKF kf = new ArmaKF(stmodel);
+            Likelihood ll = new Likelihood();
+            assertTrue(kf.process(new DataBlock(sty), ll));
+            this.el = ll.getResiduals();
+            this.mad = mad;
+        }
+
+        void scan(IOutlierFactory fac, int idx) {
+            int nl = el.length;
+            int n = nl + d;
+            IOutlierVariable outlier = fac.create(domain.getStart());
+            IOutlierVariable.FilterRepresentation representation = outlier.getFilterRepresentation(stmodel.getFrequency());
+            if (representation == null) {
+                return;
+            }
+            RationalBackFilter pi = model.getPiWeights();
+            double[] o = pi.times(representation.filter).getWeights(n);
+            double corr = 0;
+            if (d == 0 && representation.correction != 0) {
+                Polynomial ar = model.getAR().getPolynomial();
+                Polynomial ma = model.getMA().getPolynomial();
+                corr = representation.correction * ar.evaluateAt(1) / ma.evaluateAt(1);
+                for (int i = 0; i < n; ++i) {
+                    o[i] += corr;
+                }
+            }
+            boolean[] ok = new boolean[domain.getLength()];
+            TsDomain dom = fac.definitionDomain(domain);
+            int jstart = dom.getStart().minus(domain.getStart());
+            int jend = dom.getLast().minus(domain.getStart());
+            for (int j = jstart; j <= jend; ++j) {
+                ok[j] = true;
+            }
+            if (excluded != null) {
+                for (int k = 0; k < excluded.length; ++k) {
+                    ok[excluded[k]] = false;
+                }
+            }
+            double sxx = 0;
+            if (corr != 0) {
+                sxx = corr * corr * nl;
+            }
+            for (int ix = 0; ix < n; ++ix) {
+                sxx += o[ix] * o[ix];
+                if (corr != 0) {
+                    sxx -= corr * corr;
+                }
+                int kmax = ix + 1;
+                if (kmax > nl) {
+                    kmax = nl;
+                    sxx -= o[ix - nl] * o[ix - nl];
+                    if (corr != 0) {
+                        sxx += corr * corr;
+                    }
+                }
+                if (!ok[n - 1 - ix]) {
+                    continue;
+                }
+                double sxy = 0;
+                for (int k = 0, ek = nl - 1; k < kmax; ++k, --ek) {
+                    sxy += el[ek] * o[ix - k];
+                }
+                if (corr != 0) {
+                    double cxy = 0;
+                    for (int k = 0; k < nl - kmax; ++k) {
+                        cxy += el[k];
+                    }
+                    sxy += cxy * corr;
+                }
+                int pos = n - 1 - ix;
+                if (pos >= lbound && pos < ubound) {
+                    double cur = sxy / sxx;
+                    double val = cur * Math.sqrt(sxx) / mad;
+                    double aval = Math.abs(val);
+                    if (aval > tmax) {
+                        tmax = aval;
+                        c = cur;
+                        posmax = pos;
+                        omax = idx;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -18,6 +18,8 @@
 package ec.tstoolkit.modelling.arima.tramo;
 
 import data.Data;
+import ec.tstoolkit.Parameter;
+import ec.tstoolkit.ParameterType;
 import ec.tstoolkit.modelling.arima.IPreprocessor;
 import ec.tstoolkit.modelling.arima.PreprocessingModel;
 import ec.tstoolkit.timeseries.regression.IOutlierVariable;
@@ -28,6 +30,7 @@ import ec.tstoolkit.timeseries.regression.TsVariableSelection.Item;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
 import org.junit.Test;
+import static org.junit.Assert.*;
 
 /**
  *
@@ -38,6 +41,25 @@ public class TramoProcessorTest {
     public TramoProcessorTest() {
     }
 
+    @Test
+    public void testWarmStart() {
+        // airline model, without outliers detection: fully specified
+        // when the parameters are given
+        TramoSpecification spec = new TramoSpecification();
+        double ll = spec.build().process(Data.P, null).estimation.getLikelihood().getLogLikelihood();
+
+        TramoSpecification ispec = spec.clone();
+        ispec.getArima().setTheta(new Parameter[]{new Parameter(-.1, ParameterType.Initial)});
+        ispec.getArima().setBTheta(new Parameter[]{new Parameter(-.1, ParameterType.Initial)});
+        // one iteration from the initial values (default)
+        double ll0 = ispec.build().process(Data.P, null).estimation.getLikelihood().getLogLikelihood();
+        assertTrue(ll0 < ll - 1e-3);
+        // complete estimation from the initial values
+        ispec.getEstimate().setWarmStart(true);
+        double ll1 = ispec.build().process(Data.P, null).estimation.getLikelihood().getLogLikelihood();
+        assertEquals(ll, ll1, 1e-6 * Math.abs(ll));
+    }
+
     @BeforeClass
     public static void setUpClass() throws Exception {
     }
@@ -37,4 +37,25 @@ public class ArmaModuleTest {
         assertTrue(spec != null);
     }
 
+    @Test
+    public void testMultiThreading() {
+        PreprocessingModel model = TramoSpecification.TRfull.build().process(Data.P, null);
+        SarimaComponent arima = model.description.getArimaComponent();
+        DataBlock res = model.estimation.getLinearizedData();
+        int freq = model.description.getFrequency();
+        ArmaModule seq = new ArmaModule();
+        seq.setMultiThreading(false);
+        SarmaSpecification sspec = seq.select(new DataBlock(res), freq, 3, 1, arima.getD(), arima.getBD());
+        ArmaModule mt = new ArmaModule();
+        mt.setMultiThreading(true);
+        SarmaSpecification mspec = mt.select(new DataBlock(res), freq, 3, 1, arima.getD(), arima.getBD());
+        assertEquals(sspec, mspec);
+        ArmaModule.RegArmaBic[] smodels = seq.getPreferedModels(), mmodels = mt.getPreferedModels();
+        assertEquals(smodels.length, mmodels.length);
+        for (int i = 0; i < smodels.length; ++i) {
+            assertEquals(smodels[i].getSpecification(), mmodels[i].getSpecification());
+            assertEquals(smodels[i].getBIC(), mmodels[i].getBIC(), 0);
+        }
+    }
+
 }
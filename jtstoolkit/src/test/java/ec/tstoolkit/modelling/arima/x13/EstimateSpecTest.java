@@ -45,6 +45,13 @@ public class EstimateSpecTest {
         assertEquals(expected, actual);
         assertEquals(PeriodSelectorType.From, actual.getSpan().getType());
 
+        expected.setWarmStart(true);
+        assertNotEquals(expected, actual);
+        info = expected.write(false);
+        actual.read(info);
+        assertEquals(expected, actual);
+        assertTrue(actual.isWarmStart());
+
         expected.reset();
         assertTrue(expected.isDefault());
         info = expected.write(true);
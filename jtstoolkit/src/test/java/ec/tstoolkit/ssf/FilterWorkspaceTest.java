@@ -0,0 +1,133 @@
+/*
+ * Copyright 2013 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.tstoolkit.ssf;
+
+import data.Data;
+import ec.tstoolkit.arima.ArimaModel;
+import ec.tstoolkit.eco.DiffuseConcentratedLikelihood;
+import ec.tstoolkit.sarima.SarimaModel;
+import ec.tstoolkit.sarima.SarimaModelBuilder;
+import ec.tstoolkit.ssf.arima.SsfArima;
+import ec.tstoolkit.ssf.ucarima.SsfUcarima;
+import ec.tstoolkit.ucarima.ModelDecomposer;
+import ec.tstoolkit.ucarima.SeasonalSelector;
+import ec.tstoolkit.ucarima.TrendCycleSelector;
+import ec.tstoolkit.ucarima.UcarimaModel;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class FilterWorkspaceTest {
+
+    public FilterWorkspaceTest() {
+    }
+
+    private static double logLikelihood(SsfAlgorithm<SsfArima> alg, SarimaModel sarima, double[] x) {
+        SsfModel<SsfArima> model = new SsfModel<>(new SsfArima(sarima), new SsfData(x, null), null, null);
+        DiffuseConcentratedLikelihood ll = alg.evaluate(model).getLikelihood();
+        return ll.getLogLikelihood();
+    }
+
+    @Test
+    public void testReuse() {
+        double[] x = new double[Data.X.getLength()];
+        Data.X.copyTo(x, 0);
+        x[5] = Double.NaN;
+        SarimaModel airline = new SarimaModelBuilder().createAirlineModel(12, -.6, -.8);
+        SarimaModel airline2 = new SarimaModelBuilder().createAirlineModel(12, -.3, -.5);
+        SarimaModel quarterly = new SarimaModelBuilder().createAirlineModel(4, -.6, -.8);
+        double ll = logLikelihood(new SsfAlgorithm<>(), airline, x);
+        double ll2 = logLikelihood(new SsfAlgorithm<>(), airline2, x);
+        double llq = logLikelihood(new SsfAlgorithm<>(), quarterly, x);
+
+        // the same algorithm (and thus the same workspace), with models of
+        // different dimensions
+        SsfAlgorithm<SsfArima> alg = new SsfAlgorithm<>();
+        for (int i = 0; i < 2; ++i) {
+            assertEquals(ll, logLikelihood(alg, airline, x), 0);
+            assertEquals(ll2, logLikelihood(alg, airline2, x), 0);
+            assertEquals(llq, logLikelihood(alg, quarterly, x), 0);
+        }
+    }
+
+    private static SsfUcarima ucarima(double th, double bth) {
+        ModelDecomposer decomposer = new ModelDecomposer();
+        decomposer.add(new TrendCycleSelector(.5));
+        decomposer.add(new SeasonalSelector(12, 3));
+        SarimaModel arima = new SarimaModelBuilder().createAirlineModel(12, th, bth);
+        UcarimaModel ucm = decomposer.decompose(ArimaModel.create(arima));
+        ucm.setVarianceMax(-1);
+        ucm.simplify();
+        return new SsfUcarima(ucm);
+    }
+
+    private static double[] filter(Filter<SsfUcarima> filter, SsfData data, int nf) {
+        DiffusePredictionErrorDecomposition pe = new DiffusePredictionErrorDecomposition(true);
+        assertTrue(filter.process(data, pe));
+        double[] rslt = new double[nf + 2];
+        rslt[0] = pe.getSsqErr();
+        rslt[1] = pe.getLogDeterminant();
+        for (int i = 0; i < nf; ++i) {
+            assertTrue(filter.nextForecast());
+            rslt[i + 2] = filter.getState().P.diagonal().sum();
+        }
+        return rslt;
+    }
+
+    @Test
+    public void testSharedWorkspace() {
+        // two models of the same dimensions, with time invariant W
+        SsfUcarima ssf1 = ucarima(-.8, -.9), ssf2 = ucarima(-.4, -.6);
+        assertTrue(ssf1.hasW() && ssf1.isTransitionEquationTimeInvariant());
+        assertEquals(ssf1.getStateDim(), ssf2.getStateDim());
+        assertEquals(ssf1.getTransitionResCount(), ssf2.getTransitionResCount());
+        SsfData data = new SsfData(Data.X.log(), null);
+
+        double[] r1 = filter(new Filter<>(ssf1, null), data, 12);
+        double[] r2 = filter(new Filter<>(ssf2, null), data, 12);
+
+        FilterWorkspace ws = new FilterWorkspace();
+        Filter<SsfUcarima> f1 = new Filter<>(ssf1, null), f2 = new Filter<>(ssf2, null);
+        f1.setWorkspace(ws);
+        f2.setWorkspace(ws);
+        for (int i = 0; i < 2; ++i) {
+            assertArrayEquals(r1, filter(f1, data, 12), 0);
+            assertArrayEquals(r2, filter(f2, data, 12), 0);
+        }
+        // the last run of f1 can't be extended once f2 has used the workspace
+        assertFalse(f1.nextForecast());
+        assertTrue(f2.nextForecast());
+        // the workspace has been reset
+        ws.prepare(ssf2, true);
+        assertFalse(f2.nextForecast());
+    }
+
+    @Test
+    public void testPrepare() {
+        SsfArima ssf = new SsfArima(new SarimaModelBuilder().createAirlineModel(12, -.6, -.8));
+        FilterWorkspace ws = new FilterWorkspace();
+        assertFalse(ws.prepare(ssf, true));
+        State state = ws.getState();
+        state.P.set(1);
+        state.A.set(1);
+        assertTrue(ws.prepare(ssf, true));
+        assertSame(state, ws.getState());
+        assertTrue(state.P.isZero(0));
+        assertTrue(state.A.isZero());
+        assertFalse(ws.prepare(ssf, false));
+        assertFalse(ws.prepare(new SsfArima(new SarimaModelBuilder().createAirlineModel(4, -.6, -.8)), false));
+    }
+}
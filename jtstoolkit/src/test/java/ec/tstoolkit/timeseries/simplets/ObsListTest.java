@@ -16,9 +16,13 @@
  */
 package ec.tstoolkit.timeseries.simplets;
 
+import ec.tstoolkit.timeseries.TsAggregationType;
+import ec.tstoolkit.timeseries.simplets.ObsLists.AggregatingLongObsList;
 import ec.tstoolkit.timeseries.simplets.ObsLists.PreSortedLongObsList;
 import ec.tstoolkit.timeseries.simplets.ObsLists.SortableLongObsList;
 import static ec.tstoolkit.timeseries.simplets.TsFrequency.Monthly;
+import ec.tstoolkit.utilities.ObjLongToIntFunction;
+import java.util.Random;
 import org.junit.Test;
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -83,4 +87,76 @@ public class ObsListTest {
 
         obs.sortByPeriod();
     }
+
+    @Test
+    public void testSortableLongObsListStability() {
+        SortableLongObsList obs = new SortableLongObsList((x, y) -> (int) y);
+        Random rnd = new Random(0);
+        for (int i = 0; i < 1000; ++i) {
+            // the value gives the order of insertion
+            obs.add(rnd.nextInt(50), i);
+        }
+        obs.sortByPeriod();
+        assertThat(obs.size()).isEqualTo(1000);
+        for (int i = 1; i < 1000; ++i) {
+            int p0 = obs.getPeriodId(Monthly, i - 1), p1 = obs.getPeriodId(Monthly, i);
+            assertThat(p0).isLessThanOrEqualTo(p1);
+            if (p0 == p1) {
+                assertThat(obs.getValue(i - 1)).isLessThan(obs.getValue(i));
+            }
+        }
+    }
+
+    @Test
+    public void testAggregatingLongObsList() {
+        ObjLongToIntFunction<TsFrequency> func = TsPeriod.CalendarUtil.getInstance()::calcTsPeriodId;
+        long day = 24L * 3600 * 1000, start = 946684800000L; // 2000-01-01
+        Random rnd = new Random(0);
+        long[] periods = new long[2000];
+        double[] values = new double[periods.length];
+        for (int i = 0; i < periods.length; ++i) {
+            periods[i] = start + i * day;
+            // integers, so that sums don't depend on the order of the additions
+            values[i] = i % 37 == 0 ? Double.NaN : rnd.nextInt(1000);
+        }
+        for (TsAggregationType type : TsAggregationType.values()) {
+            if (type == TsAggregationType.None) {
+                continue;
+            }
+            for (boolean sorted : new boolean[]{true, false}) {
+                AggregatingLongObsList obs = new AggregatingLongObsList(TsFrequency.Quarterly, type, func);
+                SortableLongObsList ref = new SortableLongObsList(func);
+                for (int i = 0; i < periods.length; ++i) {
+                    int j = sorted ? i : (i * 7919) % periods.length;
+                    obs.add(periods[j], values[j]);
+                    ref.add(periods[j], values[j]);
+                }
+                assertThat(obs.isAggregated()).isTrue();
+                TsData s = TsDataCollector.makeWithAggregation(obs, TsFrequency.Quarterly, type);
+                TsData t = TsDataCollector.makeWithAggregation(ref, TsFrequency.Quarterly, type);
+                assertThat(s).isEqualTo(t);
+            }
+        }
+    }
+
+    @Test
+    public void testAggregatingLongObsListWithMonthlyData() {
+        ObjLongToIntFunction<TsFrequency> func = (x, y) -> x == Monthly ? (int) y : (int) y / 3;
+        AggregatingLongObsList obs = new AggregatingLongObsList(TsFrequency.Quarterly, TsAggregationType.Sum, func);
+        for (int i = 0; i < 24; ++i) {
+            obs.add(i, i);
+        }
+        // one observation by month: the raw observations are kept
+        assertThat(obs.isAggregated()).isFalse();
+        assertThat(obs.size()).isEqualTo(24);
+        obs.add(23, 1);
+        assertThat(obs.isAggregated()).isTrue();
+        assertThat(obs.size()).isEqualTo(8);
+        obs.sortByPeriod();
+        assertThat(obs.getPeriodId(TsFrequency.Quarterly, 7)).isEqualTo(7);
+        assertThat(obs.getValue(7)).isEqualTo(21 + 22 + 23 + 1);
+        obs.clear();
+        assertThat(obs.isAggregated()).isFalse();
+        assertThat(obs.size()).isEqualTo(0);
+    }
 }
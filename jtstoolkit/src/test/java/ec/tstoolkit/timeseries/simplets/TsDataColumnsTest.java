@@ -0,0 +1,87 @@
+/*
+ * Copyright 2013-2014 National Bank of Belgium
+ * 
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved 
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * 
+ * http://ec.europa.eu/idabc/eupl
+ * 
+ * Unless required by applicable law or agreed to in writing, software 
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and 
+ * limitations under the Licence.
+ */
+
+package ec.tstoolkit.timeseries.simplets;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class TsDataColumnsTest {
+
+    private final List<TsData> all = new ArrayList<>();
+    private final TsDataColumns columns;
+
+    public TsDataColumnsTest() {
+        TsDataColumns.Builder builder = TsDataColumns.builder();
+        for (int i = 0; i < 50; ++i) {
+            TsData s = i % 10 == 9 ? null : TsData.random(i % 5 == 4 ? TsFrequency.Quarterly : TsFrequency.Monthly, i);
+            all.add(s);
+            builder.add(s);
+        }
+        columns = builder.build();
+    }
+
+    @Test
+    public void testAccess() {
+        assertEquals(all.size(), columns.getCount());
+        assertEquals(2, columns.getFrequencies().size());
+        for (int i = 0; i < all.size(); ++i) {
+            TsData s = all.get(i);
+            if (s == null) {
+                assertTrue(columns.isMissing(i));
+                assertNull(columns.get(i));
+                assertNull(columns.getBlock(i));
+            } else {
+                assertEquals(s, columns.get(i));
+                assertEquals(s.getDomain(), columns.getDomain(i));
+                TsDataBlock block = columns.getBlock(i);
+                assertEquals(s.getStart(), block.start);
+                assertTrue(new TsData(block.start, block.data).equals(s));
+            }
+        }
+    }
+
+    @Test
+    public void testSum() {
+        for (boolean zero : new boolean[]{false, true}) {
+            TsAggregator agg = new TsAggregator();
+            agg.setMissingsEqualsToZero(zero);
+            all.stream().filter(s -> s != null && s.getFrequency() == TsFrequency.Monthly).forEach(agg::add);
+            TsData sum = columns.sum(TsFrequency.Monthly, zero);
+            assertEquals(agg.sum().getDomain(), sum.getDomain());
+            assertArrayEquals(agg.sum().internalStorage(), sum.internalStorage(), 1e-9);
+        }
+        assertNull(columns.sum(TsFrequency.Yearly, true));
+    }
+
+    @Test
+    public void testSubsetAndTransform() {
+        TsDataColumns sub = columns.subset(10, 20);
+        assertEquals(10, sub.getCount());
+        assertEquals(all.get(15), sub.get(5));
+        assertTrue(sub.isMissing(9));
+
+        TsDataColumns neg = columns.transform(x -> -x);
+        for (int i = 0; i < all.size(); ++i) {
+            if (all.get(i) != null) {
+                assertEquals(all.get(i).chs(), neg.get(i));
+            }
+        }
+    }
+}
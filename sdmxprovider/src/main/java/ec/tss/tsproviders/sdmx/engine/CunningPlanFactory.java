@@ -17,11 +17,13 @@
 package ec.tss.tsproviders.sdmx.engine;
 
 import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableList;
+import ec.tss.tsproviders.sdmx.model.SdmxGroup;
+import ec.tss.tsproviders.sdmx.model.SdmxItem;
+import ec.tss.tsproviders.sdmx.model.SdmxSeries;
 import ec.tss.tsproviders.sdmx.model.SdmxSource;
 import java.io.File;
 import java.io.IOException;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
 import org.w3c.dom.Document;
 
 /**
@@ -38,14 +40,51 @@ public class CunningPlanFactory implements ISdmxSourceFactory {
         return NAME;
     }
 
+    /**
+     * Reads the file with a streaming parser (see XMLStreamSdmxCursor)
+     * instead of building a DOM. The result is the same as the one of the
+     * strategies.
+     *
+     * @param file
+     * @return
+     * @throws Exception
+     */
     @Override
     public SdmxSource create(File file) throws Exception {
-        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-        factory.setNamespaceAware(true);
-        DocumentBuilder builder = factory.newDocumentBuilder();
-        Document doc = builder.parse(file);
-        doc.getDocumentElement().normalize();
-        return find(doc).create(doc);
+        try (XMLStreamSdmxCursor cursor = XMLStreamSdmxCursor.of(file)) {
+            SdmxSource.Type type = cursor.getType();
+            if (type == null) {
+                throw new IOException("Cannot find a suitable SDMX strategy for '" + file.toURI() + "'");
+            }
+            return new SdmxSource(type, getItems(cursor));
+        }
+    }
+
+    private static ImmutableList<SdmxItem> getItems(XMLStreamSdmxCursor cursor) throws IOException {
+        ImmutableList.Builder<SdmxItem> result = ImmutableList.builder();
+        SdmxGroup group = null;
+        ImmutableList.Builder<SdmxSeries> groupSeries = null;
+        while (cursor.nextItem()) {
+            SdmxItem item = cursor.getItem();
+            if (item instanceof SdmxGroup || cursor.getGroup() == null) {
+                if (group != null) {
+                    result.add(new SdmxGroup(group.key, group.attributes, groupSeries.build()));
+                    group = null;
+                }
+                if (item instanceof SdmxGroup) {
+                    group = (SdmxGroup) item;
+                    groupSeries = ImmutableList.builder();
+                } else {
+                    result.add(item);
+                }
+            } else {
+                groupSeries.add((SdmxSeries) item);
+            }
+        }
+        if (group != null) {
+            result.add(new SdmxGroup(group.key, group.attributes, groupSeries.build()));
+        }
+        return result.build();
     }
 
     public AbstractDocumentFactory find(Document doc) throws IOException {
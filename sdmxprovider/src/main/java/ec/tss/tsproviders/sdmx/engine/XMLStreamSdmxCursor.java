@@ -0,0 +1,605 @@
+/*
+ * Copyright 2013 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.tss.tsproviders.sdmx.engine;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Maps;
+import ec.tss.tsproviders.cursor.TsCursor;
+import ec.tss.tsproviders.sdmx.model.SdmxGroup;
+import ec.tss.tsproviders.sdmx.model.SdmxItem;
+import ec.tss.tsproviders.sdmx.model.SdmxSeries;
+import ec.tss.tsproviders.sdmx.model.SdmxSource;
+import ec.tss.tsproviders.utils.DataFormat;
+import ec.tss.tsproviders.utils.IParser;
+import ec.tss.tsproviders.utils.ObsGathering;
+import ec.tss.tsproviders.utils.OptionalTsData;
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.GregorianCalendar;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A cursor that reads the series of an SDMX-ML message (generic or compact
+ * data) from an XMLStreamReader. Contrary to the factories based on a DOM,
+ * only the current series is kept in memory.
+ * <p>
+ * The format is guessed in the same way as CunningPlanFactory: a data set
+ * that starts with a KeyFamilyRef is a generic one; otherwise, it is
+ * considered as a compact one. Only the first data set is read.
+ */
+public final class XMLStreamSdmxCursor implements TsCursor<String> {
+
+    /**
+     * Creates a cursor on a file
+     *
+     * @param file
+     * @return
+     * @throws IOException
+     */
+    @NonNull
+    public static XMLStreamSdmxCursor of(@NonNull File file) throws IOException {
+        InputStream stream = new BufferedInputStream(new FileInputStream(file));
+        try {
+            return of(XIF.createXMLStreamReader(file.toURI().toString(), stream), stream);
+        } catch (XMLStreamException ex) {
+            stream.close();
+            throw new IOException(ex);
+        }
+    }
+
+    /**
+     * Creates a cursor on an XMLStreamReader
+     *
+     * @param reader
+     * @param onClose called when the cursor is closed (after the closing of
+     * the reader)
+     * @return
+     */
+    @NonNull
+    public static XMLStreamSdmxCursor of(@NonNull XMLStreamReader reader, @NonNull Closeable onClose) {
+        return new XMLStreamSdmxCursor(reader, onClose);
+    }
+
+    private final XMLStreamReader reader;
+    private final Closeable onClose;
+    private final Calendar cal;
+    private final Map<TimeFormat, IParser<Date>> periodParsers;
+    private final IParser<Number> valueParser;
+    private boolean closed;
+    private boolean started;
+    private boolean pending;
+    private boolean done;
+    private SdmxSource.Type type;
+    private SdmxGroup group;
+    private SdmxItem item;
+
+    private XMLStreamSdmxCursor(XMLStreamReader reader, Closeable onClose) {
+        this.reader = reader;
+        this.onClose = onClose;
+        this.cal = new GregorianCalendar();
+        this.periodParsers = new EnumMap<>(TimeFormat.class);
+        this.valueParser = DEFAULT_DATA_FORMAT.numberParser();
+    }
+
+    /**
+     * Gets the type of the data set
+     *
+     * @return the type or null if the message doesn't contain any data set
+     * @throws IOException
+     */
+    public SdmxSource.@Nullable Type getType() throws IOException {
+        checkClosedState();
+        start();
+        return type;
+    }
+
+    /**
+     * Moves to the next item of the data set. A group is returned (without
+     * its series) before its own series; the series of a group can be
+     * distinguished from the other ones with {@link #getGroup()}.
+     *
+     * @return true if there is a next item
+     * @throws IOException
+     */
+    public boolean nextItem() throws IOException {
+        checkClosedState();
+        start();
+        if (done) {
+            item = null;
+            return false;
+        }
+        try {
+            item = type == SdmxSource.Type.GENERIC ? nextGenericItem() : nextCompactItem();
+        } catch (XMLStreamException ex) {
+            throw new IOException(ex);
+        }
+        return item != null;
+    }
+
+    /**
+     * Gets the current item
+     *
+     * @return a non-null group or series
+     * @throws IllegalStateException if there is no current item
+     */
+    @NonNull
+    public SdmxItem getItem() throws IllegalStateException {
+        checkClosedState();
+        if (item == null) {
+            throw new IllegalStateException("This cursor has no more items or has not been started");
+        }
+        return item;
+    }
+
+    /**
+     * Gets the group of the current item
+     *
+     * @return the group (without its series) or null if the current item
+     * doesn't belong to a group
+     */
+    @Nullable
+    public SdmxGroup getGroup() {
+        checkClosedState();
+        return group;
+    }
+
+    /**
+     * Gets the current series
+     *
+     * @return
+     * @throws IllegalStateException if the cursor isn't positioned on a
+     * series
+     */
+    @NonNull
+    public SdmxSeries getSeries() throws IllegalStateException {
+        checkClosedState();
+        if (!(item instanceof SdmxSeries)) {
+            throw new IllegalStateException("This cursor has no more series or has not been started");
+        }
+        return (SdmxSeries) item;
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public Map<String, String> getMetaData() {
+        checkClosedState();
+        return Collections.emptyMap();
+    }
+
+    @Override
+    public boolean nextSeries() throws IOException {
+        while (nextItem()) {
+            if (item instanceof SdmxSeries) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The id of a series is the one of its group followed by its own id.
+     *
+     * @return
+     */
+    @Override
+    public String getSeriesId() {
+        SdmxSeries series = getSeries();
+        return group != null && !group.id.isEmpty() ? group.id + ", " + series.id : series.id;
+    }
+
+    @Override
+    public String getSeriesLabel() {
+        return getSeriesId();
+    }
+
+    @Override
+    public Map<String, String> getSeriesMetaData() {
+        Map<String, String> result = new LinkedHashMap<>();
+        for (Entry<String, String> o : getSeries().attributes) {
+            result.put(o.getKey(), o.getValue());
+        }
+        return result;
+    }
+
+    @Override
+    public OptionalTsData getSeriesData() {
+        return getSeries().data;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            item = null;
+            group = null;
+            try {
+                reader.close();
+            } catch (XMLStreamException ex) {
+                throw new IOException(ex);
+            } finally {
+                onClose.close();
+            }
+        }
+    }
+
+    private void checkClosedState() throws IllegalStateException {
+        if (closed) {
+            throw new IllegalStateException("This cursor is closed");
+        }
+    }
+
+    //<editor-fold defaultstate="collapsed" desc="Navigation">
+    /**
+     * Moves to the next child element of the current element.
+     *
+     * @return true if positioned on the start of a child, false if
+     * positioned on the end of the current element (or of the document)
+     * @throws XMLStreamException
+     */
+    private boolean nextChild() throws XMLStreamException {
+        if (pending) {
+            pending = false;
+            return true;
+        }
+        while (reader.hasNext()) {
+            switch (reader.next()) {
+                case XMLStreamReader.START_ELEMENT:
+                    return true;
+                case XMLStreamReader.END_ELEMENT:
+                    return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Moves to the end of the current element.
+     *
+     * @throws XMLStreamException
+     */
+    private void skip() throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0 && reader.hasNext()) {
+            switch (reader.next()) {
+                case XMLStreamReader.START_ELEMENT:
+                    depth++;
+                    break;
+                case XMLStreamReader.END_ELEMENT:
+                    depth--;
+                    break;
+            }
+        }
+    }
+
+    private boolean is(String localName) {
+        return localName.equals(reader.getLocalName());
+    }
+
+    private void start() throws IOException {
+        if (!started) {
+            started = true;
+            try {
+                if (lookupDataSet()) {
+                    type = guessType();
+                } else {
+                    done = true;
+                }
+            } catch (XMLStreamException ex) {
+                throw new IOException(ex);
+            }
+        }
+    }
+
+    private boolean lookupDataSet() throws XMLStreamException {
+        // root element
+        if (!nextChild()) {
+            return false;
+        }
+        while (nextChild()) {
+            if (is(DATA_SET_ELEMENT)) {
+                return true;
+            }
+            skip();
+        }
+        return false;
+    }
+
+    private SdmxSource.Type guessType() throws XMLStreamException {
+        if (!nextChild()) {
+            done = true;
+        } else if (is(KEY_FAMILY_REF_ELEMENT)) {
+            skip();
+            return SdmxSource.Type.GENERIC;
+        } else {
+            pending = true;
+        }
+        return SdmxSource.Type.COMPACT;
+    }
+    //</editor-fold>
+
+    //<editor-fold defaultstate="collapsed" desc="Generic data">
+    private SdmxItem nextGenericItem() throws XMLStreamException {
+        while (true) {
+            if (group != null) {
+                if (nextChild()) {
+                    if (is(SERIES_ELEMENT)) {
+                        return readGenericSeries(group.key);
+                    }
+                    skip();
+                    continue;
+                }
+                group = null;
+            }
+            if (!nextChild()) {
+                return endOfDataSet();
+            }
+            if (is(GROUP_ELEMENT)) {
+                SdmxGroup result = readGenericGroup();
+                // an empty group is already closed
+                group = pending ? result : null;
+                return result;
+            }
+            if (is(SERIES_ELEMENT)) {
+                return readGenericSeries(ImmutableList.of());
+            }
+            skip();
+        }
+    }
+
+    private SdmxGroup readGenericGroup() throws XMLStreamException {
+        List<Entry<String, String>> key = new ArrayList<>();
+        List<Entry<String, String>> attributes = new ArrayList<>();
+        // the key and the attributes precede the series
+        while (nextChild()) {
+            if (is(GROUP_KEY_ELEMENT)) {
+                readConcepts(key);
+            } else if (is(ATTRIBUTES_ELEMENT)) {
+                readConcepts(attributes);
+            } else if (is(SERIES_ELEMENT)) {
+                pending = true;
+                break;
+            } else {
+                skip();
+            }
+        }
+        return new SdmxGroup(ImmutableList.copyOf(key), ImmutableList.copyOf(attributes), ImmutableList.of());
+    }
+
+    private SdmxSeries readGenericSeries(List<? extends Entry<String, String>> groupKey) throws XMLStreamException {
+        List<Entry<String, String>> key = new ArrayList<>();
+        List<Entry<String, String>> attributes = new ArrayList<>();
+        List<String> periods = new ArrayList<>();
+        List<String> values = new ArrayList<>();
+        while (nextChild()) {
+            if (is(SERIES_KEY_ELEMENT)) {
+                readConcepts(key);
+            } else if (is(ATTRIBUTES_ELEMENT)) {
+                readConcepts(attributes);
+            } else if (is(OBS_ELEMENT)) {
+                readGenericObs(periods, values);
+            } else {
+                skip();
+            }
+        }
+        TimeFormat timeFormat = getGenericTimeFormat(key, attributes);
+        // the time format may be defined by the attributes, so that the
+        // observations are parsed at the end of the series
+        IParser<Date> toPeriod = getPeriodParser(timeFormat);
+        OptionalTsData.Builder2<Date> data = newDataBuilder(timeFormat);
+        for (int i = 0; i < periods.size(); i++) {
+            String period = periods.get(i);
+            Date date = period != null ? toPeriod.parse(period) : null;
+            String value = values.get(i);
+            data.add(date, date != null && value != null ? valueParser.parse(value) : null);
+        }
+        return new SdmxSeries(filter(key, groupKey), filter(attributes, groupKey), timeFormat, data.build());
+    }
+
+    private void readGenericObs(List<String> periods, List<String> values) throws XMLStreamException {
+        String period = null;
+        String value = null;
+        while (nextChild()) {
+            if (is(TIME_ELEMENT)) {
+                period = reader.getElementText();
+            } else if (is(OBS_VALUE_ELEMENT)) {
+                value = reader.getAttributeValue(null, VALUE_ATTRIBUTE);
+                skip();
+            } else {
+                skip();
+            }
+        }
+        periods.add(period);
+        values.add(value);
+    }
+
+    private void readConcepts(List<Entry<String, String>> result) throws XMLStreamException {
+        while (nextChild()) {
+            if (is(VALUE_ELEMENT)) {
+                result.add(Maps.immutableEntry(reader.getAttributeValue(null, CONCEPT_ATTRIBUTE), reader.getAttributeValue(null, VALUE_ATTRIBUTE)));
+            }
+            skip();
+        }
+    }
+
+    private static ImmutableList<Entry<String, String>> filter(List<Entry<String, String>> list, List<? extends Entry<String, String>> excluded) {
+        if (excluded.isEmpty()) {
+            return ImmutableList.copyOf(list);
+        }
+        ImmutableList.Builder<Entry<String, String>> result = ImmutableList.builder();
+        for (Entry<String, String> o : list) {
+            if (!excluded.contains(o)) {
+                result.add(o);
+            }
+        }
+        return result.build();
+    }
+
+    private static TimeFormat getGenericTimeFormat(List<Entry<String, String>> key, List<Entry<String, String>> attributes) {
+        String value;
+
+        value = lookupConcept(TIME_FORMAT_CONCEPT, key, attributes);
+        if (value != null) {
+            return TimeFormat.parseByTimeFormat(value);
+        }
+
+        value = lookupConcept(FREQ_CONCEPT, key, attributes);
+        if (value != null) {
+            return TimeFormat.parseByFrequencyCodeId(value);
+        }
+
+        return TimeFormat.UNDEFINED;
+    }
+
+    private static String lookupConcept(String concept, List<Entry<String, String>> key, List<Entry<String, String>> attributes) {
+        for (Entry<String, String> o : key) {
+            if (concept.equals(o.getKey())) {
+                return o.getValue();
+            }
+        }
+        for (Entry<String, String> o : attributes) {
+            if (concept.equals(o.getKey())) {
+                return o.getValue();
+            }
+        }
+        return null;
+    }
+    //</editor-fold>
+
+    //<editor-fold defaultstate="collapsed" desc="Compact data">
+    private SdmxItem nextCompactItem() throws XMLStreamException {
+        while (nextChild()) {
+            if (is(SERIES_ELEMENT)) {
+                return readCompactSeries();
+            }
+            skip();
+        }
+        return endOfDataSet();
+    }
+
+    private SdmxSeries readCompactSeries() throws XMLStreamException {
+        List<Entry<String, String>> key = new ArrayList<>();
+        String timeFormatCode = null;
+        String freqCode = null;
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            String name = getAttributeName(i);
+            String value = reader.getAttributeValue(i);
+            if (TIME_FORMAT_ATTRIBUTE.equals(name)) {
+                timeFormatCode = value;
+            } else {
+                if (FREQ_ATTRIBUTE.equals(name)) {
+                    freqCode = value;
+                }
+                key.add(Maps.immutableEntry(name, value));
+            }
+        }
+        // same order as the attributes of a DOM node
+        key.sort(Entry.comparingByKey());
+
+        TimeFormat timeFormat = timeFormatCode != null ? TimeFormat.parseByTimeFormat(timeFormatCode)
+                : freqCode != null ? TimeFormat.parseByFrequencyCodeId(freqCode) : TimeFormat.UNDEFINED;
+        IParser<Date> toPeriod = getPeriodParser(timeFormat);
+        OptionalTsData.Builder2<Date> data = newDataBuilder(timeFormat);
+        while (nextChild()) {
+            if (is(OBS_ELEMENT)) {
+                String period = reader.getAttributeValue(null, TIME_PERIOD_ATTRIBUTE);
+                Date date = period != null ? toPeriod.parse(period) : null;
+                String value = date != null ? reader.getAttributeValue(null, OBS_VALUE_ATTRIBUTE) : null;
+                data.add(date, value != null ? valueParser.parse(value) : null);
+            }
+            skip();
+        }
+        return new SdmxSeries(ImmutableList.copyOf(key), ImmutableList.of(), timeFormat, data.build());
+    }
+
+    private String getAttributeName(int index) {
+        String prefix = reader.getAttributePrefix(index);
+        String localName = reader.getAttributeLocalName(index);
+        return prefix == null || prefix.isEmpty() ? localName : prefix + ":" + localName;
+    }
+    //</editor-fold>
+
+    private SdmxItem endOfDataSet() {
+        // the rest of the message is ignored
+        done = true;
+        return null;
+    }
+
+    private IParser<Date> getPeriodParser(TimeFormat timeFormat) {
+        return periodParsers.computeIfAbsent(timeFormat, TimeFormat::getParser);
+    }
+
+    private OptionalTsData.Builder2<Date> newDataBuilder(TimeFormat timeFormat) {
+        ObsGathering gathering = ObsGathering.includingMissingValues(timeFormat.getFrequency(), timeFormat.getAggregationType());
+        return OptionalTsData.builderByDate(cal, gathering);
+    }
+
+    //<editor-fold defaultstate="collapsed" desc="Resources">
+    private static final XMLInputFactory XIF = newInputFactory();
+
+    private static XMLInputFactory newInputFactory() {
+        XMLInputFactory result = XMLInputFactory.newInstance();
+        result.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        result.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return result;
+    }
+
+    private static final String DATA_SET_ELEMENT = "DataSet";
+    private static final String KEY_FAMILY_REF_ELEMENT = "KeyFamilyRef";
+    private static final String GROUP_ELEMENT = "Group";
+    private static final String GROUP_KEY_ELEMENT = "GroupKey";
+    private static final String SERIES_ELEMENT = "Series";
+    private static final String SERIES_KEY_ELEMENT = "SeriesKey";
+    private static final String ATTRIBUTES_ELEMENT = "Attributes";
+    private static final String VALUE_ELEMENT = "Value";
+    private static final String OBS_ELEMENT = "Obs";
+    private static final String TIME_ELEMENT = "Time";
+    private static final String OBS_VALUE_ELEMENT = "ObsValue";
+
+    private static final String CONCEPT_ATTRIBUTE = "concept";
+    private static final String VALUE_ATTRIBUTE = "value";
+    private static final String TIME_FORMAT_ATTRIBUTE = "TIME_FORMAT";
+    private static final String FREQ_ATTRIBUTE = "FREQ";
+    private static final String TIME_PERIOD_ATTRIBUTE = "TIME_PERIOD";
+    private static final String OBS_VALUE_ATTRIBUTE = "OBS_VALUE";
+
+    private static final String TIME_FORMAT_CONCEPT = "TIME_FORMAT";
+    private static final String FREQ_CONCEPT = "FREQ";
+
+    private static final DataFormat DEFAULT_DATA_FORMAT = DataFormat.ROOT;
+    //</editor-fold>
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2013 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved 
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software 
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and 
+ * limitations under the Licence.
+ */
+package ec.tss.tsproviders.sdmx.engine;
+
+import com.google.common.collect.Maps;
+import static ec.tss.tsproviders.sdmx.engine.Utils.load;
+import ec.tss.tsproviders.sdmx.model.SdmxGroup;
+import ec.tss.tsproviders.sdmx.model.SdmxItem;
+import ec.tss.tsproviders.sdmx.model.SdmxSeries;
+import ec.tss.tsproviders.sdmx.model.SdmxSource;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.stream.Collectors;
+import javax.xml.stream.XMLInputFactory;
+import static org.junit.Assert.*;
+import org.junit.Test;
+import org.w3c.dom.Document;
+
+public class XMLStreamSdmxCursorTest {
+
+    @Test
+    public void testSameAsDom() throws Exception {
+        for (String name : new String[]{"/sdmx-generic-sample.xml", "/sdmx-compact-sample.xml", "generic-P1Y.xml", "generic-P1M.xml"}) {
+            Document doc = load(name);
+            SdmxSource expected = new CunningPlanFactory().find(doc).create(doc);
+            SdmxSource found = new CunningPlanFactory().create(new File(Utils.class.getResource(name).toURI()));
+            assertSameSource(expected, found);
+        }
+    }
+
+    @Test
+    public void testCursor() throws Exception {
+        try (XMLStreamSdmxCursor cursor = XMLStreamSdmxCursor.of(new File(Utils.class.getResource("/sdmx-generic-sample.xml").toURI()))) {
+            assertEquals(SdmxSource.Type.GENERIC, cursor.getType());
+            assertTrue(cursor.getMetaData().isEmpty());
+
+            assertTrue(cursor.nextSeries());
+            assertEquals("JD_TYPE=P, JD_CATEGORY=A, VIS_CTY=MX, FREQ=M", cursor.getSeriesId());
+            assertEquals("JD_TYPE=P, JD_CATEGORY=A, VIS_CTY=MX", cursor.getGroup().id);
+            assertEquals(12, cursor.getSeriesData().get().getObsCount());
+
+            assertTrue(cursor.nextSeries());
+            assertEquals("JD_TYPE=P, JD_CATEGORY=A, VIS_CTY=MX, FREQ=A", cursor.getSeriesId());
+            assertEquals(1, cursor.getSeriesData().get().getObsCount());
+
+            assertFalse(cursor.nextSeries());
+            try {
+                cursor.getSeriesId();
+                fail();
+            } catch (IllegalStateException ex) {
+            }
+        }
+    }
+
+    @Test
+    public void testEmptyItems() throws Exception {
+        String xml = "<GenericData><Header/><DataSet><KeyFamilyRef>X</KeyFamilyRef>"
+                + "<Group><GroupKey><Value concept=\"A\" value=\"1\"/></GroupKey></Group>"
+                + "<Series><SeriesKey><Value concept=\"FREQ\" value=\"A\"/></SeriesKey><Obs><Time>2001</Time><ObsValue value=\"1.5\"/></Obs></Series>"
+                + "</DataSet><DataSet><Series/></DataSet></GenericData>";
+        try (XMLStreamSdmxCursor cursor = XMLStreamSdmxCursor.of(XMLInputFactory.newInstance().createXMLStreamReader(new StringReader(xml)), () -> {
+        })) {
+            assertTrue(cursor.nextItem());
+            assertEquals("A=1", cursor.getItem().id);
+            assertTrue(((SdmxGroup) cursor.getItem()).series.isEmpty());
+            assertTrue(cursor.nextItem());
+            assertNull(cursor.getGroup());
+            assertEquals("FREQ=A", cursor.getSeries().id);
+            assertArrayEquals(new double[]{1.5}, cursor.getSeries().data.get().internalStorage(), 0);
+            assertFalse(cursor.nextItem());
+        }
+
+        xml = "<CompactData><Header/><DataSet/></CompactData>";
+        try (XMLStreamSdmxCursor cursor = XMLStreamSdmxCursor.of(XMLInputFactory.newInstance().createXMLStreamReader(new StringReader(xml)), () -> {
+        })) {
+            assertEquals(SdmxSource.Type.COMPACT, cursor.getType());
+            assertFalse(cursor.nextSeries());
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testNoDataSet() throws Exception {
+        File file = File.createTempFile("sdmx", ".xml");
+        try {
+            Files.write(file.toPath(), "<CompactData><Header/></CompactData>".getBytes(StandardCharsets.UTF_8));
+            new CunningPlanFactory().create(file);
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testClosed() throws Exception {
+        XMLStreamSdmxCursor cursor = XMLStreamSdmxCursor.of(new File(Utils.class.getResource("/sdmx-compact-sample.xml").toURI()));
+        cursor.close();
+        assertTrue(cursor.isClosed());
+        cursor.nextSeries();
+    }
+
+    private static void assertSameSource(SdmxSource expected, SdmxSource found) {
+        assertEquals(expected.type, found.type);
+        assertEquals(expected.items.size(), found.items.size());
+        for (int i = 0; i < expected.items.size(); i++) {
+            assertSameItem(expected.items.get(i), found.items.get(i));
+        }
+    }
+
+    private static List<Entry<String, String>> toEntries(List<? extends Entry<String, String>> list) {
+        return list.stream().map(o -> Maps.immutableEntry(o.getKey(), o.getValue())).collect(Collectors.toList());
+    }
+
+    private static void assertSameItem(SdmxItem expected, SdmxItem found) {
+        assertEquals(expected.getClass(), found.getClass());
+        assertEquals(expected.id, found.id);
+        assertEquals(toEntries(expected.key), toEntries(found.key));
+        assertEquals(toEntries(expected.attributes), toEntries(found.attributes));
+        if (expected instanceof SdmxSeries) {
+            assertEquals(((SdmxSeries) expected).timeFormat, ((SdmxSeries) found).timeFormat);
+            assertEquals(((SdmxSeries) expected).data, ((SdmxSeries) found).data);
+        } else {
+            SdmxGroup g1 = (SdmxGroup) expected, g2 = (SdmxGroup) found;
+            assertEquals(g1.series.size(), g2.series.size());
+            for (int i = 0; i < g1.series.size(); i++) {
+                assertSameItem(g1.series.get(i), g2.series.get(i));
+            }
+        }
+    }
+}
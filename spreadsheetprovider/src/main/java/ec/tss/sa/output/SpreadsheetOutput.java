@@ -22,47 +22,96 @@ import ec.tss.tsproviders.utils.MultiLineNameUtil;
 import ec.tstoolkit.algorithm.IOutput;
 import ec.tstoolkit.timeseries.simplets.TsData;
 import ec.tstoolkit.timeseries.simplets.TsDataTable;
-import ec.tstoolkit.utilities.NamedObject;
 import ec.tstoolkit.utilities.Paths;
 import java.io.File;
 import java.io.FileOutputStream;
+import java.io.IOException;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Set;
 import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 
 /**
+ * Writes the series of the documents in an Excel workbook. The workbook is
+ * a streaming one (SXSSF), which only keeps a few rows of each sheet in
+ * memory.
+ *
+ * In the BySeries layout, the sheet of a document is generated as soon as
+ * the document is processed. In the other layouts, the requested series are
+ * put in temporary spools and the sheets are generated at the end of the
+ * processing (one component at a time in the ByComponent layout).
  *
  * @author Kristof Bayens
  */
 public class SpreadsheetOutput implements IOutput<SaDocument<ISaSpecification>> {
 
     SpreadsheetOutputConfiguration config_;
-    List<DefaultSummary> summaries_;
     File folder_;
     private boolean fullName;
+    private SXSSFWorkbook workbook_;
+    private int nseries_;
+    // ByComponent: one spool by component; OneSheet: a single spool
+    private final Map<String, SeriesSpool> spools_ = new LinkedHashMap<>();
+    // OneSheet: the headers of the series
+    private final List<String> headers0_ = new ArrayList<>(), headers1_ = new ArrayList<>();
 
     public SpreadsheetOutput(SpreadsheetOutputConfiguration config) {
-        summaries_ = new ArrayList<>();
         config_ = (SpreadsheetOutputConfiguration) config.clone();
         fullName = config_.isFullName();
     }
 
     @Override
-    public void process(SaDocument<ISaSpecification> document) {
+    public void process(SaDocument<ISaSpecification> document) throws Exception {
         DefaultSummary summary = new DefaultSummary(document.getInput().getRawName(), document.getResults(), config_.getSeries());
-        if (config_.isSaveModel()) {
-            summary.setModel(document.getSpecification());
+        String name = name(summary.getName());
+        Map<String, TsData> data = summary.getAllSeries();
+        switch (config_.getLayout()) {
+            case ByComponent: {
+                for (Entry<String, TsData> keyValue : data.entrySet()) {
+                    spool(keyValue.getKey()).add(name, keyValue.getValue());
+                }
+                break;
+            }
+            case BySeries: {
+                TsDataTable bySeriesTable = new TsDataTable();
+                String[] componentHeaders = new String[data.size()];
+                int j = 0;
+                for (Entry<String, TsData> keyValue : data.entrySet()) {
+                    componentHeaders[j++] = keyValue.getKey();
+                    bySeriesTable.insert(-1, keyValue.getValue());
+                }
+                //ADD SHEET
+                synchronized (workbook_) {
+                    XSSFHelper.addSheet(workbook_, "Series" + Integer.toString(nseries_++), new String[]{name}, componentHeaders, bySeriesTable, config_.isVerticalOrientation());
+                }
+                break;
+            }
+            case OneSheet: {
+                SeriesSpool spool = spool("");
+                synchronized (spool) {
+                    headers0_.add(name);
+                    for (int i = 1; i < data.size(); i++) {
+                        headers0_.add("");
+                    }
+                    for (Entry<String, TsData> keyValue : data.entrySet()) {
+                        headers1_.add(keyValue.getKey());
+                        spool.add(keyValue.getKey(), keyValue.getValue());
+                    }
+                }
+                break;
+            }
         }
-        summaries_.add(summary);
     }
 
     @Override
     public void start(Object context) {
-        summaries_.clear();
+        spools_.clear();
+        headers0_.clear();
+        headers1_.clear();
+        nseries_ = 0;
+        workbook_ = new SXSSFWorkbook(null, 100, false, true);
         folder_ = BasicConfiguration.folderFromContext(config_.getFolder(), context);
     }
 
@@ -71,101 +120,51 @@ public class SpreadsheetOutput implements IOutput<SaDocument<ISaSpecification>>
         String file = new File(folder_, config_.getFileName()).getAbsolutePath();
         file = Paths.changeExtension(file, "xlsx");
         File ssfile = new File(file);
-        //File ssfile = new File("C:\\test.xls");
-        SXSSFWorkbook workbook = new SXSSFWorkbook(null, 100, false, true);
 
         try (FileOutputStream stream = new FileOutputStream(ssfile)) {
             switch (config_.getLayout()) {
                 case ByComponent: {
-                    HashMap<String, List<NamedObject<TsData>>> allData = new HashMap<>();
-                    for (DefaultSummary summary : summaries_) {
-                        for (Entry<String, TsData> keyValue : summary.getAllSeries().entrySet()) {
-                            List<NamedObject<TsData>> list = null;
-                            if (!allData.containsKey(keyValue.getKey())) {
-                                list = new ArrayList<>();
-                                allData.put(keyValue.getKey(), list);
-                            } else {
-                                list = allData.get(keyValue.getKey());
-                            }
-                            String name;
-
-                            if (fullName) {
-                                name = MultiLineNameUtil.join(summary.getName(), " * ");
-                            } else {
-                                name = MultiLineNameUtil.last(summary.getName());
-                            }
-                            list.add(new NamedObject<>(name, keyValue.getValue()));
-                        }
-                    }
-                    for (Entry<String, List<NamedObject<TsData>>> keyValue : allData.entrySet()) {
+                    for (Entry<String, SeriesSpool> keyValue : spools_.entrySet()) {
                         TsDataTable byComponentTable = new TsDataTable();
-                        List<NamedObject<TsData>> value = keyValue.getValue();
-                        String[] headers = new String[value.size()];
-                        for (int i = 0; i < headers.length; i++) {
-                            NamedObject<TsData> data = value.get(i);
-                            headers[i] = data.name;
-                            byComponentTable.insert(-1, data.object);
-                        }
+                        List<String> headers = new ArrayList<>();
+                        keyValue.getValue().forEach((n, s) -> {
+                            headers.add(n);
+                            byComponentTable.insert(-1, s);
+                        });
                         //ADD SHEET
-                        XSSFHelper.addSheet(workbook, keyValue.getKey(), new String[]{keyValue.getKey()}, headers, byComponentTable, config_.isVerticalOrientation());
-                    }
-                    break;
-                }
-                case BySeries: {
-                    for (int i = 0; i < summaries_.size(); i++) {
-                        DefaultSummary summary = summaries_.get(i);
-                        Set<Entry<String, TsData>> tmp = summary.getAllSeries().entrySet();
-                        TsDataTable bySeriesTable = new TsDataTable();
-                        String[] componentHeaders = new String[tmp.size()];
-                        int j = 0;
-                        for (Entry<String, TsData> keyValue : tmp) {
-                            componentHeaders[j++] = keyValue.getKey();
-                            bySeriesTable.insert(-1, keyValue.getValue());
-                        }
-                        //ADD SHEET
-                        String name;
-                        if (fullName) {
-                            name = MultiLineNameUtil.join(summary.getName(), " * ");
-                        } else {
-                            name = MultiLineNameUtil.last(summary.getName());
-                        }
-                        XSSFHelper.addSheet(workbook, "Series" + Integer.toString(i), new String[]{name}, componentHeaders, bySeriesTable, config_.isVerticalOrientation());
+                        XSSFHelper.addSheet(workbook_, keyValue.getKey(), new String[]{keyValue.getKey()}, headers.stream().toArray(String[]::new), byComponentTable, config_.isVerticalOrientation());
                     }
                     break;
                 }
                 case OneSheet: {
-                    List<String> headers0 = new ArrayList<>();
-                    List<String> headers1 = new ArrayList<>();
                     TsDataTable oneSheetTable = new TsDataTable();
-
-                    for (DefaultSummary summary : summaries_) {
-                        String name;
-                        if (fullName) {
-                            name = MultiLineNameUtil.join(summary.getName(), " * ");
-                        } else {
-                            name = MultiLineNameUtil.last(summary.getName());
-                        }
-                        headers0.add(name);
-                        Map<String, TsData> data = summary.getAllSeries();
-                        for (Entry<String, TsData> keyValue : data.entrySet()) {
-                            headers1.add(keyValue.getKey());
-                            oneSheetTable.insert(-1, keyValue.getValue());
-                        }
-                        for (int i = 1; i < data.size(); i++) {
-                            headers0.add("");
-                        }
+                    SeriesSpool spool = spools_.get("");
+                    if (spool != null) {
+                        spool.forEach((n, s) -> oneSheetTable.insert(-1, s));
                     }
                     //ADD SHEET
-                    XSSFHelper.addSheet(workbook, "Series", headers0.stream().toArray(String[]::new), headers1.stream().toArray(String[]::new), oneSheetTable, config_.isVerticalOrientation());
+                    XSSFHelper.addSheet(workbook_, "Series", headers0_.stream().toArray(String[]::new), headers1_.stream().toArray(String[]::new), oneSheetTable, config_.isVerticalOrientation());
                     break;
                 }
             }
-            workbook.write(stream);
+            workbook_.write(stream);
         } finally {
-            workbook.dispose();            
+            workbook_.dispose();
+            workbook_ = null;
+            for (SeriesSpool spool : spools_.values()) {
+                spool.close();
+            }
+            spools_.clear();
+            headers0_.clear();
+            headers1_.clear();
         }
     }
 
+    @Override
+    public boolean isThreadSafe() {
+        return true;
+    }
+
     @Override
     public String getName() {
         return "Spreadsheet";
@@ -175,4 +174,23 @@ public class SpreadsheetOutput implements IOutput<SaDocument<ISaSpecification>>
     public boolean isAvailable() {
         return true;
     }
+
+    private SeriesSpool spool(String key) throws IOException {
+        synchronized (spools_) {
+            SeriesSpool spool = spools_.get(key);
+            if (spool == null) {
+                spool = new SeriesSpool();
+                spools_.put(key, spool);
+            }
+            return spool;
+        }
+    }
+
+    private String name(String name) {
+        if (fullName) {
+            return MultiLineNameUtil.join(name, " * ");
+        } else {
+            return MultiLineNameUtil.last(name);
+        }
+    }
 }
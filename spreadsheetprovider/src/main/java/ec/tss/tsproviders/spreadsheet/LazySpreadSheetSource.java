@@ -0,0 +1,205 @@
+/*
+ * Copyright 2013 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.tss.tsproviders.spreadsheet;
+
+import com.google.common.collect.ImmutableList;
+import ec.tss.tsproviders.spreadsheet.engine.SpreadSheetCollection;
+import ec.tss.tsproviders.spreadsheet.engine.SpreadSheetFactory;
+import ec.tss.tsproviders.spreadsheet.engine.SpreadSheetSource;
+import ec.tss.tsproviders.spreadsheet.engine.TsImportOptions;
+import ec.util.spreadsheet.Book;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A spreadsheet whose sheets are parsed on demand. Only the names of the
+ * sheets are read when it is created; a sheet is parsed the first time its
+ * collection is requested and the whole source is built from the sheets that
+ * have already been parsed.
+ * <br>
+ * The book stays open as long as some sheets are not parsed, so that it is
+ * loaded only once. It is closed when the last sheet is parsed or when the
+ * source is closed (see SpreadSheetProvider for the eviction of the sources).
+ */
+final class LazySpreadSheetSource implements Closeable {
+
+    @NonNull
+    static LazySpreadSheetSource of(@NonNull File file, Book.@NonNull Factory factory, @NonNull TsImportOptions options) throws IOException {
+        Book book = factory.load(file);
+        try {
+            ImmutableList.Builder<String> sheetNames = ImmutableList.builder();
+            for (int i = 0; i < book.getSheetCount(); i++) {
+                sheetNames.add(book.getSheetName(i));
+            }
+            LazySpreadSheetSource result = new LazySpreadSheetSource(file, factory, options, sheetNames.build(), book);
+            result.closeIfParsed();
+            return result;
+        } catch (IOException | RuntimeException ex) {
+            try {
+                book.close();
+            } catch (IOException suppressed) {
+                ex.addSuppressed(suppressed);
+            }
+            throw ex;
+        }
+    }
+
+    private final File file;
+    private final Book.Factory factory;
+    private final TsImportOptions options;
+    private final ImmutableList<String> sheetNames;
+    private final AtomicReferenceArray<SpreadSheetCollection> collections;
+    // open while some sheets are not parsed
+    private Book book;
+    private SpreadSheetSource source;
+
+    private LazySpreadSheetSource(File file, Book.Factory factory, TsImportOptions options, ImmutableList<String> sheetNames, Book book) {
+        this.file = file;
+        this.factory = factory;
+        this.options = options;
+        this.sheetNames = sheetNames;
+        this.collections = new AtomicReferenceArray<>(sheetNames.size());
+        this.book = book;
+    }
+
+    /**
+     * Gets the names of the sheets, in the order of the book.
+     *
+     * @return
+     */
+    @NonNull
+    public List<String> getSheetNames() {
+        return sheetNames;
+    }
+
+    /**
+     * Gets a collection, parsing its sheet if necessary.
+     *
+     * @param sheetName
+     * @return the collection or null if the sheet doesn't exist
+     * @throws IOException
+     */
+    @Nullable
+    public SpreadSheetCollection getCollection(@NonNull String sheetName) throws IOException {
+        int index = sheetNames.indexOf(sheetName);
+        if (index == -1) {
+            return null;
+        }
+        SpreadSheetCollection result = collections.get(index);
+        return result != null ? result : parse(index);
+    }
+
+    /**
+     * Gets the whole source. The sheets that have not been parsed yet are
+     * parsed in parallel.
+     *
+     * @return
+     * @throws IOException
+     */
+    @NonNull
+    public synchronized SpreadSheetSource getSource() throws IOException {
+        if (source == null) {
+            if (!isFullyParsed()) {
+                if (book != null) {
+                    parseAll(book);
+                } else {
+                    try (Book tmp = factory.load(file)) {
+                        parseAll(tmp);
+                    }
+                }
+                closeIfParsed();
+            }
+            List<SpreadSheetCollection> list = new ArrayList<>(collections.length());
+            for (int i = 0; i < collections.length(); i++) {
+                list.add(collections.get(i));
+            }
+            source = new SpreadSheetSource(list, "?");
+        }
+        return source;
+    }
+
+    /**
+     * Checks that the book is still open (some sheets are not parsed and the
+     * source has not been closed).
+     *
+     * @return
+     */
+    public synchronized boolean isOpen() {
+        return book != null;
+    }
+
+    /**
+     * Closes the book. The sheets that are not parsed yet will be parsed by
+     * reloading the book.
+     *
+     * @throws IOException
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (book != null) {
+            Book tmp = book;
+            book = null;
+            tmp.close();
+        }
+    }
+
+    private synchronized SpreadSheetCollection parse(int index) throws IOException {
+        SpreadSheetCollection result = collections.get(index);
+        if (result == null) {
+            if (book != null) {
+                result = SpreadSheetFactory.getDefault().toCollection(book.getSheet(index), index, options);
+            } else {
+                try (Book tmp = factory.load(file)) {
+                    result = SpreadSheetFactory.getDefault().toCollection(tmp.getSheet(index), index, options);
+                }
+            }
+            collections.set(index, result);
+            closeIfParsed();
+        }
+        return result;
+    }
+
+    private void parseAll(Book input) throws IOException {
+        SpreadSheetFactory parser = SpreadSheetFactory.getDefault();
+        input.parallelForEach((sheet, i) -> {
+            if (collections.get(i) == null) {
+                collections.set(i, parser.toCollection(sheet, i, options));
+            }
+        });
+    }
+
+    private synchronized void closeIfParsed() throws IOException {
+        if (book != null && isFullyParsed()) {
+            close();
+        }
+    }
+
+    private boolean isFullyParsed() {
+        for (int i = 0; i < collections.length(); i++) {
+            if (collections.get(i) == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
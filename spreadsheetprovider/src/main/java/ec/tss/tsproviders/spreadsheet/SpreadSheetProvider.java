@@ -16,6 +16,9 @@
  */
 package ec.tss.tsproviders.spreadsheet;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
 import ec.tss.ITsProvider;
 import ec.tss.TsAsyncMode;
 import ec.tss.TsCollectionInformation;
@@ -28,14 +31,18 @@ import ec.tss.tsproviders.spreadsheet.engine.SpreadSheetFactory;
 import ec.tss.tsproviders.spreadsheet.engine.SpreadSheetCollection;
 import ec.tss.tsproviders.spreadsheet.engine.SpreadSheetSeries;
 import ec.tss.tsproviders.spreadsheet.engine.SpreadSheetSource;
+import ec.tss.tsproviders.spreadsheet.engine.SpreadSheetSourceCache;
 import ec.tss.tsproviders.spreadsheet.engine.TsImportOptions;
 import ec.tss.tsproviders.utils.*;
 import ec.tstoolkit.timeseries.simplets.TsFrequency;
+import ec.tstoolkit.utilities.GuavaCaches;
 import ec.util.spreadsheet.Book;
 import ec.util.spreadsheet.BookFactoryLoader;
 import java.io.File;
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Collectors;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -57,11 +64,42 @@ public class SpreadSheetProvider extends AbstractFileLoader<SpreadSheetSource, S
     private static final Logger LOGGER = LoggerFactory.getLogger(SpreadSheetProvider.class);
     protected final Parsers.Parser<DataSource> legacyDataSourceParser;
     protected final Parsers.Parser<DataSet> legacyDataSetParser;
+    private final Cache<DataSource, LazySpreadSheetSource> lazyCache;
+    // lazy sources whose book is still open; they are strongly referenced
+    // until they are fully parsed or evicted, so that their book is always closed
+    private final ConcurrentMap<DataSource, LazySpreadSheetSource> openSources;
+    private volatile SpreadSheetSourceCache diskCache;
 
     public SpreadSheetProvider() {
         super(LOGGER, SOURCE, TsAsyncMode.Once);
         this.legacyDataSourceParser = SpreadSheetLegacy.legacyDataSourceParser();
         this.legacyDataSetParser = SpreadSheetLegacy.legacyDataSetParser();
+        this.openSources = new ConcurrentHashMap<>();
+        this.lazyCache = CacheBuilder.newBuilder().softValues()
+                .removalListener(this::onLazySourceRemoval)
+                .build();
+        this.diskCache = null;
+    }
+
+    /**
+     * Gets the folder of the on-disk cache of parsed spreadsheets.
+     *
+     * @return the folder or null if the on-disk cache is disabled
+     */
+    @Nullable
+    public File getCacheFolder() {
+        SpreadSheetSourceCache tmp = diskCache;
+        return tmp != null ? tmp.getFolder() : null;
+    }
+
+    /**
+     * Sets the folder of the on-disk cache of parsed spreadsheets. The cache is
+     * disabled by default.
+     *
+     * @param folder the folder or null to disable the on-disk cache
+     */
+    public void setCacheFolder(@Nullable File folder) {
+        this.diskCache = folder != null ? new SpreadSheetSourceCache(folder) : null;
     }
 
     @Override
@@ -88,20 +126,118 @@ public class SpreadSheetProvider extends AbstractFileLoader<SpreadSheetSource, S
 
     @Override
     protected SpreadSheetSource loadFromBean(SpreadSheetBean bean) throws Exception {
+        DataSource dataSource = encodeBean(bean);
+        SpreadSheetSourceCache tmp = diskCache;
+        if (tmp != null) {
+            File file = getRealFile(bean.getFile());
+            SpreadSheetSource result = readDiskCache(tmp, file, dataSource);
+            if (result == null) {
+                result = getLazySourceContent(dataSource);
+                writeDiskCache(tmp, file, dataSource, result);
+            }
+            return result;
+        }
+        return getLazySourceContent(dataSource);
+    }
+
+    private SpreadSheetSource getLazySourceContent(DataSource dataSource) throws IOException {
+        LazySpreadSheetSource lazy = getLazySource(dataSource);
+        try {
+            return lazy.getSource();
+        } finally {
+            releaseIfParsed(dataSource, lazy);
+        }
+    }
+
+    private LazySpreadSheetSource getLazySource(DataSource dataSource) throws IOException {
+        return GuavaCaches.getOrThrowIOException(lazyCache, dataSource, () -> {
+            LazySpreadSheetSource result = loadLazySource(decodeBean(dataSource));
+            if (result.isOpen()) {
+                openSources.put(dataSource, result);
+            }
+            return result;
+        });
+    }
+
+    private void releaseIfParsed(DataSource dataSource, LazySpreadSheetSource lazy) {
+        if (!lazy.isOpen()) {
+            openSources.remove(dataSource, lazy);
+        }
+    }
+
+    private void onLazySourceRemoval(RemovalNotification<DataSource, LazySpreadSheetSource> notification) {
+        LazySpreadSheetSource lazy = notification.getValue();
+        if (lazy != null) {
+            openSources.remove(notification.getKey(), lazy);
+            try {
+                lazy.close();
+            } catch (IOException ex) {
+                LOGGER.warn("Cannot close '{}'", notification.getKey(), ex);
+            }
+        }
+    }
+
+    private LazySpreadSheetSource loadLazySource(SpreadSheetBean bean) throws IOException {
         File file = getRealFile(bean.getFile());
         Book.Factory factory = getFactoryByFile(file);
         if (factory != null) {
-            try (Book book = factory.load(file)) {
-                ObsGathering gathering = bean.isCleanMissing()
-                        ? ObsGathering.excludingMissingValues(bean.getFrequency(), bean.getAggregationType())
-                        : ObsGathering.includingMissingValues(bean.getFrequency(), bean.getAggregationType());
-                TsImportOptions options = TsImportOptions.create(bean.getDataFormat(), gathering);
-                return SpreadSheetFactory.getDefault().toSource(book, options);
-            }
+            ObsGathering gathering = bean.isCleanMissing()
+                    ? ObsGathering.excludingMissingValues(bean.getFrequency(), bean.getAggregationType())
+                    : ObsGathering.includingMissingValues(bean.getFrequency(), bean.getAggregationType());
+            TsImportOptions options = TsImportOptions.create(bean.getDataFormat(), gathering);
+            return LazySpreadSheetSource.of(file, factory, options);
         }
         throw new RuntimeException("File type not supported");
     }
 
+    @Nullable
+    private static SpreadSheetSource readDiskCache(SpreadSheetSourceCache diskCache, File file, DataSource dataSource) {
+        try {
+            return diskCache.get(file, dataSource.toString());
+        } catch (IOException ex) {
+            LOGGER.warn("Invalid cache entry for '{}'", file, ex);
+            diskCache.invalidate(file, dataSource.toString());
+            return null;
+        }
+    }
+
+    private static void writeDiskCache(SpreadSheetSourceCache diskCache, File file, DataSource dataSource, SpreadSheetSource source) {
+        try {
+            diskCache.put(file, dataSource.toString(), source);
+        } catch (IOException ex) {
+            LOGGER.warn("Cannot write cache entry for '{}'", file, ex);
+        }
+    }
+
+    private boolean isFullyLoaded(DataSource dataSource) throws IOException {
+        if (cache.getIfPresent(dataSource) != null) {
+            return true;
+        }
+        SpreadSheetSourceCache tmp = diskCache;
+        return tmp != null && tmp.contains(getRealFile(decodeBean(dataSource).getFile()), dataSource.toString());
+    }
+
+    @Override
+    public boolean close(DataSource dataSource) {
+        if (super.close(dataSource)) {
+            lazyCache.invalidate(dataSource);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void reload(DataSource dataSource) throws IllegalArgumentException {
+        lazyCache.invalidate(dataSource);
+        super.reload(dataSource);
+    }
+
+    @Override
+    public void clearCache() {
+        lazyCache.invalidateAll();
+        super.clearCache();
+    }
+
     @Override
     public String getDisplayName() {
         return "Spreadsheets";
@@ -130,12 +266,19 @@ public class SpreadSheetProvider extends AbstractFileLoader<SpreadSheetSource, S
     @Override
     public List<DataSet> children(DataSource dataSource) throws IOException {
         support.check(dataSource);
+        DataSet.Builder builder = DataSet.builder(dataSource, DataSet.Kind.COLLECTION);
+        if (!isFullyLoaded(dataSource)) {
+            // the ordering of a collection is the index of its sheet
+            return getLazySource(dataSource).getSheetNames().stream()
+                    .map(o -> builder.put(Y_SHEETNAME, o).build())
+                    .collect(Collectors.toList());
+        }
+
         SpreadSheetSource ws = getSource(dataSource);
         if (ws.collections.isEmpty()) {
             return Collections.emptyList();
         }
 
-        DataSet.Builder builder = DataSet.builder(dataSource, DataSet.Kind.COLLECTION);
         return ws.collections.values().stream()
                 .sorted()
                 .map(o -> builder.put(Y_SHEETNAME, o.sheetName).build())
@@ -225,7 +368,17 @@ public class SpreadSheetProvider extends AbstractFileLoader<SpreadSheetSource, S
     }
 
     public SpreadSheetCollection getCollection(DataSet dataSet) throws IOException {
-        SpreadSheetSource ws = getSource(dataSet.getDataSource());
+        DataSource dataSource = dataSet.getDataSource();
+        if (!isFullyLoaded(dataSource)) {
+            support.check(dataSource);
+            LazySpreadSheetSource lazy = getLazySource(dataSource);
+            try {
+                return lazy.getCollection(clean(Y_SHEETNAME.get(dataSet)));
+            } finally {
+                releaseIfParsed(dataSource, lazy);
+            }
+        }
+        SpreadSheetSource ws = getSource(dataSource);
         return search(ws, Y_SHEETNAME.get(dataSet));
     }
 
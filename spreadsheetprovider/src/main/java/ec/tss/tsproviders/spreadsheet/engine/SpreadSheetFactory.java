@@ -58,6 +58,21 @@ public abstract class SpreadSheetFactory {
     @NonNull
     abstract public SpreadSheetSource toSource(@NonNull Book book, @NonNull TsImportOptions options) throws IOException;
 
+    /**
+     * Parses a single sheet of a book. This is the collection that would be
+     * found in the source of the book.
+     *
+     * @param sheet
+     * @param ordering the index of the sheet in its book
+     * @param options
+     * @return
+     * @since 2.2.4
+     */
+    @NonNull
+    public SpreadSheetCollection toCollection(@NonNull Sheet sheet, int ordering, @NonNull TsImportOptions options) {
+        return DefaultImpl.parseCollection(sheet, ordering, Context.create(options));
+    }
+
     @NonNull
     abstract public TsCollectionInformation toTsCollectionInfo(@NonNull Sheet sheet, @NonNull TsImportOptions options);
 
@@ -0,0 +1,263 @@
+/*
+ * Copyright 2013 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.tss.tsproviders.spreadsheet.engine;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.hash.Hashing;
+import ec.tss.tsproviders.utils.OptionalTsData;
+import ec.tstoolkit.timeseries.simplets.TsData;
+import ec.tstoolkit.timeseries.simplets.TsFrequency;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * On-disk cache of parsed spreadsheets. An entry is a compact binary image of
+ * a SpreadSheetSource; it is identified by the path of the spreadsheet and by
+ * a key that describes the parsing options. As in LastModifiedFileCache, an
+ * entry becomes invalid as soon as the last-modified time (or the size) of
+ * the spreadsheet changes.
+ */
+public final class SpreadSheetSourceCache {
+
+    private static final int MAGIC = 0x53534331; // "SSC1"
+
+    private final File folder;
+
+    public SpreadSheetSourceCache(@NonNull File folder) {
+        this.folder = folder;
+    }
+
+    @NonNull
+    public File getFolder() {
+        return folder;
+    }
+
+    /**
+     * Checks that a valid entry exists
+     *
+     * @param file the spreadsheet
+     * @param key the parsing options
+     * @return
+     */
+    public boolean contains(@NonNull File file, @NonNull String key) {
+        File entry = getEntry(file, key);
+        if (!entry.isFile()) {
+            return false;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(entry.toPath())))) {
+            return readHeader(in, file, key);
+        } catch (IOException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Reads an entry
+     *
+     * @param file the spreadsheet
+     * @param key the parsing options
+     * @return the source or null if the entry doesn't exist or is outdated
+     * @throws IOException if the entry is corrupted
+     */
+    @Nullable
+    public SpreadSheetSource get(@NonNull File file, @NonNull String key) throws IOException {
+        File entry = getEntry(file, key);
+        if (!entry.isFile()) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(entry.toPath())))) {
+            return readHeader(in, file, key) ? readSource(in) : null;
+        }
+    }
+
+    /**
+     * Writes (or replaces) an entry
+     *
+     * @param file the spreadsheet
+     * @param key the parsing options
+     * @param source
+     * @throws IOException
+     */
+    public void put(@NonNull File file, @NonNull String key, @NonNull SpreadSheetSource source) throws IOException {
+        Files.createDirectories(folder.toPath());
+        File entry = getEntry(file, key);
+        File tmp = File.createTempFile("spreadsheet", ".tmp", folder);
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp.toPath())))) {
+                writeHeader(out, file, key);
+                writeSource(out, source);
+            }
+            Files.move(tmp.toPath(), entry.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            tmp.delete();
+        }
+    }
+
+    /**
+     * Removes an entry
+     *
+     * @param file the spreadsheet
+     * @param key the parsing options
+     */
+    public void invalidate(@NonNull File file, @NonNull String key) {
+        getEntry(file, key).delete();
+    }
+
+    private File getEntry(File file, String key) {
+        String id = file.getAbsolutePath() + '\n' + key;
+        return new File(folder, Hashing.sha256().hashString(id, StandardCharsets.UTF_8).toString() + ".bin");
+    }
+
+    private static void writeHeader(DataOutput out, File file, String key) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeUTF(file.getAbsolutePath());
+        out.writeLong(file.lastModified());
+        out.writeLong(file.length());
+        out.writeUTF(key);
+    }
+
+    private static boolean readHeader(DataInput in, File file, String key) throws IOException {
+        return in.readInt() == MAGIC
+                && in.readUTF().equals(file.getAbsolutePath())
+                && in.readLong() == file.lastModified()
+                && in.readLong() == file.length()
+                && in.readUTF().equals(key);
+    }
+
+    //<editor-fold defaultstate="collapsed" desc="Binary format">
+    static void writeSource(DataOutput out, SpreadSheetSource source) throws IOException {
+        out.writeUTF(source.factoryName);
+        out.writeInt(source.collections.size());
+        for (SpreadSheetCollection o : source.collections.values()) {
+            writeCollection(out, o);
+        }
+    }
+
+    static SpreadSheetSource readSource(DataInput in) throws IOException {
+        String factoryName = in.readUTF();
+        int n = readCount(in);
+        List<SpreadSheetCollection> list = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            list.add(readCollection(in));
+        }
+        return new SpreadSheetSource(list, factoryName);
+    }
+
+    private static void writeCollection(DataOutput out, SpreadSheetCollection col) throws IOException {
+        out.writeUTF(col.sheetName);
+        out.writeInt(col.ordering);
+        out.writeByte(col.alignType.ordinal());
+        out.writeInt(col.series.size());
+        for (SpreadSheetSeries o : col.series) {
+            out.writeUTF(o.seriesName);
+            out.writeInt(o.ordering);
+            out.writeByte(o.alignType.ordinal());
+            writeData(out, o.data);
+        }
+    }
+
+    private static SpreadSheetCollection readCollection(DataInput in) throws IOException {
+        String sheetName = in.readUTF();
+        int ordering = in.readInt();
+        SpreadSheetCollection.AlignType alignType = readAlignType(in);
+        int n = readCount(in);
+        ImmutableList.Builder<SpreadSheetSeries> series = ImmutableList.builder();
+        for (int i = 0; i < n; i++) {
+            String seriesName = in.readUTF();
+            int seriesOrdering = in.readInt();
+            SpreadSheetCollection.AlignType seriesAlignType = readAlignType(in);
+            series.add(new SpreadSheetSeries(seriesName, seriesOrdering, seriesAlignType, readData(in)));
+        }
+        return new SpreadSheetCollection(sheetName, ordering, alignType, series.build());
+    }
+
+    private static SpreadSheetCollection.AlignType readAlignType(DataInput in) throws IOException {
+        int ordinal = in.readByte();
+        SpreadSheetCollection.AlignType[] values = SpreadSheetCollection.AlignType.values();
+        if (ordinal < 0 || ordinal >= values.length) {
+            throw new IOException("Invalid align type " + ordinal);
+        }
+        return values[ordinal];
+    }
+
+    private static int readCount(DataInput in) throws IOException {
+        int n = in.readInt();
+        if (n < 0) {
+            throw new IOException("Invalid count " + n);
+        }
+        return n;
+    }
+
+    private static void writeData(DataOutput out, OptionalTsData data) throws IOException {
+        out.writeInt(data.getNbrRows());
+        out.writeInt(data.getNbrUselessRows());
+        out.writeBoolean(data.isPresent());
+        if (data.isPresent()) {
+            TsData s = data.get();
+            out.writeInt(s.getFrequency().intValue());
+            out.writeInt(s.getStart().getYear());
+            out.writeInt(s.getStart().getPosition());
+            int n = s.getLength();
+            out.writeInt(n);
+            for (int i = 0; i < n; i++) {
+                out.writeDouble(s.get(i));
+            }
+        } else {
+            out.writeUTF(data.getCause());
+        }
+    }
+
+    private static OptionalTsData readData(DataInput in) throws IOException {
+        int nbrRows = in.readInt();
+        int nbrUselessRows = in.readInt();
+        if (nbrUselessRows < 0 || nbrRows < nbrUselessRows) {
+            throw new IOException("Invalid number of rows " + nbrRows + "/" + nbrUselessRows);
+        }
+        if (in.readBoolean()) {
+            int ifreq = in.readInt();
+            TsFrequency freq = TsFrequency.valueOf(ifreq);
+            if (freq == null || freq == TsFrequency.Undefined) {
+                throw new IOException("Invalid frequency " + ifreq);
+            }
+            int year = in.readInt();
+            int pos = in.readInt();
+            if (pos < 0 || pos >= freq.intValue()) {
+                throw new IOException("Invalid period " + pos);
+            }
+            double[] values = new double[readCount(in)];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = in.readDouble();
+            }
+            return OptionalTsData.present(nbrRows, nbrUselessRows, new TsData(freq, year, pos, values, false));
+        }
+        return OptionalTsData.absent(nbrRows, nbrUselessRows, in.readUTF());
+    }
+    //</editor-fold>
+}
@@ -23,15 +23,28 @@ import ec.tss.TsMoniker;
 import ec.tss.tsproviders.DataSet;
 import ec.tss.tsproviders.DataSource;
 import ec.tss.tsproviders.IFileLoaderAssert;
+import ec.tss.tsproviders.spreadsheet.engine.SpreadSheetCollection;
+import ec.tss.tsproviders.spreadsheet.engine.SpreadSheetSource;
+import ec.tss.tsproviders.spreadsheet.engine.TsImportOptions;
 import ec.tss.tsproviders.utils.DataFormat;
+import ec.tss.tsproviders.utils.ObsGathering;
+import ec.tss.tsproviders.utils.OptionalTsData;
 import ec.tstoolkit.timeseries.TsAggregationType;
 import ec.tstoolkit.timeseries.simplets.TsData;
 import ec.tstoolkit.timeseries.simplets.TsFrequency;
+import ec.util.spreadsheet.poi.ExcelBookFactory;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
 import java.util.Locale;
+import java.util.stream.Collectors;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import static org.assertj.core.api.Assertions.assertThat;
 
 /**
@@ -40,6 +53,9 @@ import static org.assertj.core.api.Assertions.assertThat;
  */
 public class SpreadSheetProviderTest {
 
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
     @Test
     public void testCompliance() {
         IFileLoaderAssert.assertCompliance(SpreadSheetProvider::new, SpreadSheetProviderTest::getSampleBean);
@@ -123,6 +139,93 @@ public class SpreadSheetProviderTest {
         }
     }
 
+    @Test
+    public void testLazyCollection() throws IOException {
+        try (SpreadSheetProvider p = new SpreadSheetProvider()) {
+            DataSource dataSource = p.encodeBean(getSampleBean(p));
+            p.open(dataSource);
+            List<DataSet> nodes = p.children(dataSource);
+            SpreadSheetCollection lazy = p.getCollection(nodes.get(1));
+            assertThat(p.getCollection(DataSet.builder(dataSource, DataSet.Kind.COLLECTION).put("sheetName", "missing").build())).isNull();
+
+            SpreadSheetSource source = p.getSource(dataSource);
+            assertThat(p.children(dataSource)).isEqualTo(nodes);
+            assertThat(source.collections.values()).contains(lazy);
+            assertThat(p.getCollection(nodes.get(1))).isSameAs(lazy);
+            assertThat(getData(lazy)).isEqualTo(getData(source.collections.get(lazy.sheetName)));
+        }
+    }
+
+    @Test
+    public void testLazyBook() throws IOException {
+        File file = IFileLoaderAssert.urlAsFile(SAMPLE);
+        TsImportOptions options = TsImportOptions.create(DataFormat.DEFAULT, ObsGathering.excludingMissingValues(TsFrequency.Undefined, TsAggregationType.None));
+        try (LazySpreadSheetSource lazy = LazySpreadSheetSource.of(file, new ExcelBookFactory(), options)) {
+            List<String> sheetNames = lazy.getSheetNames();
+            assertThat(sheetNames).hasSize(3);
+            // the book stays open till the last sheet is parsed
+            for (String sheetName : sheetNames) {
+                assertThat(lazy.isOpen()).isTrue();
+                assertThat(lazy.getCollection(sheetName)).isNotNull();
+            }
+            assertThat(lazy.isOpen()).isFalse();
+            assertThat(lazy.getSource().collections).hasSize(3);
+        }
+        try (LazySpreadSheetSource lazy = LazySpreadSheetSource.of(file, new ExcelBookFactory(), options)) {
+            SpreadSheetCollection first = lazy.getCollection(lazy.getSheetNames().get(0));
+            lazy.close();
+            assertThat(lazy.isOpen()).isFalse();
+            // the book is reloaded for the remaining sheets
+            assertThat(lazy.getSource().collections.values()).contains(first).hasSize(3);
+        }
+    }
+
+    @Test
+    public void testDiskCache() throws IOException {
+        File file = temp.newFile("Top5Browsers.xlsx");
+        try (InputStream in = SAMPLE.openStream()) {
+            Files.copy(in, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+        File folder = temp.newFolder("cache");
+
+        SpreadSheetSource expected;
+        try (SpreadSheetProvider p = new SpreadSheetProvider()) {
+            p.setCacheFolder(folder);
+            SpreadSheetBean bean = p.newBean();
+            bean.setFile(file);
+            expected = p.getSource(p.encodeBean(bean));
+            assertThat(folder.listFiles()).hasSize(1);
+        }
+
+        try (SpreadSheetProvider p = new SpreadSheetProvider()) {
+            p.setCacheFolder(folder);
+            SpreadSheetBean bean = p.newBean();
+            bean.setFile(file);
+            SpreadSheetSource actual = p.getSource(p.encodeBean(bean));
+            assertThat(actual).isNotSameAs(expected);
+            assertThat(actual.collections).isEqualTo(expected.collections);
+            for (SpreadSheetCollection o : expected.collections.values()) {
+                assertThat(getData(actual.collections.get(o.sheetName))).isEqualTo(getData(o));
+            }
+        }
+
+        File entry = folder.listFiles()[0];
+        long written = entry.lastModified();
+        assertThat(file.setLastModified(file.lastModified() - 60000)).isTrue();
+        try (SpreadSheetProvider p = new SpreadSheetProvider()) {
+            p.setCacheFolder(folder);
+            SpreadSheetBean bean = p.newBean();
+            bean.setFile(file);
+            assertThat(p.getSource(p.encodeBean(bean)).collections).isEqualTo(expected.collections);
+            assertThat(entry.lastModified()).isGreaterThanOrEqualTo(written);
+            assertThat(folder.listFiles()).hasSize(1);
+        }
+    }
+
+    private static List<OptionalTsData> getData(SpreadSheetCollection col) {
+        return col.series.stream().map(o -> o.data).collect(Collectors.toList());
+    }
+
     static final URL SAMPLE = SpreadSheetProviderTest.class.getResource("/Top5Browsers.xlsx");
     static final double[] VALUES = {0.0, 0.0, 1.03, 1.02, 0.93, 1.21, 1.38, 1.52, 1.73, 2.07, 2.42, 2.82, 3.01, 3.38, 3.69, 4.17, 4.66, 5.45, 6.04, 6.72, 7.29, 8.06, 8.61, 9.24, 9.88, 10.76, 11.54, 12.39, 13.35, 14.85, 15.68, 16.54, 17.37, 18.29, 19.36, 20.65, 22.14, 23.16, 23.61, 25.0, 25.65};
 
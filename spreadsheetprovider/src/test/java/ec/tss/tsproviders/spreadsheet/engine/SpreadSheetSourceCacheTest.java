@@ -0,0 +1,86 @@
+/*
+ * Copyright 2016 National Bank of Belgium
+ * 
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved 
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * 
+ * http://ec.europa.eu/idabc/eupl
+ * 
+ * Unless required by applicable law or agreed to in writing, software 
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and 
+ * limitations under the Licence.
+ */
+package ec.tss.tsproviders.spreadsheet.engine;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.Test;
+
+public class SpreadSheetSourceCacheTest {
+
+    @Test
+    public void testReadSource() throws IOException {
+        SpreadSheetSource source = SpreadSheetSourceCache.readSource(input(entry(1, 10, 2, 12, 3, 4)));
+        assertThat(source.collections).hasSize(1);
+        assertThat(source.collections.get("sheet").series).hasSize(1);
+        assertThat(source.collections.get("sheet").series.get(0).data.get().getLength()).isEqualTo(4);
+    }
+
+    @Test
+    public void testReadCorruptedSource() {
+        // unknown frequency
+        assertThatThrownBy(() -> SpreadSheetSourceCache.readSource(input(entry(1, 10, 2, 5, 3, 4)))).isInstanceOf(IOException.class);
+        // undefined frequency
+        assertThatThrownBy(() -> SpreadSheetSourceCache.readSource(input(entry(1, 10, 2, 0, 0, 4)))).isInstanceOf(IOException.class);
+        // period out of the year
+        assertThatThrownBy(() -> SpreadSheetSourceCache.readSource(input(entry(1, 10, 2, 4, 4, 4)))).isInstanceOf(IOException.class);
+        // invalid numbers of rows
+        assertThatThrownBy(() -> SpreadSheetSourceCache.readSource(input(entry(1, 10, 11, 12, 3, 4)))).isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> SpreadSheetSourceCache.readSource(input(entry(1, 10, -1, 12, 3, 4)))).isInstanceOf(IOException.class);
+        // negative counts
+        assertThatThrownBy(() -> SpreadSheetSourceCache.readSource(input(entry(-1, 10, 2, 12, 3, 4)))).isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> SpreadSheetSourceCache.readSource(input(entry(1, 10, 2, 12, 3, -4)))).isInstanceOf(IOException.class);
+    }
+
+    private static DataInputStream input(byte[] bytes) {
+        return new DataInputStream(new ByteArrayInputStream(bytes));
+    }
+
+    // one collection of one series, as written by SpreadSheetSourceCache#writeSource
+    private static byte[] entry(int ncollections, int nbrRows, int nbrUselessRows, int freq, int pos, int length) throws IOException {
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(result)) {
+            out.writeUTF("factory");
+            out.writeInt(ncollections);
+            if (ncollections > 0) {
+                out.writeUTF("sheet");
+                out.writeInt(0);
+                out.writeByte(SpreadSheetCollection.AlignType.VERTICAL.ordinal());
+                out.writeInt(1);
+                out.writeUTF("series");
+                out.writeInt(0);
+                out.writeByte(SpreadSheetCollection.AlignType.VERTICAL.ordinal());
+                out.writeInt(nbrRows);
+                out.writeInt(nbrUselessRows);
+                out.writeBoolean(true);
+                out.writeInt(freq);
+                out.writeInt(2010);
+                out.writeInt(pos);
+                out.writeInt(length);
+                for (int i = 0; i < length; ++i) {
+                    out.writeDouble(i);
+                }
+            }
+        }
+        return result.toByteArray();
+    }
+}